@@ -0,0 +1,165 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class BenchmarkRunner runs every benchmark with the GC          *
+ * profiler, so each result includes the allocation rate, and saves the         *
+ * results as CSV. The results are compared against the saved baseline and     *
+ * the change in score of each benchmark is printed.                            *
+ * Usage: java battleships.BenchmarkRunner [--save-baseline] [regex]            *
+ * Results are written to bench/results/latest.csv and the baseline is kept     *
+ * in bench/baseline.csv.                                                       *
+ ********************************************************************************/
+
+package battleships;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BenchmarkRunner {
+
+    //**************************Class constants**********************************//
+
+    private static final Path RESULTS = Paths.get("bench", "results", "latest.csv"); // latest results
+    private static final Path BASELINE = Paths.get("bench", "baseline.csv"); // saved baseline
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method main()
+     * Runs the benchmarks, compares them to the baseline and optionally saves them as the new baseline
+     * @param args: {String[]} optional --save-baseline flag and benchmark regex
+     */
+    public static void main(String[] args) throws RunnerException, IOException {
+
+        boolean saveBaseline = false; // replace the baseline with these results
+        String include = "battleships\\..*Benchmark"; // benchmarks to run
+
+        for (String arg : args) {
+
+            if (arg.equals("--save-baseline")) saveBaseline = true;
+            else include = arg;
+        }
+
+        Files.createDirectories(RESULTS.getParent());
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class) // allocation rate of each benchmark
+                .resultFormat(ResultFormatType.CSV)
+                .result(RESULTS.toString())
+                .build();
+        new Runner(options).run();
+
+        if (Files.exists(BASELINE)) {
+
+            System.out.print(compare(readScores(BASELINE), readScores(RESULTS)));
+        } else {
+
+            System.out.println("No baseline found at " + BASELINE + ", run with --save-baseline to create one");
+        }
+
+        if (saveBaseline) {
+
+            Files.copy(RESULTS, BASELINE, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Saved results as the baseline " + BASELINE);
+        }
+    }
+
+    /** method compare()
+     * Returns a table of the change in score of each result found in both sets of scores
+     * @param baseline: {Map<String, Double>} baseline scores
+     * @param latest: {Map<String, Double>} latest scores
+     */
+    static String compare(Map<String, Double> baseline, Map<String, Double> latest) {
+
+        StringBuilder table = new StringBuilder(String.format("%n%-100s %14s %14s %9s%n",
+                "Benchmark", "Baseline", "Latest", "Change"));
+
+        for (Map.Entry<String, Double> entry : latest.entrySet()) {
+
+            Double before = baseline.get(entry.getKey());
+            if (before == null) {
+
+                table.append(String.format("%-100s %14s %14.3f %9s%n", entry.getKey(), "-", entry.getValue(), "new"));
+            } else {
+
+                double change = before == 0 ? 0 : 100 * (entry.getValue() - before) / before;
+                table.append(String.format("%-100s %14.3f %14.3f %+8.1f%%%n",
+                        entry.getKey(), before, entry.getValue(), change));
+            }
+        }
+        return table.toString();
+    }
+
+    /** method readScores()
+     * Reads a JMH CSV result file and returns the score of each benchmark, keyed
+     * by the benchmark name, its parameters and its unit
+     * @param file: {Path} CSV result file
+     */
+    static Map<String, Double> readScores(Path file) throws IOException {
+
+        Map<String, Double> scores = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file);
+        if (lines.isEmpty()) return scores;
+
+        List<String> header = splitCsv(lines.get(0));
+        int scoreColumn = header.indexOf("Score");
+        int unitColumn = header.indexOf("Unit");
+
+        for (String line : lines.subList(1, lines.size())) {
+
+            List<String> fields = splitCsv(line);
+            if (fields.size() != header.size()) continue; // skip malformed lines
+
+            StringBuilder key = new StringBuilder(fields.get(0)); // benchmark name
+            for (int i = unitColumn + 1; i < fields.size(); i++) {
+
+                key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(fields.get(i));
+            }
+            key.append(" [").append(fields.get(unitColumn)).append(']');
+
+            scores.put(key.toString(), Double.parseDouble(fields.get(scoreColumn)));
+        }
+        return scores;
+    }
+
+    /** method splitCsv()
+     * Splits a line of quoted CSV into its fields
+     * @param line: {String} line of the CSV file
+     */
+    private static List<String> splitCsv(String line) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (char c : line.toCharArray()) {
+
+            if (c == '"') quoted = !quoted; // start or end of a quoted field
+            else if (c == ',' && !quoted) { // end of a field
+
+                fields.add(field.toString());
+                field.setLength(0);
+            } else field.append(c);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+} // close class BenchmarkRunner
@@ -0,0 +1,94 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class GameStates builds the board states used by the            *
+ * benchmarks. A board of the requested size has the standard fleet placed      *
+ * the same way the ComputerBoard does and is then attacked by the hunt and     *
+ * target logic until the requested phase of the game is reached. A fixed       *
+ * seed is used so every run of the benchmarks measures the same boards.        *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.Random;
+
+final class GameStates {
+
+    //********************************Class enums********************************//
+
+    // Phase enums, the fraction of the fleets cells that have been hit
+    enum Phase {
+        EARLY(0.0), // no shots fired
+        MID(0.5), // half of the fleet hit
+        LATE(0.85); // all but the last few ship cells hit
+
+        private final double hitFraction; // fraction of fleet cells hit
+
+        Phase(double hitFraction) {
+
+            this.hitFraction = hitFraction;
+        }
+    }
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    final BoardState board; // board being attacked
+    final HuntTargetStrategy hunt; // hunt and target logic attacking the board
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Builds a board and attacks it until the phase provided is reached
+     * @param boardSize: {int} number of rows and columns
+     * @param phase: {Phase} phase of the game to reach
+     * @param seed: {long} seed used to place the fleet
+     */
+    GameStates(int boardSize, Phase phase, long seed) {
+
+        board = new BoardState(boardSize);
+        FleetPlacer.placeAllShips(board, FleetPlacer.STANDARD_FLEET, new Random(seed));
+        hunt = new HuntTargetStrategy(board);
+
+        int fleetCells = board.getOccupied().cardinality(); // cells covered by ships
+        int hitsNeeded = (int) (fleetCells * phase.hitFraction); // hits to reach the phase
+
+        while (board.getHits().cardinality() < hitsNeeded) attack();
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method attack()
+     * Makes one attack on the board using the hunt and target logic
+     */
+    void attack() {
+
+        int cell = hunt.nextShot(board);
+        hunt.shotResult(board, cell, board.shoot(cell));
+    }
+
+    /** method attackUntilTargeting()
+     * Attacks until a ship has been hit but not destroyed, so target mode is active
+     */
+    void attackUntilTargeting() {
+
+        while (board.getHits().cardinality() == board.getDestroyed().cardinality() && !board.allShipsSunk()) attack();
+    }
+
+    /** method unknownCell()
+     * Returns an untouched cell in the middle of the board, or the first untouched cell
+     */
+    int unknownCell() {
+
+        int middle = board.cell(board.getBoardSize() / 2, board.getBoardSize() / 2);
+        int cell = board.nextUnknown(middle);
+        return cell < 0 ? board.nextUnknown(0) : cell;
+    }
+
+} // close class GameStates
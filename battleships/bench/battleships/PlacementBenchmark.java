@@ -0,0 +1,135 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class PlacementBenchmark measures ship placement, the checks    *
+ * used by Board.placeShip, a single placement and placing the whole fleet as   *
+ * ComputerBoard.placeAllShips does.                                            *
+ ********************************************************************************/
+
+package battleships;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementBenchmark {
+
+    //**************************Class instance variables*************************//
+
+    @Param({"10", "20", "50"})
+    private int boardSize; // number of rows and columns
+
+    @Param({"EARLY", "MID", "LATE"})
+    private GameStates.Phase phase; // phase of the game
+
+    private GameStates game; // board at the phase
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method setupTrial()
+     * Builds the board at the phase
+     */
+    @Setup(Level.Trial)
+    public void setupTrial() {
+
+        game = new GameStates(boardSize, phase, 42);
+    }
+
+    /** method checkCollision()
+     * Checks every horizontal and vertical cruiser placement on the board
+     */
+    @Benchmark
+    public int checkCollision() {
+
+        int legal = 0;
+        for (int r = 0; r < boardSize; r++) {
+
+            for (int c = 0; c < boardSize; c++) {
+
+                if (game.board.canPlace(r, c, 3, true)) legal++;
+                if (game.board.canPlace(r, c, 3, false)) legal++;
+            }
+        }
+        return legal;
+    }
+
+    /** method placeShip()
+     * Places a single cruiser at a legal position
+     * @param placement: {PlaceState} board copied before each call
+     */
+    @Benchmark
+    public int placeShip(PlaceState placement) {
+
+        return placement.board.placeShip(placement.row, placement.column, 3, true);
+    }
+
+    /** method placeAllShips()
+     * Places the standard fleet on an empty board
+     */
+    @Benchmark
+    public void placeAllShips(Blackhole blackhole) {
+
+        BoardState empty = new BoardState(boardSize);
+        FleetPlacer.placeAllShips(empty, FleetPlacer.STANDARD_FLEET, ThreadLocalRandom.current());
+        blackhole.consume(empty);
+    }
+
+    //***************************************************************************//
+
+    //********************************Class inner classes************************//
+
+    /** class PlaceState
+     * Board copied before every placeShip call, so each call places on the same board
+     */
+    @State(Scope.Thread)
+    public static class PlaceState {
+
+        @Param({"10", "20", "50"})
+        private int boardSize; // number of rows and columns
+
+        @Param({"EARLY", "MID", "LATE"})
+        private GameStates.Phase phase; // phase of the game
+
+        private GameStates game; // board at the phase
+        private BoardState board; // copy of the board placed on by a single call
+        private int row; // row of a legal placement
+        private int column; // column of a legal placement
+
+        /** method setupTrial()
+         * Builds the board and finds a legal placement for a cruiser
+         */
+        @Setup(Level.Trial)
+        public void setupTrial() {
+
+            game = new GameStates(boardSize, phase, 42);
+
+            for (int cell = 0; cell < game.board.getCellCount(); cell++) {
+
+                row = cell / boardSize;
+                column = cell % boardSize;
+                if (game.board.canPlace(row, column, 3, true)) break; // legal placement found
+            }
+        }
+
+        /** method setupInvocation()
+         * Copies the board
+         */
+        @Setup(Level.Invocation)
+        public void setupInvocation() {
+
+            board = new BoardState(game.board);
+        }
+    }
+
+} // close class PlacementBenchmark
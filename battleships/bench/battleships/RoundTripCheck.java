@@ -0,0 +1,327 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class RoundTripCheck plays games with a fixed seed and checks   *
+ * that what is written for them reads back unchanged. Each game is recorded,   *
+ * appended to a record file by a GameRecordWriter and decoded again. Every     *
+ * decoded record must encode to the same bytes and replaying its shots on the  *
+ * recorded fleet must give the recorded results. The record file is then       *
+ * turned into a ReplayArchive, which is read with the normal 1 GB windows and  *
+ * with SMALL_WINDOW_BYTES windows so records span many windows. Random get(n)  *
+ * and scans over whole and split ranges must match the records written.        *
+ * At a random turn of each game the board being attacked and its attack        *
+ * logic are saved as a GameSnapshot saves them and restored into new ones.     *
+ * The restored board must save to the same bytes and give the same result as   *
+ * the original for every cell. The attack logic may tidy its state when it is  *
+ * restored, so a second save and restore must give the same bytes as the       *
+ * first. The game then goes on with the restored pair, which must never shoot  *
+ * a cell twice and whose shots are checked with the rest of the record.        *
+ * The first failure is thrown as an IllegalStateException.                     *
+ * Usage: java battleships.RoundTripCheck [games]                               *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+final class RoundTripCheck {
+
+    //**************************Class constants**********************************//
+
+    private static final int DEFAULT_GAMES = 2000; // games played unless a number is given
+    private static final long SEED = 1816477; // seed of the fleets, so every run checks the same games
+    private static final int BOARD_SIZE = 10; // number of rows and columns
+    private static final long SMALL_WINDOW_BYTES = 4096; // archive window small enough to need many
+    private static final int SNAPSHOT_BYTES = 4096; // room for a board and its attack logic
+    private static final int RANDOM_READS = 10000; // records read from the archive by index
+    private static final StrategyType[] PLAYERS = {StrategyType.HUNT, StrategyType.DENSITY}; // fast enough for many games
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method main()
+     * Plays the games and checks every round trip
+     * @param args: {String[]} optional number of games to play
+     */
+    public static void main(String[] args) throws IOException {
+
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        Random random = new Random(SEED);
+
+        List<GameRecord> records = new ArrayList<>();
+        for (int game = 0; game < games; game++) records.add(playGame(random, game));
+
+        Path recordFile = Files.createTempFile("roundtrip", ".bsgr");
+        Path archiveFile = Files.createTempFile("roundtrip", ".bsga");
+        try {
+
+            checkRecordFile(records, recordFile);
+            checkArchive(records, recordFile, archiveFile, random);
+
+        } finally {
+
+            Files.deleteIfExists(recordFile);
+            Files.deleteIfExists(archiveFile);
+        }
+        System.out.printf("%d games: every round trip matched%n", games);
+    }
+
+    /** method playGame()
+     * Plays a game between two boards with the standard fleet and returns its record.
+     * The strategy attacking each board is picked from the game number.
+     * @param random: {Random} places the fleets
+     * @param game: {int} number of the game
+     */
+    private static GameRecord playGame(Random random, int game) {
+
+        GameRecord record = new GameRecord(BOARD_SIZE);
+        BoardState[] boards = new BoardState[2];
+        StrategyType[] types = new StrategyType[2];
+        AttackStrategy[] strategies = new AttackStrategy[2];
+
+        for (int side = 0; side < 2; side++) {
+
+            boards[side] = new BoardState(BOARD_SIZE);
+            FleetPlacer.placeAllShips(boards[side], FleetPlacer.STANDARD_FLEET, random);
+            record.addBoard(boards[side]);
+            types[side] = PLAYERS[(game + side) % PLAYERS.length];
+            strategies[side] = types[side].create(boards[side]);
+        }
+
+        // take turns until one fleet is destroyed, saving a board part way through
+        int saveTurn = random.nextInt(BOARD_SIZE * BOARD_SIZE); // turn the board is saved on, if it is reached
+        for (int turn = 0, side = 0; !boards[0].allShipsSunk() && !boards[1].allShipsSunk(); turn++, side = 1 - side) {
+
+            if (turn == saveTurn) checkSnapshot(boards, strategies, types[side], side, game);
+
+            int cell = strategies[side].nextShot(boards[side]);
+            int result = boards[side].shoot(cell);
+            require(result != BoardState.ALREADY_SHOT, "game " + game + " board " + side + " shot at " + cell + " twice");
+            strategies[side].shotResult(boards[side], cell, result);
+            record.addShot(side, cell, result);
+        }
+        return record;
+    }
+
+    /** method checkSnapshot()
+     * Saves a board and the attack logic attacking it, restores them into new ones and
+     * checks the restored pair, then replaces the pair with the restored one so the game
+     * goes on from the restored state
+     * @param boards: {BoardState[]} board of each side
+     * @param strategies: {AttackStrategy[]} attack logic attacking each board
+     * @param type: {StrategyType} type of the attack logic saved
+     * @param side: {int} side of the board saved
+     * @param game: {int} number of the game, for the failure message
+     */
+    private static void checkSnapshot(BoardState[] boards, AttackStrategy[] strategies, StrategyType type,
+                                      int side, int game) {
+
+        BoardState board = boards[side];
+        byte[] saved = save(board, strategies[side]);
+        ByteBuffer in = ByteBuffer.wrap(saved);
+        BoardState restored = new BoardState(BOARD_SIZE);
+        AttackStrategy restoredStrategy = restore(restored, type, in);
+        require(!in.hasRemaining(), "game " + game + " snapshot bytes left over");
+
+        // the board is saved exactly
+        ByteBuffer boardBytes = ByteBuffer.allocate(SNAPSHOT_BYTES);
+        restored.save(boardBytes);
+        require(Arrays.equals(Arrays.copyOf(boardBytes.array(), boardBytes.position()),
+                Arrays.copyOf(saved, boardBytes.position())), "game " + game + " board snapshot bytes");
+
+        // copies are shot, so the game can go on with the restored board
+        BoardState original = new BoardState(board);
+        BoardState copy = new BoardState(restored);
+        for (int cell = 0; cell < BOARD_SIZE * BOARD_SIZE; cell++) {
+
+            require(copy.shoot(cell) == original.shoot(cell), "game " + game + " restored board at cell " + cell);
+        }
+
+        // a restored game saves and restores to itself
+        byte[] resaved = save(restored, restoredStrategy);
+        BoardState again = new BoardState(BOARD_SIZE);
+        require(Arrays.equals(save(again, restore(again, type, ByteBuffer.wrap(resaved))), resaved),
+                "game " + game + " snapshot bytes after a restore");
+
+        boards[side] = restored;
+        strategies[side] = restoredStrategy;
+    }
+
+    /** method restore()
+     * Restores a board and the attack logic attacking it in the order Gameplay does, the
+     * board first, and returns the restored attack logic
+     * @param board: {BoardState} new board to restore into
+     * @param type: {StrategyType} type of the attack logic saved
+     * @param in: {ByteBuffer} buffer positioned at the bytes written by save()
+     */
+    private static AttackStrategy restore(BoardState board, StrategyType type, ByteBuffer in) {
+
+        board.restore(in);
+        AttackStrategy strategy = type.create(board);
+        strategy.restoreState(board, in);
+        return strategy;
+    }
+
+    /** method save()
+     * Returns the bytes a board and the attack logic attacking it save, as GameSnapshot
+     * writes them
+     * @param board: {BoardState} board to save
+     * @param strategy: {AttackStrategy} attack logic to save
+     */
+    private static byte[] save(BoardState board, AttackStrategy strategy) {
+
+        ByteBuffer out = ByteBuffer.allocate(SNAPSHOT_BYTES);
+        board.save(out);
+        strategy.saveState(out);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    /** method checkRecordFile()
+     * Writes the records to a record file, then decodes the file and checks each record
+     * against the one written
+     * @param records: {List<GameRecord>} records of the games played
+     * @param recordFile: {Path} empty file to write
+     */
+    private static void checkRecordFile(List<GameRecord> records, Path recordFile) throws IOException {
+
+        try (GameRecordWriter writer = new GameRecordWriter(recordFile)) {
+
+            for (GameRecord record : records) writer.write(record);
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(recordFile));
+        byte[] magic = new byte[GameRecordWriter.FILE_HEADER.length];
+        in.get(magic);
+        require(Arrays.equals(magic, GameRecordWriter.FILE_HEADER), "record file header");
+
+        for (int game = 0; game < records.size(); game++) {
+
+            GameRecord decoded = GameRecord.decode(in);
+            require(Arrays.equals(encode(decoded), encode(records.get(game))), "record " + game + " bytes");
+            checkReplay(decoded, game);
+        }
+        require(!in.hasRemaining(), "bytes after the last record");
+    }
+
+    /** method checkArchive()
+     * Builds an archive from the record file and checks it against the records written,
+     * read with the normal windows and with small ones
+     * @param records: {List<GameRecord>} records of the games played
+     * @param recordFile: {Path} file written by checkRecordFile()
+     * @param archiveFile: {Path} archive to write, replaced if it exists
+     * @param random: {Random} picks the records read by index
+     */
+    private static void checkArchive(List<GameRecord> records, Path recordFile, Path archiveFile, Random random)
+            throws IOException {
+
+        try (ReplayArchiveWriter writer = new ReplayArchiveWriter(archiveFile)) {
+
+            require(writer.writeLog(recordFile) == records.size(), "records copied to the archive");
+        }
+
+        byte[][] expected = new byte[records.size()][];
+        for (int game = 0; game < expected.length; game++) expected[game] = encode(records.get(game));
+
+        try (ReplayArchive archive = new ReplayArchive(archiveFile)) {
+
+            checkArchiveReads(archive, expected, random);
+        }
+        try (ReplayArchive archive = new ReplayArchive(archiveFile, SMALL_WINDOW_BYTES)) {
+
+            checkArchiveReads(archive, expected, random);
+        }
+    }
+
+    /** method checkArchiveReads()
+     * Reads records of an open archive by index and by scanning, and checks each is the
+     * one written at its index
+     * @param archive: {ReplayArchive} archive to read
+     * @param expected: {byte[][]} encoded records written, by index
+     * @param random: {Random} picks the records read by index
+     */
+    private static void checkArchiveReads(ReplayArchive archive, byte[][] expected, Random random) {
+
+        require(archive.size() == expected.length, "archive size");
+
+        for (int i = 0; i < RANDOM_READS && expected.length > 0; i++) {
+
+            int game = random.nextInt(expected.length);
+            require(Arrays.equals(encode(archive.get(game)), expected[game]), "archive get(" + game + ")");
+        }
+
+        // a whole scan, then the same records in two halves as threads would split them
+        long half = archive.size() / 2;
+        checkScan(archive, 0, archive.size(), expected);
+        checkScan(archive, 0, half, expected);
+        checkScan(archive, half, archive.size(), expected);
+    }
+
+    /** method checkScan()
+     * Scans a range of the archive and checks each record is the one written at its index
+     * @param archive: {ReplayArchive} archive to scan
+     * @param from: {long} index of the first record
+     * @param to: {long} index after the last record
+     * @param expected: {byte[][]} encoded records written, by index
+     */
+    private static void checkScan(ReplayArchive archive, long from, long to, byte[][] expected) {
+
+        long[] next = {from}; // index of the next record scanned
+        archive.scan(from, to, (record) -> {
+
+            require(Arrays.equals(encode(record), expected[(int) next[0]]), "archive scan of record " + next[0]);
+            next[0]++;
+        });
+        require(next[0] == to, "archive scan from " + from + " to " + to);
+    }
+
+    /** method checkReplay()
+     * Places the recorded fleets on new boards and checks every recorded shot gives the
+     * recorded result
+     * @param record: {GameRecord} decoded record
+     * @param game: {int} number of the game, for the failure message
+     */
+    private static void checkReplay(GameRecord record, int game) {
+
+        for (int board = 0; board < record.getBoardCount(); board++) {
+
+            BoardState state = record.createBoard(board);
+            for (int shot = 0; shot < record.getShotCount(board); shot++) {
+
+                int result = state.shoot(record.getShotCell(board, shot));
+                require(result == record.getShotResult(board, shot), "record " + game + " board " + board + " shot " + shot);
+            }
+        }
+    }
+
+    /** method encode()
+     * Returns the bytes encode() writes for the record provided
+     * @param record: {GameRecord} record to encode
+     */
+    private static byte[] encode(GameRecord record) {
+
+        ByteBuffer buffer = ByteBuffer.allocate(record.getEncodedSize());
+        record.encode(buffer);
+        require(!buffer.hasRemaining(), "encoded size of a record");
+        return buffer.array();
+    }
+
+    /** method require()
+     * Throws IllegalStateException naming the round trip that failed if the condition is false
+     * @param condition: {boolean} true if the round trip matched
+     * @param what: {String} round trip checked
+     */
+    private static void require(boolean condition, String what) {
+
+        if (!condition) throw new IllegalStateException("round trip failed: " + what);
+    }
+
+} // close class RoundTripCheck
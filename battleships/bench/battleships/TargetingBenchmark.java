@@ -0,0 +1,140 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class TargetingBenchmark measures the computer attack logic,    *
+ * the target block methods and target mode of the hunt and target logic and    *
+ * the choice of cell made by the density strategy.                             *
+ ********************************************************************************/
+
+package battleships;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetingBenchmark {
+
+    //**************************Class instance variables*************************//
+
+    @Param({"10", "20", "50"})
+    private int boardSize; // number of rows and columns
+
+    @Param({"EARLY", "MID", "LATE"})
+    private GameStates.Phase phase; // phase of the game
+
+    private GameStates game; // board at the phase, hunting
+    private GameStates targeting; // board at the phase, with a damaged ship
+    private DensityStrategy density; // density strategy for the board at the phase
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method setupTrial()
+     * Builds the boards used by the benchmarks
+     */
+    @Setup(Level.Trial)
+    public void setupTrial() {
+
+        game = new GameStates(boardSize, phase, 42);
+        targeting = new GameStates(boardSize, phase, 42);
+        targeting.attackUntilTargeting();
+        density = new DensityStrategy(game.board);
+    }
+
+    /** method createTargetBlocks()
+     * Rebuilds the target blocks from the board
+     */
+    @Benchmark
+    public int createTargetBlocks() {
+
+        game.hunt.createTargetBlocks(game.board);
+        return game.hunt.getTargetBlockCount();
+    }
+
+    /** method getCommonSquare()
+     * Finds the cell contained in the most target blocks
+     */
+    @Benchmark
+    public int getCommonSquare() {
+
+        return game.hunt.getCommonSquare(game.board);
+    }
+
+    /** method reduceBlocks()
+     * Removes the blocks containing an untouched cell
+     * @param blocks: {ReduceState} target blocks rebuilt before each call
+     */
+    @Benchmark
+    public int reduceBlocks(ReduceState blocks) {
+
+        blocks.game.hunt.reduceBlocks(blocks.missCell);
+        return blocks.game.hunt.getTargetBlockCount();
+    }
+
+    /** method targetMode()
+     * Finds the next cell to attack around a damaged ship
+     */
+    @Benchmark
+    public int targetMode() {
+
+        return targeting.hunt.targetMode(targeting.board);
+    }
+
+    /** method densityNextShot()
+     * Finds the cell with the highest density
+     */
+    @Benchmark
+    public int densityNextShot() {
+
+        return density.nextShot(game.board);
+    }
+
+    //***************************************************************************//
+
+    //********************************Class inner classes************************//
+
+    /** class ReduceState
+     * Board whose target blocks are rebuilt before every reduceBlocks call, so each
+     * call removes the same blocks
+     */
+    @State(Scope.Thread)
+    public static class ReduceState {
+
+        @Param({"10", "20", "50"})
+        private int boardSize; // number of rows and columns
+
+        @Param({"EARLY", "MID", "LATE"})
+        private GameStates.Phase phase; // phase of the game
+
+        private GameStates game; // board at the phase
+        private int missCell; // untouched cell removed from the blocks
+
+        /** method setupTrial()
+         * Builds the board and chooses the cell to remove
+         */
+        @Setup(Level.Trial)
+        public void setupTrial() {
+
+            game = new GameStates(boardSize, phase, 42);
+            missCell = game.unknownCell();
+        }
+
+        /** method setupInvocation()
+         * Rebuilds the target blocks
+         */
+        @Setup(Level.Invocation)
+        public void setupInvocation() {
+
+            game.hunt.createTargetBlocks(game.board);
+        }
+    }
+
+} // close class TargetingBenchmark
@@ -0,0 +1,95 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class TurnBenchmark measures a full round of attacks as made    *
+ * by Gameplay.attack, the players attack on the computers board followed by    *
+ * the computers attack chosen by its strategy, without the JavaFX grid. Both   *
+ * attacks go through a Match and the strategy plays through a                  *
+ * DeadlineStrategy with the GUI move deadline, so the round includes the       *
+ * hand over to the worker thread. The worker takes its copy of the board in    *
+ * the timed round, as it does on the first move of a game.                     *
+ ********************************************************************************/
+
+package battleships;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurnBenchmark {
+
+    //**************************Class constants**********************************//
+
+    private static final long MOVE_DEADLINE = DeadlineStrategy.configuredDeadline(DeadlineStrategy.GUI_DEADLINE_MILLIS); // per computer move
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    @Param({"10", "20", "50"})
+    private int boardSize; // number of rows and columns
+
+    @Param({"EARLY", "MID", "LATE"})
+    private GameStates.Phase phase; // phase of the game
+
+    @Param({"HUNT", "DENSITY"})
+    private StrategyType strategyType; // computer attack logic
+
+    private GameStates playerGame; // players board at the phase
+    private GameStates computerGame; // computers board at the phase
+    private int playerCell; // cell the player attacks
+    private ExecutorService worker; // runs the computer attack logic of every round
+
+    private Match match; // match on copies of both boards for one round
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method setupTrial()
+     * Builds both boards at the phase and the worker the strategy plays on
+     */
+    @Setup(Level.Trial)
+    public void setupTrial() {
+
+        playerGame = new GameStates(boardSize, phase, 42);
+        computerGame = new GameStates(boardSize, phase, 7);
+        playerCell = computerGame.unknownCell();
+        worker = DeadlineStrategy.newWorker();
+    }
+
+    /** method setupInvocation()
+     * Copies both boards and creates the strategy and match so every round starts from
+     * the same state
+     */
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+
+        BoardState playerBoard = new BoardState(playerGame.board);
+        BoardState computerBoard = new BoardState(computerGame.board);
+        AttackStrategy strategy = new DeadlineStrategy(strategyType.create(playerBoard), MOVE_DEADLINE, worker);
+        match = new Match(computerBoard, playerBoard, strategy);
+    }
+
+    /** method attack()
+     * Plays one round of attacks and returns the result of the computers attack
+     */
+    @Benchmark
+    public int attack() {
+
+        match.shoot(0, playerCell); // player attacks
+        if (match.getWinner() != Match.NO_WINNER) return -1; // player wins
+
+        match.strategyShot(); // computer attacks
+        return match.getLastResult();
+    }
+
+} // close class TurnBenchmark
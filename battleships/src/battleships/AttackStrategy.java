@@ -0,0 +1,141 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Interface AttackStrategy is implemented by each of the          *
+ * computer attack logic classes. Gameplay asks the strategy for the next cell  *
+ * to attack, resolves the attack on the BoardState and then reports the        *
+ * result back so the strategy can update its internal state.                   *
+ * Strategies only use public information from the board, the known empty,      *
+ * hit and destroyed cells and the ships still afloat, never the occupancy.     *
+ * Strategies that keep state between shots which can not be worked out from    *
+ * the board save it with saveState() so a game can be resumed.                 *
+ * In salvo games the strategy chooses every shot of a turn at once with        *
+ * nextSalvo(), before any of them are resolved, and is then told the result    *
+ * of each shot in the order they were chosen.                                  *
+ * Strategies are given a time budget per move with setMoveBudget(). Those that *
+ * search keep the best shot found so far and return it once the budget is      *
+ * used, see DeadlineStrategy.                                                  *
+ ********************************************************************************/
+
+package battleships;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public interface AttackStrategy {
+
+    /** method nextShot()
+     * Returns the cell index of the next cell to attack. The cell must not
+     * have been attacked before.
+     * @param target: {BoardState} board being attacked
+     */
+    int nextShot(BoardState target);
+
+    /** method nextSalvo()
+     * Returns the cells of the next salvo, all different and none attacked before.
+     * Fewer cells are returned only if fewer cells are left unknown. The default takes
+     * the next shot and fills the rest of the salvo with unknown cells, strategies that
+     * rank the cells override it to take the best cells together.
+     * @param target: {BoardState} board being attacked
+     * @param shots: {int} number of shots in the salvo
+     */
+    default int[] nextSalvo(BoardState target, int shots) {
+
+        int[] cells = new int[shots];
+        cells[0] = nextShot(target);
+        return fillSalvo(target, cells, 1);
+    }
+
+    /** method shotResult()
+     * Updates the strategy with the result of an attack on the board
+     * @param target: {BoardState} board being attacked
+     * @param cell: {int} cell that was attacked
+     * @param result: {int} BoardState result, MISS, HIT or SUNK
+     */
+    void shotResult(BoardState target, int cell, int result);
+
+    /** method saveState()
+     * Writes the internal state of the strategy that can not be worked out again from
+     * the board. Strategies that rebuild everything from the board in their constructor
+     * write nothing.
+     * @param out: {ByteBuffer} buffer to write to
+     */
+    default void saveState(ByteBuffer out) { }
+
+    /** method restoreState()
+     * Reads the state written by saveState() into a strategy newly created for the
+     * restored board. Throws IllegalArgumentException if the saved state is not valid.
+     * @param target: {BoardState} restored board being attacked
+     * @param in: {ByteBuffer} buffer positioned at the state written by saveState()
+     */
+    default void restoreState(BoardState target, ByteBuffer in) { }
+
+    /** method setMoveBudget()
+     * Sets the time each move may take. Strategies that search return the best shot
+     * found so far once it is used, strategies whose moves always take a short time
+     * ignore it.
+     * @param budgetNanos: {long} time budget per move in nanoseconds
+     */
+    default void setMoveBudget(long budgetNanos) { }
+
+    /** method fillSalvo()
+     * Fills the rest of a salvo with the first unknown cells not already in it and
+     * returns it, cut short if the board runs out of unknown cells
+     * @param target: {BoardState} board being attacked
+     * @param cells: {int[]} cells of the salvo, the first count already chosen
+     * @param count: {int} number of cells already chosen
+     */
+    static int[] fillSalvo(BoardState target, int[] cells, int count) {
+
+        int from = 0;
+        while (count < cells.length) {
+
+            int cell = target.nextUnknown(from);
+            if (cell < 0) return Arrays.copyOf(cells, count); // no unknown cells left
+
+            count = addToSalvo(cells, count, cell);
+            from = cell + 1;
+        }
+        return cells;
+    }
+
+    /** method nextToOpenHit()
+     * Returns an untouched cell next to a hit on a ship not yet destroyed, or -1 if none
+     * @param target: {BoardState} board being attacked
+     */
+    static int nextToOpenHit(BoardState target) {
+
+        int boardSize = target.getBoardSize();
+        CellMask hits = target.getHits();
+
+        for (int cell = hits.nextSetBit(0); cell >= 0; cell = hits.nextSetBit(cell + 1)) {
+
+            if (target.isDestroyed(cell)) continue; // ship already destroyed
+
+            int row = cell / boardSize;
+            int column = cell % boardSize;
+            if (row > 0 && target.isUnknown(cell - boardSize)) return cell - boardSize; // north
+            if (row < boardSize - 1 && target.isUnknown(cell + boardSize)) return cell + boardSize; // south
+            if (column < boardSize - 1 && target.isUnknown(cell + 1)) return cell + 1; // east
+            if (column > 0 && target.isUnknown(cell - 1)) return cell - 1; // west
+        }
+        return -1;
+    }
+
+    /** method addToSalvo()
+     * Adds a cell to a salvo if it is not already in it and returns the new number of
+     * cells chosen. The salvo must have room for the cell.
+     * @param cells: {int[]} cells of the salvo
+     * @param count: {int} number of cells already chosen
+     * @param cell: {int} cell to add
+     */
+    static int addToSalvo(int[] cells, int count, int cell) {
+
+        for (int i = 0; i < count; i++) if (cells[i] == cell) return count; // already chosen
+
+        cells[count] = cell;
+        return count + 1;
+    }
+
+} // close interface AttackStrategy
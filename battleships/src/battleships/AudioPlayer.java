@@ -6,6 +6,12 @@
  * invoke sound effect files.                                                   *
  * To play a sound file once use AudioPlayer.SOUND_NAME.play().                 *
  * To loop the sound file use AudioPlayer.SOUND_NAME.loop().                    *
+ * Sound effects are decoded the first time they are played and mixed by the    *
+ * SoundMixer, so an effect played again overlaps instead of cutting itself     *
+ * off. Music, and any sound that is looped, is streamed from its file through  *
+ * a SourceDataLine on a background thread with a small buffer, so it is never  *
+ * held in memory. A missing, empty or unreadable file is reported once and     *
+ * then ignored.                                                                *
  * The sound files are sourced from https://www.dl-sounds.com , this is a       *
  * royalty free sound file website.                                             *
  ********************************************************************************/
@@ -13,17 +19,18 @@
 package battleships;
 
 import javax.sound.sampled.*;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
 
 public enum AudioPlayer {
 
     //********************************Class enums********************************//
 
     // Sound file enums
-    MUSIC("battleships/audio/music.wav"), // game music
-    HIT("battleships/audio/hit.wav"), // hit sound effect
-    DESTROY("battleships/audio/destroy.wav"); // destroy sound effect
+    MUSIC("battleships/audio/music.wav", true), // game music
+    HIT("battleships/audio/hit.wav", false), // hit sound effect
+    DESTROY("battleships/audio/destroy.wav", false); // destroy sound effect
 
     // Volume enums
     public enum Volume {
@@ -33,36 +40,36 @@ public enum AudioPlayer {
 
     //***************************************************************************//
 
+    //**************************Class constants**********************************//
+
+    private static final int STREAM_BUFFER_BYTES = 16 * 1024; // bytes written to the line at a time
+
+    //***************************************************************************//
+
     //**************************Class instance variables*************************//
 
     public static Volume volume = Volume.ON; // Pre-set volume on
 
-    private Clip clip; // Clip object used for each sound effect
+    private final String soundFileName; // path of the sound file on the class path
+    private final boolean streamed; // true to stream the file instead of mixing it as an effect
+    private short[] samples; // decoded samples of the sound effect, loaded on first use
+    private volatile boolean unavailable = false; // true once the file has failed to load
+    private volatile Thread streamThread; // thread streaming the file, null if not streaming
 
     //***************************************************************************//
 
     //****************************Class constructors*****************************//
 
     /** Constructor
-     * This constructor sets up each enum with its sound file to be ready for being called.
+     * This constructor records the sound file of each enum. Nothing is read from
+     * the file until the sound is first played.
      * @param soundFileName: {String} path of sound file
+     * @param streamed: {boolean} true to stream the file instead of mixing it as an effect
      */
-    AudioPlayer(String soundFileName) {
-
-        try { // try to setup the sound clip object with provided file path
-
-            URL url = this.getClass().getClassLoader().getResource(soundFileName); // Read file from disk
-
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(url);  // Create new audio input tream
-
-            clip = AudioSystem.getClip(); // Prepare clip attribute
-
-            clip.open(audioInputStream); // Open and load audio clip
+    AudioPlayer(String soundFileName, boolean streamed) {
 
-        } catch (UnsupportedAudioFileException | LineUnavailableException | IOException e) { // catch any errors thrown
-
-            e.printStackTrace();   // print out error caught
-        }
+        this.soundFileName = soundFileName;
+        this.streamed = streamed;
     }
 
     //***************************************************************************//
@@ -70,21 +77,21 @@ public enum AudioPlayer {
     //********************************Class methods******************************//
 
     /** method play()
-     * This method plays a sound clip enum a single time.
+     * This method plays a sound clip enum a single time. Sound effects are queued for
+     * the SoundMixer and this returns straight away.
      */
     public void play() {
 
         // check if volume is on before attempting to play
         if (volume == Volume.ON) {
 
-            // check if clip is already running
-            if (clip.isRunning()) {
+            if (streamed) { // stream the file once
 
-                clip.stop(); // stop the sound
+                startStream(false);
+                return;
             }
 
-            clip.setFramePosition(0); // set the track at the beginning
-            clip.start(); // start the clip
+            if (!unavailable) SoundMixer.play(this); // mixed with any other effects playing
         }
     }
 
@@ -95,9 +102,158 @@ public enum AudioPlayer {
 
         if (volume != Volume.MUTE) {
 
-            clip.setFramePosition(0); // rewind to the beginning
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
+            startStream(true); // stream the file from the start, looping at the end
+        }
+    }
+
+    /** method stop()
+     * This method stops the sound if it is playing.
+     */
+    public synchronized void stop() {
+
+        streamThread = null; // the stream thread finishes once it is no longer the current one
+
+        if (!streamed) SoundMixer.stop(this); // stop any voices mixing the effect
+    }
+
+    /** method preload()
+     * Decodes every sound effect and opens the SoundMixer line, so the first effect played
+     * does not wait for either. Music is streamed and has nothing to preload.
+     */
+    public static void preload() {
+
+        for (AudioPlayer sound : values()) {
+
+            if (!sound.streamed) sound.getSamples();
+        }
+        SoundMixer.open();
+    }
+
+    /** method getSamples()
+     * Returns the samples of this sound decoded for the SoundMixer, decoding them the
+     * first time they are asked for. Returns null if the sound file could not be loaded.
+     */
+    synchronized short[] getSamples() {
+
+        if (samples != null || unavailable) return samples; // already decoded or failed
+
+        try (AudioInputStream audioInputStream = openStream()) {
+
+            if (audioInputStream == null) return null; // sound file unavailable
+
+            samples = SoundMixer.decode(audioInputStream);
+            if (samples.length == 0) markUnavailable("no audio data");
+
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) { // catch any errors thrown
+
+            markUnavailable(e.toString());
+            samples = null;
+        }
+        return samples;
+    }
+
+    /** method startStream()
+     * Stops any stream already playing and starts a new background thread that
+     * streams the sound file through a SourceDataLine.
+     * @param looping: {boolean} true to restart the file each time it ends
+     */
+    private synchronized void startStream(boolean looping) {
+
+        if (unavailable) return; // sound file failed to load before
+
+        stop(); // stop any stream already playing
+        Thread thread = new Thread(() -> stream(looping), "audio-" + name().toLowerCase());
+        thread.setDaemon(true); // do not keep the application running
+        streamThread = thread;
+        thread.start();
+    }
+
+    /** method stream()
+     * Runs on the stream thread. Copies the sound file to an audio line a buffer
+     * at a time until the file ends, or forever when looping, or until stopped.
+     * @param looping: {boolean} true to restart the file each time it ends
+     */
+    private void stream(boolean looping) {
+
+        SourceDataLine line = null; // line the sound is written to
+        byte[] buffer = new byte[STREAM_BUFFER_BYTES];
+
+        try {
+
+            do {
+
+                try (AudioInputStream audioInputStream = openStream()) {
+
+                    if (audioInputStream == null) return; // sound file unavailable
+
+                    if (line == null) { // open the line for the format of the file
+
+                        line = AudioSystem.getSourceDataLine(audioInputStream.getFormat());
+                        line.open(audioInputStream.getFormat(), STREAM_BUFFER_BYTES * 2);
+                        line.start();
+                    }
+
+                    long written = 0; // bytes written in this pass through the file
+                    int read;
+                    while (isStreaming() && (read = audioInputStream.read(buffer)) > 0) {
+
+                        line.write(buffer, 0, read); // blocks while the line buffer is full
+                        written += read;
+                    }
+
+                    if (written == 0) { // empty file, nothing to loop
+
+                        markUnavailable("no audio data");
+                        return;
+                    }
+                }
+            } while (isStreaming() && looping);
+
+            if (isStreaming() && line != null) line.drain(); // let the end of the file play
+
+        } catch (UnsupportedAudioFileException | LineUnavailableException | IOException
+                 | IllegalArgumentException e) { // catch any errors thrown
+
+            markUnavailable(e.toString());
+
+        } finally {
+
+            if (line != null) line.close(); // release the audio line
+        }
+    }
+
+    /** method isStreaming()
+     * Returns true while the calling thread is the current stream thread
+     */
+    private boolean isStreaming() {
+
+        return streamThread == Thread.currentThread();
+    }
+
+    /** method openStream()
+     * Opens an audio stream of the sound file, or returns null if the file is missing
+     */
+    private AudioInputStream openStream() throws UnsupportedAudioFileException, IOException {
+
+        InputStream in = getClass().getClassLoader().getResourceAsStream(soundFileName); // Read file from disk
+        if (in == null) {
+
+            markUnavailable("file not found");
+            return null;
         }
+        return AudioSystem.getAudioInputStream(new BufferedInputStream(in)); // Create new audio input stream
+    }
+
+    /** method markUnavailable()
+     * Records that the sound file can not be played and reports it once
+     * @param reason: {String} reason the file could not be played
+     */
+    private synchronized void markUnavailable(String reason) {
+
+        if (unavailable) return; // already reported
+
+        unavailable = true;
+        System.err.println("Sound " + soundFileName + " unavailable: " + reason);
     }
 
-} // close class AudioPlayer
\ No newline at end of file
+} // close class AudioPlayer
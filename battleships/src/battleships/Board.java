@@ -2,207 +2,340 @@
  * Author: 1816477                                                              *
  * Date: Dec 2020                                                               *
  * Assignment: Element 011 Battleships Game                                     *
- * Description: Abstract class Board is used to create a grid of squares and    *
- * place them in a 2d array. These squares are where the ships for the game     *
- * will be placed. The placed ships are kept in an ArrayList, which is also     *
- * used by other classes to determine the current progress of the game.         *
+ * Description: Abstract class Board is used to create a battleships grid,      *
+ * where the ships for the game will be placed. The state of the game is kept   *
+ * in a BoardState object and the grid is drawn by a BoardRenderer, either a    *
+ * grid of squares or a single canvas. The placed ships are kept in an          *
+ * ArrayList, which is also used by other classes to determine the current      *
+ * progress of the game.                                                        *
  * When subclasses extend this class they gain access to all the methods        *
  * and attributes necessary to create a battleships board game. The board is    *
- * added to an AnchorPane to be displayed on the GUI.                           *
+ * added to an AnchorPane to be displayed on the GUI. Mouse input is handled    *
+ * by a single set of handlers on the AnchorPane, which work out the cell       *
+ * from the mouse position and are switched on and off with a flag.             *
+ * The whole fleet is also kept in the order it was created, so a saved board   *
+ * can be matched to the Ship objects of a new board when a game is resumed.    *
+ * A board larger than VIEW_CELLS rows and columns is drawn on a canvas that    *
+ * shows VIEW_CELLS of them at a time. The mouse wheel scrolls the view, one    *
+ * cell a notch or a whole view with Ctrl held, and columns with Shift held.    *
  ********************************************************************************/
 
 package battleships;
 
 import javafx.event.EventHandler;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.paint.Color;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 
 public abstract class Board {
 
+    //**************************Class constants**********************************//
+
+    private static final Color EMPTY_CELL = Color.BLACK; // colour of a cell with no ship, the Rectangle default
+    public static final int VIEW_CELLS = 10; // most rows and columns shown at once
+
+    //***************************************************************************//
+
     //**************************Class instance variables*************************//
 
     private int boardSize; // number of rows and columns
-    private Square[][] grid; // 2d array containing rows and columns of Squares
+    private int squareSize; // height and width of each grid square
+    private int viewCells; // rows and columns shown at once
+    private int viewRow = 0; // first row shown
+    private int viewColumn = 0; // first column shown
+    private BoardState state; // bit packed game state displayed by the renderer
+    private BoardRenderer renderer; // draws the grid
     private AnchorPane anchorPane = new AnchorPane(); // gui pane used to display the grid
     private boolean isHorizontal = false; // direction of ship placement
     private ArrayList<Ship> ships = new ArrayList<>(); // all ships placed on the board
+    private ArrayList<Ship> fleet = new ArrayList<>(); // every ship of the board in the order created, never removed
+    private HashMap<Ship, Integer> fleetIndex = new HashMap<>(); // position of each ship in the fleet
+    private ArrayList<Ship> shipsById = new ArrayList<>(); // ships indexed by their id in the board state
     private Ship selectedShip; // ship to be placed on the board
 
+    // mouse input
+    private boolean clickable = false; // declare if the grid responds to the mouse
+    private EventHandler<? super MouseEvent> clickHandler; // action when a cell is clicked
+    private int hoveredCell = -1; // cell under the cursor, -1 if none
+
     //***************************************************************************//
 
     //****************************Class constructors*****************************//
 
-    /** constructor
-     * Creates a new Board instance and builds a grid of Squares. This is then added
-     * to an anchor pane object, ready to be added to the GUI.
+    /** constructor 1
+     * Creates a new Board instance drawn as a grid of Squares.
      * @param boardSize: {int} number of rows and columns
      * @param squareSize: {int} height and width of each grid square
      */
     public Board(int boardSize, int squareSize) {
 
-        this.boardSize = boardSize; // set board size
+        this(boardSize, squareSize, RendererType.SQUARES); // use the original grid of squares
+    }
 
-        this.grid = new Square[boardSize][boardSize]; // declare array and set the size
+    /** constructor 2
+     * Creates a new Board instance and the renderer that draws its grid. This is then
+     * added to an anchor pane object, ready to be added to the GUI. A board too large
+     * to show whole is always drawn on a canvas, whatever renderer is asked for.
+     * @param boardSize: {int} number of rows and columns
+     * @param squareSize: {int} height and width of each grid square
+     * @param rendererType: {RendererType} how the grid is drawn
+     */
+    public Board(int boardSize, int squareSize, RendererType rendererType) {
 
-        // create the grid
-        for (int row = 0; row < boardSize; row++) { // loop through each row
+        this.boardSize = boardSize; // set board size
+        this.squareSize = squareSize; // set square size
+        this.viewCells = Math.min(boardSize, VIEW_CELLS); // set view size
 
-            for (int column = 0; column < boardSize; column++) { // loop through each column
+        this.state = new BoardState(boardSize); // create the game state
 
-                int xPosition = squareSize * column; // set the x axis position variable
-                int yPosition = squareSize * row; // set the y axis position variable
+        // a grid of squares draws every cell, so only the canvas can show part of a board
+        if (viewCells < boardSize) rendererType = RendererType.CANVAS;
+        this.renderer = rendererType.create(boardSize, viewCells, squareSize, state); // create the grid
 
-                // create a new square object
-                Square square = new Square(xPosition, yPosition, squareSize, squareSize, row, column);
-                square.setStroke(Color.RED); // set square border colour
-                anchorPane.getChildren().add(square); // add square to the anchor pane
-                grid[row][column] = square; // add square to the 2d grid array
+        anchorPane.getChildren().add(renderer.getNode()); // add grid to the anchor pane
 
-            } // close column loop
-        } // close row loop
+        // one set of mouse events for the whole grid, used while the grid is clickable
+        anchorPane.setOnMouseClicked(this::mouseClicked);
+        anchorPane.setOnMouseMoved(this::mouseMoved);
+        anchorPane.setOnMouseExited((event) -> hoverCell(-1));
+        anchorPane.setOnScroll(this::mouseScrolled);
     } // close constructor
 
     //***************************************************************************//
 
     //********************************Class methods******************************//
 
-    /** method enterSquare()
-     * This method enables the highlighting effect of the square provided
-     * @param square: {Square} Square to change the effects of
+    /** method enterCell()
+     * This method enables the highlighting effect of the cell provided
+     * @param cell: {int} cell the cursor entered
      */
-    public void enterSquare(Square square) {
+    public void enterCell(int cell) {
 
-        square.enableEffect(); // enable square effects
+        renderer.setHighlighted(cell, true); // enable cell effects
     }
 
-    /** method exitSquare()
-     * This method disables the highlighting effect of the square provided
-     * @param square: {Square} Square to change the effects of
+    /** method exitCell()
+     * This method disables the highlighting effect of the cell provided
+     * @param cell: {int} cell the cursor exited
      */
-    public void exitSquare(Square square) {
+    public void exitCell(int cell) {
 
-        square.disableEffect(); // disable square effects
+        renderer.setHighlighted(cell, false); // disable cell effects
     }
 
     /** method placeShip()
-     * Places a ship on the grid based on the square and ship provided.
+     * Places a ship on the grid based on the cell and ship provided.
      * Returns true if ship placement is successful, else false if unable to place.
-     * @param square: {Square} Starting square of ship
+     * @param cell: {int} Starting cell of ship
      * @param ship: {Ship} Ship to place
      */
-    public boolean placeShip(Square square, Ship ship) {
+    public boolean placeShip(int cell, Ship ship) {
 
-        // return false if squares are not within the board limits
-        if (!checkWithinBoard(square, ship.getLength())) return false;
+        // place the ship in the board state, this fails if the cells are not within
+        // the board limits or collide with another ship
+        int shipId = state.placeShip(cell / boardSize, cell % boardSize, ship.getLength(), isHorizontal);
+        if (shipId < 0) return false;
 
-        // return false if squares collide with another ship
-        if (!checkCollision(square, ship.getLength())) return false;
+        showShip(shipId, ship); // draw the ship on the grid
 
-        // set Ship instance variable as placed
-        if (isHorizontal) { // if direction is horizontal
+        return true; // successful placement
+    }
 
-            for (int i = 0; i < ship.getLength(); i++) {
-                // add the ship to the squares on the grid
-                grid[square.getRow()][square.getColumn() + i].addShip(ship);
-            }
+    /** method showShip()
+     * Draws the Ship provided on each cell covered by a ship placed in the board state
+     * and declares the ship placed.
+     * @param shipId: {int} id of the ship in the board state
+     * @param ship: {Ship} Ship displayed on the cells
+     */
+    protected void showShip(int shipId, Ship ship) {
 
-        } else { // if direction is vertical
+        // remember which Ship is displayed for the id
+        while (shipsById.size() <= shipId) shipsById.add(null);
+        shipsById.set(shipId, ship);
 
-            for (int i = 0; i < ship.getLength(); i++) {
-                // add the ship to the squares on the grid
-                grid[square.getRow() + i][square.getColumn()].addShip(ship);
-            }
-        }
+        int step = state.isShipHorizontal(shipId) ? 1 : boardSize; // distance between ship cells
+        int cell = state.getShipOrigin(shipId); // first cell of the ship
 
-        return true; // successful placement
+        for (int i = 0; i < ship.getLength(); i++, cell += step) {
+
+            // set cell colour and disable effects
+            renderer.setHighlighted(cell, false);
+            renderer.paintCell(cell, ship.getColor());
+        }
+        ship.setPlaced(); // set as placed
     }
 
-    /** method checkWithinBoard()
-     * Checks the length of the ship is within the board limits, using the
-     * starting point of the Square provided.
-     * @param square: {Square} Starting square of Ship
-     * @param shipLength: {int} Length of the Ship to place
+    /** method addShips()
+     * Adds the ships provided to the ships of the board and to its fleet
+     * @param newShips: {Ship...} ships to add, in a fixed order for every board of this type
      */
-    private boolean checkWithinBoard(Square square, int shipLength) {
-
-        boolean check; // temp variable for validation result
-        if (isHorizontal) {
-            // check the squares are within the number of columns of the board
-            check = (square.getColumn() + shipLength) <= boardSize; // set true if within board limits, else false
-        } else {
-            // check the squares are within the number of rows of the board
-            check = (square.getRow() + shipLength) <= boardSize; // set true if within board limits, else false
-        }
-        return check; // return result of check
+    protected void addShips(Ship... newShips) {
+
+        ships.addAll(Arrays.asList(newShips));
+        for (Ship ship : newShips) fleetIndex.put(ship, fleetIndex.size());
+        fleet.addAll(Arrays.asList(newShips));
     }
 
-    /** method checkCollision()
-     * Check squares based on the starting square. ship length and direction for a collision.
-     * Return true if checked squares are not occupied by a ship, else return false.
-     * @param square: {Square} Starting square of Ship
-     * @param shipLength: {int} Length of the Ship to place
+    /** method saveState()
+     * Writes the board state and the position in the fleet of the Ship displayed for
+     * each ship id
+     * @param out: {ByteBuffer} buffer to write to
      */
-    private boolean checkCollision(Square square, int shipLength) {
+    public void saveState(ByteBuffer out) {
 
-        int row = square.getRow(); // get starting square row no.
-        int column = square.getColumn(); // get starting square column no.
+        state.save(out);
+        for (int shipId = 0; shipId < state.getShipCount(); shipId++) {
 
-        if (isHorizontal) { // if ship direction is horizontal
+            out.putInt(fleetIndex.get(shipsById.get(shipId)));
+        }
+    }
 
-            for (int i = 0; i < shipLength; i++) { // loop based on ship length
+    /** method restoreState()
+     * Replaces the board state with one written by saveState() and draws each saved ship
+     * with the Ship at the same position in this boards fleet. Ships already drawn are
+     * removed first. The attacked cells are not painted.
+     * Throws IllegalArgumentException if the saved board does not match the fleet.
+     * @param in: {ByteBuffer} buffer positioned at a board written by saveState()
+     */
+    public void restoreState(ByteBuffer in) {
 
-                if (grid[row][column + i].getOccupyingShip() != null) { // check next column for collision
+        // remove the ships currently drawn
+        for (int shipId = 0; shipId < state.getShipCount(); shipId++) {
 
-                    return false; // fail, square is occupied
-                }
-            }
+            int step = state.isShipHorizontal(shipId) ? 1 : boardSize; // distance between ship cells
+            int cell = state.getShipOrigin(shipId); // first cell of the ship
+            for (int i = 0; i < state.getShipLength(shipId); i++, cell += step) renderer.paintCell(cell, EMPTY_CELL);
+        }
+        shipsById.clear();
 
-        } else { // if ship direction is vertical
+        state.restore(in);
 
-            for (int i = 0; i < shipLength; i++) { // loop based on ship length
+        boolean[] shown = new boolean[fleet.size()]; // ships of the fleet already drawn
+        for (int shipId = 0; shipId < state.getShipCount(); shipId++) {
 
-                if (grid[row + i][column].getOccupyingShip() != null) { // check next row for collision
+            int index = in.getInt(); // position of the ship in the fleet
+            if (index < 0 || index >= fleet.size() || fleet.get(index).getLength() != state.getShipLength(shipId)
+                    || shown[index]) {
 
-                    return false; // fail, square is occupied
-                }
+                throw new IllegalArgumentException("saved ship " + shipId + " does not match the fleet");
             }
+            shown[index] = true;
+            showShip(shipId, fleet.get(index)); // draw the ship on its cells
         }
-        return true; // success, no collision detected
     }
 
-    /** method enableClickableGrid()
-     * Add action events to each square in the grid
-     * @param mouseClickHandler: {MouseEvent} action when a square is clicked
+    /** method paintCell()
+     * Sets the colour of the cell provided
+     * @param cell: {int} cell index
+     * @param color: {Color} new colour of the cell
      */
-    public void enableClickableGrid(EventHandler<? super MouseEvent> mouseClickHandler) {
+    public void paintCell(int cell, Color color) {
 
-        for (Square[] row : grid) { // loop through each row
+        renderer.paintCell(cell, color);
+    }
 
-            for (Square square : row) { // loop through each square in the row
+    /** method enableClickableGrid()
+     * Makes the grid respond to the mouse
+     * @param mouseClickHandler: {MouseEvent} action when a cell is clicked
+     */
+    public void enableClickableGrid(EventHandler<? super MouseEvent> mouseClickHandler) {
 
-                square.setOnMouseClicked(mouseClickHandler); // set square clickable event
-                square.setOnMouseEntered((event) -> enterSquare(square)); // set cursor enter square event
-                square.setOnMouseExited((event) -> exitSquare(square)); // set cursor exit square event
-            }
-        }
+        clickHandler = mouseClickHandler; // set cell clickable event
+        clickable = true;
     }
 
     /** method disableClickableGrid()
-     * Remove action events from each square in the grid
+     * Stops the grid responding to the mouse and removes any highlighting
      */
     public void disableClickableGrid() {
 
-        for (Square[] row : grid) { // loop through each row
+        hoverCell(-1); // exit the cell under the cursor
+        clickable = false;
+    }
+
+    /** method mouseClicked()
+     * Passes a click on a cell of the grid to the click handler
+     * @param event: {MouseEvent} mouse event on the anchor pane
+     */
+    private void mouseClicked(MouseEvent event) {
 
-            for (Square square : row) { // loop through each square in the row
+        if (clickable && getCell(event) >= 0) clickHandler.handle(event);
+    }
 
-                square.setOnMouseClicked(null); // disable square clickable event
-                square.setOnMouseEntered(null); // disable cursor enter square event
-                square.setOnMouseExited(null); // disable cursor exit square event
-            }
+    /** method mouseMoved()
+     * Moves the highlighting when the cursor crosses into another cell
+     * @param event: {MouseEvent} mouse event on the anchor pane
+     */
+    private void mouseMoved(MouseEvent event) {
+
+        if (clickable) hoverCell(getCell(event));
+    }
+
+    /** method mouseScrolled()
+     * Scrolls the view of a board too large to show whole, then highlights the cell now
+     * under the cursor
+     * @param event: {ScrollEvent} scroll event on the anchor pane
+     */
+    private void mouseScrolled(ScrollEvent event) {
+
+        if (viewCells == boardSize) return; // whole board shown
+
+        int cells = event.isControlDown() ? viewCells : 1; // cells scrolled a notch
+        boolean columns = event.isShiftDown() || Math.abs(event.getDeltaX()) > Math.abs(event.getDeltaY());
+        double delta = columns ? event.getDeltaX() + event.getDeltaY() : event.getDeltaY();
+        int step = delta > 0 ? -cells : delta < 0 ? cells : 0; // wheel up scrolls up or left
+
+        if (columns) setView(viewRow, viewColumn + step);
+        else setView(viewRow + step, viewColumn);
+
+        if (clickable) hoverCell(cellAt(event.getX(), event.getY()));
+        event.consume();
+    }
+
+    /** method setView()
+     * Shows the rows and columns starting at the row and column provided, kept within
+     * the board
+     * @param row: {int} first row to show
+     * @param column: {int} first column to show
+     */
+    public void setView(int row, int column) {
+
+        viewRow = Math.max(0, Math.min(row, boardSize - viewCells));
+        viewColumn = Math.max(0, Math.min(column, boardSize - viewCells));
+        renderer.setView(viewRow, viewColumn);
+    }
+
+    /** method showCell()
+     * Moves the view so the cell provided is shown, centred if it was out of view
+     * @param cell: {int} cell index
+     */
+    public void showCell(int cell) {
+
+        int row = cell / boardSize;
+        int column = cell % boardSize;
+        if (row >= viewRow && row < viewRow + viewCells && column >= viewColumn && column < viewColumn + viewCells) {
+
+            return; // already shown
         }
+        setView(row - viewCells / 2, column - viewCells / 2);
+    }
+
+    /** method hoverCell()
+     * Exits the cell currently under the cursor and enters the cell provided
+     * @param cell: {int} cell now under the cursor, -1 if none
+     */
+    private void hoverCell(int cell) {
+
+        if (cell == hoveredCell) return; // still in the same cell
+
+        if (hoveredCell >= 0) exitCell(hoveredCell); // set cursor exit cell event
+        hoveredCell = cell;
+        if (cell >= 0) enterCell(cell); // set cursor enter cell event
     }
 
     //***************************************************************************//
@@ -217,12 +350,52 @@ public abstract class Board {
         return anchorPane;
     }
 
-    /** method getGrid()
-     * Return the 2D array that contains the grid squares
+    /** method getCell()
+     * Return the cell of the grid a mouse event happened on, or -1 if none
+     * @param event: {MouseEvent} mouse event on the grid
      */
-    public Square[][] getGrid() {
+    public int getCell(MouseEvent event) {
 
-        return grid;
+        return cellAt(event.getX(), event.getY());
+    }
+
+    /** method cellAt()
+     * Return the cell shown at a position on the grid, or -1 if none
+     * @param x: {double} distance from the left of the grid in pixels
+     * @param y: {double} distance from the top of the grid in pixels
+     */
+    private int cellAt(double x, double y) {
+
+        int column = (int) Math.floor(x / squareSize); // column of the view under the cursor
+        int row = (int) Math.floor(y / squareSize); // row of the view under the cursor
+        if (row < 0 || column < 0 || row >= viewCells || column >= viewCells) return -1; // outside the grid
+        return state.cell(viewRow + row, viewColumn + column);
+    }
+
+    /** method getShipAt()
+     * Return the Ship occupying the cell provided, or null if the cell is empty
+     * @param cell: {int} cell index
+     */
+    public Ship getShipAt(int cell) {
+
+        int shipId = state.getShipAt(cell);
+        return shipId < 0 ? null : shipsById.get(shipId);
+    }
+
+    /** method getState()
+     * Return the game state displayed by the grid
+     */
+    public BoardState getState() {
+
+        return state;
+    }
+
+    /** method getSquareSize()
+     * Return the height and width of each grid square
+     */
+    public int getSquareSize() {
+
+        return squareSize;
     }
 
     /** method getBoardSize()
@@ -249,6 +422,14 @@ public abstract class Board {
         return ships;
     }
 
+    /** method getFleet()
+     * Return every ship of this board in the order created, including ships destroyed
+     */
+    public ArrayList<Ship> getFleet() {
+
+        return fleet;
+    }
+
     /** method getShips()
      * Return the current selected ship
      */
@@ -275,4 +456,4 @@ public abstract class Board {
         this.selectedShip = selectedShip;
     }
 
-} // close class Board
\ No newline at end of file
+} // close class Board
@@ -0,0 +1,48 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Interface BoardRenderer is implemented by the classes that      *
+ * draw a board on the GUI. The Board only tells the renderer which colour a    *
+ * cell should be and which cells are highlighted, so the game logic does not   *
+ * depend on how the grid is drawn. Mouse input is handled by the Board.        *
+ * A board larger than its view is drawn from the row and column set by         *
+ * setView().                                                                   *
+ * Cells are numbered row major, cell = row * boardSize + column.               *
+ ********************************************************************************/
+
+package battleships;
+
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+
+public interface BoardRenderer {
+
+    /** method getNode()
+     * Returns the node that displays the board, added to the boards anchor pane
+     */
+    Node getNode();
+
+    /** method paintCell()
+     * Sets the colour of the cell provided
+     * @param cell: {int} cell index
+     * @param color: {Color} new colour of the cell
+     */
+    void paintCell(int cell, Color color);
+
+    /** method setHighlighted()
+     * Turns the highlighting effect of the cell provided on or off
+     * @param cell: {int} cell index
+     * @param highlighted: {boolean} true to highlight the cell
+     */
+    void setHighlighted(int cell, boolean highlighted);
+
+    /** method setView()
+     * Sets the first row and column drawn, for renderers that draw part of a large
+     * board. Renderers that always draw the whole board ignore it.
+     * @param row: {int} first row drawn
+     * @param column: {int} first column drawn
+     */
+    default void setView(int row, int column) { }
+
+} // close interface BoardRenderer
@@ -0,0 +1,625 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class BoardState holds the game state of a single board with    *
+ * no dependency on JavaFX. Ship occupancy, misses, hits and destroyed cells    *
+ * are kept as packed CellMask bitmasks and the placed ships are kept in        *
+ * parallel arrays indexed by ship id. The Board and Square classes only        *
+ * display this state, which lets the computer logic and simulations query      *
+ * and update a board without touching the scene graph.                         *
+ * Placement checks use the shared PlacementTable of each ship length, so a     *
+ * collision check is an AND over the words the ship covers.                    *
+ * Cells are numbered row major, cell = row * boardSize + column.               *
+ * save() writes only the ships and the attacked cells, restore() places the    *
+ * ships again and replays the attacks to rebuild the rest of the state.        *
+ * The board size is chosen at runtime, up to MAX_SIZE. Memory is four bits per *
+ * cell plus the placed ships, so a 1000x1000 board takes about half a          *
+ * megabyte and no object is created per cell. The ship in a cell is found by   *
+ * walking back along its row and column, no further than the longest ship,     *
+ * to the first cell of a ship, looked up in the ship ids sorted by first cell. *
+ ********************************************************************************/
+
+package battleships;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class BoardState {
+
+    //**************************Class constants**********************************//
+
+    public static final int ALREADY_SHOT = -1; // shot result, cell was already attacked
+    public static final int MISS = 0; // shot result, no ship in the cell
+    public static final int HIT = 1; // shot result, ship hit but still afloat
+    public static final int SUNK = 2; // shot result, ship hit and destroyed
+
+    public static final String SIZE_PROPERTY = "battleships.boardSize"; // system property choosing the board size
+    public static final int DEFAULT_SIZE = 10; // rows and columns of the standard board
+    public static final int MAX_SIZE = 32767; // largest board whose placement slots, cell * 2 + 1, fit in an int
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private int boardSize; // number of rows and columns
+    private CellMask occupied; // cells containing a ship
+    private CellMask missed; // cells attacked with no ship (known empty)
+    private CellMask hits; // cells attacked containing a ship (known occupied)
+    private CellMask destroyed; // hit cells belonging to a sunk ship (known destroyed)
+    private PlacementTable[] tables; // placement table of each ship length, looked up when first used
+
+    // placed ships, indexed by ship id in order of placement
+    private int shipCount = 0; // number of ships placed
+    private int shipsAfloat = 0; // number of placed ships not yet sunk
+    private int[] shipOrigin = new int[8]; // first cell of each ship
+    private int[] shipLength = new int[8]; // length of each ship
+    private boolean[] shipHorizontal = new boolean[8]; // direction of each ship
+    private int[] shipHealth = new int[8]; // remaining unhit cells of each ship
+    private int[] shipsByOrigin = new int[8]; // ship ids sorted by first cell
+    private int longestShip = 0; // length of the longest ship placed, the furthest a cell is from its first cell
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor 1
+     * Creates an empty board state with no ships and no attacks
+     * @param boardSize: {int} number of rows and columns
+     */
+    public BoardState(int boardSize) {
+
+        if (boardSize < 1 || boardSize > MAX_SIZE) {
+
+            throw new IllegalArgumentException("Board size " + boardSize + " must be from 1 to " + MAX_SIZE);
+        }
+
+        this.boardSize = boardSize; // set board size
+        int cells = boardSize * boardSize; // total number of cells
+        occupied = new CellMask(cells);
+        missed = new CellMask(cells);
+        hits = new CellMask(cells);
+        destroyed = new CellMask(cells);
+        tables = new PlacementTable[boardSize + 1];
+    }
+
+    /** constructor 2
+     * Creates a copy of the board state provided, including its ships and attacks
+     * @param other: {BoardState} board state to copy
+     */
+    public BoardState(BoardState other) {
+
+        this.boardSize = other.boardSize; // copy board size
+        occupied = new CellMask(other.occupied);
+        missed = new CellMask(other.missed);
+        hits = new CellMask(other.hits);
+        destroyed = new CellMask(other.destroyed);
+        tables = other.tables.clone(); // tables are shared read only
+
+        // copy the placed ships
+        shipCount = other.shipCount;
+        shipsAfloat = other.shipsAfloat;
+        shipOrigin = other.shipOrigin.clone();
+        shipLength = other.shipLength.clone();
+        shipHorizontal = other.shipHorizontal.clone();
+        shipHealth = other.shipHealth.clone();
+        shipsByOrigin = other.shipsByOrigin.clone();
+        longestShip = other.longestShip;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method configuredSize()
+     * Returns the board size named by the battleships.boardSize system property, or
+     * defaultSize() if it is not set. A size that is not a number from 1 to MAX_SIZE or
+     * can not hold the fleet is reported on System.err and defaultSize() is used.
+     * @param fleet: {int[]} length of each ship the board must hold
+     */
+    public static int configuredSize(int[] fleet) {
+
+        String value = System.getProperty(SIZE_PROPERTY);
+        if (value == null) return defaultSize(fleet);
+
+        try {
+
+            int size = Integer.parseInt(value.trim());
+            String problem = size < 1 || size > MAX_SIZE ? "must be from 1 to " + MAX_SIZE
+                    : FleetPlacer.checkFleet(size, fleet, 0);
+            if (problem == null) return size;
+            System.err.println("Board size " + size + " not used: " + problem);
+
+        } catch (NumberFormatException e) {
+
+            System.err.println("Board size " + value + " not used: not a number");
+        }
+        return defaultSize(fleet);
+    }
+
+    /** method defaultSize()
+     * Returns DEFAULT_SIZE, or for a fleet too large for it the smallest board that holds
+     * the longest ship and has at least twice the cells the fleet covers, so the ships
+     * can be placed without a long search
+     * @param fleet: {int[]} length of each ship the board must hold
+     */
+    public static int defaultSize(int[] fleet) {
+
+        long cells = 0; // cells covered by the fleet
+        int longest = 0; // longest ship
+        for (int length : fleet) {
+
+            cells += length;
+            longest = Math.max(longest, length);
+        }
+
+        int size = DEFAULT_SIZE;
+        while (size < MAX_SIZE && (size < longest || (long) size * size < cells * 2)) size++;
+        return size;
+    }
+
+    /** method cell()
+     * Returns the cell index of the row and column provided
+     * @param row: {int} row of the cell
+     * @param column: {int} column of the cell
+     */
+    public int cell(int row, int column) {
+
+        return row * boardSize + column;
+    }
+
+    /** method canPlace()
+     * Returns true if a ship of the given length fits within the board at the
+     * starting point provided and does not collide with a placed ship.
+     * @param row: {int} starting row of the ship
+     * @param column: {int} starting column of the ship
+     * @param length: {int} length of the ship
+     * @param horizontal: {boolean} direction, true=horizontal, false=vertical
+     */
+    public boolean canPlace(int row, int column, int length, boolean horizontal) {
+
+        if (!isWithinBoard(row, column, length, horizontal)) return false; // outside of board limits
+
+        // check the words the ship covers against the placed ships
+        return getPlacements(length).fits(occupied, placement(row, column, horizontal));
+    }
+
+    /** method placement()
+     * Returns the PlacementTable slot of a ship starting at the row and column provided
+     * @param row: {int} starting row of the ship
+     * @param column: {int} starting column of the ship
+     * @param horizontal: {boolean} direction, true=horizontal, false=vertical
+     */
+    public int placement(int row, int column, boolean horizontal) {
+
+        return cell(row, column) * 2 + (horizontal ? 0 : 1);
+    }
+
+    /** method isWithinBoard()
+     * Returns true if a ship of the given length starting at the row and column
+     * provided stays inside the board limits.
+     * @param row: {int} starting row of the ship
+     * @param column: {int} starting column of the ship
+     * @param length: {int} length of the ship
+     * @param horizontal: {boolean} direction, true=horizontal, false=vertical
+     */
+    public boolean isWithinBoard(int row, int column, int length, boolean horizontal) {
+
+        if (row < 0 || column < 0 || row >= boardSize || column >= boardSize) return false;
+        if (horizontal) return column + length <= boardSize; // columns left on the row
+        return row + length <= boardSize; // rows left in the column
+    }
+
+    /** method placeShip()
+     * Places a ship on the board. Returns the id of the new ship, or -1 if the
+     * ship does not fit or collides with another ship.
+     * @param row: {int} starting row of the ship
+     * @param column: {int} starting column of the ship
+     * @param length: {int} length of the ship
+     * @param horizontal: {boolean} direction, true=horizontal, false=vertical
+     */
+    public int placeShip(int row, int column, int length, boolean horizontal) {
+
+        if (!canPlace(row, column, length, horizontal)) return -1; // placement failed
+
+        int start = cell(row, column); // first cell of the ship
+        getPlacements(length).set(occupied, placement(row, column, horizontal)); // mark the ship cells
+
+        // grow the ship arrays if they are full
+        if (shipCount == shipOrigin.length) {
+
+            int capacity = shipCount * 2;
+            shipOrigin = Arrays.copyOf(shipOrigin, capacity);
+            shipLength = Arrays.copyOf(shipLength, capacity);
+            shipHorizontal = Arrays.copyOf(shipHorizontal, capacity);
+            shipHealth = Arrays.copyOf(shipHealth, capacity);
+            shipsByOrigin = Arrays.copyOf(shipsByOrigin, capacity);
+        }
+
+        // record the ship
+        shipOrigin[shipCount] = start;
+        shipLength[shipCount] = length;
+        shipHorizontal[shipCount] = horizontal;
+        shipHealth[shipCount] = length;
+        shipsAfloat++;
+
+        longestShip = Math.max(longestShip, length);
+
+        // keep the ids sorted by first cell, ships never share a first cell
+        int index = shipCount;
+        while (index > 0 && shipOrigin[shipsByOrigin[index - 1]] > start) {
+
+            shipsByOrigin[index] = shipsByOrigin[index - 1];
+            index--;
+        }
+        shipsByOrigin[index] = shipCount;
+
+        return shipCount++; // return new ship id
+    }
+
+    /** method shoot()
+     * Attacks the cell provided and updates the state of the board.
+     * Returns MISS, HIT or SUNK, or ALREADY_SHOT if the cell has been attacked before.
+     * When a ship is sunk all of its cells are marked as destroyed.
+     * @param cell: {int} cell to attack
+     */
+    public int shoot(int cell) {
+
+        if (missed.get(cell) || hits.get(cell)) return ALREADY_SHOT; // cell already attacked
+
+        if (!occupied.get(cell)) { // no ship in the cell
+
+            missed.set(cell);
+            return MISS;
+        }
+
+        hits.set(cell); // mark cell as hit
+        int ship = getShipAt(cell); // find the ship that was hit
+
+        if (--shipHealth[ship] > 0) return HIT; // ship still afloat
+
+        // ship sunk, mark all of its cells as destroyed
+        getPlacements(shipLength[ship]).set(destroyed, shipOrigin[ship] * 2 + (shipHorizontal[ship] ? 0 : 1));
+        shipsAfloat--;
+        return SUNK;
+    }
+
+    /** method shoot()
+     * Attacks every cell of a salvo in the order provided and returns the result of each
+     * shot, as shoot() of one cell. A cell given twice is ALREADY_SHOT the second time.
+     * @param cells: {int[]} cells to attack
+     */
+    public int[] shoot(int[] cells) {
+
+        int[] results = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) results[i] = shoot(cells[i]);
+        return results;
+    }
+
+    /** method getShipAt()
+     * Returns the id of the ship covering the cell provided, or -1 if the cell is empty.
+     * The first cell of the ship is at most longestShip - 1 cells back along the row or
+     * the column, over occupied cells only.
+     * @param cell: {int} cell to check
+     */
+    public int getShipAt(int cell) {
+
+        if (!occupied.get(cell)) return -1;
+
+        int column = cell % boardSize;
+        for (int back = 0, from = cell; back < longestShip && back <= column && occupied.get(from); back++, from--) {
+
+            int ship = shipWithOrigin(from);
+            if (ship >= 0 && shipHorizontal[ship] && shipLength[ship] > back) return ship; // reaches the cell
+        }
+        for (int back = 0, from = cell; back < longestShip && from >= 0 && occupied.get(from); back++, from -= boardSize) {
+
+            int ship = shipWithOrigin(from);
+            if (ship >= 0 && !shipHorizontal[ship] && shipLength[ship] > back) return ship; // reaches the cell
+        }
+        return -1; // not reached, every occupied cell is covered by a ship
+    }
+
+    /** method shipWithOrigin()
+     * Returns the id of the ship whose first cell is the cell provided, or -1 if none
+     * @param cell: {int} cell to look up
+     */
+    private int shipWithOrigin(int cell) {
+
+        int low = 0;
+        int high = shipCount - 1;
+        while (low <= high) {
+
+            int middle = (low + high) >>> 1;
+            int origin = shipOrigin[shipsByOrigin[middle]];
+            if (origin < cell) low = middle + 1;
+            else if (origin > cell) high = middle - 1;
+            else return shipsByOrigin[middle];
+        }
+        return -1;
+    }
+
+    /** method isUnknown()
+     * Returns true if the cell has not been attacked
+     * @param cell: {int} cell to check
+     */
+    public boolean isUnknown(int cell) {
+
+        return !missed.get(cell) && !hits.get(cell);
+    }
+
+    /** method nextUnknown()
+     * Returns the first cell at or after the cell provided that has not been
+     * attacked, or -1 if every remaining cell has been attacked
+     * @param from: {int} cell to start searching from
+     */
+    public int nextUnknown(int from) {
+
+        long[] missWords = missed.getWords(); // packed known empty cells
+        long[] hitWords = hits.getWords(); // packed known occupied cells
+        int cells = getCellCount(); // number of cells on the board
+
+        for (int wordIndex = from >>> 6; wordIndex < missWords.length && from < cells; wordIndex++) {
+
+            // unknown cells in this word, ignoring cells before the start
+            long word = ~(missWords[wordIndex] | hitWords[wordIndex]);
+            if (wordIndex == from >>> 6) word &= -1L << from;
+
+            if (word != 0) {
+
+                int cell = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return cell < cells ? cell : -1;
+            }
+        }
+        return -1; // every cell has been attacked
+    }
+
+    /** method isMiss()
+     * Returns true if the cell has been attacked and is known empty
+     * @param cell: {int} cell to check
+     */
+    public boolean isMiss(int cell) {
+
+        return missed.get(cell);
+    }
+
+    /** method isHit()
+     * Returns true if the cell has been attacked and is known occupied
+     * @param cell: {int} cell to check
+     */
+    public boolean isHit(int cell) {
+
+        return hits.get(cell);
+    }
+
+    /** method isDestroyed()
+     * Returns true if the cell is part of a sunk ship
+     * @param cell: {int} cell to check
+     */
+    public boolean isDestroyed(int cell) {
+
+        return destroyed.get(cell);
+    }
+
+    /** method isOccupied()
+     * Returns true if a ship has been placed on the cell. This is hidden
+     * information and must not be used by the computer targeting logic.
+     * @param cell: {int} cell to check
+     */
+    public boolean isOccupied(int cell) {
+
+        return occupied.get(cell);
+    }
+
+    /** method isSunk()
+     * Returns true if the ship with the id provided has no remaining health
+     * @param ship: {int} ship id
+     */
+    public boolean isSunk(int ship) {
+
+        return shipHealth[ship] < 1;
+    }
+
+    /** method allShipsSunk()
+     * Returns true if every placed ship has been sunk
+     */
+    public boolean allShipsSunk() {
+
+        return shipsAfloat == 0;
+    }
+
+    /** method save()
+     * Writes the ships and the attacked cells of the board to the buffer provided.
+     * Occupancy, ship health and destroyed cells are not written, restore() works them
+     * out again. A 10x10 board with the standard fleet takes 88 bytes.
+     * @param out: {ByteBuffer} buffer to write to
+     */
+    public void save(ByteBuffer out) {
+
+        out.putInt(boardSize);
+        out.putInt(shipCount);
+        for (int ship = 0; ship < shipCount; ship++) {
+
+            out.putInt(shipOrigin[ship] * 2 + (shipHorizontal[ship] ? 0 : 1)); // placement slot
+            out.putInt(shipLength[ship]);
+        }
+
+        for (long word : missed.getWords()) out.putLong(word);
+        for (long word : hits.getWords()) out.putLong(word);
+    }
+
+    /** method restore()
+     * Replaces the contents of this board with a board written by save(). The ships are
+     * placed in the order they were saved, so they keep their ids, and the attacks are
+     * replayed on them. The board object itself is kept, so anything displaying it stays
+     * attached. Throws IllegalArgumentException if the saved board is not valid.
+     * @param in: {ByteBuffer} buffer positioned at a board written by save()
+     */
+    public void restore(ByteBuffer in) {
+
+        int size = in.getInt();
+        if (size != boardSize) throw new IllegalArgumentException("saved board is " + size + "x" + size);
+
+        int ships = in.getInt();
+        if (ships < 0 || ships > getCellCount()) throw new IllegalArgumentException("saved board has " + ships + " ships");
+
+        // clear the board
+        occupied.clearAll();
+        missed.clearAll();
+        hits.clearAll();
+        destroyed.clearAll();
+        shipCount = 0;
+        shipsAfloat = 0;
+
+        // place the ships again in the same order
+        for (int ship = 0; ship < ships; ship++) {
+
+            int placement = in.getInt();
+            int length = in.getInt();
+            int origin = PlacementTable.origin(placement);
+
+            if (placement < 0 || length < 1 || length > boardSize || origin >= getCellCount()
+                    || placeShip(origin / boardSize, origin % boardSize, length, PlacementTable.isHorizontal(placement)) < 0) {
+
+                throw new IllegalArgumentException("saved ship " + ship + " does not fit on the board");
+            }
+        }
+
+        // read the attacked cells, then replay them so health and destroyed cells are rebuilt
+        CellMask savedMisses = new CellMask(getCellCount());
+        CellMask savedHits = new CellMask(getCellCount());
+        long[] words = savedMisses.getWords();
+        for (int i = 0; i < words.length; i++) words[i] = in.getLong();
+        words = savedHits.getWords();
+        for (int i = 0; i < words.length; i++) words[i] = in.getLong();
+
+        for (int cell = savedMisses.nextSetBit(0); cell >= 0; cell = savedMisses.nextSetBit(cell + 1)) {
+
+            if (shoot(cell) != MISS) throw new IllegalArgumentException("saved miss on a ship at cell " + cell);
+        }
+        for (int cell = savedHits.nextSetBit(0); cell >= 0; cell = savedHits.nextSetBit(cell + 1)) {
+
+            int result = shoot(cell);
+            if (result != HIT && result != SUNK) throw new IllegalArgumentException("saved hit off a ship at cell " + cell);
+        }
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getPlacements()
+     * Returns the shared placement table for ships of the length provided on this board
+     * @param length: {int} length of the ship, 1 to boardSize
+     */
+    public PlacementTable getPlacements(int length) {
+
+        PlacementTable table = tables[length];
+        if (table == null) {
+
+            table = PlacementTable.of(boardSize, length); // shared by every board of this size
+            tables[length] = table;
+        }
+        return table;
+    }
+
+    /** method getBoardSize()
+     * Returns the number of rows and columns
+     */
+    public int getBoardSize() {
+
+        return boardSize;
+    }
+
+    /** method getCellCount()
+     * Returns the number of cells on the board
+     */
+    public int getCellCount() {
+
+        return boardSize * boardSize;
+    }
+
+    /** method getShipCount()
+     * Returns the number of ships placed
+     */
+    public int getShipCount() {
+
+        return shipCount;
+    }
+
+    /** method getShipsAfloat()
+     * Returns the number of placed ships not yet sunk
+     */
+    public int getShipsAfloat() {
+
+        return shipsAfloat;
+    }
+
+    /** method getUnknownCount()
+     * Returns the number of cells not yet attacked
+     */
+    public int getUnknownCount() {
+
+        return getCellCount() - missed.cardinality() - hits.cardinality();
+    }
+
+    /** method getShipLength()
+     * Returns the length of the ship with the id provided
+     * @param ship: {int} ship id
+     */
+    public int getShipLength(int ship) {
+
+        return shipLength[ship];
+    }
+
+    /** method getShipOrigin()
+     * Returns the first cell of the ship with the id provided
+     * @param ship: {int} ship id
+     */
+    public int getShipOrigin(int ship) {
+
+        return shipOrigin[ship];
+    }
+
+    /** method isShipHorizontal()
+     * Returns the direction of the ship with the id provided
+     * @param ship: {int} ship id
+     */
+    public boolean isShipHorizontal(int ship) {
+
+        return shipHorizontal[ship];
+    }
+
+    /** method getOccupied()
+     * Returns the mask of cells containing a ship
+     */
+    public CellMask getOccupied() {
+
+        return occupied;
+    }
+
+    /** method getMissed()
+     * Returns the mask of cells known empty
+     */
+    public CellMask getMissed() {
+
+        return missed;
+    }
+
+    /** method getHits()
+     * Returns the mask of cells known occupied
+     */
+    public CellMask getHits() {
+
+        return hits;
+    }
+
+    /** method getDestroyed()
+     * Returns the mask of cells belonging to sunk ships
+     */
+    public CellMask getDestroyed() {
+
+        return destroyed;
+    }
+
+} // close class BoardState
@@ -0,0 +1,154 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class CanvasRenderer draws a board onto a single Canvas         *
+ * instead of one Square node per cell, so the scene graph holds one node per   *
+ * board whatever its size. The canvas shows a view of viewCells rows and       *
+ * columns starting at the row and column set by setView(), so a board larger   *
+ * than the window is drawn a part at a time. Only the cells painted or         *
+ * highlighted are kept, in hash tables, so the memory grows with the ships and *
+ * shots on the board rather than its size. Only the cell that changed is       *
+ * repainted, or every cell in view when the view moves.                        *
+ ********************************************************************************/
+
+package battleships;
+
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import java.util.HashMap;
+import java.util.HashSet;
+
+public class CanvasRenderer implements BoardRenderer {
+
+    //**************************Class constants**********************************//
+
+    private static final Color DEFAULT_FILL = Color.BLACK; // fill of an unpainted cell, as a Rectangle
+    private static final Color BORDER = Color.RED; // colour of the cell borders
+    private static final double HIGHLIGHT = 0.24; // amount of white mixed into a highlighted cell
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private int boardSize; // number of rows and columns
+    private int viewCells; // rows and columns drawn on the canvas
+    private int squareSize; // height and width of each cell in pixels
+    private int viewRow = 0; // first row drawn
+    private int viewColumn = 0; // first column drawn
+    private Canvas canvas; // canvas the board is drawn on
+    private GraphicsContext graphics; // graphics context of the canvas
+    private HashMap<Integer, Color> fills = new HashMap<>(); // colour of each painted cell
+    private HashSet<Integer> highlighted = new HashSet<>(); // cells drawn with the highlight effect
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates a canvas large enough for the view and paints every cell in it
+     * @param boardSize: {int} number of rows and columns
+     * @param viewCells: {int} rows and columns drawn at once, at most boardSize
+     * @param squareSize: {int} height and width of each cell in pixels
+     */
+    public CanvasRenderer(int boardSize, int viewCells, int squareSize) {
+
+        this.boardSize = boardSize;
+        this.viewCells = viewCells;
+        this.squareSize = squareSize;
+        this.canvas = new Canvas(viewCells * squareSize, viewCells * squareSize);
+        this.graphics = canvas.getGraphicsContext2D();
+
+        graphics.setLineWidth(1);
+        drawView(); // paint the empty board
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method getNode()
+     * Returns the canvas the board is drawn on
+     */
+    @Override
+    public Node getNode() {
+
+        return canvas;
+    }
+
+    /** method paintCell()
+     * Sets the colour of the cell and repaints it
+     * @param cell: {int} cell index
+     * @param color: {Color} new colour of the cell
+     */
+    @Override
+    public void paintCell(int cell, Color color) {
+
+        if (color.equals(DEFAULT_FILL)) fills.remove(cell); // unpainted cells are not kept
+        else fills.put(cell, color);
+        drawCell(cell);
+    }
+
+    /** method setHighlighted()
+     * Turns the highlight of the cell on or off, repainting it only if it changed
+     * @param cell: {int} cell index
+     * @param highlighted: {boolean} true to highlight the cell
+     */
+    @Override
+    public void setHighlighted(int cell, boolean highlighted) {
+
+        boolean changed = highlighted ? this.highlighted.add(cell) : this.highlighted.remove(cell);
+        if (changed) drawCell(cell); // repaint only if it changed
+    }
+
+    /** method setView()
+     * Moves the view to start at the row and column provided and repaints it
+     * @param row: {int} first row drawn
+     * @param column: {int} first column drawn
+     */
+    @Override
+    public void setView(int row, int column) {
+
+        if (row == viewRow && column == viewColumn) return; // view has not moved
+
+        viewRow = row;
+        viewColumn = column;
+        drawView();
+    }
+
+    /** method drawView()
+     * Paints every cell in the view
+     */
+    private void drawView() {
+
+        for (int row = viewRow; row < viewRow + viewCells; row++) {
+
+            for (int column = viewColumn; column < viewColumn + viewCells; column++) drawCell(row * boardSize + column);
+        }
+    }
+
+    /** method drawCell()
+     * Paints a single cell with its fill, highlight and border, if it is in the view
+     * @param cell: {int} cell index
+     */
+    private void drawCell(int cell) {
+
+        int column = cell % boardSize - viewColumn; // column of the cell in the view
+        int row = cell / boardSize - viewRow; // row of the cell in the view
+        if (row < 0 || column < 0 || row >= viewCells || column >= viewCells) return; // not drawn
+
+        double x = column * squareSize; // left edge of the cell
+        double y = row * squareSize; // top edge of the cell
+
+        Color fill = fills.getOrDefault(cell, DEFAULT_FILL);
+        if (highlighted.contains(cell)) fill = fill.interpolate(Color.WHITE, HIGHLIGHT); // brighten highlighted cells
+
+        graphics.setFill(fill);
+        graphics.fillRect(x, y, squareSize, squareSize);
+        graphics.setStroke(BORDER);
+        graphics.strokeRect(x + 0.5, y + 0.5, squareSize - 1, squareSize - 1); // border inside the cell
+    }
+
+} // close class CanvasRenderer
@@ -0,0 +1,270 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class CellMask is a fixed size set of board cells packed into   *
+ * an array of longs, one bit per cell. A 10x10 board fits in two longs.        *
+ * It is used by the game state classes to store occupancy, misses, hits and    *
+ * destroyed cells so that collision checks and cell queries are a handful of   *
+ * bit operations rather than walks over the JavaFX grid.                       *
+ * Cells are numbered row major, cell = row * boardSize + column.               *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.Arrays;
+
+public final class CellMask {
+
+    //**************************Class instance variables*************************//
+
+    private final int size; // number of cells in the mask
+    private final long[] words; // packed bits, 64 cells per long
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor 1
+     * Creates an empty mask large enough to hold the number of cells provided
+     * @param size: {int} number of cells
+     */
+    public CellMask(int size) {
+
+        this.size = size; // set number of cells
+        this.words = new long[(size + 63) >>> 6]; // round up to whole longs
+    }
+
+    /** constructor 2
+     * Creates a copy of the mask provided
+     * @param other: {CellMask} mask to copy
+     */
+    public CellMask(CellMask other) {
+
+        this.size = other.size; // copy number of cells
+        this.words = other.words.clone(); // copy packed bits
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method get()
+     * Returns true if the cell provided is set
+     * @param cell: {int} cell index
+     */
+    public boolean get(int cell) {
+
+        return (words[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /** method set()
+     * Sets the cell provided
+     * @param cell: {int} cell index
+     */
+    public void set(int cell) {
+
+        words[cell >>> 6] |= 1L << cell;
+    }
+
+    /** method clear()
+     * Clears the cell provided
+     * @param cell: {int} cell index
+     */
+    public void clear(int cell) {
+
+        words[cell >>> 6] &= ~(1L << cell);
+    }
+
+    /** method clearAll()
+     * Clears every cell in the mask
+     */
+    public void clearAll() {
+
+        Arrays.fill(words, 0L);
+    }
+
+    /** method setRun()
+     * Sets a run of consecutive cells, used for horizontal ship placements
+     * @param start: {int} first cell of the run
+     * @param length: {int} number of cells in the run
+     */
+    public void setRun(int start, int length) {
+
+        int end = start + length; // exclusive end of the run
+        int startWord = start >>> 6; // word containing the first cell
+        int endWord = (end - 1) >>> 6; // word containing the last cell
+        long firstMask = -1L << start; // bits from the first cell upwards
+        long lastMask = -1L >>> -end; // bits up to the last cell
+
+        if (startWord == endWord) { // run fits in a single word
+
+            words[startWord] |= firstMask & lastMask;
+
+        } else { // run spans more than one word
+
+            words[startWord] |= firstMask;
+            for (int i = startWord + 1; i < endWord; i++) words[i] = -1L;
+            words[endWord] |= lastMask;
+        }
+    }
+
+    /** method intersectsRun()
+     * Returns true if any cell in the run of consecutive cells is set
+     * @param start: {int} first cell of the run
+     * @param length: {int} number of cells in the run
+     */
+    public boolean intersectsRun(int start, int length) {
+
+        int end = start + length; // exclusive end of the run
+        int startWord = start >>> 6; // word containing the first cell
+        int endWord = (end - 1) >>> 6; // word containing the last cell
+        long firstMask = -1L << start; // bits from the first cell upwards
+        long lastMask = -1L >>> -end; // bits up to the last cell
+
+        if (startWord == endWord) return (words[startWord] & firstMask & lastMask) != 0;
+
+        if ((words[startWord] & firstMask) != 0) return true; // check first word
+        for (int i = startWord + 1; i < endWord; i++) {
+
+            if (words[i] != 0) return true; // check full middle words
+        }
+        return (words[endWord] & lastMask) != 0; // check last word
+    }
+
+    /** method intersectsStride()
+     * Returns true if any cell in a run separated by a fixed stride is set,
+     * used for vertical ship placements where each cell is one row apart
+     * @param start: {int} first cell of the run
+     * @param length: {int} number of cells in the run
+     * @param stride: {int} distance between cells, normally the board size
+     */
+    public boolean intersectsStride(int start, int length, int stride) {
+
+        for (int i = 0, cell = start; i < length; i++, cell += stride) {
+
+            if ((words[cell >>> 6] & (1L << cell)) != 0) return true;
+        }
+        return false;
+    }
+
+    /** method setStride()
+     * Sets a run of cells separated by a fixed stride
+     * @param start: {int} first cell of the run
+     * @param length: {int} number of cells in the run
+     * @param stride: {int} distance between cells, normally the board size
+     */
+    public void setStride(int start, int length, int stride) {
+
+        for (int i = 0, cell = start; i < length; i++, cell += stride) {
+
+            words[cell >>> 6] |= 1L << cell;
+        }
+    }
+
+    /** method or()
+     * Adds every cell set in the mask provided to this mask
+     * @param other: {CellMask} mask of the same size
+     */
+    public void or(CellMask other) {
+
+        for (int i = 0; i < words.length; i++) words[i] |= other.words[i];
+    }
+
+    /** method andNot()
+     * Removes every cell set in the mask provided from this mask
+     * @param other: {CellMask} mask of the same size
+     */
+    public void andNot(CellMask other) {
+
+        for (int i = 0; i < words.length; i++) words[i] &= ~other.words[i];
+    }
+
+    /** method intersects()
+     * Returns true if this mask and the mask provided share any set cell
+     * @param other: {CellMask} mask of the same size
+     */
+    public boolean intersects(CellMask other) {
+
+        for (int i = 0; i < words.length; i++) {
+
+            if ((words[i] & other.words[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    /** method cardinality()
+     * Returns the number of cells set in the mask
+     */
+    public int cardinality() {
+
+        int count = 0; // running total of set bits
+        for (long word : words) count += Long.bitCount(word);
+        return count;
+    }
+
+    /** method isEmpty()
+     * Returns true if no cells are set
+     */
+    public boolean isEmpty() {
+
+        for (long word : words) {
+
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    /** method nextSetBit()
+     * Returns the first set cell at or after the cell provided, or -1 if there is none
+     * @param from: {int} cell to start searching from
+     */
+    public int nextSetBit(int from) {
+
+        if (from >= size) return -1; // past the end of the mask
+
+        int wordIndex = from >>> 6; // word to start in
+        long word = words[wordIndex] & (-1L << from); // ignore cells before the start
+
+        while (true) {
+
+            if (word != 0) {
+
+                int cell = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return cell < size ? cell : -1;
+            }
+            if (++wordIndex == words.length) return -1; // no more words
+            word = words[wordIndex];
+        }
+    }
+
+    /** method copyFrom()
+     * Overwrites this mask with the contents of the mask provided
+     * @param other: {CellMask} mask of the same size
+     */
+    public void copyFrom(CellMask other) {
+
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method size()
+     * Returns the number of cells the mask holds
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /** method getWords()
+     * Returns the packed words backing the mask, used by tight loops in this package
+     */
+    long[] getWords() {
+
+        return words;
+    }
+
+} // close class CellMask
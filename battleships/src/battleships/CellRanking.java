@@ -0,0 +1,203 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class CellRanking keeps a score for every cell of a board with  *
+ * the cells grouped by score, so the strategies can find the highest scoring   *
+ * cell without a walk over the whole board on every shot. The cells are held   *
+ * in one array in order of score, with the first index of each score kept      *
+ * beside it. Moving a cell up or down one point swaps it with the cell at the  *
+ * edge of its group, so a change costs one swap per point and the best cell    *
+ * is read from the top group. Cells with a score of 0 are never chosen.        *
+ * The best cells of a salvo are read from the top groups down in one pass.     *
+ * Cells are numbered row major, cell = row * boardSize + column.               *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class CellRanking {
+
+    //**************************Class instance variables*************************//
+
+    private final int[] score; // score of each cell
+    private final int[] order; // cells in order of score, lowest first
+    private final int[] position; // index of each cell in order
+    private int[] groupStart; // index in order of the first cell of each score, one extra at the end
+    private int topScore = 0; // no cell has a higher score, the group may be empty
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates a ranking with every cell scored 0
+     * @param cells: {int} number of cells
+     */
+    public CellRanking(int cells) {
+
+        score = new int[cells];
+        order = new int[cells];
+        position = new int[cells];
+        groupStart = new int[] {0, cells}; // every cell in group 0
+        for (int cell = 0; cell < cells; cell++) order[cell] = position[cell] = cell;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method load()
+     * Replaces every score with the scores provided, sorting the cells in one pass
+     * @param scores: {int[]} score of each cell, 0 or more
+     * @param skipped: {CellMask} cells scored 0 whatever their score, null if none
+     */
+    public void load(int[] scores, CellMask skipped) {
+
+        int top = 0;
+        for (int cell = 0; cell < score.length; cell++) {
+
+            score[cell] = skipped != null && skipped.get(cell) ? 0 : scores[cell];
+            top = Math.max(top, score[cell]);
+        }
+
+        // count the cells of each score, then turn the counts into group starts
+        groupStart = new int[top + 2];
+        for (int cell = 0; cell < score.length; cell++) groupStart[score[cell] + 1]++;
+        for (int s = 0; s <= top; s++) groupStart[s + 1] += groupStart[s];
+
+        int[] next = Arrays.copyOf(groupStart, top + 1); // next free index of each group
+        for (int cell = 0; cell < score.length; cell++) {
+
+            position[cell] = next[score[cell]]++;
+            order[position[cell]] = cell;
+        }
+        topScore = top;
+    }
+
+    /** method add()
+     * Adds to the score of a cell, the score must not fall below 0
+     * @param cell: {int} cell index
+     * @param delta: {int} amount to add, negative to subtract
+     */
+    public void add(int cell, int delta) {
+
+        for (; delta > 0; delta--) increment(cell);
+        for (; delta < 0; delta++) decrement(cell);
+    }
+
+    /** method set()
+     * Sets the score of a cell
+     * @param cell: {int} cell index
+     * @param value: {int} new score, 0 or more
+     */
+    public void set(int cell, int value) {
+
+        add(cell, value - score[cell]);
+    }
+
+    /** method increment()
+     * Moves a cell up one point, to the bottom of the next group
+     * @param cell: {int} cell index
+     */
+    private void increment(int cell) {
+
+        int s = score[cell];
+        if (s + 2 >= groupStart.length) { // no group for the new score yet
+
+            int length = groupStart.length;
+            groupStart = Arrays.copyOf(groupStart, Math.max(length * 2, s + 3));
+            Arrays.fill(groupStart, length, groupStart.length, score.length); // new groups are empty
+        }
+
+        swap(position[cell], groupStart[s + 1] - 1); // last cell of its group
+        groupStart[s + 1]--;
+        score[cell] = s + 1;
+        if (s + 1 > topScore) topScore = s + 1;
+    }
+
+    /** method decrement()
+     * Moves a cell down one point, to the top of the group below
+     * @param cell: {int} cell index
+     */
+    private void decrement(int cell) {
+
+        int s = score[cell];
+        swap(position[cell], groupStart[s]); // first cell of its group
+        groupStart[s]++;
+        score[cell] = s - 1;
+    }
+
+    /** method swap()
+     * Swaps the cells at two indexes of the order
+     * @param i: {int} index in the order
+     * @param j: {int} index in the order
+     */
+    private void swap(int i, int j) {
+
+        int a = order[i];
+        int b = order[j];
+        order[i] = b;
+        order[j] = a;
+        position[a] = j;
+        position[b] = i;
+    }
+
+    /** method best()
+     * Returns a cell with the highest score, ties are chosen at random, or -1 if every
+     * cell scores 0
+     */
+    public int best() {
+
+        while (topScore > 0 && groupStart[topScore] == groupStart[topScore + 1]) topScore--; // skip empty groups
+        if (topScore == 0) return -1;
+
+        int first = groupStart[topScore];
+        return order[first + ThreadLocalRandom.current().nextInt(groupStart[topScore + 1] - first)];
+    }
+
+    /** method best()
+     * Writes the highest scoring cells into the array provided, best first, and returns
+     * how many were written. Ties at the lowest score taken are chosen at random, cells
+     * with a score of 0 are never chosen. The groups are read from the top down, so the
+     * cost is the number of cells written plus the number of scores passed.
+     * @param cells: {int[]} array to write to
+     * @param from: {int} first index to write
+     * @param count: {int} most cells to write
+     */
+    public int best(int[] cells, int from, int count) {
+
+        int written = 0;
+        for (int s = topScore; s > 0 && written < count; s--) {
+
+            int first = groupStart[s];
+            int size = groupStart[s + 1] - first;
+            int taken = Math.min(size, count - written);
+
+            // move a random choice of the group to its front, the order inside a group does not matter
+            for (int i = 0; i < taken && taken < size; i++) {
+
+                swap(first + i, first + i + ThreadLocalRandom.current().nextInt(size - i));
+            }
+            System.arraycopy(order, first, cells, from + written, taken);
+            written += taken;
+        }
+        return written;
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method get()
+     * Returns the score of a cell
+     * @param cell: {int} cell index
+     */
+    public int get(int cell) {
+
+        return score[cell];
+    }
+
+} // close class CellRanking
@@ -6,12 +6,13 @@
  * It is used to create a battleships board made up of a grid of squares.       *
  * This subclass contains specific methods used to create the computer's grid,  *
  * such as creating the ships and automatically placing them.                   *
+ * When the opponent plays on a MatchServer their ships are not known, so the   *
+ * board is created with its ships left unplaced. The ships are created from a  *
+ * FleetConfig, the standard fleet unless another is given.                     *
  ********************************************************************************/
 
 package battleships;
 
-import java.util.Arrays;
-import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class ComputerBoard extends Board {
@@ -20,21 +21,59 @@ public class ComputerBoard extends Board {
 
     //****************************Class constructors*****************************//
 
-    /** constructor
-     * Creates a new ComputerBoard instance and builds a grid of Squares using the
+    /** constructor 1
+     * Creates a new ComputerBoard instance drawn as a grid of Squares.
+     * @param boardSize: {int} number of rows and columns
+     * @param squareSize: {int} height and width of each grid square
+     */
+    public ComputerBoard(int boardSize, int squareSize) {
+
+        this(boardSize, squareSize, RendererType.SQUARES);
+    }
+
+    /** constructor 2
+     * Creates a new ComputerBoard instance and builds its grid using the
      * Board superclass constructor. All the computers ships are then created ready to
      * be placed on the grid. These are then placed using the placeAllShips method.
      * @param boardSize: {int} number of rows and columns
      * @param squareSize: {int} height and width of each grid square
+     * @param rendererType: {RendererType} how the grid is drawn
      */
-    public ComputerBoard(int boardSize, int squareSize) {
+    public ComputerBoard(int boardSize, int squareSize, RendererType rendererType) {
+
+        this(boardSize, squareSize, rendererType, true);
+    }
+
+    /** constructor 3
+     * Overloaded constructor that can leave the ships unplaced, for an opponent whose
+     * ships are only revealed as they are destroyed.
+     * @param boardSize: {int} number of rows and columns
+     * @param squareSize: {int} height and width of each grid square
+     * @param rendererType: {RendererType} how the grid is drawn
+     * @param placeShips: {boolean} true to place the ships at random, false to leave them unplaced
+     */
+    public ComputerBoard(int boardSize, int squareSize, RendererType rendererType, boolean placeShips) {
+
+        this(boardSize, squareSize, rendererType, FleetConfig.STANDARD, placeShips);
+    }
+
+    /** constructor 4
+     * Overloaded constructor that also sets the fleet.
+     * @param boardSize: {int} number of rows and columns
+     * @param squareSize: {int} height and width of each grid square
+     * @param rendererType: {RendererType} how the grid is drawn
+     * @param fleet: {FleetConfig} ships of the computer
+     * @param placeShips: {boolean} true to place the ships at random, false to leave them unplaced
+     */
+    public ComputerBoard(int boardSize, int squareSize, RendererType rendererType, FleetConfig fleet,
+                         boolean placeShips) {
 
         // call superclass Board constructor
-        super(boardSize, squareSize);
+        super(boardSize, squareSize, rendererType);
         // create all ships for computer to place
-        createComputerShips();
+        createComputerShips(fleet);
         // place all the ships randomly on the grid
-        placeAllShips();
+        if (placeShips) placeAllShips();
     }
 
     //***************************************************************************//
@@ -43,16 +82,13 @@ public class ComputerBoard extends Board {
 
     /** method createComputerShips()
      * Creates Ship objects and adds them to the ships array in the Board superclass
+     * @param fleet: {FleetConfig} ships to create
      */
-    private void createComputerShips() {
-
-        getShips().addAll(Arrays.asList(
-                new Ship("Battleship", 4),
-                new Ship("Cruiser1", 3),
-                new Ship("Cruiser2", 3),
-                new Ship("Destroyer1", 2),
-                new Ship("Destroyer2", 2),
-                new Ship("Destroyer3", 2)));
+    private void createComputerShips(FleetConfig fleet) {
+
+        Ship[] ships = new Ship[fleet.getShipCount()];
+        for (int i = 0; i < ships.length; i++) ships[i] = new Ship(fleet.getName(i), fleet.getLength(i));
+        addShips(ships);
     }
 
     /** method createComputerShips()
@@ -60,35 +96,31 @@ public class ComputerBoard extends Board {
      * ENABLING THIS MAKES THE COMPUTERS SHIPS VISIBLE TO THE PLAYER
      */
 //    private void createComputerShips() {
-//        getShips().addAll(Arrays.asList(
+//        addShips(
 //                new Ship("Battleship", 4, Color.LIGHTSLATEGRAY),
 //                new Ship("Cruiser1", 3, Color.CORAL),
 //                new Ship("Cruiser2", 3, Color.WHITE),
 //                new Ship("Destroyer1", 2, Color.DARKTURQUOISE),
 //                new Ship("Destroyer2", 2, Color.YELLOW),
-//                new Ship("Destroyer3", 2, Color.PALEGREEN)));
+//                new Ship("Destroyer3", 2, Color.PALEGREEN));
 //    }
 
     /** method placeAllShips()
-     * Places all the ships in a random location on the grid
+     * Places all the ships in a random location on the grid using the FleetPlacer,
+     * then draws each ship on the cells it was placed on
      */
     private void placeAllShips() {
 
-        // loop through the number of ships in the array
-        for (int i = getShips().size() - 1; i >= 0; i--) {
+        // get the length of each ship in the array
+        int[] lengths = new int[getShips().size()];
+        for (int i = 0; i < lengths.length; i++) lengths[i] = getShips().get(i).getLength();
 
-            // assign random row
-            int randomRow = ThreadLocalRandom.current().nextInt(0, getBoardSize());
-            // assign random column
-            int randomColumn = ThreadLocalRandom.current().nextInt(0, getBoardSize());
-            // assign random boolean
-            setHorizontal(new Random().nextBoolean());
+        // place the ships in the board state, ship ids match the order of the array
+        FleetPlacer.placeAllShips(getState(), lengths, ThreadLocalRandom.current());
 
-            // attempt to place the ship
-            if (!placeShip(getGrid()[randomRow][randomColumn], getShips().get(i))) {
+        for (int i = 0; i < lengths.length; i++) {
 
-                i++; // if ship placement failed, increase number of iterations
-            }
+            showShip(i, getShips().get(i)); // draw the ship on its cells
         }
     }
 
@@ -8,10 +8,22 @@
  * It's also used to set and call GUI click events, including clicking on       *
  * buttons, the board and ship labels. These events allows the user to          *
  * progress or switch between game phases.                                      *
+ * The game in progress is saved after every turn, so it can be resumed from    *
+ * the main menu the next time the game is started.                             *
+ * When the battleships.server system property names a MatchServer, host:port,  *
+ * games are played on the server through RemoteGameplay, against the strategy  *
+ * named by battleships.opponent or against another player if it is PLAYER.     *
+ * The board size is 10 unless the battleships.boardSize system property sets   *
+ * another, larger boards are shown a part at a time. The fleet is read from    *
+ * the file named by battleships.fleet, see FleetConfig. The battleships.salvo  *
+ * property plays a salvo game against the computer, see Match. The computer    *
+ * has battleships.moveDeadline milliseconds per move, 20 unless it is set, see *
+ * DeadlineStrategy.                                                            *
  ********************************************************************************/
 
 package battleships;
 
+import battleships.PhaseScheduler.Phase;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -19,19 +31,31 @@ import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.concurrent.TimeUnit;
 
 public class Controller {
 
     //**************************Class instance variables*************************//
 
     // instance variables used for controlling the game
-    private static final int boardSize = 10; // number of grid rows and columns
+    private static final FleetConfig fleet = FleetConfig.configured(); // ships of each board
+    private static final int boardSize = BoardState.configuredSize(fleet.getLengths()); // number of grid rows and columns
     private static final int squareSize = 46; // height and width of the grid squares
+    private static final StrategyType computerStrategy = StrategyType.HUNT; // computer attack logic
+    private static final RendererType boardRenderer = RendererType.SQUARES; // how the grids are drawn
+    private static final double countDownStep = 1200; // milliseconds between each countdown message
+    private static final GameRecordWriter gameRecords = GameRecordWriter.open("games.bsgr"); // finished games, may be null
+    private static final String matchServer = System.getProperty("battleships.server"); // host:port, null to play locally
+    private static final int salvo = Match.configuredSalvo(); // shots per turn against the computer
+    private static final String matchOpponent = System.getProperty("battleships.opponent", computerStrategy.name()); // on the server
     private PlayerBoard playerBoard; // player board object
     private ComputerBoard computerBoard; // computer board object
     private Gameplay gameplay; // gameplay object
+    private RemoteGameplay remoteGameplay; // game played on the match server, null if played locally
+    private PhaseScheduler phases = new PhaseScheduler(); // current game phase and its timed steps
+    private GameSnapshot savedGame = new GameSnapshot(Paths.get("autosave.bsgs")); // game in progress, null if saving failed
 
     // instance variables to handle changes to the FXML objects
     @FXML
@@ -49,6 +73,8 @@ public class Controller {
     @FXML
     private Button resetGrid; // reset grid button
     @FXML
+    private Button resumeGame; // resume game button
+    @FXML
     private VBox mainMenuArea; // main menu area vbox
     @FXML
     private Label mainLabel; // main menu header
@@ -66,14 +92,27 @@ public class Controller {
 
     /** method initialize()
      * This method is called after class construction and gives access to @FXML annotated objects.
-     * It also starts the game music.
+     * It also starts the game music and offers to resume a saved game.
      */
     public void initialize() {
 
         mainMenuArea.setVisible(true); // display main menu
+        resumeGame.managedProperty().bind(resumeGame.visibleProperty()); // no gap when hidden
+        resumeGame.setVisible(savedGame.exists()); // only offered if a game was saved
         AudioPlayer.MUSIC.loop(); // start music
     }
 
+    /** method preloadTables()
+     * Builds the placement tables of the fleet and creates the computer strategy once, so
+     * its lookup tables are ready before the first game. Called on a background thread
+     * while the game starts up.
+     */
+    static void preloadTables() {
+
+        for (int length : fleet.getLengths()) PlacementTable.of(boardSize, length); // shared tables
+        computerStrategy.create(new BoardState(boardSize)); // tables built by the strategy itself
+    }
+
     /** method newGame()
      * Builds and displays the main area used by the user to place their ships. It creates both grids
      * and places them on their particular side. The labels and buttons are then added to the southern areas.
@@ -87,6 +126,12 @@ public class Controller {
             clearGame(); // clear game
         }
 
+        // stop any countdown still running from the previous game
+        phases.enter(Phase.PLACEMENT);
+        countDownArea.setVisible(false);
+
+        deleteAutosave(); // the saved game is replaced by this one
+
         createBoards(); // create player and computer grids
 
         // build and add ship labels and a header to south area
@@ -108,6 +153,45 @@ public class Controller {
         setLabelSelected(playerBoard.getSelectedShip().getShipsLabel(), true);
     }
 
+    /** method resumeGame()
+     * Creates new boards and restores the saved game into them, then displays the game
+     * area and continues the game without a countdown. If the saved game can not be
+     * restored it is deleted and a new game is started instead.
+     */
+    @FXML
+    private void resumeGame() {
+
+        // clear previous game
+        if (playerBoard != null) {
+
+            clearGame(); // clear game
+        }
+        countDownArea.setVisible(false);
+
+        createBoards(); // create player and computer grids
+        playerBoard.disableClickableGrid(); // every ship is placed by the saved game
+
+        showPlayArea(); // display the boards and labels used during play
+
+        // create the gameplay object and restore the saved game into it
+        gameplay = new Gameplay(playerBoard, computerStrategy, gameRecords);
+        gameplay.setSalvo(salvo);
+        try {
+
+            savedGame.load(gameplay, playerBoard, computerBoard);
+
+        } catch (IOException e) {
+
+            System.err.println("Saved game not resumed: " + e);
+            newGame(); // deletes the saved game
+            return;
+        }
+
+        // remove the main menu display and continue the game
+        mainMenuArea.setVisible(false);
+        play();
+    }
+
     /** method clearGame()
      * Clears both boards, resets the progress of the ship placement labels and
      * enables the rotate and reset buttons and disables the start game button.
@@ -115,6 +199,10 @@ public class Controller {
     @FXML
     private void clearGame() {
 
+        // leave any game being played on the match server
+        if (remoteGameplay != null) remoteGameplay.close();
+        remoteGameplay = null;
+
         // clear board objects
         playerBoard = null;
         computerBoard = null;
@@ -135,8 +223,8 @@ public class Controller {
     private void createBoards() {
 
         // create boards
-        playerBoard = new PlayerBoard( boardSize, squareSize, this::placeShipClick, this::clickLabel);
-        computerBoard = new ComputerBoard(boardSize, squareSize);
+        playerBoard = new PlayerBoard( boardSize, squareSize, boardRenderer, fleet, this::placeShipClick, this::clickLabel);
+        computerBoard = new ComputerBoard(boardSize, squareSize, boardRenderer, fleet, matchServer == null); // ships unknown on a server
         // add boards to GUI
         leftBoard.getChildren().add(playerBoard.getAnchorPane());
         rightBoard.getChildren().add(computerBoard.getAnchorPane());
@@ -165,13 +253,16 @@ public class Controller {
     }
 
     /** method placeShipClick()
-     * Gets the square clicked on and calls the methods for ship placement and validation.
+     * Gets the cell clicked on and calls the methods for ship placement and validation.
      * @param event: {MouseEvent} Mouse event (location of click)
      */
     private void placeShipClick(MouseEvent event) {
 
+        int cell = playerBoard.getCell(event); // get the cell clicked on
+        if (cell < 0) return; // click was not on a cell
+
         // attempt to place a ship at this location using the placeShip method
-        if (playerBoard.placeShip((Square) event.getSource(), playerBoard.getSelectedShip())) {
+        if (playerBoard.placeShip(cell, playerBoard.getSelectedShip())) {
 
             // loop through all the ships and check if there are any ships unplaced
             boolean shipsRemaining = false;
@@ -276,14 +367,35 @@ public class Controller {
 
     /** method startGame()
      * This methods starts the countdown, modifies the GUI for game play and then displays it
-     * It also creates a new Gameplay object and makes the computer board clickable and ready for
-     * attacking.
+     * It also creates a new Gameplay object, or a RemoteGameplay object when playing on a match
+     * server, the computer board is made clickable and ready for attacking when the countdown ends.
      */
     @FXML
     private void startGame() {
 
         countDown(); // begin countdown
 
+        showPlayArea(); // display the boards and labels used during play
+
+        if (matchServer != null) { // play the game on the match server
+
+            int opponent = matchOpponent.equalsIgnoreCase("PLAYER") ? MatchServer.ANY_PLAYER
+                    : StrategyType.valueOf(matchOpponent.toUpperCase()).ordinal();
+            remoteGameplay = new RemoteGameplay(matchServer, opponent, playerBoard, computerBoard, this::gameOver);
+            return;
+        }
+
+        // create new gameplay object
+        gameplay = new Gameplay(playerBoard, computerStrategy, gameRecords);
+        gameplay.setSalvo(salvo);
+    }
+
+    /** method showPlayArea()
+     * This method switches the boards to their sides for game play, hides the placement
+     * buttons and replaces the ship labels with the ships remaining on each board.
+     */
+    private void showPlayArea() {
+
         // disable buttons visibility
         resetGrid.setVisible(false);
         startGame.setVisible(false);
@@ -306,60 +418,45 @@ public class Controller {
                 "BLUE", "Computer ships remaining:");
         buildSouthArea(rightSouthArea, rightSouthMessage, playerBoard.getShips(),
                 "BLUE", "Player ships remaining:");
-
-        // create new gameplay object
-        gameplay = new Gameplay(playerBoard);
-
-        // enable board to be clickable
-        computerBoard.enableClickableGrid(this::attackClick);
     }
 
     /** method countDown()
-     * This methods creates a new thread that firstly, sets the countdown screen as
-     * visible and then iterates through a loop to display a countdown to the user.
+     * This method sets the countdown screen as visible and enters the countdown phase,
+     * which displays a countdown to the user and then starts the game. The countdown
+     * runs on the phase scheduler and is cancelled if a new game is started.
      */
-    private void countDown()  {
-
-        // create thread
-        Thread countDown = new Thread(() -> {
-
-            // display the count down screen to the users
-            Platform.runLater(() -> countDownArea.setVisible(true));
-
-            // count down starting from the int variable i
-            for (int i = 3; i >= 0; i--) {
-
-                // pause the thread
-                try {
-                    TimeUnit.MILLISECONDS.sleep(1200);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                }
-
-                // set and display current counter digit
-                int counter = i;
-                Platform.runLater(() -> countDownLabel.setText(String.valueOf(counter)));
-            }
+    private void countDown() {
+
+        // display the count down screen to the users
+        countDownLabel.setText("READY");
+        countDownArea.setVisible(true);
+
+        phases.enter(Phase.COUNTDOWN,
+                PhaseScheduler.step(countDownStep, () -> countDownLabel.setText("3")),
+                PhaseScheduler.step(countDownStep * 2, () -> countDownLabel.setText("2")),
+                PhaseScheduler.step(countDownStep * 3, () -> countDownLabel.setText("1")),
+                // display a message to indicate the game is about to start
+                PhaseScheduler.step(countDownStep * 4, () -> countDownLabel.setText("GO!")),
+                PhaseScheduler.step(countDownStep * 5, this::play));
+    }
 
-            // display a message to indicate the game is about to start
-            Platform.runLater(() -> countDownLabel.setText(("GO!")));
+    /** method play()
+     * This method removes the countdown screen and enters the play phase, making the
+     * computer board clickable and ready for attacking.
+     */
+    private void play() {
 
-            // pause the thread
-            try {
-                TimeUnit.MILLISECONDS.sleep(1200);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            }
+        // remove the countdown screen from users visibility
+        countDownArea.setVisible(false);
 
-            // remove the countdown screen from users visibility
-            Platform.runLater(() -> countDownArea.setVisible(false));
-        });
+        phases.enter(Phase.PLAY);
 
-        countDown.start(); // start thread
+        // enable board to be clickable
+        computerBoard.enableClickableGrid(this::attackClick);
     }
 
     /** method attackClick()
-     * This method gets the square that was clicked on and uses the Gameplay object
+     * This method gets the cell that was clicked on and uses the Gameplay object
      * to initiate a round of attacks. If this round of attacks returns that either
      * the player or computer has won, the main menu is displayed with a message
      * indicating who the winner is.
@@ -367,28 +464,95 @@ public class Controller {
      */
     private void attackClick(MouseEvent event) {
 
+        // on a match server the shot is sent and the result arrives later
+        if (remoteGameplay != null) {
+
+            remoteGameplay.attack(computerBoard.getCell(event));
+            return;
+        }
+
         // initiate a round of attacks and assign the result to the temporary variable
-        int winnerCheck = gameplay.attack((Square) event.getSource(), playerBoard, computerBoard);
+        int winnerCheck = gameplay.attack(computerBoard.getCell(event), playerBoard, computerBoard);
+
+        // if no winner has been found, save the game so far
+        if (winnerCheck == 0) autosave();
 
         // if the result is over 0, a winner has been found
-        if (winnerCheck > 0) {
+        if (winnerCheck > 0) gameOver(winnerCheck);
+    } // close attackClick method
 
-            // modify the main menu styling
-            mainMenuArea.setStyle("-fx-background-color: rgba(0, 100, 100, 0.8);");
+    /** method gameOver()
+     * This method ends the game and displays the main menu with a message indicating
+     * who the winner is.
+     * @param winnerCheck: {int} 1 if the player has won, 2 if the computer has won, 3 if neither
+     */
+    private void gameOver(int winnerCheck) {
 
-            if (winnerCheck == 1) { // if the result equals 1, the player has won
+        phases.enter(Phase.GAME_OVER);
+        computerBoard.disableClickableGrid(); // no more attacks
+        deleteAutosave(); // a finished game can not be resumed
+        resumeGame.setVisible(false);
 
-                mainLabel.setText("YOU WIN"); // set winning message
+        // modify the main menu styling
+        mainMenuArea.setStyle("-fx-background-color: rgba(0, 100, 100, 0.8);");
 
-            } else {  // else the computer has won
+        if (winnerCheck == 1) { // if the result equals 1, the player has won
 
-                mainLabel.setText("YOU LOSE"); // set a losing message
-            }
+            mainLabel.setText("YOU WIN"); // set winning message
+
+        } else if (winnerCheck == 2) {  // else if the computer has won
+
+            mainLabel.setText("YOU LOSE"); // set a losing message
 
-            // display the main menu
-            mainMenuArea.setVisible(true);
+        } else { // the opponent left the match server
+
+            mainLabel.setText("NO CONTEST"); // set a message with no winner
         }
-    } // close attackClick method
+
+        // display the main menu
+        mainMenuArea.setVisible(true);
+    } // close gameOver method
+
+    /** method autosave()
+     * Saves the game in progress. If the game can not be saved this is reported and
+     * autosaving is switched off for the rest of the session. If the attack logic is
+     * still choosing a late move this save is skipped and the last one is kept.
+     */
+    private void autosave() {
+
+        if (savedGame == null) return; // saving failed before
+
+        try {
+
+            savedGame.save(gameplay, playerBoard, computerBoard);
+
+        } catch (IOException e) {
+
+            System.err.println("Autosave unavailable: " + e);
+            savedGame = null;
+
+        } catch (IllegalStateException e) {
+
+            System.err.println("Autosave skipped, the last one is kept: " + e.getMessage()); // tried again next turn
+        }
+    }
+
+    /** method deleteAutosave()
+     * Deletes the saved game, if there is one
+     */
+    private void deleteAutosave() {
+
+        if (savedGame == null) return; // saving failed before
+
+        try {
+
+            savedGame.delete();
+
+        } catch (IOException e) {
+
+            System.err.println("Saved game not deleted: " + e);
+        }
+    }
 
     /** method quitButton()
      * Exits the application
@@ -0,0 +1,324 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class DeadlineStrategy plays another AttackStrategy with a      *
+ * hard deadline on every move. The strategy is given a move budget a little    *
+ * shorter than the deadline, so the strategies that search keep the best shot  *
+ * found so far and return it in time. The moves are chosen on a worker thread  *
+ * while the caller waits up to the deadline. If the strategy overruns, the     *
+ * watchdog plays a cheap legal shot instead, next to a damaged ship or a       *
+ * random untouched cell, and the late move is thrown away when it finishes.    *
+ * The next move waits behind it within its own deadline, so no move ever       *
+ * takes longer than the deadline, even with a strategy stuck in a loop.        *
+ * Every call to the strategy is run on the same worker in the order it was     *
+ * made, so results reach the strategy in order and a late move never runs      *
+ * beside the next one. The worker plays on a copy of the board of its own,     *
+ * taken once and kept up to date by replaying each shot reported, so a late    *
+ * move never reads the board while the caller attacks it and no move copies    *
+ * it. A save not done by the deadline fails rather than write a state that     *
+ * does not match the board. The worker thread is a daemon and stops once       *
+ * idle.                                                                        *
+ * The deadline is set with the battleships.moveDeadline system property in     *
+ * milliseconds, GUI_DEADLINE_MILLIS in the GUI. A Simulation only plays        *
+ * through a DeadlineStrategy if the property is set.                           *
+ ********************************************************************************/
+
+package battleships;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class DeadlineStrategy implements AttackStrategy {
+
+    //**************************Class constants**********************************//
+
+    public static final String DEADLINE_PROPERTY = "battleships.moveDeadline"; // system property setting the deadline
+    public static final long GUI_DEADLINE_MILLIS = 20; // deadline of a move in the GUI, the UI waits for it
+    private static final int MARGIN_DIVISOR = 4; // a quarter of the deadline is left for the move to be returned
+    private static final long IDLE_SECONDS = 1; // the worker thread stops once idle this long
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private AttackStrategy strategy; // strategy choosing the moves
+    private long deadlineNanos; // time a move may take in nanoseconds
+    private ExecutorService worker; // runs every call to the strategy in order, one thread at most
+    private int overruns = 0; // moves the strategy did not choose in time
+    private BoardState board; // the worker's copy of the board, created on the first call, only the worker changes it
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor 1
+     * Creates a watchdog playing the strategy provided with the deadline provided, on
+     * a worker of its own
+     * @param strategy: {AttackStrategy} strategy choosing the moves
+     * @param deadlineNanos: {long} time a move may take in nanoseconds
+     */
+    public DeadlineStrategy(AttackStrategy strategy, long deadlineNanos) {
+
+        this(strategy, deadlineNanos, newWorker());
+    }
+
+    /** constructor 2
+     * Overloaded constructor that runs the strategy on the worker provided, so one
+     * worker can play a strategy for each game in turn. A move that overran in one game
+     * delays the moves of the next until it finishes.
+     * @param strategy: {AttackStrategy} strategy choosing the moves
+     * @param deadlineNanos: {long} time a move may take in nanoseconds
+     * @param worker: {ExecutorService} single thread worker created by newWorker()
+     */
+    public DeadlineStrategy(AttackStrategy strategy, long deadlineNanos, ExecutorService worker) {
+
+        this.strategy = strategy;
+        this.deadlineNanos = deadlineNanos;
+        this.worker = worker;
+        strategy.setMoveBudget(deadlineNanos - deadlineNanos / MARGIN_DIVISOR); // time to return the move
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method newWorker()
+     * Returns a worker that runs its tasks one at a time in order on a daemon thread.
+     * The thread is started when needed and stops once idle, so the worker does not
+     * have to be shut down.
+     */
+    public static ExecutorService newWorker() {
+
+        return new ThreadPoolExecutor(0, 1, IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+
+            Thread thread = new Thread(task, "attack-strategy");
+            thread.setDaemon(true); // never keeps the game running
+            return thread;
+        });
+    }
+
+    /** method configuredDeadline()
+     * Returns the deadline set by the battleships.moveDeadline system property in
+     * nanoseconds, or the default provided if it is not set. A value that is not valid
+     * is reported on System.err and the default is used. A default of 0 gives 0, for
+     * callers that play without a deadline unless one is set.
+     * @param defaultMillis: {long} deadline in milliseconds if the property is not set
+     */
+    public static long configuredDeadline(long defaultMillis) {
+
+        String value = System.getProperty(DEADLINE_PROPERTY);
+        if (value == null) return TimeUnit.MILLISECONDS.toNanos(defaultMillis);
+
+        try {
+
+            long millis = Long.parseLong(value.trim());
+            if (millis >= 1) return TimeUnit.MILLISECONDS.toNanos(millis);
+
+        } catch (NumberFormatException e) {
+
+            // reported below
+        }
+        System.err.println("Move deadline " + value + " not used: not a number of milliseconds of 1 or more");
+        return TimeUnit.MILLISECONDS.toNanos(defaultMillis);
+    }
+
+    /** method nextShot()
+     * Returns the cell chosen by the strategy, or a cheap legal shot if the strategy did
+     * not choose one by the deadline
+     * @param target: {BoardState} board being attacked
+     */
+    @Override
+    public int nextShot(BoardState target) {
+
+        BoardState board = workerBoard(target);
+        Integer cell = await(() -> strategy.nextShot(board));
+        if (cell != null) return cell;
+
+        overruns++;
+        return cheapShot(target);
+    }
+
+    /** method nextSalvo()
+     * Returns the salvo chosen by the strategy, or a cheap legal shot and the first
+     * untouched cells if the strategy did not choose one by the deadline
+     * @param target: {BoardState} board being attacked
+     * @param shots: {int} number of shots in the salvo
+     */
+    @Override
+    public int[] nextSalvo(BoardState target, int shots) {
+
+        BoardState board = workerBoard(target);
+        int[] cells = await(() -> strategy.nextSalvo(board, shots));
+        if (cells != null) return cells;
+
+        overruns++;
+        cells = new int[shots];
+        cells[0] = cheapShot(target);
+        return AttackStrategy.fillSalvo(target, cells, 1);
+    }
+
+    /** method shotResult()
+     * Queues the result for the strategy, behind the move it may still be choosing. The
+     * shot is made on the worker's copy of the board before the strategy is told.
+     * @param target: {BoardState} board being attacked
+     * @param cell: {int} cell that was attacked
+     * @param result: {int} BoardState result of the attack
+     */
+    @Override
+    public void shotResult(BoardState target, int cell, int result) {
+
+        BoardState board = workerBoard(target);
+        worker.execute(() -> {
+
+            board.shoot(cell); // already made if the copy was taken after it
+            strategy.shotResult(board, cell, result);
+        });
+    }
+
+    /** method saveState()
+     * Writes the state of the strategy once the calls queued before it have finished.
+     * The strategy writes to a buffer of its own, as large as the room left in the one
+     * provided. Throws IllegalStateException if that is not done by the deadline, as a
+     * late move is still running, and nothing is written.
+     * @param out: {ByteBuffer} buffer to write to
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+
+        int room = out.remaining(); // a state that does not fit overflows as if written to out
+        ByteBuffer state = await(() -> {
+
+            ByteBuffer written = ByteBuffer.allocate(room).order(out.order());
+            strategy.saveState(written);
+            return written;
+        });
+        if (state == null) throw new IllegalStateException("attack logic was not saved by the move deadline");
+        state.flip();
+        out.put(state);
+    }
+
+    /** method restoreState()
+     * Reads the state of the strategy once the calls queued before it have finished.
+     * The worker takes a new copy of the restored board, and the strategy reads a view
+     * of its own of the buffer, which is moved past the state once it is done. Throws
+     * IllegalStateException if that is not done by the deadline, the strategy must not
+     * be used after it.
+     * @param target: {BoardState} restored board being attacked
+     * @param in: {ByteBuffer} buffer positioned at the state written by saveState()
+     */
+    @Override
+    public void restoreState(BoardState target, ByteBuffer in) {
+
+        board = new BoardState(target);
+        BoardState restoredBoard = board;
+        ByteBuffer state = in.duplicate().order(in.order()); // the caller reads on from in if it stops waiting
+        Boolean restored = await(() -> {
+
+            strategy.restoreState(restoredBoard, state);
+            return true;
+        });
+        if (restored == null) throw new IllegalStateException("attack logic was not restored by the move deadline");
+        in.position(state.position());
+    }
+
+    /** method setMoveBudget()
+     * Sets the deadline of each move, the strategy is given a little less once the calls
+     * queued before it have finished
+     * @param budgetNanos: {long} time a move may take in nanoseconds
+     */
+    @Override
+    public void setMoveBudget(long budgetNanos) {
+
+        deadlineNanos = budgetNanos;
+        worker.execute(() -> strategy.setMoveBudget(budgetNanos - budgetNanos / MARGIN_DIVISOR));
+    }
+
+    /** method await()
+     * Runs a call to the strategy on the worker, after the calls queued before it, and
+     * returns its value, or null if it was not returned by the deadline
+     * @param task: {Callable<T>} call to run
+     */
+    private <T> T await(Callable<T> task) {
+
+        Future<T> future = worker.submit(task); // queued behind a move that overran, if it is still running
+        try {
+
+            return future.get(deadlineNanos, TimeUnit.NANOSECONDS);
+
+        } catch (TimeoutException e) {
+
+            future.cancel(false); // never run if it has not started, else left to finish and thrown away
+            return null;
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt(); // keep the interrupt for the caller
+            future.cancel(false);
+            return null;
+
+        } catch (ExecutionException e) {
+
+            throw rethrow(e);
+        }
+    }
+
+    /** method workerBoard()
+     * Returns the worker's copy of the board, copying the board provided on the first
+     * call. Later shots reach the copy through shotResult().
+     * @param target: {BoardState} board being attacked
+     */
+    private BoardState workerBoard(BoardState target) {
+
+        if (board == null) board = new BoardState(target);
+        return board;
+    }
+
+    /** method rethrow()
+     * Returns the exception thrown by a call to the strategy, unwrapped, to be thrown by
+     * the caller
+     * @param e: {ExecutionException} exception of the call
+     */
+    private static RuntimeException rethrow(ExecutionException e) {
+
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) return (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+        return new IllegalStateException("attack logic failed", cause);
+    }
+
+    /** method cheapShot()
+     * Returns an untouched cell next to a damaged ship, or a random untouched cell if no
+     * ship is damaged. The board must have an untouched cell.
+     * @param target: {BoardState} board being attacked
+     */
+    static int cheapShot(BoardState target) {
+
+        int cell = AttackStrategy.nextToOpenHit(target);
+        if (cell >= 0) return cell;
+
+        cell = target.nextUnknown(ThreadLocalRandom.current().nextInt(target.getCellCount())); // from a random cell
+        return cell >= 0 ? cell : target.nextUnknown(0); // none after it, wrap around
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getOverruns()
+     * Returns the number of moves the strategy did not choose by the deadline
+     */
+    public int getOverruns() {
+
+        return overruns;
+    }
+
+} // close class DeadlineStrategy
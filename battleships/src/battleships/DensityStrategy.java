@@ -0,0 +1,435 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class DensityStrategy is a computer attack strategy that keeps  *
+ * a count for every cell of how many legal placements of the remaining ships   *
+ * cover it. A placement is legal while none of its cells is a known miss or    *
+ * part of a destroyed ship. The counts are updated in place after each shot,   *
+ * only the placements crossing the attacked cell are touched, so the cost of   *
+ * a turn does not grow with the number of shots already fired.                 *
+ * While hunting it attacks the untouched cell with the highest count, the      *
+ * same idea as the blocks used by HuntTargetStrategy but for every ship.       *
+ * Once a ship is hit it scores the cells of the legal placements crossing      *
+ * the open hits and attacks the highest scoring cell. A salvo takes the best   *
+ * scored cells around the hits first and the densest cells after them.         *
+ * Placements are read from the shared PlacementTable of each length.           *
+ * The density of each untouched cell is also kept in a CellRanking, so the     *
+ * best hunting cell is found without a walk over the board, which keeps a      *
+ * turn cheap on boards of a million cells.                                     *
+ * Every count works on the ships afloat grouped by length, so a turn costs     *
+ * the same for a fleet of hundreds of ships as for six ships of the same       *
+ * lengths.                                                                     *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.Arrays;
+
+public class DensityStrategy implements AttackStrategy {
+
+    //**************************Class constants**********************************//
+
+    private static final int HIT_WEIGHT = 16; // weight multiplier for each open hit a placement crosses
+    private static final long MAX_WEIGHT = 1L << 40; // weight is not multiplied past this, so scores can not overflow
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private int boardSize; // number of rows and columns
+
+    // remaining ships, grouped by length
+    private int[] lengths; // each distinct ship length
+    private int[] multiplicity; // number of ships afloat of each length
+    private PlacementTable[] tables; // placements of each length
+    private int[] crossing; // scratch array of the placements crossing a cell
+
+    // placement counts, placements are indexed as (origin cell * 2 + direction)
+    private boolean[][] legal; // legal placements for each length, direction 0 = horizontal 1 = vertical
+    private int[][] cover; // number of legal placements of each length covering each cell
+    private int[] density; // cover of each cell weighted by the number of ships afloat of each length
+    private CellRanking ranking; // density of each untouched cell, 0 once attacked
+
+    // hits on ships not yet destroyed
+    private int[] openHits; // cells hit that are not part of a destroyed ship
+    private int openHitCount = 0; // number of open hits
+
+    // reusable target mode scores
+    private long[] score; // score of each cell in target mode
+    private int[] touched; // cells given a score this turn
+    private int touchedCount = 0; // number of cells given a score this turn
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** Constructor
+     * Creates the placement counts for every ship afloat on the board provided.
+     * Cells already known to be a miss or destroyed are treated as blocked.
+     * @param target: {BoardState} board the computer will attack
+     */
+    public DensityStrategy(BoardState target) {
+
+        boardSize = target.getBoardSize(); // set board size
+        int cells = target.getCellCount(); // number of cells on the board
+
+        createLengths(target); // group the ships afloat by length
+
+        // create the placement counts for each length
+        legal = new boolean[lengths.length][cells * 2];
+        cover = new int[lengths.length][cells];
+        density = new int[cells];
+        tables = new PlacementTable[lengths.length];
+        crossing = new int[boardSize * 2]; // a cell is crossed by at most two placements per cell of length
+
+        // cells no ship can occupy
+        CellMask blocked = new CellMask(target.getMissed());
+        blocked.or(target.getDestroyed());
+
+        for (int k = 0; k < lengths.length; k++) { // loop through each length
+
+            tables[k] = target.getPlacements(lengths[k]);
+            for (int i = 0; i < tables[k].count(); i++) { // loop through each placement within the board
+
+                int placement = tables[k].placement(i);
+                if (tables[k].fits(blocked, placement)) addPlacement(k, placement); // none of its cells are blocked
+            }
+        }
+
+        // record any hits on ships not yet destroyed, at most every cell of the ships afloat
+        int shipCells = 0;
+        for (int k = 0; k < lengths.length; k++) shipCells += lengths[k] * multiplicity[k];
+        openHits = new int[shipCells];
+        for (int cell = target.getHits().nextSetBit(0); cell >= 0; cell = target.getHits().nextSetBit(cell + 1)) {
+
+            if (!target.isDestroyed(cell)) openHits[openHitCount++] = cell;
+        }
+
+        score = new long[cells];
+        touched = new int[64]; // grown when a turn scores more cells
+
+        ranking = new CellRanking(cells);
+        rankCells(target);
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method createLengths()
+     * Groups the ships afloat on the board by their length
+     * @param target: {BoardState} board the computer will attack
+     */
+    private void createLengths(BoardState target) {
+
+        int[] found = new int[target.getShipCount()]; // lengths of the ships afloat
+        int count = 0; // number of ships afloat
+        for (int ship = 0; ship < target.getShipCount(); ship++) {
+
+            if (!target.isSunk(ship)) found[count++] = target.getShipLength(ship);
+        }
+        Arrays.sort(found, 0, count); // sort so equal lengths are next to each other
+
+        lengths = new int[count];
+        multiplicity = new int[count];
+        int distinct = 0; // number of distinct lengths
+        for (int i = 0; i < count; i++) {
+
+            if (distinct == 0 || lengths[distinct - 1] != found[i]) lengths[distinct++] = found[i];
+            multiplicity[distinct - 1]++;
+        }
+        lengths = Arrays.copyOf(lengths, distinct);
+        multiplicity = Arrays.copyOf(multiplicity, distinct);
+    }
+
+    /** method rankCells()
+     * Ranks every untouched cell by its density
+     * @param target: {BoardState} board the computer will attack
+     */
+    private void rankCells(BoardState target) {
+
+        CellMask attacked = new CellMask(target.getMissed());
+        attacked.or(target.getHits());
+        ranking.load(density, attacked);
+    }
+
+    /** method addPlacement()
+     * Adds a legal placement to the counts
+     * @param k: {int} index of the ship length
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    private void addPlacement(int k, int placement) {
+
+        legal[k][placement] = true; // mark as legal
+        int step = PlacementTable.isHorizontal(placement) ? 1 : boardSize; // distance between cells of the placement
+        for (int i = 0, cell = PlacementTable.origin(placement); i < lengths[k]; i++, cell += step) {
+
+            cover[k][cell]++; // count placement for each of its cells
+            density[cell] += multiplicity[k];
+        }
+    }
+
+    /** method blockCell()
+     * Removes every legal placement crossing the cell provided from the counts.
+     * Only the placements of each length that cross the cell are checked.
+     * @param cell: {int} cell that is now a miss or destroyed
+     */
+    private void blockCell(int cell) {
+
+        for (int k = 0; k < lengths.length; k++) { // loop through each length still afloat
+
+            if (multiplicity[k] == 0) continue; // no ships left of this length
+
+            int count = tables[k].covering(cell, crossing); // placements crossing the cell
+            for (int i = 0; i < count; i++) removePlacement(k, crossing[i]);
+        }
+    }
+
+    /** method removePlacement()
+     * Removes a placement from the counts if it is still legal
+     * @param k: {int} index of the ship length
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    private void removePlacement(int k, int placement) {
+
+        if (!legal[k][placement]) return; // already removed
+
+        legal[k][placement] = false; // mark as blocked
+        int step = PlacementTable.isHorizontal(placement) ? 1 : boardSize; // distance between cells of the placement
+        for (int i = 0, cell = PlacementTable.origin(placement); i < lengths[k]; i++, cell += step) {
+
+            cover[k][cell]--; // remove placement from each of its cells
+            density[cell] -= multiplicity[k];
+            if (ranking.get(cell) > 0) ranking.add(cell, -multiplicity[k]); // attacked cells stay at 0
+        }
+    }
+
+    /** method removeShip()
+     * Removes one ship of the length provided from the density. Each placement of
+     * that length still legal is subtracted once from its cells and their ranks, so
+     * the cells no placement covers are not touched.
+     * @param length: {int} length of the ship destroyed
+     */
+    private void removeShip(int length) {
+
+        for (int k = 0; k < lengths.length; k++) {
+
+            if (lengths[k] != length || multiplicity[k] == 0) continue; // not this length
+
+            multiplicity[k]--; // one less ship of this length
+            for (int placement = 0; placement < legal[k].length; placement++) {
+
+                if (!legal[k][placement]) continue; // blocked, not counted in the density
+
+                int step = PlacementTable.isHorizontal(placement) ? 1 : boardSize;
+                for (int i = 0, cell = PlacementTable.origin(placement); i < length; i++, cell += step) {
+
+                    density[cell]--;
+                    if (ranking.get(cell) > 0) ranking.add(cell, -1); // attacked cells stay at 0
+                }
+            }
+            return;
+        }
+    }
+
+    /** method shotResult()
+     * Updates the counts with the result of the last attack
+     * @param target: {BoardState} Players board
+     * @param cell: {int} cell that was attacked
+     * @param result: {int} BoardState result of the attack
+     */
+    @Override
+    public void shotResult(BoardState target, int cell, int result) {
+
+        ranking.set(cell, 0); // an attacked cell is never chosen again
+
+        if (result == BoardState.MISS) { // no ship, block every placement crossing the cell
+
+            blockCell(cell);
+            return;
+        }
+
+        openHits[openHitCount++] = cell; // record the hit
+
+        if (result == BoardState.SUNK) { // ship destroyed
+
+            int ship = target.getShipAt(cell); // sunk ship, announced to the player
+            removeShip(target.getShipLength(ship)); // remove its length from the density
+
+            // block the cells of the destroyed ship
+            int step = target.isShipHorizontal(ship) ? 1 : boardSize;
+            for (int i = 0, shipCell = target.getShipOrigin(ship); i < target.getShipLength(ship); i++, shipCell += step) {
+
+                blockCell(shipCell);
+            }
+
+            // remove destroyed cells from the open hits
+            int kept = 0;
+            for (int i = 0; i < openHitCount; i++) {
+
+                if (!target.isDestroyed(openHits[i])) openHits[kept++] = openHits[i];
+            }
+            openHitCount = kept;
+        }
+    }
+
+    /** method nextShot()
+     * Returns the cell to attack, targeting the open hits if any, else the
+     * untouched cell with the highest density
+     * @param target: {BoardState} Players board
+     */
+    @Override
+    public int nextShot(BoardState target) {
+
+        if (openHitCount > 0) { // a damaged ship is known
+
+            int cell = targetShot(target);
+            if (cell >= 0) return cell;
+        }
+
+        return huntShot(target);
+    }
+
+    /** method huntShot()
+     * Returns the untouched cell with the highest density, ties are chosen at random
+     * @param target: {BoardState} Players board
+     */
+    private int huntShot(BoardState target) {
+
+        int best = ranking.best(); // kept up to date as placements are removed
+
+        // if no placement remains, attack the first untouched cell
+        return best < 0 ? target.nextUnknown(0) : best;
+    }
+
+    /** method nextSalvo()
+     * Returns the cells of the next salvo, the highest scoring cells around the open
+     * hits first, then the untouched cells with the highest density
+     * @param target: {BoardState} Players board
+     * @param shots: {int} number of shots in the salvo
+     */
+    @Override
+    public int[] nextSalvo(BoardState target, int shots) {
+
+        int[] cells = new int[shots];
+        int count = openHitCount > 0 ? targetShots(target, cells, shots) : 0;
+
+        // the densest cells, as many as could be needed once the cells already chosen are skipped
+        int[] hunted = new int[shots];
+        int huntedCount = ranking.best(hunted, 0, shots);
+        for (int i = 0; i < huntedCount && count < shots; i++) count = AttackStrategy.addToSalvo(cells, count, hunted[i]);
+
+        return AttackStrategy.fillSalvo(target, cells, count); // no placement left for the rest
+    }
+
+    /** method targetShot()
+     * Returns the highest scoring cell around the open hits, or -1 if no placement
+     * crosses an open hit
+     * @param target: {BoardState} Players board
+     */
+    private int targetShot(BoardState target) {
+
+        int[] cell = new int[1];
+        return targetShots(target, cell, 1) > 0 ? cell[0] : -1;
+    }
+
+    /** method targetShots()
+     * Scores the untouched cells of every legal placement crossing an open hit and
+     * writes the highest scoring cells into the array provided, best first. Returns
+     * the number of cells written, 0 if no placement crosses an open hit.
+     * @param target: {BoardState} Players board
+     * @param cells: {int[]} array to write to
+     * @param shots: {int} most cells to write
+     */
+    private int targetShots(BoardState target, int[] cells, int shots) {
+
+        touchedCount = 0; // reset scored cells
+
+        for (int h = 0; h < openHitCount; h++) { // loop through the open hits
+
+            for (int k = 0; k < lengths.length; k++) { // loop through each length afloat
+
+                if (multiplicity[k] == 0) continue;
+
+                // legal placements crossing the hit
+                int count = tables[k].covering(openHits[h], crossing);
+                for (int i = 0; i < count; i++) {
+
+                    int placement = crossing[i];
+                    if (!legal[k][placement]) continue;
+
+                    int step = PlacementTable.isHorizontal(placement) ? 1 : boardSize;
+                    scorePlacement(target, PlacementTable.origin(placement), step, lengths[k], multiplicity[k]);
+                }
+            }
+        }
+
+        // take the best scored cell once per shot, each cell taken is scored 0 so it is not taken again
+        int count = 0;
+        for (; count < shots; count++) {
+
+            int best = -1;
+            long bestScore = 0;
+            for (int i = 0; i < touchedCount; i++) {
+
+                int cell = touched[i];
+                if (score[cell] > bestScore) {
+
+                    best = cell;
+                    bestScore = score[cell];
+                }
+            }
+            if (best < 0) break; // every scored cell taken
+            cells[count] = best;
+            score[best] = 0;
+        }
+
+        for (int i = 0; i < touchedCount; i++) score[touched[i]] = 0; // reset the scores
+        return count;
+    }
+
+    /** method scorePlacement()
+     * Adds the weight provided to each untouched cell of a placement
+     * @param target: {BoardState} Players board
+     * @param origin: {int} first cell of the placement
+     * @param step: {int} distance between cells of the placement
+     * @param length: {int} length of the placement
+     * @param ships: {int} number of ships of this length afloat
+     */
+    private void scorePlacement(BoardState target, int origin, int step, int length, int ships) {
+
+        // placements lined up with more than one open hit are far more likely
+        long weight = ships;
+        for (int i = 0, cell = origin; i < length; i++, cell += step) {
+
+            if (target.isHit(cell) && !target.isDestroyed(cell) && weight < MAX_WEIGHT) weight *= HIT_WEIGHT;
+        }
+
+        for (int i = 0, cell = origin; i < length; i++, cell += step) {
+
+            if (!target.isUnknown(cell)) continue; // only score untouched cells
+
+            if (score[cell] == 0) { // first score this turn
+
+                if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                touched[touchedCount++] = cell;
+            }
+            score[cell] += weight;
+        }
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getDensity()
+     * Returns the weighted number of legal placements covering the cell provided
+     * @param cell: {int} cell to check
+     */
+    public int getDensity(int cell) {
+
+        return density[cell];
+    }
+
+} // close class DensityStrategy
@@ -0,0 +1,728 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class EndgameSolver plays the end of a game exactly. Once the   *
+ * layouts of the ships afloat that agree with every known miss, hit and        *
+ * destroyed ship are few enough to list, it lists all of them and searches     *
+ * the shots left for the one that minimises the expected number of shots to    *
+ * destroy every ship, each layout taken as equally likely. A shot splits the   *
+ * layouts by what it would show, miss, hit or the ship sunk, and each part is  *
+ * searched in turn. A cell every layout covers is always taken first, as it    *
+ * must be attacked anyway and can only add to what is known.                   *
+ * Each search result is kept in a transposition table of fixed size, keyed by  *
+ * a 64 bit hash of the layouts left and the cells attacked. The hashes only    *
+ * depend on the placements and cells, so results found for one move are        *
+ * reused by the next. Results that could not beat the best shot found so far   *
+ * are kept as lower bounds.                                                    *
+ * Listing and searching stop at the time budget of the move. The best shot     *
+ * found by then is returned, or -1 if the layouts could not be listed in time  *
+ * or there are too many of them, and the strategy plays its own shot.          *
+ * Layouts are only listed once a single ship is afloat or the cells of the     *
+ * ships afloat left to find are no more than the ships, which is checked       *
+ * without listing anything. Before that there are almost never few enough. A   *
+ * single ship afloat and not hit yet is only listed if its placements in the   *
+ * untouched cells, counted first, are few enough.                              *
+ * The strategies only ask a solver, made by configured(), when the             *
+ * battleships.endgame system property is true. It saves the Hunt strategy      *
+ * about 0.04 shots a game but costs about a third of its speed, so the         *
+ * strategies are compared without it unless it is asked for.                   *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public final class EndgameSolver {
+
+    //**************************Class constants**********************************//
+
+    public static final String ENDGAME_PROPERTY = "battleships.endgame"; // system property switching the solver on
+    public static final int DEFAULT_MAX_LAYOUTS = 5; // most layouts the solver searches, past this the search costs more than it wins
+    public static final long DEFAULT_BUDGET_NANOS = 10_000_000L; // time budget per move, 10 ms
+    public static final int DEFAULT_TABLE_BITS = 10; // transposition table of 1024 entries, enough for a few layouts
+    public static final int MAX_SOLVED_CELLS = PlacementTable.MAX_TABLE_CELLS; // largest board solved
+    public static final int MAX_SOLVED_SHIPS = 32; // most ships afloat solved
+
+    private static final int CHECK_NODES = 16; // nodes visited between reads of the clock
+    private static final long HIT_KEY = 1; // outcome of a hit, sunk ships are keyed by their placement
+    private static final long MISS_KEY = 0; // outcome of a miss
+    private static final byte EXACT = 1; // table value is the expected number of shots
+    private static final byte LOWER_BOUND = 2; // table value is at most the expected number of shots
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private int maxLayouts; // most layouts the solver searches
+    private long budgetNanos; // time budget per move in nanoseconds
+    private int tableBits; // log2 of the number of table entries
+    private long[] tableKeys; // hash of each table entry, 0 if empty, created on first use
+    private double[] tableValues; // expected shots of each table entry
+    private byte[] tableFlags; // EXACT or LOWER_BOUND for each table entry
+
+    // the move being solved
+    private long deadline; // time the move must be chosen by
+    private int nodes = 0; // nodes visited, the clock is read every CHECK_NODES
+    private boolean timedOut; // true once the deadline has passed
+
+    // listing the layouts
+    private int[] shipLengths; // length of each ship afloat, longest first
+    private PlacementTable[] shipTables; // placements of each ship afloat
+    private int[] openHits; // hits on ships not yet destroyed
+    private CellMask taken; // blocked cells and the cells of the ships placed so far
+    private CellMask notHit; // cells not hit, a ship on hits alone would have been destroyed
+    private int[] placed; // placement of each ship in the layout being built, -1 if not placed
+    private int[] freeIndex; // table index of each ship placed after every hit is covered, -1 if not
+    private ArrayList<int[]> layouts = new ArrayList<>(); // placement of each ship, for each layout
+
+    // searching the layouts, cells are numbered by their index in the union of every layout
+    private int[] unionCells; // board cell of each union index
+    private byte[][] shipOf; // ship + 1 covering each union cell in each layout, 0 if none
+    private int[][][] shipCells; // union cells of each ship of each layout
+    private long[][] sunkKeys; // outcome of sinking each ship of each layout
+    private long[] layoutKeys; // hash of each layout
+    private int[] remaining; // cells of each layout not yet attacked
+    private boolean[] shot; // union cells attacked, on the board or in the search
+    private int[] seen; // stamp of the last hash each union cell was added to
+    private int stamp = 0; // stamp of the hash being worked out
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor 1
+     * Creates a solver with the default number of layouts, time budget and table size
+     */
+    public EndgameSolver() {
+
+        this(DEFAULT_MAX_LAYOUTS, DEFAULT_BUDGET_NANOS, DEFAULT_TABLE_BITS);
+    }
+
+    /** constructor 2
+     * Overloaded constructor that sets the number of layouts, time budget and table size
+     * @param maxLayouts: {int} most layouts the solver searches
+     * @param budgetNanos: {long} time budget per move in nanoseconds
+     * @param tableBits: {int} log2 of the number of transposition table entries
+     */
+    public EndgameSolver(int maxLayouts, long budgetNanos, int tableBits) {
+
+        this.maxLayouts = maxLayouts;
+        this.budgetNanos = budgetNanos;
+        this.tableBits = tableBits;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method configured()
+     * Returns a solver with the default settings if the battleships.endgame system
+     * property is true, else null and the strategy plays the endgame with its own shots
+     */
+    public static EndgameSolver configured() {
+
+        return Boolean.getBoolean(ENDGAME_PROPERTY) ? new EndgameSolver() : null;
+    }
+
+    /** method nextShot()
+     * Returns the cell that minimises the expected number of shots left, or -1 if there
+     * are more than maxLayouts layouts or too many ships afloat to be worth listing them,
+     * the board or fleet is too large to solve, or no shot was searched within the time
+     * budget
+     * @param target: {BoardState} board being attacked
+     */
+    public int nextShot(BoardState target) {
+
+        if (target.getCellCount() > MAX_SOLVED_CELLS || target.getShipsAfloat() > MAX_SOLVED_SHIPS) return -1;
+        if (!mayHaveFewLayouts(target)) return -1; // not worth listing yet
+
+        deadline = System.nanoTime() + budgetNanos;
+        timedOut = false;
+
+        if (!listLayouts(target) || layouts.isEmpty()) return -1; // too many layouts or out of time
+        createUnion(target);
+
+        int[] all = new int[layouts.size()];
+        for (int l = 0; l < all.length; l++) all[l] = l;
+
+        // every candidate is searched with the best value so far as its bound
+        int[] candidates = candidates(all, all.length);
+        if (candidates.length == 1) return unionCells[candidates[0]]; // a sure hit, or the only cell left
+
+        int best = -1;
+        double bestValue = Double.MAX_VALUE;
+        for (int candidate : candidates) {
+
+            double value = evaluate(all, all.length, candidate, bestValue);
+            if (timedOut) break; // the value is not complete
+
+            if (value < bestValue) {
+
+                best = unionCells[candidate];
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /** method mayHaveFewLayouts()
+     * Returns true if the layouts may number maxLayouts or fewer. A single ship afloat
+     * that is not hit yet has one layout for each placement in the untouched cells, and
+     * these are counted without listing them. Otherwise the cells of the ships afloat
+     * not yet hit must be no more than the ships afloat, so most ships are held in place
+     * by their hits. Until then the layouts almost never number maxLayouts or fewer, and
+     * listing them on every move would cost more than the rest of the move.
+     * @param target: {BoardState} board being attacked
+     */
+    private boolean mayHaveFewLayouts(BoardState target) {
+
+        int afloat = target.getShipsAfloat();
+        int openHits = target.getHits().cardinality() - target.getDestroyed().cardinality();
+        int cellsLeft = -openHits; // cells of the ships afloat not yet hit
+        int length = 0;
+        for (int ship = 0; ship < target.getShipCount(); ship++) {
+
+            if (target.isSunk(ship)) continue;
+            length = target.getShipLength(ship);
+            cellsLeft += length;
+        }
+        if (afloat == 1 && openHits == 0) return fewPlacements(target, length);
+        return afloat <= 1 || cellsLeft <= afloat;
+    }
+
+    /** method fewPlacements()
+     * Returns true if a ship of the length provided fits in maxLayouts or fewer places
+     * among the untouched cells, stopping as soon as it fits in more
+     * @param target: {BoardState} board being attacked
+     * @param length: {int} length of the ship
+     */
+    private boolean fewPlacements(BoardState target, int length) {
+
+        PlacementTable table = target.getPlacements(length);
+        int count = 0;
+        for (int index = 0; index < table.count(); index++) {
+
+            int placement = table.placement(index);
+            if (table.fits(target.getMissed(), placement) && table.fits(target.getHits(), placement)) {
+
+                if (++count > maxLayouts) return false;
+            }
+        }
+        return true;
+    }
+
+    /** method listLayouts()
+     * Lists every layout of the ships afloat that agrees with the board. Returns false if
+     * there are more than maxLayouts or the time budget ran out.
+     * @param target: {BoardState} board being attacked
+     */
+    private boolean listLayouts(BoardState target) {
+
+        // lengths of the ships afloat, longest first so equal lengths are next to each other
+        int[] found = new int[target.getShipsAfloat()];
+        int count = 0;
+        for (int ship = 0; ship < target.getShipCount(); ship++) {
+
+            if (!target.isSunk(ship)) found[count++] = target.getShipLength(ship);
+        }
+        Arrays.sort(found);
+        shipLengths = new int[count];
+        shipTables = new PlacementTable[count];
+        for (int i = 0; i < count; i++) {
+
+            shipLengths[i] = found[count - 1 - i];
+            shipTables[i] = target.getPlacements(shipLengths[i]);
+        }
+
+        // no ship may cover a miss or a destroyed ship, every open hit must be covered
+        taken = new CellMask(target.getMissed());
+        taken.or(target.getDestroyed());
+        CellMask hits = target.getHits();
+        notHit = new CellMask(target.getCellCount());
+        notHit.setRun(0, target.getCellCount());
+        notHit.andNot(hits);
+        openHits = new int[0];
+        for (int cell = hits.nextSetBit(0); cell >= 0; cell = hits.nextSetBit(cell + 1)) {
+
+            if (!target.isDestroyed(cell)) {
+
+                openHits = Arrays.copyOf(openHits, openHits.length + 1);
+                openHits[openHits.length - 1] = cell;
+            }
+        }
+
+        placed = new int[count];
+        freeIndex = new int[count];
+        Arrays.fill(placed, -1);
+        Arrays.fill(freeIndex, -1);
+        layouts.clear();
+
+        return coverHits();
+    }
+
+    /** method coverHits()
+     * Places a ship over the first open hit not yet covered, trying every ship length
+     * and placement that covers it, then the ships left once every hit is covered.
+     * Ships of the same length are interchangeable, so only the first unplaced ship of
+     * each length is tried and every layout is listed once. Returns false to stop.
+     */
+    private boolean coverHits() {
+
+        if (++nodes % CHECK_NODES == 0 && System.nanoTime() > deadline) timedOut = true;
+        if (timedOut) return false;
+
+        int hit = -1; // first open hit no placed ship covers
+        for (int i = 0; i < openHits.length && hit < 0; i++) {
+
+            if (!isCovered(openHits[i])) hit = openHits[i];
+        }
+        if (hit < 0) return placeFree(0); // every hit is covered
+
+        int lastLength = 0; // length tried last, the next ship of the same length gives the same layouts
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+
+            if (placed[ship] >= 0 || shipLengths[ship] == lastLength) continue;
+            lastLength = shipLengths[ship];
+
+            int[] crossing = new int[lastLength * 2]; // each level has its own, the levels below reuse theirs
+            int count = shipTables[ship].covering(hit, crossing);
+            for (int i = 0; i < count; i++) {
+
+                if (!shipTables[ship].fits(taken, crossing[i])) continue; // on a miss, destroyed cell or ship
+                if (shipTables[ship].fits(notHit, crossing[i])) continue; // every cell hit, it would be destroyed
+
+                placeShip(ship, crossing[i]);
+                boolean more = coverHits();
+                removeShip(ship);
+                if (!more) return false;
+            }
+        }
+        return true;
+    }
+
+    /** method placeFree()
+     * Places the ships left once every open hit is covered, each ship of a length in a
+     * later placement than the one before it so every layout is listed once. Returns
+     * false to stop.
+     * @param from: {int} first ship to check
+     */
+    private boolean placeFree(int from) {
+
+        int ship = from;
+        while (ship < placed.length && placed[ship] >= 0) ship++; // placed over a hit
+        if (ship == placed.length) { // a complete layout
+
+            layouts.add(placed.clone());
+            return layouts.size() <= maxLayouts;
+        }
+
+        int start = 0; // first table index this ship may use
+        if (ship > 0 && shipLengths[ship - 1] == shipLengths[ship] && freeIndex[ship - 1] >= 0) {
+
+            start = freeIndex[ship - 1] + 1;
+        }
+
+        PlacementTable table = shipTables[ship];
+        for (int index = start; index < table.count(); index++) {
+
+            if (++nodes % CHECK_NODES == 0 && System.nanoTime() > deadline) timedOut = true;
+            if (timedOut) return false;
+
+            int placement = table.placement(index);
+            if (!table.fits(taken, placement)) continue;
+
+            placeShip(ship, placement);
+            freeIndex[ship] = index;
+            boolean more = placeFree(ship + 1);
+            freeIndex[ship] = -1;
+            removeShip(ship);
+            if (!more) return false;
+        }
+        return true;
+    }
+
+    /** method placeShip()
+     * Places a ship of the layout being built
+     * @param ship: {int} index of the ship afloat
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    private void placeShip(int ship, int placement) {
+
+        placed[ship] = placement;
+        shipTables[ship].set(taken, placement);
+    }
+
+    /** method removeShip()
+     * Removes a ship from the layout being built
+     * @param ship: {int} index of the ship afloat
+     */
+    private void removeShip(int ship) {
+
+        shipTables[ship].clear(taken, placed[ship]);
+        placed[ship] = -1;
+    }
+
+    /** method isCovered()
+     * Returns true if a placed ship of the layout being built covers the cell provided
+     * @param cell: {int} cell to check
+     */
+    private boolean isCovered(int cell) {
+
+        for (int ship = 0; ship < placed.length; ship++) {
+
+            if (placed[ship] >= 0 && covers(placed[ship], shipLengths[ship], cell, shipTables[ship].getBoardSize())) {
+
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** method covers()
+     * Returns true if the placement provided covers the cell provided
+     * @param placement: {int} placement slot, origin * 2 + direction
+     * @param length: {int} length of the ship
+     * @param cell: {int} cell to check
+     * @param boardSize: {int} number of rows and columns
+     */
+    private static boolean covers(int placement, int length, int cell, int boardSize) {
+
+        int origin = PlacementTable.origin(placement);
+        if (PlacementTable.isHorizontal(placement)) {
+
+            return cell / boardSize == origin / boardSize && cell >= origin && cell < origin + length;
+        }
+        return cell % boardSize == origin % boardSize && cell >= origin && cell < origin + length * boardSize;
+    }
+
+    /** method createUnion()
+     * Numbers the cells covered by any layout and builds the tables the search reads,
+     * with the open hits marked as attacked
+     * @param target: {BoardState} board being attacked
+     */
+    private void createUnion(BoardState target) {
+
+        int boardSize = target.getBoardSize();
+        int[] unionIndex = new int[target.getCellCount()]; // union index of each cell, -1 if not covered
+        Arrays.fill(unionIndex, -1);
+        int[] cells = new int[64];
+        int count = 0;
+
+        int layoutCount = layouts.size();
+        int ships = shipLengths.length;
+        shipCells = new int[layoutCount][ships][];
+        sunkKeys = new long[layoutCount][ships];
+        layoutKeys = new long[layoutCount];
+        remaining = new int[layoutCount];
+
+        for (int l = 0; l < layoutCount; l++) {
+
+            long sum = 0; // order free sum of the ship hashes
+            for (int ship = 0; ship < ships; ship++) {
+
+                int placement = layouts.get(l)[ship];
+                int step = PlacementTable.isHorizontal(placement) ? 1 : boardSize;
+                int[] shipUnion = new int[shipLengths[ship]];
+                for (int i = 0, cell = PlacementTable.origin(placement); i < shipLengths[ship]; i++, cell += step) {
+
+                    if (unionIndex[cell] < 0) { // first layout to cover the cell
+
+                        if (count == cells.length) cells = Arrays.copyOf(cells, count * 2);
+                        cells[count] = cell;
+                        unionIndex[cell] = count++;
+                    }
+                    shipUnion[i] = unionIndex[cell];
+                    if (!target.isHit(cell)) remaining[l]++;
+                }
+                shipCells[l][ship] = shipUnion;
+                sunkKeys[l][ship] = 2 + (long) placement * (boardSize + 1) + shipLengths[ship]; // never a hit or miss
+                sum += mix((long) shipLengths[ship] << 32 | placement);
+            }
+            layoutKeys[l] = mix(sum);
+        }
+
+        unionCells = Arrays.copyOf(cells, count);
+        shipOf = new byte[layoutCount][count];
+        for (int l = 0; l < layoutCount; l++) {
+
+            for (int ship = 0; ship < ships; ship++) {
+
+                for (int u : shipCells[l][ship]) shipOf[l][u] = (byte) (ship + 1);
+            }
+        }
+
+        shot = new boolean[count];
+        seen = new int[count];
+        for (int u = 0; u < count; u++) shot[u] = target.isHit(unionCells[u]); // open hit, covered by every layout
+    }
+
+    /** method solve()
+     * Returns the expected number of shots to destroy every ship when the layouts
+     * provided are left, each equally likely. A value of bound or more is only a lower
+     * bound, as the search stops once no shot can beat it.
+     * @param set: {int[]} layouts left
+     * @param n: {int} number of layouts in the set
+     * @param bound: {double} values of bound or more are not needed exactly
+     */
+    private double solve(int[] set, int n, double bound) {
+
+        if (remaining[set[0]] == 0) return 0; // every ship destroyed, the same for every layout left
+        if (n == 1) return remaining[set[0]]; // known layout, one shot per cell left
+
+        double lower = 0; // every cell left of a layout must be attacked
+        for (int i = 0; i < n; i++) lower += remaining[set[i]];
+        lower /= n;
+        if (lower >= bound) return lower;
+
+        if (++nodes % CHECK_NODES == 0 && System.nanoTime() > deadline) timedOut = true;
+        if (timedOut) return lower;
+
+        if (tableKeys == null) { // created on the first search, kept for the rest of the game
+
+            tableKeys = new long[1 << tableBits];
+            tableValues = new double[1 << tableBits];
+            tableFlags = new byte[1 << tableBits];
+        }
+
+        long hash = stateHash(set, n) | 1; // 0 marks an empty entry
+        int entry = (int) (hash >>> 1) & ((1 << tableBits) - 1); // bit 0 is always set, index by the bits above it
+        if (tableKeys[entry] == hash) {
+
+            if (tableFlags[entry] == EXACT || tableValues[entry] >= bound) return tableValues[entry];
+        }
+
+        // unless a cell is a sure hit the next shot misses at least as often as at the most covered cell
+        int[] candidates = candidates(set, n);
+        int covering = 0;
+        for (int i = 0; i < n; i++) if (shipOf[set[i]][candidates[0]] != 0) covering++;
+        lower += (double) (n - covering) / n;
+        if (lower >= bound) return lower;
+
+        double best = bound;
+        for (int candidate : candidates) {
+
+            double value = evaluate(set, n, candidate, best);
+            if (timedOut) return lower;
+            if (value < best) best = value;
+        }
+
+        tableKeys[entry] = hash; // always replace, the newest result is the most likely to be read again
+        tableValues[entry] = best;
+        tableFlags[entry] = best < bound ? EXACT : LOWER_BOUND;
+        return best;
+    }
+
+    /** method evaluate()
+     * Returns the expected number of shots to destroy every ship when the union cell
+     * provided is attacked next, or a value of bound or more if it can not beat bound.
+     * The layouts are split by the outcome the shot would show and each part is solved,
+     * largest parts first, until the total can no longer beat bound.
+     * @param set: {int[]} layouts left
+     * @param n: {int} number of layouts in the set
+     * @param u: {int} union cell to attack
+     * @param bound: {double} best value found so far
+     */
+    private double evaluate(int[] set, int n, int u, double bound) {
+
+        shot[u] = true;
+        for (int i = 0; i < n; i++) if (shipOf[set[i]][u] != 0) remaining[set[i]]--;
+
+        // outcome of the shot in each layout
+        long[] keys = new long[n];
+        long[] outcomes = new long[n];
+        int[] sizes = new int[n];
+        int outcomeCount = 0;
+        int[] outcomeOf = new int[n];
+        for (int i = 0; i < n; i++) {
+
+            int ship = shipOf[set[i]][u] - 1;
+            keys[i] = ship < 0 ? MISS_KEY : isSunk(set[i], ship) ? sunkKeys[set[i]][ship] : HIT_KEY;
+
+            int o = 0;
+            while (o < outcomeCount && outcomes[o] != keys[i]) o++;
+            if (o == outcomeCount) outcomes[outcomeCount++] = keys[i];
+            outcomeOf[i] = o;
+            sizes[o]++;
+        }
+
+        int[][] parts = new int[outcomeCount][];
+        double[] lowers = new double[outcomeCount];
+        for (int o = 0; o < outcomeCount; o++) parts[o] = new int[sizes[o]];
+        int[] fill = new int[outcomeCount];
+        for (int i = 0; i < n; i++) {
+
+            int o = outcomeOf[i];
+            parts[o][fill[o]++] = set[i];
+            lowers[o] += remaining[set[i]];
+        }
+
+        // start from every part at its lower bound and replace each with its solved value
+        double value = 1;
+        for (int o = 0; o < outcomeCount; o++) {
+
+            lowers[o] /= sizes[o];
+            value += lowers[o] * sizes[o] / n;
+        }
+
+        int[] order = new int[outcomeCount]; // largest parts first, there are only a few
+        for (int o = 0; o < outcomeCount; o++) {
+
+            int i = o;
+            for (; i > 0 && sizes[order[i - 1]] < sizes[o]; i--) order[i] = order[i - 1];
+            order[i] = o;
+        }
+
+        for (int o : order) {
+
+            if (value >= bound || timedOut) break; // can not beat the best shot
+
+            double p = (double) sizes[o] / n; // chance of this outcome
+            double partBound = (bound - value) / p + lowers[o]; // part value that would reach bound
+            double solved = solve(parts[o], sizes[o], partBound);
+            value += p * (solved - lowers[o]);
+            if (solved >= partBound) value = Math.max(value, bound); // rounding must not let it beat bound
+        }
+
+        for (int i = 0; i < n; i++) if (shipOf[set[i]][u] != 0) remaining[set[i]]++;
+        shot[u] = false;
+        return value;
+    }
+
+    /** method stateHash()
+     * Returns the hash of the layouts provided and of the attacked cells they cover.
+     * Attacks on cells no layout left covers do not change what is left to do, so they
+     * are left out and the same state reached by other shots has the same hash.
+     * @param set: {int[]} layouts left
+     * @param n: {int} number of layouts in the set
+     */
+    private long stateHash(int[] set, int n) {
+
+        stamp++;
+        long hash = 0;
+        for (int i = 0; i < n; i++) {
+
+            hash ^= layoutKeys[set[i]];
+            for (int[] cells : shipCells[set[i]]) {
+
+                for (int u : cells) {
+
+                    if (shot[u] && seen[u] != stamp) { // each attacked cell once
+
+                        seen[u] = stamp;
+                        hash ^= cellKey(unionCells[u]);
+                    }
+                }
+            }
+        }
+        return hash;
+    }
+
+    /** method candidates()
+     * Returns the union cells worth attacking when the layouts provided are left, most
+     * often covered first. If a cell is covered in every layout only that cell is
+     * returned. Cells covered by no layout left are never worth a shot. Cells covered
+     * by the same ship in the same layouts are alike, once one is attacked the other is
+     * a sure hit or a sure miss, so only the first of them is returned.
+     * @param set: {int[]} layouts left
+     * @param n: {int} number of layouts in the set
+     */
+    private int[] candidates(int[] set, int n) {
+
+        int[] covered = new int[unionCells.length]; // layouts left covering each cell not attacked
+        long[] pattern = new long[unionCells.length]; // hash of the layouts and ships covering each cell
+        for (int i = 0; i < n; i++) {
+
+            int[][] ships = shipCells[set[i]];
+            for (int ship = 0; ship < ships.length; ship++) {
+
+                for (int u : ships[ship]) {
+
+                    if (shot[u]) continue;
+                    covered[u]++;
+                    pattern[u] += mix((long) set[i] << 8 | ship);
+                }
+            }
+        }
+
+        // sort by the layouts missing each cell then by cell, so ties are taken in a fixed order
+        long[] keys = new long[unionCells.length];
+        int count = 0;
+        for (int u = 0; u < covered.length; u++) {
+
+            if (covered[u] == n) return new int[] {u}; // a sure hit
+            if (covered[u] > 0) keys[count++] = (long) (n - covered[u]) << 32 | u;
+        }
+        Arrays.sort(keys, 0, count);
+
+        // alike cells have the same cover, so they are next to each other in the order
+        int[] candidates = new int[count];
+        int kept = 0;
+        int runStart = 0; // first kept cell with the cover of the current cell
+        for (int i = 0; i < count; i++) {
+
+            int u = (int) keys[i];
+            if (i > 0 && covered[u] != covered[(int) keys[i - 1]]) runStart = kept;
+
+            boolean alike = false;
+            for (int j = runStart; j < kept && !alike; j++) alike = pattern[candidates[j]] == pattern[u];
+            if (!alike) candidates[kept++] = u;
+        }
+        return Arrays.copyOf(candidates, kept);
+    }
+
+    /** method isSunk()
+     * Returns true if every cell of a ship of a layout has been attacked
+     * @param layout: {int} layout index
+     * @param ship: {int} ship index
+     */
+    private boolean isSunk(int layout, int ship) {
+
+        for (int u : shipCells[layout][ship]) if (!shot[u]) return false;
+        return true;
+    }
+
+    /** method cellKey()
+     * Returns the hash of an attacked cell
+     * @param cell: {int} board cell
+     */
+    private static long cellKey(int cell) {
+
+        return mix(cell ^ 0x5DEECE66DL);
+    }
+
+    /** method mix()
+     * Returns a well mixed 64 bit hash of the value provided, the SplitMix64 finaliser
+     * @param value: {long} value to hash
+     */
+    private static long mix(long value) {
+
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method setBudget()
+     * Sets the time budget of each move
+     * @param budgetNanos: {long} time budget per move in nanoseconds
+     */
+    public void setBudget(long budgetNanos) {
+
+        this.budgetNanos = budgetNanos;
+    }
+
+    /** method getLayoutCount()
+     * Returns the number of layouts listed for the last move, maxLayouts + 1 if there
+     * were more
+     */
+    public int getLayoutCount() {
+
+        return layouts.size();
+    }
+
+} // close class EndgameSolver
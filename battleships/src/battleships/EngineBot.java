@@ -0,0 +1,221 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class EngineBot is a small engine that speaks the protocol of   *
+ * EngineProcess over stdin and stdout. It is an example for engine authors     *
+ * and an opponent for testing EngineMatch. It places its fleet at random and   *
+ * hunts on a checkerboard of cells, then attacks around each hit until the     *
+ * ship is destroyed, keeping what it knows of the opponents board itself as    *
+ * the opponents ships are only known once destroyed. Answers are flushed       *
+ * once no more input is waiting, so a batch of requests is answered with       *
+ * one write.                                                                   *
+ * Usage: java battleships.EngineBot                                            *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class EngineBot {
+
+    //**************************Class constants**********************************//
+
+    private static final byte UNKNOWN = 0; // cell not attacked
+    private static final byte MISSED = 1; // cell attacked, no ship
+    private static final byte HIT = 2; // cell attacked, ship afloat
+    private static final byte DESTROYED = 3; // cell attacked, ship sunk
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII));
+    private BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII));
+    private Random random = new Random();
+    private int boardSize; // number of rows and columns of the current game
+    private int[] fleet = new int[0]; // length of each ship of the current game
+    private byte[] known = new byte[0]; // what is known of each cell of the opponents board
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method main()
+     * Plays games until quit is read or stdin is closed
+     * @param args: {String[]} not used
+     */
+    public static void main(String[] args) throws IOException {
+
+        new EngineBot().run();
+    }
+
+    /** method run()
+     * Reads each line from the host and answers it
+     */
+    private void run() throws IOException {
+
+        String line;
+        while ((line = in.readLine()) != null) {
+
+            String[] tokens = line.trim().split("\\s+");
+            switch (tokens[0]) {
+
+                case EngineProcess.HELLO:
+
+                    send(EngineProcess.ID + " name EngineBot");
+                    send(EngineProcess.ID + " author 1816477");
+                    send(EngineProcess.HELLO_OK);
+                    break;
+
+                case EngineProcess.NEW_GAME:
+
+                    boardSize = Integer.parseInt(tokens[1]);
+                    fleet = new int[tokens.length - 2];
+                    for (int i = 0; i < fleet.length; i++) fleet[i] = Integer.parseInt(tokens[i + 2]);
+                    known = new byte[boardSize * boardSize];
+                    break;
+
+                case EngineProcess.PLACE:
+
+                    send(placeFleet());
+                    break;
+
+                case EngineProcess.SHOOT:
+
+                    int cell = nextShot();
+                    send(EngineProcess.SHOT + " " + cell / boardSize + " " + cell % boardSize);
+                    break;
+
+                case EngineProcess.RESULT:
+
+                    result(tokens);
+                    break;
+
+                case EngineProcess.QUIT:
+
+                    out.flush();
+                    return;
+
+                default:
+
+                    break; // incoming, gameover and lines added by later hosts
+            }
+
+            if (!in.ready()) out.flush(); // answer the whole batch at once
+        }
+        out.flush();
+    }
+
+    /** method placeFleet()
+     * Places the fleet at random and returns the fleet line
+     */
+    private String placeFleet() {
+
+        BoardState board = new BoardState(boardSize);
+        FleetPlacer.placeAllShips(board, fleet, random);
+
+        StringBuilder line = new StringBuilder(EngineProcess.FLEET);
+        for (int ship = 0; ship < board.getShipCount(); ship++) {
+
+            int origin = board.getShipOrigin(ship);
+            line.append(' ').append(origin / boardSize).append(' ').append(origin % boardSize).append(' ')
+                    .append(board.isShipHorizontal(ship) ? EngineProcess.HORIZONTAL : EngineProcess.VERTICAL);
+        }
+        return line.toString();
+    }
+
+    /** method nextShot()
+     * Returns a cell next to a hit, preferring one in line with another hit, or else a
+     * random cell of the checkerboard not yet attacked
+     */
+    private int nextShot() {
+
+        int fallback = -1; // unknown cell next to a hit, not in line
+        for (int cell = 0; cell < known.length; cell++) {
+
+            if (known[cell] != HIT) continue;
+
+            int row = cell / boardSize;
+            int column = cell % boardSize;
+            int[][] steps = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+            for (int[] step : steps) {
+
+                int next = at(row + step[0], column + step[1]);
+                if (next < 0 || known[next] != UNKNOWN) continue;
+
+                if (at(row - step[0], column - step[1]) >= 0 && known[at(row - step[0], column - step[1])] == HIT) {
+
+                    return next; // continues a line of hits
+                }
+                if (fallback < 0) fallback = next;
+            }
+        }
+        if (fallback >= 0) return fallback;
+
+        // hunt, the smallest ship covers a checkerboard cell wherever it is
+        int start = random.nextInt(known.length);
+        for (int parity = 0; parity < 2; parity++) {
+
+            for (int i = 0; i < known.length; i++) {
+
+                int cell = (start + i) % known.length;
+                if (known[cell] == UNKNOWN && (cell / boardSize + cell % boardSize) % 2 == parity) return cell;
+            }
+        }
+        return start; // every cell attacked, the host will end the game
+    }
+
+    /** method result()
+     * Records the result of the last shot, a sunk ship marks all of its cells
+     * @param tokens: {String[]} tokens of the result line
+     */
+    private void result(String[] tokens) {
+
+        int cell = at(Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]));
+        String result = tokens[3];
+
+        if (result.equals(EngineProcess.RESULT_NAMES[BoardState.MISS])) {
+
+            known[cell] = MISSED;
+
+        } else if (result.equals(EngineProcess.RESULT_NAMES[BoardState.HIT])) {
+
+            known[cell] = HIT;
+
+        } else {
+
+            int origin = at(Integer.parseInt(tokens[4]), Integer.parseInt(tokens[5]));
+            int step = tokens[6].equals(EngineProcess.HORIZONTAL) ? 1 : boardSize;
+            for (int i = 0; i < Integer.parseInt(tokens[7]); i++) known[origin + i * step] = DESTROYED;
+        }
+    }
+
+    /** method at()
+     * Returns the cell at the row and column provided, or -1 if it is off the board
+     * @param row: {int} row of the cell
+     * @param column: {int} column of the cell
+     */
+    private int at(int row, int column) {
+
+        if (row < 0 || column < 0 || row >= boardSize || column >= boardSize) return -1;
+        return row * boardSize + column;
+    }
+
+    /** method send()
+     * Queues a line for the host
+     * @param line: {String} line without its line break
+     */
+    private void send(String line) throws IOException {
+
+        out.write(line);
+        out.write('\n');
+    }
+
+} // close class EngineBot
@@ -0,0 +1,355 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class EngineMatch plays an external engine against one of the   *
+ * computer attack strategies, to benchmark engines against the game's own      *
+ * logic. A number of engine processes are started and each one plays its       *
+ * share of the games on its own thread. The turns are played by a Match with   *
+ * the engine as side 0, which attacks first as the player does in the GUI.     *
+ * The requests to the engine are pipelined: a game starts with newgame,        *
+ * place and the first shoot sent in one write, and after each shot the result  *
+ * and the request for the next shot are sent before the strategy takes its     *
+ * turn, so the strategy thinks while the engine does. The host time spent on   *
+ * each move is reported beside the time waiting for the engine, so the         *
+ * protocol overhead can be compared with the engines own think time.           *
+ * When the battleships.records system property names a file, every game is     *
+ * appended to it as a GameRecord. The board size is 10 unless the              *
+ * battleships.boardSize system property sets another, and the fleet is the    *
+ * standard fleet unless battleships.fleet names a FleetConfig file.            *
+ * Usage: java [-Dbattleships.records=<file>] battleships.EngineMatch <games>   *
+ *        <engines> <strategy> <engine command>...                              *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class EngineMatch {
+
+    //**************************Class instance variables*************************//
+
+    private int boardSize; // number of rows and columns
+    private int[] fleet; // length of each ship
+    private StrategyType strategyType; // strategy the engine plays against
+    private List<String> command; // program and arguments that start the engine
+    private int engines; // number of engine processes played at once
+    private GameRecordWriter recordWriter; // where each game is recorded, null if not recorded
+    private String engineName; // name given by the first engine started
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates a match between the engine and strategy provided
+     * @param boardSize: {int} number of rows and columns
+     * @param fleet: {int[]} length of each ship
+     * @param strategyType: {StrategyType} strategy the engine plays against
+     * @param command: {List<String>} program and arguments that start the engine
+     * @param engines: {int} number of engine processes played at once
+     */
+    public EngineMatch(int boardSize, int[] fleet, StrategyType strategyType, List<String> command, int engines) {
+
+        this.boardSize = boardSize;
+        this.fleet = fleet;
+        this.strategyType = strategyType;
+        this.command = command;
+        this.engines = engines;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method main()
+     * Runs a match from the command line and prints the report
+     * @param args: {String[]} number of games, engines, strategy and the engine command
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+
+        if (args.length < 4) {
+
+            System.out.println("Usage: java [-D" + GameRecordWriter.RECORDS_PROPERTY
+                    + "=<file>] battleships.EngineMatch <games> <engines> <strategy> <engine command>...");
+            return;
+        }
+
+        long games = Long.parseLong(args[0]);
+        int engines = Integer.parseInt(args[1]);
+        StrategyType strategyType = StrategyType.valueOf(args[2].toUpperCase());
+        List<String> command = Arrays.asList(args).subList(3, args.length);
+
+        int[] fleet = FleetConfig.configured().getLengths();
+        int boardSize = BoardState.configuredSize(fleet);
+        EngineMatch match = new EngineMatch(boardSize, fleet, strategyType, command, engines);
+        GameRecordWriter recordWriter = GameRecordWriter.open(null); // only record when asked to
+        match.setRecordWriter(recordWriter);
+
+        long start = System.nanoTime();
+        Results results = match.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(match.report(results, seconds));
+
+        if (recordWriter != null) {
+
+            recordWriter.close(); // write the last buffered records
+            System.out.printf("%nrecords: %d appended to %s%n", recordWriter.getRecordsWritten(),
+                    System.getProperty(GameRecordWriter.RECORDS_PROPERTY));
+        }
+    }
+
+    /** method run()
+     * Plays the number of games provided, split evenly across the engine processes.
+     * An engine that stops following the protocol is closed and its remaining games
+     * are not played.
+     * @param games: {long} number of games to play
+     */
+    public Results run(long games) throws InterruptedException, ExecutionException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(engines); // one thread per engine
+        List<Future<Results>> futures = new ArrayList<>();
+
+        try {
+
+            for (int worker = 0; worker < engines; worker++) {
+
+                long share = games / engines + (worker < games % engines ? 1 : 0); // games for this engine
+                futures.add(executor.submit(() -> playGames(share)));
+            }
+
+            Results total = new Results();
+            for (Future<Results> future : futures) total.merge(future.get());
+            return total;
+
+        } finally {
+
+            executor.shutdown();
+        }
+    }
+
+    /** method playGames()
+     * Starts an engine and plays a number of games against it in the current thread
+     * @param games: {long} number of games to play
+     */
+    private Results playGames(long games) {
+
+        Results results = new Results();
+
+        try (EngineProcess engine = new EngineProcess(command)) {
+
+            synchronized (this) {
+
+                if (engineName == null) engineName = engine.getName();
+            }
+
+            for (long game = 0; game < games; game++) playGame(engine, results);
+            engine.flush(); // the end of the last game
+
+        } catch (IOException e) {
+
+            System.err.println("Engine " + String.join(" ", command) + " stopped: " + e.getMessage());
+        }
+        return results;
+    }
+
+    /** method playGame()
+     * Plays one game against the engine. The end of the game is queued and sent with
+     * the start of the next game.
+     * @param engine: {EngineProcess} engine playing side 0
+     * @param results: {Results} results of this engine, updated
+     */
+    private void playGame(EngineProcess engine, Results results) throws IOException {
+
+        BoardState strategyFleet = new BoardState(boardSize); // board the engine attacks
+        FleetPlacer.placeAllShips(strategyFleet, fleet, ThreadLocalRandom.current());
+
+        long hostStart = System.nanoTime();
+        engine.newGame(boardSize, fleet);
+        engine.requestShot(); // the first shot is asked for with the fleet
+        engine.flush();
+        long sent = System.nanoTime(); // time the last request was sent
+        results.hostNanos += sent - hostStart;
+
+        BoardState engineFleet = engine.readFleet(fleet);
+        if (engineFleet == null) { // fleet does not fit or is not the fleet of the game
+
+            engine.readShot(); // the shot was asked for and is still answered
+            forfeit(engine, results);
+            return;
+        }
+
+        Match match = new Match(strategyFleet, engineFleet, strategyType.create(engineFleet));
+        if (recordWriter != null) match.startRecord();
+
+        while (true) {
+
+            int cell = engine.readShot();
+            long received = System.nanoTime();
+            results.waitNanos += received - sent;
+            results.moves++;
+
+            if (match.shoot(0, cell) == BoardState.ALREADY_SHOT) { // off the board or attacked before
+
+                forfeit(engine, results);
+                return;
+            }
+            engine.sendResult(strategyFleet, cell, match.getLastResult());
+
+            if (match.getWinner() == 0) {
+
+                engine.gameOver(true);
+                results.engineWins++;
+                results.engineShots += results.moves - results.movesBefore;
+                break;
+            }
+
+            // ask for the next shot before the strategy takes its turn, so both think at once
+            engine.requestShot();
+            engine.flush();
+            sent = System.nanoTime();
+            results.hostNanos += sent - received;
+
+            int strategyCell = match.strategyShot();
+            results.strategyNanos += System.nanoTime() - sent;
+            results.strategyMoves++;
+            engine.sendIncoming(strategyCell, match.getLastResult()); // sent with the next request
+
+            if (match.getWinner() == 1) {
+
+                engine.readShot(); // the shot asked for is not used
+                engine.gameOver(false);
+                results.strategyWins++;
+                results.strategyShots += results.strategyMoves - results.strategyMovesBefore;
+                break;
+            }
+        }
+
+        results.endGame();
+        if (match.getRecord() != null) recordWriter.write(match.getRecord());
+    }
+
+    /** method forfeit()
+     * Ends a game the engine forfeited by placing its fleet badly or attacking a cell it
+     * can not attack
+     * @param engine: {EngineProcess} engine that forfeited
+     * @param results: {Results} results of this engine, updated
+     */
+    private void forfeit(EngineProcess engine, Results results) throws IOException {
+
+        engine.gameOver(false);
+        results.forfeits++;
+        results.endGame();
+    }
+
+    /** method setRecordWriter()
+     * Sets where each game is recorded, must be called before run()
+     * @param recordWriter: {GameRecordWriter} writer shared by every engine, null to not record
+     */
+    public void setRecordWriter(GameRecordWriter recordWriter) {
+
+        this.recordWriter = recordWriter;
+    }
+
+    /** method report()
+     * Returns a printable report of the results provided
+     * @param results: {Results} merged results of every engine
+     * @param seconds: {double} time taken to play the games
+     */
+    public String report(Results results, double seconds) {
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games: %d in %.2f s (%.0f games/sec, %d engines)%n",
+                results.games, seconds, results.games / seconds, engines));
+        report.append(String.format("%n%s%n  wins: %d (%.1f%%)  forfeits: %d  mean shots to win: %.2f%n",
+                engineName != null ? engineName : command.get(0), results.engineWins, 100.0 * results.engineWins / Math.max(1, results.games),
+                results.forfeits, (double) results.engineShots / Math.max(1, results.engineWins)));
+        report.append(String.format("%n%s%n  wins: %d (%.1f%%)  mean shots to win: %.2f%n",
+                strategyType, results.strategyWins, 100.0 * results.strategyWins / Math.max(1, results.games),
+                (double) results.strategyShots / Math.max(1, results.strategyWins)));
+        report.append(String.format("%nper move: engine answer %.1f us, host %.1f us, %s %.1f us%n",
+                results.waitNanos / 1e3 / Math.max(1, results.moves),
+                results.hostNanos / 1e3 / Math.max(1, results.moves),
+                strategyType, results.strategyNanos / 1e3 / Math.max(1, results.strategyMoves)));
+        return report.toString();
+    }
+
+    //***************************************************************************//
+
+    //********************************Class inner classes************************//
+
+    /** class Results
+     * Results of the games played against one or more engines
+     */
+    public static final class Results {
+
+        private long games = 0; // number of games played
+        private long engineWins = 0; // games won by the engine
+        private long strategyWins = 0; // games won by the strategy
+        private long forfeits = 0; // games the engine forfeited
+        private long engineShots = 0; // shots taken by the engine in the games it won
+        private long strategyShots = 0; // shots taken by the strategy in the games it won
+        private long moves = 0; // shots answered by the engine
+        private long strategyMoves = 0; // shots taken by the strategy
+        private long movesBefore = 0; // moves before the current game
+        private long strategyMovesBefore = 0; // strategy moves before the current game
+        private long waitNanos = 0; // time from sending a request until the engine answered
+        private long hostNanos = 0; // time from an answer until the next request was sent
+        private long strategyNanos = 0; // time the strategy took to choose its shots
+
+        /** method endGame()
+         * Counts a finished game
+         */
+        private void endGame() {
+
+            games++;
+            movesBefore = moves;
+            strategyMovesBefore = strategyMoves;
+        }
+
+        /** method merge()
+         * Adds the results provided to these results
+         * @param other: {Results} results of another engine
+         */
+        private void merge(Results other) {
+
+            games += other.games;
+            engineWins += other.engineWins;
+            strategyWins += other.strategyWins;
+            forfeits += other.forfeits;
+            engineShots += other.engineShots;
+            strategyShots += other.strategyShots;
+            moves += other.moves;
+            strategyMoves += other.strategyMoves;
+            waitNanos += other.waitNanos;
+            hostNanos += other.hostNanos;
+            strategyNanos += other.strategyNanos;
+        }
+
+        /** method getGames()
+         * Returns the number of games played
+         */
+        public long getGames() {
+
+            return games;
+        }
+
+        /** method getEngineWins()
+         * Returns the number of games won by the engine
+         */
+        public long getEngineWins() {
+
+            return engineWins;
+        }
+    }
+
+} // close class EngineMatch
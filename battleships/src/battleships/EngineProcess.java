@@ -0,0 +1,337 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class EngineProcess runs an external Battleships engine as a    *
+ * child process and talks to it over its stdin and stdout with a line based    *
+ * protocol, in the spirit of the protocols used by chess engines. One          *
+ * buffered reader and one buffered writer are kept per engine. Requests are    *
+ * queued in the writer and only sent by flush(), so every request of a turn    *
+ * goes to the engine in one write and the host never waits for an answer       *
+ * it does not need yet. Anything the engine writes to stderr is passed on.     *
+ * Protocol: each line is a keyword followed by tokens separated by spaces.     *
+ * Cells are given as row then column, counted from 0 at the top left.          *
+ *   host   bsp                  start, the engine answers with any id lines    *
+ *                               then bspok                                     *
+ *   engine id name <text>       name of the engine, also id author <text>      *
+ *   host   newgame <size> <length>...  board size and length of each ship      *
+ *   host   place                the engine answers with fleet                  *
+ *   engine fleet <row> <col> <h|v>...  each ship in the order of newgame       *
+ *   host   shoot                the engine answers with shot                   *
+ *   engine shot <row> <col>     cell to attack                                 *
+ *   host   result <row> <col> <miss|hit|sunk>  result of the engines shot,     *
+ *                               sunk is followed by <row> <col> <h|v>          *
+ *                               <length> of the ship destroyed                 *
+ *   host   incoming <row> <col> <miss|hit|sunk>  shot at the engines fleet     *
+ *   host   gameover <win|loss>  the game is over                               *
+ *   host   quit                 the engine exits                               *
+ *   engine info <text>          ignored by the host, for logs                  *
+ * Every shoot is answered, even when the game ends before the shot is used,    *
+ * so the host can ask for the next shot before it knows the opponent has not   *
+ * won. Engines ignore lines they do not know, so later hosts can add more.     *
+ * An engine that places its fleet badly or shoots a cell it can not attack     *
+ * forfeits the game. Any other answer that does not follow the protocol        *
+ * throws an IOException and the engine should be closed.                       *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class EngineProcess implements Closeable {
+
+    //**************************Class constants**********************************//
+
+    // keywords sent by the host
+    public static final String HELLO = "bsp";
+    public static final String NEW_GAME = "newgame";
+    public static final String PLACE = "place";
+    public static final String SHOOT = "shoot";
+    public static final String RESULT = "result";
+    public static final String INCOMING = "incoming";
+    public static final String GAME_OVER = "gameover";
+    public static final String QUIT = "quit";
+
+    // keywords sent by the engine
+    public static final String ID = "id";
+    public static final String HELLO_OK = "bspok";
+    public static final String FLEET = "fleet";
+    public static final String SHOT = "shot";
+    public static final String INFO = "info";
+
+    public static final String[] RESULT_NAMES = {"miss", "hit", "sunk"}; // indexed by BoardState result
+    public static final String HORIZONTAL = "h"; // ship direction
+    public static final String VERTICAL = "v"; // ship direction
+    public static final String WIN = "win"; // gameover, the engine won
+    public static final String LOSS = "loss"; // gameover, the engine lost or forfeited
+
+    private static final long QUIT_MILLIS = 1000; // time the engine is given to exit after quit
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private Process process; // engine running as a child process
+    private BufferedReader in; // lines from the engines stdout
+    private BufferedWriter out; // requests queued for the engines stdin
+    private String name; // name given by the engine, or its command
+    private int boardSize; // board size of the current game
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Starts the engine and waits for it to answer bsp. Throws IOException if it can
+     * not be started or does not follow the protocol.
+     * @param command: {List<String>} program and arguments that start the engine
+     */
+    public EngineProcess(List<String> command) throws IOException {
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT); // engine logs go to the console
+        process = builder.start();
+        in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.US_ASCII));
+        out = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.US_ASCII));
+        name = command.get(0);
+
+        send(HELLO);
+        flush();
+        while (true) {
+
+            String[] tokens = readLine();
+            if (tokens[0].equals(HELLO_OK)) break;
+            if (tokens[0].equals(ID) && tokens.length > 2 && tokens[1].equals("name")) {
+
+                name = String.join(" ", List.of(tokens).subList(2, tokens.length));
+            }
+        }
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method newGame()
+     * Queues the start of a game and the request for the engines fleet, read it with
+     * readFleet() after flush()
+     * @param boardSize: {int} number of rows and columns
+     * @param fleet: {int[]} length of each ship
+     */
+    public void newGame(int boardSize, int[] fleet) throws IOException {
+
+        this.boardSize = boardSize;
+
+        StringBuilder line = new StringBuilder(NEW_GAME).append(' ').append(boardSize);
+        for (int length : fleet) line.append(' ').append(length);
+        send(line.toString());
+        send(PLACE);
+    }
+
+    /** method readFleet()
+     * Reads the fleet the engine placed and returns a board with it placed, or null if
+     * the fleet is not the fleet of the game or does not fit
+     * @param fleet: {int[]} length of each ship, in the order sent by newGame()
+     */
+    public BoardState readFleet(int[] fleet) throws IOException {
+
+        String[] tokens = readReply(FLEET);
+        if (tokens.length != 1 + fleet.length * 3) return null; // wrong number of ships
+
+        BoardState board = new BoardState(boardSize);
+        for (int ship = 0; ship < fleet.length; ship++) {
+
+            int row = parseInt(tokens[1 + ship * 3]);
+            int column = parseInt(tokens[2 + ship * 3]);
+            String direction = tokens[3 + ship * 3];
+            if (!direction.equals(HORIZONTAL) && !direction.equals(VERTICAL)) return null;
+
+            if (row < 0 || column < 0 || board.placeShip(row, column, fleet[ship], direction.equals(HORIZONTAL)) < 0) {
+
+                return null; // off the board or on another ship
+            }
+        }
+        return board;
+    }
+
+    /** method requestShot()
+     * Queues a request for the engines next shot, read it with readShot() after flush()
+     */
+    public void requestShot() throws IOException {
+
+        send(SHOOT);
+    }
+
+    /** method readShot()
+     * Reads the cell the engine chose to attack, or -1 if it is off the board
+     */
+    public int readShot() throws IOException {
+
+        String[] tokens = readReply(SHOT);
+        if (tokens.length != 3) throw new IOException(name + " sent a shot without a row and column");
+
+        int row = parseInt(tokens[1]);
+        int column = parseInt(tokens[2]);
+        if (row < 0 || column < 0 || row >= boardSize || column >= boardSize) return -1;
+        return row * boardSize + column;
+    }
+
+    /** method sendResult()
+     * Queues the result of the engines last shot
+     * @param target: {BoardState} board the engine attacks
+     * @param cell: {int} cell attacked
+     * @param result: {int} BoardState result, MISS, HIT or SUNK
+     */
+    public void sendResult(BoardState target, int cell, int result) throws IOException {
+
+        String line = RESULT + ' ' + cellText(cell) + ' ' + RESULT_NAMES[result];
+        if (result == BoardState.SUNK) { // tell the engine which ship was destroyed
+
+            int ship = target.getShipAt(cell);
+            line += ' ' + cellText(target.getShipOrigin(ship)) + ' '
+                    + (target.isShipHorizontal(ship) ? HORIZONTAL : VERTICAL) + ' ' + target.getShipLength(ship);
+        }
+        send(line);
+    }
+
+    /** method sendIncoming()
+     * Queues a shot taken at the engines fleet
+     * @param cell: {int} cell attacked
+     * @param result: {int} BoardState result, MISS, HIT or SUNK
+     */
+    public void sendIncoming(int cell, int result) throws IOException {
+
+        send(INCOMING + ' ' + cellText(cell) + ' ' + RESULT_NAMES[result]);
+    }
+
+    /** method gameOver()
+     * Queues the end of the game
+     * @param won: {boolean} true if the engine won
+     */
+    public void gameOver(boolean won) throws IOException {
+
+        send(GAME_OVER + ' ' + (won ? WIN : LOSS));
+    }
+
+    /** method flush()
+     * Sends every queued request to the engine
+     */
+    public void flush() throws IOException {
+
+        out.flush();
+    }
+
+    /** method close()
+     * Sends quit and waits a short time for the engine to exit before it is stopped
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+
+            send(QUIT);
+            flush();
+            process.waitFor(QUIT_MILLIS, TimeUnit.MILLISECONDS);
+
+        } catch (IOException e) {
+
+            // the engine has already gone, it is stopped below either way
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        } finally {
+
+            process.destroyForcibly();
+        }
+    }
+
+    /** method send()
+     * Queues a line for the engine
+     * @param line: {String} line without its line break
+     */
+    private void send(String line) throws IOException {
+
+        out.write(line);
+        out.write('\n');
+    }
+
+    /** method readReply()
+     * Reads the next line from the engine, which must start with the keyword provided,
+     * and returns its tokens
+     * @param keyword: {String} keyword expected
+     */
+    private String[] readReply(String keyword) throws IOException {
+
+        String[] tokens = readLine();
+        if (!tokens[0].equals(keyword)) {
+
+            throw new IOException(name + " sent " + String.join(" ", tokens) + " when " + keyword + " was expected");
+        }
+        return tokens;
+    }
+
+    /** method readLine()
+     * Reads the next line from the engine that is not empty or info and returns its tokens
+     */
+    private String[] readLine() throws IOException {
+
+        while (true) {
+
+            String line = in.readLine();
+            if (line == null) throw new EOFException(name + " closed its output");
+
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens[0].isEmpty() || tokens[0].equals(INFO)) continue; // nothing for the host
+            return tokens;
+        }
+    }
+
+    /** method parseInt()
+     * Returns the number in the token provided, throws IOException if it is not a number
+     * @param token: {String} token sent by the engine
+     */
+    private int parseInt(String token) throws IOException {
+
+        try {
+
+            return Integer.parseInt(token);
+
+        } catch (NumberFormatException e) {
+
+            throw new IOException(name + " sent " + token + " where a number was expected");
+        }
+    }
+
+    /** method cellText()
+     * Returns the row and column of a cell as sent to the engine
+     * @param cell: {int} cell index
+     */
+    private String cellText(int cell) {
+
+        return cell / boardSize + " " + cell % boardSize;
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getName()
+     * Return the name given by the engine, or its command if it gave none
+     */
+    public String getName() {
+
+        return name;
+    }
+
+} // close class EngineProcess
@@ -0,0 +1,193 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class FleetConfig holds the name and length of every ship of a  *
+ * fleet, read from a text file so fleets of any size can be played. Each line  *
+ * of the file gives a class of ship, its length and how many of it the fleet   *
+ * has, the count is 1 if left out. Blank lines and lines starting with # are   *
+ * ignored. Ships of a class with more than one ship are numbered, so the line  *
+ * "Destroyer 2 3" gives Destroyer1, Destroyer2 and Destroyer3. Ships keep the  *
+ * order of the file, which is the order they are placed and saved in.          *
+ * The file is named by the battleships.fleet system property, without it the   *
+ * standard fleet of FleetPlacer.STANDARD_FLEET is played.                      *
+ * Example:                                                                     *
+ *   # name length count                                                        *
+ *   Battleship 4                                                               *
+ *   Cruiser 3 2                                                                *
+ *   Destroyer 2 3                                                              *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FleetConfig {
+
+    //**************************Class constants**********************************//
+
+    public static final String FLEET_PROPERTY = "battleships.fleet"; // system property naming the fleet file
+    public static final int MAX_SHIPS = 1_000_000; // most ships a fleet file may give
+
+    // battleship, two cruisers and three destroyers, the lengths of FleetPlacer.STANDARD_FLEET
+    public static final FleetConfig STANDARD = parse(List.of("Battleship 4", "Cruiser 3 2", "Destroyer 2 3"));
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private final String[] names; // name of each ship
+    private final int[] lengths; // length of each ship
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates a fleet of the ships provided
+     * @param names: {String[]} name of each ship
+     * @param lengths: {int[]} length of each ship
+     */
+    private FleetConfig(String[] names, int[] lengths) {
+
+        this.names = names;
+        this.lengths = lengths;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method configured()
+     * Returns the fleet in the file named by the battleships.fleet system property, or
+     * STANDARD if it is not set. A file that can not be read or is not a valid fleet is
+     * reported on System.err and STANDARD is used.
+     */
+    public static FleetConfig configured() {
+
+        String file = System.getProperty(FLEET_PROPERTY);
+        if (file == null) return STANDARD;
+
+        try {
+
+            return load(Paths.get(file));
+
+        } catch (IOException | IllegalArgumentException e) {
+
+            System.err.println("Fleet file " + file + " not used: " + e.getMessage());
+            return STANDARD;
+        }
+    }
+
+    /** method load()
+     * Reads a fleet from the file provided. Throws IllegalArgumentException if a line
+     * is not a valid class of ship.
+     * @param file: {Path} fleet file
+     */
+    public static FleetConfig load(Path file) throws IOException {
+
+        return parse(Files.readAllLines(file));
+    }
+
+    /** method parse()
+     * Returns the fleet given by the lines provided. Throws IllegalArgumentException if a
+     * line is not a valid class of ship or there are no ships.
+     * @param lines: {List<String>} lines of a fleet file
+     */
+    public static FleetConfig parse(List<String> lines) {
+
+        ArrayList<String> names = new ArrayList<>();
+        ArrayList<Integer> lengths = new ArrayList<>();
+
+        for (int line = 0; line < lines.size(); line++) {
+
+            String text = lines.get(line).trim();
+            if (text.isEmpty() || text.startsWith("#")) continue; // blank or comment
+
+            String[] tokens = text.split("\\s+");
+            if (tokens.length < 2 || tokens.length > 3) {
+
+                throw new IllegalArgumentException("line " + (line + 1) + " is not <name> <length> [count]");
+            }
+
+            int length = parseNumber(tokens[1], line);
+            int count = tokens.length == 3 ? parseNumber(tokens[2], line) : 1;
+            if (count > MAX_SHIPS - names.size()) throw new IllegalArgumentException("more than " + MAX_SHIPS + " ships");
+
+            for (int i = 1; i <= count; i++) {
+
+                names.add(count == 1 ? tokens[0] : tokens[0] + i); // number the ships of a class
+                lengths.add(length);
+            }
+        }
+
+        if (names.isEmpty()) throw new IllegalArgumentException("the fleet has no ships");
+
+        int[] lengthArray = new int[lengths.size()];
+        for (int i = 0; i < lengthArray.length; i++) lengthArray[i] = lengths.get(i);
+        return new FleetConfig(names.toArray(new String[0]), lengthArray);
+    }
+
+    /** method parseNumber()
+     * Returns the number in a token of a fleet file, which must be 1 or more
+     * @param token: {String} token to read
+     * @param line: {int} index of the line, for the error message
+     */
+    private static int parseNumber(String token, int line) {
+
+        try {
+
+            int number = Integer.parseInt(token);
+            if (number >= 1) return number;
+
+        } catch (NumberFormatException e) {
+
+            // reported below
+        }
+        throw new IllegalArgumentException("line " + (line + 1) + ": " + token + " is not a number of 1 or more");
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getShipCount()
+     * Returns the number of ships in the fleet
+     */
+    public int getShipCount() {
+
+        return lengths.length;
+    }
+
+    /** method getName()
+     * Returns the name of a ship, numbered if its class has more than one ship
+     * @param ship: {int} index of the ship in the fleet
+     */
+    public String getName(int ship) {
+
+        return names[ship];
+    }
+
+    /** method getLength()
+     * Returns the length of a ship
+     * @param ship: {int} index of the ship in the fleet
+     */
+    public int getLength(int ship) {
+
+        return lengths[ship];
+    }
+
+    /** method getLengths()
+     * Returns the length of every ship, in the order of the fleet
+     */
+    public int[] getLengths() {
+
+        return lengths.clone();
+    }
+
+} // close class FleetConfig
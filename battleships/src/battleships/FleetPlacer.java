@@ -0,0 +1,205 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class FleetPlacer places a fleet of ships at random on a        *
+ * BoardState with no dependency on JavaFX. It is used by the ComputerBoard     *
+ * to place the computers ships and by the headless simulations to build the    *
+ * boards the same way. Ships are given ids in the order of the lengths         *
+ * provided.                                                                    *
+ * Each ship is placed by counting only the legal positions left for it and     *
+ * choosing one of them uniformly, longest ship first. A fleet that can never   *
+ * fit is rejected before placing anything, and if random placement keeps       *
+ * running out of room a bounded backtracking search finds a layout or proves   *
+ * there is none. Placements are read from the shared PlacementTable of each   *
+ * ship length.                                                                 *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public final class FleetPlacer {
+
+    //**************************Class constants**********************************//
+
+    // lengths of the standard fleet, battleship, two cruisers and three destroyers
+    public static final int[] STANDARD_FLEET = {4, 3, 3, 2, 2, 2};
+
+    private static final int MAX_RESTARTS = 32; // random layouts tried before searching
+    private static final long MAX_SEARCH_NODES = 1_000_000L; // placements tried by the search
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Private constructor, the class only has static methods
+     */
+    private FleetPlacer() {
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method placeAllShips()
+     * Places ships of each length provided at random legal locations on the board.
+     * Throws IllegalArgumentException if the fleet can not fit on the board.
+     * @param state: {BoardState} board to place the ships on
+     * @param lengths: {int[]} length of each ship to place
+     * @param random: {Random} source of random locations
+     */
+    public static void placeAllShips(BoardState state, int[] lengths, Random random) {
+
+        int boardSize = state.getBoardSize(); // get board limit
+
+        // reject fleets that can never fit before placing anything
+        String problem = checkFleet(boardSize, lengths, state.getOccupied().cardinality());
+        if (problem != null) throw new IllegalArgumentException(problem);
+
+        Integer[] order = placementOrder(lengths); // longest ships first
+        PlacementTable[] tables = new PlacementTable[lengths.length]; // placements of each ship
+        for (int i = 0; i < lengths.length; i++) tables[i] = state.getPlacements(lengths[i]);
+        int[] placements = new int[lengths.length]; // chosen placement of each ship, origin * 2 + direction
+        CellMask taken = new CellMask(state.getCellCount()); // cells taken by the layout
+
+        boolean placed = false;
+        for (int attempt = 0; attempt < MAX_RESTARTS && !placed; attempt++) {
+
+            taken.copyFrom(state.getOccupied()); // start from the ships already on the board
+            placed = randomLayout(taken, tables, order, placements, random);
+        }
+
+        if (!placed) { // random placement kept running out of room, search for a layout
+
+            taken.copyFrom(state.getOccupied());
+            long[] nodes = {0}; // placements tried by the search
+            if (!searchLayout(taken, tables, order, placements, 0, random, nodes)) {
+
+                throw new IllegalArgumentException(nodes[0] >= MAX_SEARCH_NODES
+                        ? "No layout found for the fleet within the search limit"
+                        : "The fleet does not fit on a " + boardSize + "x" + boardSize + " board");
+            }
+        }
+
+        // place the ships in the order provided so their ids match
+        for (int i = 0; i < lengths.length; i++) {
+
+            int origin = PlacementTable.origin(placements[i]);
+            state.placeShip(origin / boardSize, origin % boardSize, lengths[i], PlacementTable.isHorizontal(placements[i]));
+        }
+    }
+
+    /** method checkFleet()
+     * Returns a description of why a fleet can never fit on the board, or null if it may fit
+     * @param boardSize: {int} number of rows and columns
+     * @param lengths: {int[]} length of each ship
+     * @param occupiedCells: {int} cells already taken by ships on the board
+     */
+    public static String checkFleet(int boardSize, int[] lengths, int occupiedCells) {
+
+        long cells = 0; // cells needed by the fleet
+        for (int length : lengths) {
+
+            if (length < 1) return "Ship length " + length + " must be at least 1";
+            if (length > boardSize) return "Ship length " + length + " is longer than the board";
+            cells += length;
+        }
+
+        if (cells + occupiedCells > (long) boardSize * boardSize) {
+
+            return "The fleet needs " + cells + " cells but the board has "
+                    + ((long) boardSize * boardSize - occupiedCells) + " free";
+        }
+        return null; // fleet may fit
+    }
+
+    /** method placementOrder()
+     * Returns the ship indexes sorted longest first
+     * @param lengths: {int[]} length of each ship
+     */
+    private static Integer[] placementOrder(int[] lengths) {
+
+        Integer[] order = new Integer[lengths.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> lengths[b] - lengths[a]);
+        return order;
+    }
+
+    /** method randomLayout()
+     * Places each ship in turn at a position chosen uniformly from the legal positions
+     * left for it. Returns false if a ship has no legal position left.
+     * @param taken: {CellMask} cells taken, updated as ships are placed
+     * @param tables: {PlacementTable[]} placements of each ship
+     * @param order: {Integer[]} order to place the ships in
+     * @param placements: {int[]} chosen placement of each ship, origin * 2 + direction
+     * @param random: {Random} source of random locations
+     */
+    private static boolean randomLayout(CellMask taken, PlacementTable[] tables, Integer[] order,
+                                        int[] placements, Random random) {
+
+        for (int ship : order) {
+
+            PlacementTable table = tables[ship];
+            int legal = 0; // legal placements left for this ship
+            for (int i = 0; i < table.count(); i++) {
+
+                if (table.fits(taken, table.placement(i))) legal++;
+            }
+            if (legal == 0) return false; // no room left for this ship
+
+            int chosen = random.nextInt(legal); // index of the chosen legal placement
+            int placement = 0;
+            for (int i = 0; ; i++) { // find the chosen placement
+
+                placement = table.placement(i);
+                if (table.fits(taken, placement) && chosen-- == 0) break;
+            }
+
+            table.set(taken, placement);
+            placements[ship] = placement;
+        }
+        return true;
+    }
+
+    /** method searchLayout()
+     * Backtracking search for a layout, trying the legal positions of each ship from a
+     * random starting point. Returns false if no layout exists or the node limit is reached.
+     * @param taken: {CellMask} cells taken, updated as ships are placed
+     * @param tables: {PlacementTable[]} placements of each ship
+     * @param order: {Integer[]} order to place the ships in
+     * @param placements: {int[]} chosen placement of each ship, origin * 2 + direction
+     * @param index: {int} index in the order of the ship to place
+     * @param random: {Random} source of the starting points
+     * @param nodes: {long[]} placements tried so far, single element
+     */
+    private static boolean searchLayout(CellMask taken, PlacementTable[] tables, Integer[] order,
+                                        int[] placements, int index, Random random, long[] nodes) {
+
+        if (index == order.length) return true; // every ship placed
+
+        int ship = order[index];
+        PlacementTable table = tables[ship];
+        int positions = table.count(); // placements within the board
+        int start = random.nextInt(positions); // random starting position
+
+        for (int i = 0; i < positions; i++) {
+
+            int placement = table.placement((start + i) % positions);
+            if (!table.fits(taken, placement)) continue;
+
+            if (++nodes[0] > MAX_SEARCH_NODES) return false; // search limit reached
+
+            table.set(taken, placement);
+            placements[ship] = placement;
+            if (searchLayout(taken, tables, order, placements, index + 1, random, nodes)) return true;
+            table.clear(taken, placement); // undo and try the next position
+
+            if (nodes[0] > MAX_SEARCH_NODES) return false; // search limit reached below
+        }
+        return false;
+    }
+
+} // close class FleetPlacer
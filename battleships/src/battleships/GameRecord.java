@@ -0,0 +1,511 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class GameRecord holds everything needed to replay a game, the  *
+ * fleet placed on each board and every shot made at it, and packs it into a    *
+ * compact binary record. Shots are added to growable arrays during the game    *
+ * and are only packed when the record is written, so recording adds very       *
+ * little to a turn. Boards are kept in the order they are attacked, in a two   *
+ * board game the turns alternate starting with board 0.                        *
+ * Record layout, varints are unsigned LEB128:                                  *
+ *   varint record size in bytes, not counting this varint                      *
+ *   varint board size, varint board count                                      *
+ *   for each board: varint ship count, varint shot count                       *
+ *   bit packed, least significant bit first, padded to a whole byte:           *
+ *     for each board, for each ship: length, PlacementTable slot               *
+ *     for each board, for each shot: cell, result (MISS, HIT or SUNK)          *
+ * Each field uses just enough bits for the board size, on a 10x10 board the    *
+ * standard fleet and the shots to sink it take about 70 bytes per board.       *
+ ********************************************************************************/
+
+package battleships;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class GameRecord {
+
+    //**************************Class constants**********************************//
+
+    private static final int RESULT_BITS = 2; // bits for MISS, HIT or SUNK
+    private static final int INITIAL_SHOTS = 64; // shots each board has room for before growing
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private int boardSize; // number of rows and columns
+    private int boardCount = 0; // number of boards recorded
+    private int[][] shipLengths = new int[2][]; // length of each ship on each board
+    private int[][] shipPlacements = new int[2][]; // PlacementTable slot of each ship on each board
+    private int[][] shots = new int[2][]; // each shot at each board, cell * 4 + result
+    private int[] shotCounts = new int[2]; // number of shots at each board
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates an empty record of a game
+     * @param boardSize: {int} number of rows and columns of every board
+     */
+    public GameRecord(int boardSize) {
+
+        if (boardSize < 1) throw new IllegalArgumentException("board size must be positive: " + boardSize);
+        this.boardSize = boardSize;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method addBoard()
+     * Records the fleet placed on the board provided and returns the index of the board
+     * in the record. Boards must be added in the order they are attacked.
+     * @param state: {BoardState} board with every ship placed
+     */
+    public int addBoard(BoardState state) {
+
+        if (state.getBoardSize() != boardSize) {
+
+            throw new IllegalArgumentException("board is " + state.getBoardSize() + "x" + state.getBoardSize()
+                    + ", record is " + boardSize + "x" + boardSize);
+        }
+
+        int board = addBoard(state.getShipCount());
+        for (int ship = 0; ship < state.getShipCount(); ship++) {
+
+            int origin = state.getShipOrigin(ship);
+            shipLengths[board][ship] = state.getShipLength(ship);
+            shipPlacements[board][ship] = state.placement(origin / boardSize, origin % boardSize,
+                    state.isShipHorizontal(ship));
+        }
+        return board;
+    }
+
+    /** method addBoard()
+     * Adds a board with room for the number of ships provided and no shots, and returns
+     * its index. The arrays of a board left over from a previous read() are reused.
+     * @param ships: {int} number of ships on the board
+     */
+    private int addBoard(int ships) {
+
+        if (boardCount == shots.length) { // grow the board arrays
+
+            int capacity = boardCount * 2;
+            shipLengths = Arrays.copyOf(shipLengths, capacity);
+            shipPlacements = Arrays.copyOf(shipPlacements, capacity);
+            shots = Arrays.copyOf(shots, capacity);
+            shotCounts = Arrays.copyOf(shotCounts, capacity);
+        }
+
+        if (shipLengths[boardCount] == null || shipLengths[boardCount].length != ships) {
+
+            shipLengths[boardCount] = new int[ships];
+            shipPlacements[boardCount] = new int[ships];
+        }
+        if (shots[boardCount] == null) shots[boardCount] = new int[INITIAL_SHOTS];
+        shotCounts[boardCount] = 0;
+        return boardCount++;
+    }
+
+    /** method addShot()
+     * Records a shot at a board
+     * @param board: {int} index of the board in the record
+     * @param cell: {int} cell attacked
+     * @param result: {int} MISS, HIT or SUNK
+     */
+    public void addShot(int board, int cell, int result) {
+
+        if (result < BoardState.MISS || result > BoardState.SUNK) {
+
+            throw new IllegalArgumentException("not a shot result: " + result);
+        }
+
+        int count = shotCounts[board];
+        if (count == shots[board].length) shots[board] = Arrays.copyOf(shots[board], count * 2);
+
+        shots[board][count] = cell << RESULT_BITS | result;
+        shotCounts[board] = count + 1;
+    }
+
+    /** method getEncodedSize()
+     * Returns the number of bytes encode() writes for this record
+     */
+    public int getEncodedSize() {
+
+        int content = getContentSize();
+        return varintSize(content) + content;
+    }
+
+    /** method getContentSize()
+     * Returns the number of bytes of the record after its size varint
+     */
+    private int getContentSize() {
+
+        int header = varintSize(boardSize) + varintSize(boardCount);
+        long bits = 0;
+
+        for (int board = 0; board < boardCount; board++) {
+
+            header += varintSize(shipLengths[board].length) + varintSize(shotCounts[board]);
+            bits += (long) shipLengths[board].length * (lengthBits() + placementBits());
+            bits += (long) shotCounts[board] * (cellBits() + RESULT_BITS);
+        }
+        return header + (int) ((bits + 7) / 8);
+    }
+
+    /** method encode()
+     * Writes the record to the buffer provided, which must have getEncodedSize() bytes remaining
+     * @param buffer: {ByteBuffer} buffer written from its position
+     */
+    public void encode(ByteBuffer buffer) {
+
+        putVarint(buffer, getContentSize());
+        putVarint(buffer, boardSize);
+        putVarint(buffer, boardCount);
+        for (int board = 0; board < boardCount; board++) {
+
+            putVarint(buffer, shipLengths[board].length);
+            putVarint(buffer, shotCounts[board]);
+        }
+
+        BitPacker packer = new BitPacker(buffer);
+        for (int board = 0; board < boardCount; board++) {
+
+            for (int ship = 0; ship < shipLengths[board].length; ship++) {
+
+                packer.put(shipLengths[board][ship], lengthBits());
+                packer.put(shipPlacements[board][ship], placementBits());
+            }
+        }
+        for (int board = 0; board < boardCount; board++) {
+
+            for (int shot = 0; shot < shotCounts[board]; shot++) {
+
+                packer.put(shots[board][shot], cellBits() + RESULT_BITS); // cell and result together
+            }
+        }
+        packer.finish();
+    }
+
+    /** method decode()
+     * Reads a record written by encode() from the buffer provided, leaving the buffer
+     * positioned after the record. Throws IllegalArgumentException if the record is damaged.
+     * @param buffer: {ByteBuffer} buffer read from its position
+     */
+    public static GameRecord decode(ByteBuffer buffer) {
+
+        GameRecord record = new GameRecord(1);
+        record.read(buffer);
+        return record;
+    }
+
+    /** method read()
+     * Replaces the content of this record with a record written by encode(), reusing the
+     * arrays of this record where possible so a scan through many records does not need a
+     * new record for each. Leaves the buffer positioned after the record and throws
+     * IllegalArgumentException if the record is damaged.
+     * @param buffer: {ByteBuffer} buffer read from its position
+     */
+    public void read(ByteBuffer buffer) {
+
+        try {
+
+            int content = getVarint(buffer);
+            int end = buffer.position() + content; // first byte after the record
+            if (content < 0 || end > buffer.limit()) throw new IllegalArgumentException("record truncated");
+
+            int size = getVarint(buffer);
+            if (size < 1) throw new IllegalArgumentException("board size must be positive: " + size);
+            boardSize = size;
+            boardCount = 0;
+
+            int boards = checkCount(getVarint(buffer), content);
+            int[] shipCounts = new int[boards];
+            int[] shotCounts = new int[boards];
+            for (int board = 0; board < boards; board++) {
+
+                shipCounts[board] = checkCount(getVarint(buffer), content);
+                shotCounts[board] = checkCount(getVarint(buffer), content);
+            }
+
+            BitPacker packer = new BitPacker(buffer);
+            for (int board = 0; board < boards; board++) {
+
+                addBoard(shipCounts[board]);
+                for (int ship = 0; ship < shipCounts[board]; ship++) {
+
+                    shipLengths[board][ship] = packer.get(lengthBits());
+                    shipPlacements[board][ship] = packer.get(placementBits());
+                }
+            }
+            for (int board = 0; board < boards; board++) {
+
+                for (int shot = 0; shot < shotCounts[board]; shot++) {
+
+                    int packed = packer.get(cellBits() + RESULT_BITS);
+                    addShot(board, packed >>> RESULT_BITS, packed & ((1 << RESULT_BITS) - 1));
+                }
+            }
+
+            if (buffer.position() != end) throw new IllegalArgumentException("record size does not match its content");
+
+        } catch (BufferUnderflowException | NegativeArraySizeException e) { // ran off the end of the record
+
+            throw new IllegalArgumentException("record truncated", e);
+        }
+    }
+
+    /** method checkCount()
+     * Returns the count provided, or throws IllegalArgumentException if the record is too
+     * short to hold that many items, so a damaged count can not allocate a huge array
+     * @param count: {int} number of items read from the record
+     * @param content: {int} size of the record in bytes
+     */
+    private static int checkCount(int count, int content) {
+
+        if (count < 0 || count > content * 8L) throw new IllegalArgumentException("record count out of range: " + count);
+        return count;
+    }
+
+    /** method createBoard()
+     * Returns a new board with the fleet of a recorded board placed on it, before any shots
+     * @param board: {int} index of the board in the record
+     */
+    public BoardState createBoard(int board) {
+
+        BoardState state = new BoardState(boardSize);
+        for (int ship = 0; ship < shipLengths[board].length; ship++) {
+
+            int origin = PlacementTable.origin(shipPlacements[board][ship]);
+            if (state.placeShip(origin / boardSize, origin % boardSize, shipLengths[board][ship],
+                    PlacementTable.isHorizontal(shipPlacements[board][ship])) < 0) {
+
+                throw new IllegalArgumentException("recorded ships overlap or leave the board");
+            }
+        }
+        return state;
+    }
+
+    /** method cellBits()
+     * Returns the bits needed for a cell index
+     */
+    private int cellBits() {
+
+        return bitsFor(boardSize * boardSize - 1);
+    }
+
+    /** method placementBits()
+     * Returns the bits needed for a PlacementTable slot, a cell index and a direction
+     */
+    private int placementBits() {
+
+        return cellBits() + 1;
+    }
+
+    /** method lengthBits()
+     * Returns the bits needed for a ship length
+     */
+    private int lengthBits() {
+
+        return bitsFor(boardSize);
+    }
+
+    /** method bitsFor()
+     * Returns the number of bits needed to hold values from 0 to the value provided
+     * @param value: {int} largest value
+     */
+    private static int bitsFor(int value) {
+
+        return 32 - Integer.numberOfLeadingZeros(value);
+    }
+
+    /** method varintSize()
+     * Returns the number of bytes putVarint() writes for the value provided
+     * @param value: {int} value written
+     */
+    private static int varintSize(int value) {
+
+        return Math.max(1, (bitsFor(value) + 6) / 7);
+    }
+
+    /** method putVarint()
+     * Writes a value seven bits per byte, the top bit of each byte set if another follows
+     * @param buffer: {ByteBuffer} buffer written to
+     * @param value: {int} value to write, not negative
+     */
+    private static void putVarint(ByteBuffer buffer, int value) {
+
+        while ((value & ~0x7f) != 0) {
+
+            buffer.put((byte) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /** method getVarint()
+     * Reads a value written by putVarint()
+     * @param buffer: {ByteBuffer} buffer read from
+     */
+    private static int getVarint(ByteBuffer buffer) {
+
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+
+            byte b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("varint too long");
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getBoardSize()
+     * Return the number of rows and columns of every board
+     */
+    public int getBoardSize() {
+
+        return boardSize;
+    }
+
+    /** method getBoardCount()
+     * Return the number of boards recorded
+     */
+    public int getBoardCount() {
+
+        return boardCount;
+    }
+
+    /** method getShipCount()
+     * Return the number of ships on a board
+     * @param board: {int} index of the board in the record
+     */
+    public int getShipCount(int board) {
+
+        return shipLengths[board].length;
+    }
+
+    /** method getShipLength()
+     * Return the length of a ship
+     * @param board: {int} index of the board in the record
+     * @param ship: {int} index of the ship on the board
+     */
+    public int getShipLength(int board, int ship) {
+
+        return shipLengths[board][ship];
+    }
+
+    /** method getShipPlacement()
+     * Return the PlacementTable slot of a ship
+     * @param board: {int} index of the board in the record
+     * @param ship: {int} index of the ship on the board
+     */
+    public int getShipPlacement(int board, int ship) {
+
+        return shipPlacements[board][ship];
+    }
+
+    /** method getShotCount()
+     * Return the number of shots made at a board
+     * @param board: {int} index of the board in the record
+     */
+    public int getShotCount(int board) {
+
+        return shotCounts[board];
+    }
+
+    /** method getShotCell()
+     * Return the cell attacked by a shot
+     * @param board: {int} index of the board in the record
+     * @param shot: {int} index of the shot at the board
+     */
+    public int getShotCell(int board, int shot) {
+
+        return shots[board][shot] >>> RESULT_BITS;
+    }
+
+    /** method getShotResult()
+     * Return the result of a shot, MISS, HIT or SUNK
+     * @param board: {int} index of the board in the record
+     * @param shot: {int} index of the shot at the board
+     */
+    public int getShotResult(int board, int shot) {
+
+        return shots[board][shot] & ((1 << RESULT_BITS) - 1);
+    }
+
+    //***************************************************************************//
+
+    //********************************Class inner classes************************//
+
+    /** class BitPacker
+     * Writes or reads values of any width up to 31 bits to a ByteBuffer, least
+     * significant bit first, a byte at a time
+     */
+    private static final class BitPacker {
+
+        private final ByteBuffer buffer; // buffer written to or read from
+        private long bits = 0; // bits waiting to be written, or read but not yet used
+        private int count = 0; // number of waiting bits
+
+        /** constructor
+         * @param buffer: {ByteBuffer} buffer written to or read from its position
+         */
+        private BitPacker(ByteBuffer buffer) {
+
+            this.buffer = buffer;
+        }
+
+        /** method put()
+         * Adds a value to the bits waiting to be written, writing every whole byte
+         * @param value: {int} value to write, not negative
+         * @param width: {int} number of bits to write
+         */
+        private void put(int value, int width) {
+
+            bits |= (long) value << count;
+            count += width;
+            while (count >= 8) {
+
+                buffer.put((byte) bits);
+                bits >>>= 8;
+                count -= 8;
+            }
+        }
+
+        /** method finish()
+         * Writes the last waiting bits padded to a whole byte
+         */
+        private void finish() {
+
+            if (count > 0) buffer.put((byte) bits);
+            bits = 0;
+            count = 0;
+        }
+
+        /** method get()
+         * Reads a value of the width provided
+         * @param width: {int} number of bits to read
+         */
+        private int get(int width) {
+
+            while (count < width) {
+
+                bits |= (long) (buffer.get() & 0xff) << count;
+                count += 8;
+            }
+            int value = (int) (bits & ((1L << width) - 1));
+            bits >>>= width;
+            count -= width;
+            return value;
+        }
+    }
+
+} // close class GameRecord
@@ -0,0 +1,191 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class GameRecordWriter appends GameRecords to a file through    *
+ * a FileChannel opened for appending. Records are packed into a direct         *
+ * buffer and the buffer is only written to the file when the next record       *
+ * does not fit, or when flush() or close() is called, so many games are        *
+ * written with one system call. A new file starts with the FILE_HEADER bytes   *
+ * and an existing file must start with them. The writer can be shared by       *
+ * several threads.                                                             *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class GameRecordWriter implements Closeable {
+
+    //**************************Class constants**********************************//
+
+    public static final byte[] FILE_HEADER = {'B', 'S', 'G', 'R', 1}; // magic bytes and format version
+    public static final String RECORDS_PROPERTY = "battleships.records"; // system property naming the record file
+
+    private static final int BUFFER_BYTES = 64 * 1024; // records held before writing to the file
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private FileChannel channel; // file the records are appended to
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES); // records not yet written
+    private long recordsWritten = 0; // number of records written by this writer
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Opens the file provided for appending, creating it with a header if it does not exist
+     * @param path: {Path} file the records are appended to
+     */
+    public GameRecordWriter(Path path) throws IOException {
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+
+        try {
+
+            if (channel.size() == 0) { // new file
+
+                channel.write(ByteBuffer.wrap(FILE_HEADER));
+
+            } else if (!hasHeader(path)) { // only add to files holding game records
+
+                throw new IOException(path + " is not a game record file");
+            }
+
+        } catch (IOException e) {
+
+            channel.close();
+            throw e;
+        }
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method open()
+     * Returns a writer for the file named by the battleships.records system property, or
+     * the default file provided if it is not set. Returns null if the property is set to
+     * an empty string, or if the file can not be opened, which is reported once.
+     * @param defaultFile: {String} file used when the property is not set, null for none
+     */
+    public static GameRecordWriter open(String defaultFile) {
+
+        String file = System.getProperty(RECORDS_PROPERTY, defaultFile);
+        if (file == null || file.isEmpty()) return null; // recording switched off
+
+        try {
+
+            return new GameRecordWriter(Paths.get(file));
+
+        } catch (IOException | RuntimeException e) { // carry on without recording
+
+            System.err.println("Game records unavailable: " + e);
+            return null;
+        }
+    }
+
+    /** method hasHeader()
+     * Returns true if the file provided starts with the FILE_HEADER bytes
+     * @param path: {Path} file to check
+     */
+    public static boolean hasHeader(Path path) throws IOException {
+
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER.length);
+            while (header.hasRemaining() && in.read(header) > 0) { } // read until full or end of file
+            return Arrays.equals(header.array(), FILE_HEADER);
+        }
+    }
+
+    /** method write()
+     * Adds a record to the buffer, writing the buffer to the file first if the record
+     * does not fit in it
+     * @param record: {GameRecord} record to append
+     */
+    public synchronized void write(GameRecord record) throws IOException {
+
+        int size = record.getEncodedSize();
+        if (size > buffer.remaining()) writeBuffer(); // make room
+
+        if (size > buffer.capacity()) { // too large to buffer, write it on its own
+
+            ByteBuffer large = ByteBuffer.allocate(size);
+            record.encode(large);
+            large.flip();
+            while (large.hasRemaining()) channel.write(large);
+
+        } else {
+
+            record.encode(buffer);
+        }
+        recordsWritten++;
+    }
+
+    /** method flush()
+     * Writes every buffered record to the file
+     */
+    public synchronized void flush() throws IOException {
+
+        writeBuffer();
+    }
+
+    /** method close()
+     * Writes every buffered record to the file and closes it
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (!channel.isOpen()) return; // already closed
+
+        try {
+
+            writeBuffer();
+
+        } finally {
+
+            channel.close();
+        }
+    }
+
+    /** method writeBuffer()
+     * Writes the buffered records to the file and empties the buffer
+     */
+    private void writeBuffer() throws IOException {
+
+        buffer.flip();
+        try {
+
+            while (buffer.hasRemaining()) channel.write(buffer);
+
+        } finally {
+
+            buffer.clear(); // a failed write drops the buffered records rather than writing them twice
+        }
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getRecordsWritten()
+     * Return the number of records written by this writer
+     */
+    public synchronized long getRecordsWritten() {
+
+        return recordsWritten;
+    }
+
+} // close class GameRecordWriter
@@ -0,0 +1,235 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class GameSnapshot saves a game in progress to a file and       *
+ * loads it back, so the game can be resumed after the application is closed.   *
+ * The game is written by Gameplay.saveState() into a direct buffer that is     *
+ * reused for every save and only grows if a game does not fit in it.           *
+ * Each save is appended to the file as a new snapshot with one write to a      *
+ * channel kept open, which takes well under a millisecond, so the game can be  *
+ * saved after every turn. load() restores the last snapshot whose checksum     *
+ * matches, so a save that was interrupted leaves the one before it in use.     *
+ * Once the file grows past MAX_FILE_BYTES it is replaced by a file holding     *
+ * only the latest snapshot, written beside it and then moved over it.          *
+ * The file is not forced to the disk.                                          *
+ * File layout: FILE_HEADER bytes, then for each save an int size of the game,  *
+ * an int CRC32 of the game and the game written by saveState().                *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+public class GameSnapshot {
+
+    //**************************Class constants**********************************//
+
+    public static final byte[] FILE_HEADER = {'B', 'S', 'G', 'S', 2}; // magic bytes and format version
+    public static final long MAX_FILE_BYTES = 1024 * 1024; // size the file is allowed to grow to
+
+    private static final int BUFFER_BYTES = 4 * 1024; // starting size of the save buffer
+    private static final int ENTRY_HEADER_BYTES = 8; // size and checksum before each saved game
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private Path path; // snapshot file
+    private Path tempPath; // file written before it is moved over the snapshot file
+    private FileChannel channel; // snapshot file open for appending, null until the first save
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES); // game being saved
+    private CRC32 checksum = new CRC32(); // checksum of the game being saved
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates a snapshot kept in the file provided, nothing is read or written yet
+     * @param path: {Path} snapshot file
+     */
+    public GameSnapshot(Path path) {
+
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method save()
+     * Saves the game in progress, a later load() restores this game
+     * @param gameplay: {Gameplay} game to save
+     * @param playerBoard: {PlayerBoard} Board the computer attacks
+     * @param computerBoard: {ComputerBoard} Board the player attacks
+     */
+    public synchronized void save(Gameplay gameplay, PlayerBoard playerBoard, ComputerBoard computerBoard)
+            throws IOException {
+
+        // write the game to the buffer after the space for its size and checksum, growing
+        // the buffer until the game fits
+        while (true) {
+
+            buffer.clear();
+            try {
+
+                buffer.position(FILE_HEADER.length + ENTRY_HEADER_BYTES); // header written if the file is new
+                gameplay.saveState(buffer, playerBoard, computerBoard);
+                break;
+
+            } catch (BufferOverflowException e) {
+
+                buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+            }
+        }
+
+        // fill in the size and checksum of the game
+        int start = FILE_HEADER.length + ENTRY_HEADER_BYTES; // first byte of the game
+        int size = buffer.position() - start;
+        buffer.flip();
+        buffer.position(start);
+        checksum.reset();
+        checksum.update(buffer);
+        buffer.putInt(FILE_HEADER.length, size);
+        buffer.putInt(FILE_HEADER.length + Integer.BYTES, (int) checksum.getValue());
+
+        if (channel == null || channel.size() + ENTRY_HEADER_BYTES + size > MAX_FILE_BYTES) {
+
+            rewrite(); // new file holding only this game
+
+        } else {
+
+            buffer.position(FILE_HEADER.length); // append the game to the file
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    /** method rewrite()
+     * Replaces the file with one holding the header and the game in the buffer, then
+     * opens it for appending
+     */
+    private void rewrite() throws IOException {
+
+        closeChannel();
+
+        buffer.position(0);
+        buffer.put(FILE_HEADER);
+        buffer.position(0);
+
+        try (FileChannel out = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            while (buffer.hasRemaining()) out.write(buffer);
+        }
+
+        try {
+
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (AtomicMoveNotSupportedException e) { // replaced in two steps on such file systems
+
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /** method load()
+     * Reads the last saved game into a new game. The boards must be newly created and
+     * the gameplay object created for them. Throws IOException if there is no saved
+     * game or it is damaged, the boards must not be used for a game after that.
+     * @param gameplay: {Gameplay} new game to restore into
+     * @param playerBoard: {PlayerBoard} new Board the computer attacks
+     * @param computerBoard: {ComputerBoard} new Board the player attacks
+     */
+    public synchronized void load(Gameplay gameplay, PlayerBoard playerBoard, ComputerBoard computerBoard)
+            throws IOException {
+
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        byte[] magic = new byte[FILE_HEADER.length];
+        if (in.remaining() >= magic.length) in.get(magic);
+        if (!Arrays.equals(magic, FILE_HEADER)) throw new IOException(path + " is not a saved game");
+
+        // find the last game whose checksum matches, a damaged game ends the file
+        int last = -1; // position of the last complete game
+        int lastSize = 0; // size of the last complete game
+        CRC32 check = new CRC32();
+        while (in.remaining() >= ENTRY_HEADER_BYTES) {
+
+            int size = in.getInt();
+            int sum = in.getInt();
+            if (size < 0 || size > in.remaining()) break; // cut short
+
+            ByteBuffer game = in.slice();
+            game.limit(size);
+            check.reset();
+            check.update(game);
+            if ((int) check.getValue() != sum) break; // damaged
+
+            last = in.position();
+            lastSize = size;
+            in.position(last + size);
+        }
+        if (last < 0) throw new IOException(path + " holds no complete saved game");
+
+        ByteBuffer game = ByteBuffer.wrap(in.array(), last, lastSize);
+        try {
+
+            gameplay.restoreState(game, playerBoard, computerBoard);
+
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+
+            throw new IOException(path + " is damaged", e);
+        }
+        if (game.hasRemaining()) throw new IOException(path + " is damaged, " + game.remaining() + " bytes left over");
+    }
+
+    /** method exists()
+     * Returns true if a game has been saved
+     */
+    public boolean exists() {
+
+        return Files.isRegularFile(path);
+    }
+
+    /** method delete()
+     * Deletes the saved games, if there are any
+     */
+    public synchronized void delete() throws IOException {
+
+        closeChannel();
+        Files.deleteIfExists(path);
+    }
+
+    /** method closeChannel()
+     * Closes the file open for appending, if it is open
+     */
+    private void closeChannel() throws IOException {
+
+        if (channel == null) return;
+
+        try {
+
+            channel.close();
+
+        } finally {
+
+            channel = null;
+        }
+    }
+
+} // close class GameSnapshot
@@ -5,600 +5,441 @@
  * Description: Class Gameplay is used to handle attempts at destroying an      *
  * opponents ship. It includes a public attack method which calls a series      *
  * of other private methods. These provide the result of the players attack     *
- * and initiate an attack by the computer. Most of this class is made up of     *
- * computer attack logic methods, which are used to improve the odds of the     *
- * computer winning the game.                                                   *
+ * and initiate an attack by the computer. The computer attack logic is         *
+ * provided by an AttackStrategy, which chooses the square most likely to       *
+ * contain a ship to improve the odds of the computer winning the game.         *
  * The attack method will return an integer based on if the player or           *
- * computer has won or if the game is not yet finished.                         *
+ * computer has won or if the game is not yet finished. The turns themselves    *
+ * are played by a Match, the same turn logic used by the MatchServer.          *
+ * When a GameRecordWriter is given, every shot is added to a GameRecord and    *
+ * the record is written once the game has a winner.                            *
+ * saveState() and restoreState() save a game in progress, with both boards,    *
+ * the computer attack logic and the record so far, so it can be resumed.       *
+ * In a salvo game each click aims one shot, shown in silver, and a click on    *
+ * an aimed cell takes the aim off. Once every shot of the salvo is aimed the   *
+ * salvo is fired as one batch, then the computer fires its salvo. Each salvo   *
+ * is shown with one pass over its cells and one sound of each kind.            *
+ * The attack logic plays through a DeadlineStrategy, so the click waits no     *
+ * longer than the move deadline for the computer to choose its shot.           *
  ********************************************************************************/
 
 package battleships;
 
 import javafx.scene.paint.Color;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 public class Gameplay {
 
-    //**************************Class instance variables*************************//
+    //**************************Class constants**********************************//
 
-    private Square targetModeSquare = null; // square used for computers targeting mode
-    private boolean targetModeActive = false; // declare when computer should use target mode
-    private ArrayList<Square[]> targetBlocks = new ArrayList<>(); // blocks of squares for computer to target
-    private ArrayList<Square> playerHits = new ArrayList<>(); // track the squares a player hit a ship
-    private ArrayList<Square> computerHits = new ArrayList<>(); // track the squares a computer hit a ship
-    private int targetDirection = 0; // computer attack direction 0 = vertical 1 = horizontal
+    private static final Color AIMED_CELL = Color.SILVER; // colour of a cell aimed at for the next salvo
+    private static final long MOVE_DEADLINE = DeadlineStrategy.configuredDeadline(DeadlineStrategy.GUI_DEADLINE_MILLIS); // per computer move
 
     //***************************************************************************//
 
-    //****************************Class constructors*****************************//
-
-    /** Constructor
-     * This constructor creates an object of the Gameplay class and runs the method to
-     * create the target blocks used by the computers attacking logic.
-     * @param playerBoard: {PlayerBoard} Board used to initiate creation of target blocks
-     */
-    public Gameplay(PlayerBoard playerBoard) {
+    //**************************Class instance variables*************************//
 
-        createTargetBlocks(playerBoard); // create first set of target blocks
-    }
+    private StrategyType strategyType; // type of the computer attack logic
+    private AttackStrategy strategy; // computer attack logic
+    private ArrayList<Integer> playerHits = new ArrayList<>(); // track the cells a player hit a ship
+    private ArrayList<Integer> computerHits = new ArrayList<>(); // track the cells a computer hit a ship
+    private GameRecordWriter recordWriter; // where the finished game is recorded, null if not recorded
+    private Match match; // turn logic of the game, created on the first attack
+    private int salvo = 1; // shots per turn, or Match.SALVO_SHIPS_AFLOAT
+    private ArrayList<Integer> aimedCells = new ArrayList<>(); // cells aimed at for the players next salvo
 
     //***************************************************************************//
 
-    //********************************Class methods******************************//
+    //****************************Class constructors*****************************//
 
-    /** method attack()
-     * This method uses the square provided to initiate an attacks on each board.
-     * One attack being the square clicked and another being randomly chosen by.
-     * It returns an integer based on the outcome of these attacks.
-     * Returns 0 if no winner || Returns 1 if player has won || Returns 2 if computer has won
-     * @param square: {Square} Square attacked by the player
+    /** Constructor 1
+     * This constructor creates an object of the Gameplay class using the original
+     * hunt and target computer attacking logic.
      * @param playerBoard: {PlayerBoard} Board the computer attacks
-     * @param computerBoard: {ComputerBoard} Board the player attacks
      */
-    public int attack(Square square, PlayerBoard playerBoard, ComputerBoard computerBoard) {
-
-        square.setOnMouseClicked(null); // disable square (cannot be attacked again)
-
-        playersTurn(square, computerBoard); // player attacks square
-
-        if (computerBoard.getShips().isEmpty()) return 1; // if all computer ships destroyed, player wins
-
-        computersTurn(playerBoard); // computer attacks
-
-        if (playerBoard.getShips().isEmpty()) return 2; // if all player ships destroyed, computer wins
+    public Gameplay(PlayerBoard playerBoard) {
 
-        return 0; // game continues
+        this(playerBoard, StrategyType.HUNT); // use the original attack logic
     }
 
-    /** method playersTurn()
-     * This method attacks the square provided and checks if the square contains
-     * one of the ships from the given list of Ships. If a ship is destroyed,
-     * it is removed from the list.
-     * @param square: {Square} Square attacked by the player
-     * @param computerBoard: {ComputerBoard} Opponents board
+    /** Constructor 2
+     * Overloaded constructor that selects the computers attacking logic.
+     * @param playerBoard: {PlayerBoard} Board the computer attacks
+     * @param strategyType: {StrategyType} computer attack logic to use
      */
-    private void playersTurn(Square square, ComputerBoard computerBoard) {
-
-        if (square.getOccupyingShip() == null) { // no ship located in this square
-
-            miss(square); // call miss method
-
-        } else { // ship has been hit
+    public Gameplay(PlayerBoard playerBoard, StrategyType strategyType) {
 
-            playerHits.add(square); // add to the list of hits by the player
-            hit(square); // call hit method
-
-            if (square.getOccupyingShip().getHealth() < 1) { // if ship has no remaining health
-
-                destroy(playerHits); // call destroy method
-                computerBoard.getShips().remove(square.getOccupyingShip()); // remove ship
-            }
-        }
+        this(playerBoard, strategyType, null); // do not record the game
     }
 
-    /** method computersTurn()
-     * This method is the base method for initiating an attack on the players board.
-     * It invokes a series of events to attack the most likely square to contain a ship.
-     * @param playerBoard: {PlayerBoard} Players board
+    /** Constructor 3
+     * Overloaded constructor that selects the computers attacking logic and records
+     * the game.
+     * @param playerBoard: {PlayerBoard} Board the computer attacks
+     * @param strategyType: {StrategyType} computer attack logic to use
+     * @param recordWriter: {GameRecordWriter} where the finished game is recorded, null if not recorded
      */
-    private void computersTurn(PlayerBoard playerBoard) {
+    public Gameplay(PlayerBoard playerBoard, StrategyType strategyType, GameRecordWriter recordWriter) {
 
-        // check if target mode is active
-        if (targetModeActive) {
-
-            targetMode(playerBoard); // initiate target mode
+        this.strategyType = strategyType;
+        this.strategy = new DeadlineStrategy(strategyType.create(playerBoard.getState()), MOVE_DEADLINE); // create the attack logic
+        this.recordWriter = recordWriter;
+    }
 
-        } else { // if no target is found
+    //***************************************************************************//
 
-            Square square = getCommonSquare(); // get the most likely square to contain a ship
+    //********************************Class methods******************************//
 
-            // attack the square
-            if (square.getOccupyingShip() == null) { // if it does not contain a ship
+    /** method attack()
+     * This method uses the cell provided to initiate an attacks on each board.
+     * One attack being the cell clicked and another being randomly chosen by.
+     * It returns an integer based on the outcome of these attacks.
+     * Returns 0 if no winner || Returns 1 if player has won || Returns 2 if computer has won
+     * @param cell: {int} cell attacked by the player
+     * @param playerBoard: {PlayerBoard} Board the computer attacks
+     * @param computerBoard: {ComputerBoard} Board the player attacks
+     */
+    public int attack(int cell, PlayerBoard playerBoard, ComputerBoard computerBoard) {
 
-                miss(square); // call the miss method
-                reduceBlocks(square); // remove this square from target blocks
+        // cell cannot be attacked again
+        if (cell < 0 || !computerBoard.getState().isUnknown(cell)) return 0;
 
-            } else { // if it's a hit
+        // both fleets are in place by the first attack, the player attacks first so they are side 0
+        if (match == null) {
 
-                hit(square, playerBoard); // call hit method
-                targetModeSquare = square; // set as the starting point for target mode
-            }
+            match = new Match(computerBoard.getState(), playerBoard.getState(), strategy);
+            match.setSalvo(salvo);
+            if (recordWriter != null) match.startRecord();
         }
-    }
-
-    /** method hit()
-     * This method sets the colour of the Square provided as red to indicate it was a hit.
-     * The square variable is also set to known occupied for validation purposes. The ships
-     * health that was struck is reduced. The method also plays a sound effect clip of a
-     * small explosion.
-     * @param square: {Square} Square attacked
-     */
-    private void hit(Square square) {
-
-        AudioPlayer.HIT.play(); // play hit sound file
-        square.setFill(Color.RED); // set square colour to red
-        square.getOccupyingShip().lowerHealth(); // lower the ships health
-        square.setKnownOccupied(true); // set square as known occupied
-    }
 
-    /** method hit()
-     * This method is an overloaded version of the basic hit method.
-     * It adds an additional set of actions specific to the computer making a hit.
-     * This includes, checking for currently surviving hit ships and activating or
-     * deactivating target mode.
-     * @param square: {Square} Square attacked
-     * @param playerBoard: {PlayerBoard} Board the hit was made on
-     */
-    private void hit(Square square, PlayerBoard playerBoard) {
+        if (salvo != 1) return salvoAttack(cell, playerBoard, computerBoard); // each click aims one shot
 
-        targetModeActive = true; // activate target mode
-        computerHits.add(square); // add square to list of hit squares
-        hit(square); // call standard hit method
+        playersTurn(cell, computerBoard); // player attacks cell
 
-        // if square hit destroys the ship
-        if (square.getOccupyingShip().getHealth() < 1) {
+        if (match.getWinner() == 0) { // if all computer ships destroyed, player wins
 
-            destroy(computerHits); // call destroy method
-            playerBoard.getShips().remove(square.getOccupyingShip()); // remove destroyed ship
+            writeRecord();
+            return 1;
+        }
 
-            // set  currently surviving ships found as the target mode square
-            targetModeSquare = getDamagedShips();
+        computersTurn(playerBoard); // computer attacks
 
-            // if no surviving ships were found
-            if (targetModeSquare == null) {
+        if (match.getWinner() == 1) { // if all player ships destroyed, computer wins
 
-                targetModeActive = false; // deactivate target mode
-                createTargetBlocks(playerBoard); // create new target blocks
-            }
+            writeRecord();
+            return 2;
         }
-    }
-
-    /** method miss()
-     * This method sets the colour of the Square provided as blue to indicate it was a miss.
-     * The square variable is also set to known empty for validation purposes.
-     * @param square: {Square} Square attacked
-     */
-    private void miss(Square square) {
 
-        square.setFill(Color.AQUAMARINE); // set square colour to light blue
-        square.setKnownEmpty(true); // set square as known empty
+        return 0; // game continues
     }
 
-    /** method destroy()
-     * This method plays a large explosion sound effect and checks the list of
-     * hit squares provided, setting their colour orange if they contain a destroyed ship.
-     * The squares variable is also set to known destroyed for validation purposes.
-     * @param hitSquares: {ArrayList<Square>} List of current hit squares
+    /** method salvoAttack()
+     * This method aims a shot of the players salvo at the cell provided, or takes the
+     * aim off if the cell was already aimed at. Once every shot is aimed the salvo is
+     * fired and the computer fires its own salvo.
+     * Returns 0 if no winner || Returns 1 if player has won || Returns 2 if computer has won
+     * @param cell: {int} cell clicked by the player
+     * @param playerBoard: {PlayerBoard} Board the computer attacks
+     * @param computerBoard: {ComputerBoard} Board the player attacks
      */
-    private void destroy(ArrayList<Square> hitSquares) {
-
-        AudioPlayer.DESTROY.play(); // play large explosion sound effect
+    private int salvoAttack(int cell, PlayerBoard playerBoard, ComputerBoard computerBoard) {
 
-        for (Square square : hitSquares) { // iterate through the list of hit squares
+        if (aimedCells.remove((Integer) cell)) { // clicked again, take the aim off
 
-            // if the ship on this square has no remaining health
-            if (square.getOccupyingShip().getHealth() < 1) {
-
-                square.setKnownDestroyed(true); // set as destroyed
-                square.setFill(Color.ORANGE); // set square colour as orange
-            }
+            Ship ship = computerBoard.getShipAt(cell);
+            computerBoard.paintCell(cell, ship != null ? ship.getColor() : Color.BLACK); // colour before it was aimed
+            return 0;
         }
-    }
-    /** method createTargetBlocks()
-     * This method creates a list of Squares separated into individual arrays. These are the blocks.
-     * The Squares in these blocks are either untouched or contain a hit. These are used by the
-     * computer to locate potential areas of the longest ship alive.
-     * @param playerBoard: {PlayerBoard} Board used to initiate creation of target blocks
-     */
-    private void createTargetBlocks(PlayerBoard playerBoard) {
-
-        targetBlocks.clear(); // clear current list of blocks
-        int boardSize = playerBoard.getBoardSize(); // get board limit
-        int range = calculateRange(playerBoard.getShips()); // set block array size to longest ship alive
-
-        // create blocks of columns (vertical blocks)
-        for (int row = 0; row <= (boardSize - range); row++) { // cycle through rows within range of ship size
-
-            for (int column = 0; column < boardSize; column++) { // cycle through columns within the board
-
-                Square[] block = new Square[range]; // create new block
-
-                int squareCounter = 0; // create square counter (used to check the block size matches the range)
 
-                for (int i = 0; i < range; i++) { // cycle through potential block squares
+        aimedCells.add(cell);
+        computerBoard.paintCell(cell, AIMED_CELL);
+        if (aimedCells.size() < match.getSalvoSize(0)) return 0; // more shots to aim
 
-                    Square square = playerBoard.getGrid()[row + i][column]; // get current square
+        // fire the players salvo
+        int[] cells = new int[aimedCells.size()];
+        for (int i = 0; i < cells.length; i++) cells[i] = aimedCells.get(i);
+        aimedCells.clear();
+        showSalvo(computerBoard, cells, match.shootSalvo(0, cells), playerHits);
 
-                    if (!square.isKnownEmpty() && !square.isKnownOccupied()) { // if square is untouched
+        if (match.getWinner() == 0) { // if all computer ships destroyed, player wins
 
-                        block[i] = square; // add square to block
-                        squareCounter++; // increase counter
-                    }
-                } // exit block building loop
-
-                // if squares found match that of target ship, add block to list of target blocks
-                if (squareCounter == range) {
-
-                    targetBlocks.add(block); // add block
-                }
-
-            } // exit column loop
-        } // exit row loop
-
-        // create blocks of rows (horizontal blocks)
-        for (int row = 0; row < boardSize; row++) { // cycle through rows within range of ship size
-
-            for (int column = 0;  column <= (boardSize - range); column++) { // cycle through columns within the board
-
-                Square[] block = new Square[range]; // create new block
-
-                int squareCounter = 0; // create square counter (used to check the block size matches the range)
-
-                for (int i = 0; i < range; i++) { // cycle through potential block squares
+            writeRecord();
+            return 1;
+        }
 
-                    Square square = playerBoard.getGrid()[row][column + i]; // get current square
+        // the computer fires its salvo
+        int[] computerCells = match.strategySalvo(); // the most likely cells to contain a ship
+        playerBoard.showCell(computerCells[0]); // scroll a large board to the attack
+        showSalvo(playerBoard, computerCells, match.getLastResults(), computerHits);
 
-                    if (!square.isKnownEmpty() && !square.isKnownOccupied()) { // if square is untouched
+        if (match.getWinner() == 1) { // if all player ships destroyed, computer wins
 
-                        block[i] = square; // add square to block
-                        squareCounter++; // increase counter
-                    }
-                } // exit block building loop
+            writeRecord();
+            return 2;
+        }
 
-                // if squares found match that of target ship, add block to list of target blocks
-                if (squareCounter == range) {
+        return 0; // game continues
+    }
 
-                    targetBlocks.add(block); // add block
-                }
+    /** method playersTurn()
+     * This method attacks the cell provided and checks if the cell contains
+     * one of the ships from the given list of Ships. If a ship is destroyed,
+     * it is removed from the list.
+     * @param cell: {int} cell attacked by the player
+     * @param computerBoard: {ComputerBoard} Opponents board
+     */
+    private void playersTurn(int cell, ComputerBoard computerBoard) {
 
-            }  // exit column loop
-        } // exit row loop
-    } // close createTargetBlocks method
+        // attack the cell in the board state
+        int result = match.shoot(0, cell);
 
-    /** method reduceBlocks()
-     * This method takes a given Square, scans the current list of blocks and removes
-     * any block that contains the square.
-     * @param square: {Square} Square to remove from block list
-     */
-    private void reduceBlocks(Square square) {
+        if (result == BoardState.MISS) { // no ship located in this cell
 
-        List<Square[]> blocksToRemove = new ArrayList<>(); // temp list of blocks to remove from list
+            miss(computerBoard, cell); // call miss method
 
-        for (Square[] block : targetBlocks) { // cycle through the target blocks list
+        } else { // ship has been hit
 
-            for (Square check : block) { // check each block
+            playerHits.add(cell); // add to the list of hits by the player
+            hit(computerBoard, cell); // call hit method
 
-                if (check.equals(square)) { // if check matches the square to remove
+            if (result == BoardState.SUNK) { // if ship has no remaining health
 
-                    blocksToRemove.add(block); // add this block to the removal list
-                }
+                destroy(computerBoard, playerHits); // call destroy method
+                computerBoard.getShips().remove(computerBoard.getShipAt(cell)); // remove ship
             }
         }
-
-        targetBlocks.removeAll(blocksToRemove); // remove the blocks found to contain the square
     }
 
-    /** method targetMode()
-     * This method uses the instance variable targetModeSquare to locate the next possible
-     * square containing the found ship.
-     * @param playerBoard: {PlayerBoard} Board containing target to destroy
+    /** method computersTurn()
+     * This method is the base method for initiating an attack on the players board.
+     * It asks the attack strategy for the most likely cell to contain a ship,
+     * attacks it and reports the result back to the strategy. The strategy has until
+     * the move deadline to choose, else a cheap legal shot is played instead.
+     * @param playerBoard: {PlayerBoard} Players board
      */
-    private void targetMode(PlayerBoard playerBoard) {
-
-        int boardSize = playerBoard.getBoardSize(); // get current limits of board
-        Square[][] grid = playerBoard.getGrid(); // get the current grid array
-        int range = calculateRange(playerBoard.getShips()); // get largest possible ship length
-        int targetRow = targetModeSquare.getRow(); // get current target row
-        int targetColumn = targetModeSquare.getColumn(); // get current target column
-        Square nextTarget = null; // create next target object
-
-        while (nextTarget == null) { // loop until next target is found
-
-            if (targetDirection == 0) { // vertical attack
-
-                // check north
-                nextTarget = attackNorth(range, targetRow, targetColumn, 0, grid);
+    private void computersTurn(PlayerBoard playerBoard) {
 
-                // check south
-                if (nextTarget == null) nextTarget = attackSouth(range, targetRow, targetColumn, boardSize, grid);
+        int cell = match.strategyShot(); // attack the most likely cell to contain a ship
+        int result = match.getLastResult(); // result of the attack
+        playerBoard.showCell(cell); // scroll a large board to the attack
 
-                // change direction of attack
-                if (nextTarget == null) targetDirection = 1;
+        if (result == BoardState.MISS) { // if it does not contain a ship
 
-            }
+            miss(playerBoard, cell); // call the miss method
 
-            if (targetDirection == 1) { // horizontal attack
+        } else { // if it's a hit
 
-                // check east
-                nextTarget = attackEast(range, targetRow, targetColumn, boardSize, grid);
+            computerHits.add(cell); // add cell to list of hit cells
+            hit(playerBoard, cell); // call hit method
 
-                // check west
-                if (nextTarget == null) nextTarget = attackWest(range, targetRow, targetColumn, 0, grid);
+            if (result == BoardState.SUNK) { // if cell hit destroys the ship
 
-                if (nextTarget == null) targetDirection = 0;
+                destroy(playerBoard, computerHits); // call destroy method
+                playerBoard.getShips().remove(playerBoard.getShipAt(cell)); // remove destroyed ship
             }
-
-        } // end while loop
-
-
-        if (nextTarget.getOccupyingShip() == null) { // if next target does not contain a ship
-
-            miss(nextTarget); // call miss method
-
-        } else { // else, hit the ship
-
-            hit(nextTarget, playerBoard); // call hit method
         }
     }
 
-    /** method calculateRange()
-     * This method uses a given list of ships and returns the length of the longest ship
-     * @param ships: {ArrayList<Ship>} List of ships to check
+    /** method saveState()
+     * Writes the game in progress to the buffer provided, both boards, the state of the
+     * computer attack logic and the record of the game so far.
+     * @param out: {ByteBuffer} buffer to write to
+     * @param playerBoard: {PlayerBoard} Board the computer attacks
+     * @param computerBoard: {ComputerBoard} Board the player attacks
      */
-    private int calculateRange(ArrayList<Ship> ships) {
-
-        int range = 2; // set to minimum range a ship can be
+    public void saveState(ByteBuffer out, PlayerBoard playerBoard, ComputerBoard computerBoard) {
 
-        // loop through the ship list
-        for (Ship ship : ships) {
-
-            // if ship found is longer than current range
-            if (ship.getLength() > range) {
-
-                range = ship.getLength(); // set as new range
-            }
-        }
+        playerBoard.saveState(out);
+        computerBoard.saveState(out);
+        out.put((byte) strategyType.ordinal());
+        strategy.saveState(out);
 
-        return range; // return range
+        GameRecord record = match != null ? match.getRecord() : null; // record of the game so far
+        out.put((byte) (record != null ? 1 : 0));
+        if (record != null) record.encode(out);
     }
 
-    /** method attackSouth()
-     * This method uses a given grid of squares, a starting point and an attack range to
-     * find a possible ship in the southern direction.
-     * @param range: {int} longest possible ship size
-     * @param targetRow: {int} row that was hit
-     * @param targetColumn: {int} column that was hit
-     * @param limit: {int} Limit of the board
-     * @param grid: {Square[][]} Grid containing squares to attack
+    /** method restoreState()
+     * Replaces the game with one written by saveState(). The boards are restored, the
+     * saved type of attack logic is created again for the restored player board and
+     * the attacked cells and ship labels are updated without playing any sounds. The
+     * game is not replayed. The saved record is only kept if this game is being recorded.
+     * Throws IllegalArgumentException if the saved game is not valid.
+     * @param in: {ByteBuffer} buffer positioned at a game written by saveState()
+     * @param playerBoard: {PlayerBoard} new Board the computer attacks
+     * @param computerBoard: {ComputerBoard} new Board the player attacks
      */
-    private Square attackSouth(int range, int targetRow, int targetColumn, int limit, Square[][] grid) {
-
-        for (int i = 1; i < range; i++) { // loop through possible target squares
-
-            if ((targetRow + i) >= limit) { // if square is out of bounds
-
-                return null; // stop loop and return null
-
-            } else { // square is within bounds
-
-                Square square = grid[targetRow + i][targetColumn]; // get potential square
-
-                // if potential square is already a miss or contains a destroyed ship, return null
-                if (square.isKnownEmpty() || square.isKnownDestroyed()) {
-
-                    return null; // stop loop and return null
-
-                // else if square is unknown, attack
-                } else if (!square.isKnownOccupied()) {
-
-                    return square; // return next target
-                }
-
-            } // square must be a hit (red), continue loop and attack the next square along
-
-        } // close loop
-
-        return null; // no viable square found, return null
+    public void restoreState(ByteBuffer in, PlayerBoard playerBoard, ComputerBoard computerBoard) {
+
+        playerBoard.restoreState(in);
+        computerBoard.restoreState(in);
+
+        int type = in.get(); // the saved game keeps its own attack logic
+        if (type < 0 || type >= StrategyType.values().length) throw new IllegalArgumentException("saved attack logic " + type);
+        strategyType = StrategyType.values()[type];
+        AttackStrategy restored = strategyType.create(playerBoard.getState()); // created for the restored board
+        restored.restoreState(playerBoard.getState(), in);
+        strategy = new DeadlineStrategy(restored, MOVE_DEADLINE);
+
+        GameRecord saved = in.get() != 0 ? GameRecord.decode(in) : null;
+        match = new Match(computerBoard.getState(), playerBoard.getState(), strategy);
+        match.setSalvo(salvo);
+        if (recordWriter != null) match.setRecord(saved);
+
+        // show the attacks made so far
+        playerHits.clear();
+        computerHits.clear();
+        aimedCells.clear();
+        showAttacks(computerBoard, playerHits);
+        showAttacks(playerBoard, computerHits);
     }
 
-    /** method attackNorth()
-     * This method uses a given grid of squares, a starting point and an attack range to
-     * find a possible ship in the northern direction.
-     * @param range: {int} longest possible ship size
-     * @param targetRow: {int} row that was hit
-     * @param targetColumn: {int} column that was hit
-     * @param limit: {int} Limit of the board
-     * @param grid: {Square[][]} Grid containing squares to attack
+    /** method showAttacks()
+     * This method paints every attacked cell of a restored board, lowers the health of
+     * each ship hit and removes destroyed ships from the list of ships.
+     * @param board: {Board} restored Board
+     * @param hitCells: {ArrayList<Integer>} List of hit cells to fill
      */
-    private Square attackNorth(int range, int targetRow, int targetColumn, int limit, Square[][] grid) {
-
-        for (int i = 1; i < range; i++) { // loop through possible target squares
-
-            if ((targetRow - i) < limit) { // if square is out of bounds
-
-                return null; // stop loop and return null
-
-            } else { // square is within bounds
+    private void showAttacks(Board board, ArrayList<Integer> hitCells) {
 
-                Square square = grid[targetRow - i][targetColumn]; // get potential square
+        BoardState state = board.getState();
 
-                // if potential square is already a miss or contains a destroyed ship, return null
-                if (square.isKnownEmpty() || square.isKnownDestroyed()) {
+        CellMask missed = state.getMissed();
+        for (int cell = missed.nextSetBit(0); cell >= 0; cell = missed.nextSetBit(cell + 1)) {
 
-                    return null; // stop loop and return null
-
-                // else if square is unknown, attack
-                } else if (!square.isKnownOccupied()) {
+            board.paintCell(cell, Color.AQUAMARINE); // set cell colour to light blue
+        }
 
-                    return square; // return next target
+        CellMask hits = state.getHits();
+        for (int cell = hits.nextSetBit(0); cell >= 0; cell = hits.nextSetBit(cell + 1)) {
 
-                } // square must be a hit (red), continue loop and attack the next square along
-            }
-        } // close loop
+            hitCells.add(cell); // add to the list of hits
+            board.paintCell(cell, state.isDestroyed(cell) ? Color.ORANGE : Color.RED); // set cell colour
+            board.getShipAt(cell).lowerHealth(); // lower the ships health
+        }
 
-        return null; // no viable square found, return null
+        board.getShips().removeIf((ship) -> ship.getHealth() < 1); // remove destroyed ships
     }
 
-    /** method attackEast()
-     * This method uses a given grid of squares, a starting point and an attack range to
-     * find a possible ship in the eastern direction.
-     * @param range: {int} longest possible ship size
-     * @param targetRow: {int} row that was hit
-     * @param targetColumn: {int} column that was hit
-     * @param limit: {int} Limit of the board
-     * @param grid: {Square[][]} Grid containing squares to attack
+    /** method writeRecord()
+     * This method writes the record of the finished game. Games are played one at a
+     * time, so the record is flushed to the file straight away. A record that can not
+     * be written is reported and dropped, the game carries on either way.
      */
-    private Square attackEast(int range, int targetRow, int targetColumn, int limit, Square[][] grid) {
-
-        for (int i = 1; i < range; i++) { // loop through possible target squares
-
-            if ((targetColumn + i) >= limit) { // if square is out of bounds
+    private void writeRecord() {
 
-                return null; // stop loop and return null
+        if (match.getRecord() == null) return; // game not recorded
 
-            } else { // square is within bounds
+        try {
 
-                Square square = grid[targetRow][targetColumn + i]; // get potential square
+            recordWriter.write(match.getRecord());
+            recordWriter.flush();
 
-                // if potential square is already a miss or contains a destroyed ship, return null
-                if (square.isKnownEmpty() || square.isKnownDestroyed()) {
+        } catch (IOException e) {
 
-                    return null; // stop loop and return null
-
-                    // else if square is unknown, attack
-                } else if (!square.isKnownOccupied()) {
-
-                    return square; // return next target
-                }
-
-            } // square must be a hit (red), continue loop and attack the next square along
-
-        } // close loop
-
-        return null; // no viable square found, return null
+            System.err.println("Game record not written: " + e);
+        }
+        match.setRecord(null); // only written once
+        recordWriter = null;
     }
 
-    /** method attackWest()
-     * This method uses a given grid of squares, a starting point and an attack range to
-     * find a possible ship in the western direction.
-     * @param range: {int} longest possible ship size
-     * @param targetRow: {int} row that was hit
-     * @param targetColumn: {int} column that was hit
-     * @param limit: {int} Limit of the board
-     * @param grid: {Square[][]} Grid containing squares to attack
+    /** method hit()
+     * This method sets the colour of the cell provided as red to indicate it was a hit.
+     * The ships health that was struck is reduced to update its label. The method also
+     * plays a sound effect clip of a small explosion.
+     * @param board: {Board} Board attacked
+     * @param cell: {int} cell attacked
      */
-    private Square attackWest(int range, int targetRow, int targetColumn, int limit, Square[][] grid) {
-
-        for (int i = 1; i < range; i++) { // loop through possible target squares
-
-            if ((targetColumn - i) < limit) { // if square is out of bounds
-
-                return null; // stop loop and return null
-
-            } else { // square is within bounds
-
-                Square square = grid[targetRow][targetColumn - i]; // get potential square
-
-                // if potential square is already a miss or contains a destroyed ship, return null
-                if (square.isKnownEmpty() || square.isKnownDestroyed()) {
-
-                    return null; // stop loop and return null
-
-                // else if square is unknown, attack
-                } else if (!square.isKnownOccupied()) {
-
-                   return square; // return next target
-                }
-
-            } // square must be a hit (red), continue loop and attack the next square along
+    static void hit(Board board, int cell) {
 
-        } // close loop
-
-        return null; // no viable square found, return null
+        AudioPlayer.HIT.play(); // play hit sound file
+        board.paintCell(cell, Color.RED); // set cell colour to red
+        board.getShipAt(cell).lowerHealth(); // lower the ships health
     }
 
-    /** method getCommonSquare()
-     * Finds and returns the most common square found in the targetBlocks ArrayList
+    /** method miss()
+     * This method sets the colour of the cell provided as blue to indicate it was a miss.
+     * @param board: {Board} Board attacked
+     * @param cell: {int} cell attacked
      */
-    private Square getCommonSquare() {
-
-        // create a map of squares to count the number of times they appear
-        Map<Square, Integer> squareCount = new HashMap<>();
-
-        for (Square[] block : targetBlocks) { // loop through all target blocks
-
-            for (Square square : block) { // check the squares in the block
+    static void miss(Board board, int cell) {
 
-                // if the square has not yet been added to the map
-                if (!squareCount.containsKey(square)) {
-
-                    squareCount.put(square, 1); // add and set count as 1
-
-                } else { // if square is already in the map
+        board.paintCell(cell, Color.AQUAMARINE); // set cell colour to light blue
+    }
 
-                    squareCount.put(square, squareCount.get(square) + 1); // add 1 to the count
-                }
-            } // close individual block loop
-        } // close targetBlocks list loop
+    /** method showSalvo()
+     * This method shows every shot of a salvo in one pass, painting the misses blue and
+     * the hits red, and removes the ships it destroyed. The hit and explosion sounds are
+     * played at most once each, so a salvo is heard as one mix.
+     * @param board: {Board} Board attacked
+     * @param cells: {int[]} cells of the salvo
+     * @param results: {int[]} BoardState result of each cell
+     * @param hitCells: {ArrayList<Integer>} List of current hit cells
+     */
+    static void showSalvo(Board board, int[] cells, int[] results, ArrayList<Integer> hitCells) {
 
-        // get the current length of the blocks
-        int blockSize = targetBlocks.get(0).length;
+        boolean anyHit = false; // a ship was hit
+        boolean anySunk = false; // a ship was destroyed
 
-        int highestCount = 0; // temp variable used to hold the current highest square count
-        Square mostCommonSquare = null; // temp variable to hold the current most common square found
+        for (int i = 0; i < cells.length; i++) {
 
-        for (Square square : squareCount.keySet()) { // loop through the squares in the map
+            if (results[i] == BoardState.MISS) { // no ship located in this cell
 
-            // highest possible square count is ship length x 2
-            // if square count matches the max possible, this must be the most common
-            if (squareCount.get(square) == (blockSize * 2) && !square.isKnownOccupied()) {
+                board.paintCell(cells[i], Color.AQUAMARINE); // set cell colour to light blue
+                continue;
+            }
 
-                mostCommonSquare = square; // set as most common square
-                break; // end loop
+            hitCells.add(cells[i]); // add to the list of hits
+            board.paintCell(cells[i], Color.RED); // set cell colour to red
+            board.getShipAt(cells[i]).lowerHealth(); // lower the ships health
+            anyHit = true;
 
-            // else check if the square being checked has a higher count than the current highest count
-            } else if (squareCount.get(square) > highestCount && !square.isKnownOccupied()) {
+            if (results[i] == BoardState.SUNK) { // ship has no remaining health
 
-                mostCommonSquare = square; // set as current most common square
-                highestCount = squareCount.get(square); // set new highest count
+                board.getShips().remove(board.getShipAt(cells[i])); // remove destroyed ship
+                anySunk = true;
             }
         }
 
-        return mostCommonSquare; // return most common square
+        if (anyHit) AudioPlayer.HIT.play(); // play hit sound file
+        if (anySunk) destroy(board, hitCells); // paint the destroyed ships orange with one explosion
     }
 
-    /** method getDamagedShips()
-     * Checks current hits and returns a Square that contains a surviving ship
+    /** method destroy()
+     * This method plays a large explosion sound effect and checks the list of
+     * hit cells provided, setting their colour orange if they contain a destroyed ship.
+     * @param board: {Board} Board attacked
+     * @param hitCells: {ArrayList<Integer>} List of current hit cells
      */
-    private Square getDamagedShips() {
-
-        // loop through the list of hits
-        for (Square square : computerHits) {
+    static void destroy(Board board, ArrayList<Integer> hitCells) {
 
-            // if square contains a ship with more than 0 health
-            if (square.getOccupyingShip().getHealth() > 0) {
+        AudioPlayer.DESTROY.play(); // play large explosion sound effect
 
-                return square; // return the square as next starting location for target mode
-            }
+        // paint the cells of sunk ships and drop them from the list, so only hits on
+        // ships afloat are checked again when the next ship is destroyed
+        hitCells.removeIf((cell) -> {
 
-        } // close for loop
+            if (!board.getState().isDestroyed(cell)) return false; // ship on this cell still afloat
 
-        return null; // no Squares found with surviving ship, return null
+            board.paintCell(cell, Color.ORANGE); // set cell colour as orange
+            return true;
+        });
     }
 
-} // close class Gameplay
+    //***************************************************************************//
 
+    //**************************Class getters and setters************************//
 
+    /** method setSalvo()
+     * Sets the shots each side fires per turn, 1 for the standard game. Must be set
+     * before the first attack or restoreState().
+     * @param salvo: {int} shots per turn, 1 or more, or Match.SALVO_SHIPS_AFLOAT
+     */
+    public void setSalvo(int salvo) {
+
+        this.salvo = salvo;
+    }
+
+} // close class Gameplay
@@ -0,0 +1,661 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class HuntTargetStrategy is the original computer attack        *
+ * logic, moved out of Gameplay so it can run on a BoardState without the       *
+ * JavaFX grid. While hunting it splits the untouched cells into blocks the     *
+ * length of the longest ship alive and attacks the cell found in the most      *
+ * blocks. Once a ship is hit it switches to target mode and attacks north,     *
+ * south, east and west of the hit until the ship is destroyed. A salvo takes   *
+ * the cells around the hit first and the most common cells after them.         *
+ * Target blocks are kept in slots indexed by their first cell and direction,   *
+ * so the blocks containing a cell are found from its row and column and a      *
+ * miss only removes the blocks that contain it. Blocks are the placements of   *
+ * the shared PlacementTable for the block length.                              *
+ * The number of blocks containing each untouched cell is kept in a             *
+ * CellRanking and lowered as blocks are removed, so the most common cell is    *
+ * found without counting every block again, which keeps a hunting shot cheap   *
+ * on boards of a million cells.                                                *
+ * The ships afloat are counted by length, so the longest ship alive is found   *
+ * without a walk over the fleet and a turn costs the same with six ships or    *
+ * hundreds. Once a ship is destroyed the blocks are only made again if the     *
+ * longest ship alive has changed, otherwise the blocks containing the cells    *
+ * attacked since they were made are removed.                                   *
+ * The target mode and blocks are saved with saveState() when a game is saved.  *
+ * When the battleships.endgame system property is true, the shots are chosen   *
+ * by an EndgameSolver once the ships afloat can only be in a few places.       *
+ ********************************************************************************/
+
+package battleships;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class HuntTargetStrategy implements AttackStrategy {
+
+    //**************************Class instance variables*************************//
+
+    private int targetModeCell = -1; // cell used for computers targeting mode
+    private boolean targetModeActive = false; // declare when computer should use target mode
+    private boolean lastShotHunting = false; // declare if the last shot was chosen by hunting
+    private int boardSize; // number of rows and columns
+    private int blockRange; // length of the current target blocks
+    private PlacementTable blockTable; // placements of the current target blocks
+    private int[] crossing; // scratch array of the blocks crossing a cell
+    private boolean[] targetBlocks; // block slots indexed by (first cell * 2 + direction), false once removed
+    private int targetBlockCount = 0; // number of blocks not removed
+    private CellRanking blockCounts; // number of blocks containing each untouched cell
+    private ArrayList<Integer> unreducedCells = new ArrayList<>(); // cells attacked whose blocks have not been removed
+    private int[] afloat; // number of ships afloat of each length, indexed by length
+    private int longestAfloat; // no ship afloat is longer, at least 1
+    private ArrayList<Integer> computerHits = new ArrayList<>(); // track the cells a computer hit a ship
+    private int targetDirection = 0; // computer attack direction 0 = vertical 1 = horizontal
+    private EndgameSolver endgame = EndgameSolver.configured(); // plays the shots once few layouts are left, null if off
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** Constructor
+     * This constructor creates the target blocks used by the computers attacking logic.
+     * @param target: {BoardState} Board used to initiate creation of target blocks
+     */
+    public HuntTargetStrategy(BoardState target) {
+
+        boardSize = target.getBoardSize(); // set board size
+        targetBlocks = new boolean[target.getCellCount() * 2]; // one slot per block position and direction
+        crossing = new int[boardSize * 2]; // a cell is crossed by at most two blocks per cell of length
+        blockCounts = new CellRanking(target.getCellCount());
+        countShips(target); // group the ships afloat by length
+        createTargetBlocks(target); // create first set of target blocks
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method nextShot()
+     * Returns the next cell to attack, using target mode if a damaged ship is known,
+     * else the most likely cell to contain a ship.
+     * @param target: {BoardState} Players board
+     */
+    @Override
+    public int nextShot(BoardState target) {
+
+        lastShotHunting = !targetModeActive; // remember which mode chose the shot
+
+        int endgameCell = endgame != null ? endgame.nextShot(target) : -1; // exact shot once few layouts are left
+        if (endgameCell >= 0) return endgameCell;
+
+        // check if target mode is active
+        if (targetModeActive) {
+
+            return targetMode(target); // initiate target mode
+        }
+
+        int cell = getCommonSquare(target); // get the most likely cell to contain a ship
+
+        // if no block of the longest ship fits, attack the first untouched cell
+        return cell < 0 ? target.nextUnknown(0) : cell;
+    }
+
+    /** method nextSalvo()
+     * Returns the cells of the next salvo. In target mode the cells in line with the
+     * target mode cell are taken first, then those in line with the other hits on ships
+     * afloat, then the cells found in the most target blocks. Hits made in one salvo can
+     * close every direction of the target mode cell, so the salvo never waits on one hit
+     * as targetMode() does.
+     * @param target: {BoardState} Players board
+     * @param shots: {int} number of shots in the salvo
+     */
+    @Override
+    public int[] nextSalvo(BoardState target, int shots) {
+
+        lastShotHunting = !targetModeActive; // remember which mode chose the salvo
+
+        int[] cells = new int[shots];
+        int count = 0;
+
+        if (targetModeActive) {
+
+            int range = calculateRange(); // get largest possible ship length
+            count = addTargetCells(target, targetModeCell, range, cells, count);
+            for (int i = 0; i < computerHits.size() && count < shots; i++) {
+
+                int hit = computerHits.get(i);
+                if (!target.isDestroyed(hit)) count = addTargetCells(target, hit, range, cells, count);
+            }
+        }
+
+        // the most common cells, as many as could be needed once the cells already chosen are skipped
+        int[] common = new int[shots];
+        int commonCount = blockCounts.best(common, 0, shots);
+        for (int i = 0; i < commonCount && count < shots; i++) count = AttackStrategy.addToSalvo(cells, count, common[i]);
+
+        return AttackStrategy.fillSalvo(target, cells, count); // no block left for the rest
+    }
+
+    /** method addTargetCells()
+     * Adds the next cell along from a hit in each direction to a salvo, in the order
+     * targetMode() would try them, and returns the new number of cells chosen
+     * @param target: {BoardState} Players board
+     * @param hit: {int} cell of a hit on a ship afloat
+     * @param range: {int} longest possible ship size
+     * @param cells: {int[]} cells of the salvo
+     * @param count: {int} number of cells already chosen
+     */
+    private int addTargetCells(BoardState target, int hit, int range, int[] cells, int count) {
+
+        int targetRow = hit / boardSize;
+        int targetColumn = hit % boardSize;
+        int[] vertical = {attackNorth(range, targetRow, targetColumn, 0, target),
+                attackSouth(range, targetRow, targetColumn, boardSize, target)};
+        int[] horizontal = {attackEast(range, targetRow, targetColumn, boardSize, target),
+                attackWest(range, targetRow, targetColumn, 0, target)};
+
+        // the direction being attacked first
+        for (int[] line : targetDirection == 0 ? new int[][] {vertical, horizontal} : new int[][] {horizontal, vertical}) {
+
+            for (int cell : line) if (cell >= 0 && count < cells.length) count = AttackStrategy.addToSalvo(cells, count, cell);
+        }
+        return count;
+    }
+
+    /** method setMoveBudget()
+     * Gives the endgame search, if used, half of the move budget, never more than its own
+     * default. The blocks are kept up to date by every result, so choosing the shot takes
+     * no time.
+     * @param budgetNanos: {long} time budget per move in nanoseconds
+     */
+    @Override
+    public void setMoveBudget(long budgetNanos) {
+
+        if (endgame != null) endgame.setBudget(Math.min(EndgameSolver.DEFAULT_BUDGET_NANOS, budgetNanos / 2));
+    }
+
+    /** method shotResult()
+     * Updates the target blocks and target mode with the result of the last attack.
+     * @param target: {BoardState} Players board
+     * @param cell: {int} cell that was attacked
+     * @param result: {int} BoardState result of the attack
+     */
+    @Override
+    public void shotResult(BoardState target, int cell, int result) {
+
+        blockCounts.set(cell, 0); // an attacked cell is never chosen again
+        if (result != BoardState.MISS || !lastShotHunting) unreducedCells.add(cell); // blocks removed later
+
+        if (result == BoardState.MISS) { // if it did not contain a ship
+
+            if (lastShotHunting) reduceBlocks(cell); // remove this cell from target blocks
+
+        } else { // if it's a hit
+
+            hit(target, cell, result); // call hit method
+            if (lastShotHunting) targetModeCell = cell; // set as the starting point for target mode
+        }
+    }
+
+    /** method hit()
+     * This method checks for currently surviving hit ships and activates or
+     * deactivates target mode.
+     * @param target: {BoardState} Board the hit was made on
+     * @param cell: {int} cell attacked
+     * @param result: {int} BoardState result of the attack, HIT or SUNK
+     */
+    private void hit(BoardState target, int cell, int result) {
+
+        targetModeActive = true; // activate target mode
+        computerHits.add(cell); // add cell to list of hit cells
+
+        // if cell hit destroys the ship
+        if (result == BoardState.SUNK) {
+
+            afloat[target.getShipLength(target.getShipAt(cell))]--; // one less ship of its length
+
+            // set currently surviving ships found as the target mode cell
+            targetModeCell = getDamagedShips(target);
+
+            // if no surviving ships were found
+            if (targetModeCell < 0) {
+
+                targetModeActive = false; // deactivate target mode
+                updateTargetBlocks(target); // bring the target blocks up to date
+            }
+        }
+    }
+
+    /** method countShips()
+     * Counts the ships afloat on the board of each length
+     * @param target: {BoardState} Board containing the ships to count
+     */
+    private void countShips(BoardState target) {
+
+        afloat = new int[boardSize + 1]; // no ship is longer than the board
+        longestAfloat = 1;
+
+        for (int ship = 0; ship < target.getShipCount(); ship++) { // loop through the placed ships
+
+            if (target.isSunk(ship)) continue;
+
+            afloat[target.getShipLength(ship)]++;
+            longestAfloat = Math.max(longestAfloat, target.getShipLength(ship));
+        }
+    }
+
+    /** method updateTargetBlocks()
+     * Brings the target blocks up to date once target mode ends. While the longest ship
+     * alive has the length of the blocks, only the blocks containing a cell attacked
+     * since they were last updated are removed, otherwise new blocks are created.
+     * @param target: {BoardState} Board the blocks are on
+     */
+    private void updateTargetBlocks(BoardState target) {
+
+        if (calculateRange() != blockRange) { // longest ship alive has changed
+
+            createTargetBlocks(target);
+            return;
+        }
+
+        for (int cell : unreducedCells) reduceBlocks(cell); // remove blocks on the attacked cells
+        unreducedCells.clear();
+    }
+
+    /** method createTargetBlocks()
+     * This method marks the blocks of untouched cells the length of the longest ship alive.
+     * A block is stored in the slot of its first cell and direction, 0 = horizontal
+     * 1 = vertical. These are used by the computer to locate potential areas of the
+     * longest ship alive.
+     * @param target: {BoardState} Board used to initiate creation of target blocks
+     */
+    void createTargetBlocks(BoardState target) {
+
+        Arrays.fill(targetBlocks, false); // clear current blocks
+        targetBlockCount = 0;
+        unreducedCells.clear(); // new blocks contain no attacked cell
+        int range = calculateRange(); // set block size to longest ship alive
+        blockRange = range;
+        blockTable = target.getPlacements(range);
+
+        // cells already attacked, a block must not contain any of them
+        CellMask attacked = new CellMask(target.getMissed());
+        attacked.or(target.getHits());
+
+        // loop through every block position and direction within the board
+        for (int i = 0; i < blockTable.count(); i++) {
+
+            int slot = blockTable.placement(i); // first cell * 2 + direction
+
+            // if every cell of the block is untouched, add it to the target blocks
+            if (blockTable.fits(attacked, slot)) {
+
+                targetBlocks[slot] = true;
+                targetBlockCount++;
+            }
+        }
+
+        countBlocks(target); // count the blocks containing each cell
+    } // close createTargetBlocks method
+
+    /** method countBlocks()
+     * Counts the target blocks containing each cell and ranks the cells by their count.
+     * Cells already attacked are given a count of 0.
+     * @param target: {BoardState} Board the blocks are on
+     */
+    private void countBlocks(BoardState target) {
+
+        int[] cellCount = new int[target.getCellCount()]; // number of blocks containing each cell
+
+        for (int slot = 0; slot < targetBlocks.length; slot++) { // loop through all target block slots
+
+            if (!targetBlocks[slot]) continue; // block removed or never added
+
+            int step = (slot & 1) == 0 ? 1 : boardSize; // distance between cells of the block
+            for (int i = 0, cell = slot >> 1; i < blockRange; i++, cell += step) {
+
+                cellCount[cell]++; // add 1 to the count of each cell in the block
+            }
+        }
+
+        CellMask attacked = new CellMask(target.getMissed());
+        attacked.or(target.getHits());
+        blockCounts.load(cellCount, attacked);
+    }
+
+    /** method reduceBlocks()
+     * This method takes a given cell and removes the blocks that contain it. Only the
+     * block slots starting up to one block length before the cell are checked.
+     * @param cell: {int} cell to remove from block list
+     */
+    void reduceBlocks(int cell) {
+
+        int count = blockTable.covering(cell, crossing); // blocks containing the cell
+        for (int i = 0; i < count; i++) removeBlock(crossing[i]);
+    }
+
+    /** method removeBlock()
+     * Removes the block in the slot provided if it has not already been removed
+     * @param slot: {int} block slot, first cell * 2 + direction
+     */
+    private void removeBlock(int slot) {
+
+        if (targetBlocks[slot]) {
+
+            targetBlocks[slot] = false; // mark slot as removed
+            targetBlockCount--;
+
+            // take the block off the count of each of its cells, attacked cells are already 0
+            int step = (slot & 1) == 0 ? 1 : boardSize;
+            for (int i = 0, cell = slot >> 1; i < blockRange; i++, cell += step) {
+
+                if (blockCounts.get(cell) > 0) blockCounts.add(cell, -1);
+            }
+        }
+    }
+
+    /** method targetMode()
+     * This method uses the instance variable targetModeCell to locate the next possible
+     * cell containing the found ship. Each direction is tried at most twice, if every
+     * direction is closed the cell next to another damaged ship is attacked, or the
+     * most likely cell if there is none.
+     * @param target: {BoardState} Board containing target to destroy
+     */
+    int targetMode(BoardState target) {
+
+        int boardSize = target.getBoardSize(); // get current limits of board
+        int range = calculateRange(); // get largest possible ship length
+        int targetRow = targetModeCell / boardSize; // get current target row
+        int targetColumn = targetModeCell % boardSize; // get current target column
+        int nextTarget = -1; // create next target
+
+        for (int pass = 0; pass < 2 && nextTarget < 0; pass++) { // both directions from either start
+
+            if (targetDirection == 0) { // vertical attack
+
+                // check north
+                nextTarget = attackNorth(range, targetRow, targetColumn, 0, target);
+
+                // check south
+                if (nextTarget < 0) nextTarget = attackSouth(range, targetRow, targetColumn, boardSize, target);
+
+                // change direction of attack
+                if (nextTarget < 0) targetDirection = 1;
+            }
+
+            if (targetDirection == 1) { // horizontal attack
+
+                // check east
+                nextTarget = attackEast(range, targetRow, targetColumn, boardSize, target);
+
+                // check west
+                if (nextTarget < 0) nextTarget = attackWest(range, targetRow, targetColumn, 0, target);
+
+                if (nextTarget < 0) targetDirection = 0;
+            }
+
+        } // end for loop
+
+        // hits of other ships can close every direction of the target mode cell
+        if (nextTarget < 0) nextTarget = AttackStrategy.nextToOpenHit(target);
+        if (nextTarget < 0) nextTarget = getCommonSquare(target);
+        if (nextTarget < 0) nextTarget = target.nextUnknown(0);
+
+        return nextTarget; // return next target
+    }
+
+    /** method calculateRange()
+     * This method returns the length of the longest ship still afloat, at least 1.
+     * Lengths with no ship left are skipped, each at most once per game.
+     */
+    private int calculateRange() {
+
+        while (longestAfloat > 1 && afloat[longestAfloat] == 0) longestAfloat--; // no ships left of this length
+
+        return longestAfloat; // return range
+    }
+
+    /** method attackSouth()
+     * This method uses a given board, a starting point and an attack range to
+     * find a possible ship in the southern direction.
+     * @param range: {int} longest possible ship size
+     * @param targetRow: {int} row that was hit
+     * @param targetColumn: {int} column that was hit
+     * @param limit: {int} Limit of the board
+     * @param target: {BoardState} Board containing cells to attack
+     */
+    private int attackSouth(int range, int targetRow, int targetColumn, int limit, BoardState target) {
+
+        for (int i = 1; i < range; i++) { // loop through possible target cells
+
+            if ((targetRow + i) >= limit) return -1; // if cell is out of bounds, stop loop
+
+            int cell = target.cell(targetRow + i, targetColumn); // get potential cell
+
+            // if potential cell is already a miss or contains a destroyed ship, stop loop
+            if (target.isMiss(cell) || target.isDestroyed(cell)) return -1;
+
+            // else if cell is unknown, attack
+            if (!target.isHit(cell)) return cell;
+
+            // cell must be a hit (red), continue loop and attack the next cell along
+        } // close loop
+
+        return -1; // no viable cell found
+    }
+
+    /** method attackNorth()
+     * This method uses a given board, a starting point and an attack range to
+     * find a possible ship in the northern direction.
+     * @param range: {int} longest possible ship size
+     * @param targetRow: {int} row that was hit
+     * @param targetColumn: {int} column that was hit
+     * @param limit: {int} Limit of the board
+     * @param target: {BoardState} Board containing cells to attack
+     */
+    private int attackNorth(int range, int targetRow, int targetColumn, int limit, BoardState target) {
+
+        for (int i = 1; i < range; i++) { // loop through possible target cells
+
+            if ((targetRow - i) < limit) return -1; // if cell is out of bounds, stop loop
+
+            int cell = target.cell(targetRow - i, targetColumn); // get potential cell
+
+            // if potential cell is already a miss or contains a destroyed ship, stop loop
+            if (target.isMiss(cell) || target.isDestroyed(cell)) return -1;
+
+            // else if cell is unknown, attack
+            if (!target.isHit(cell)) return cell;
+
+            // cell must be a hit (red), continue loop and attack the next cell along
+        } // close loop
+
+        return -1; // no viable cell found
+    }
+
+    /** method attackEast()
+     * This method uses a given board, a starting point and an attack range to
+     * find a possible ship in the eastern direction.
+     * @param range: {int} longest possible ship size
+     * @param targetRow: {int} row that was hit
+     * @param targetColumn: {int} column that was hit
+     * @param limit: {int} Limit of the board
+     * @param target: {BoardState} Board containing cells to attack
+     */
+    private int attackEast(int range, int targetRow, int targetColumn, int limit, BoardState target) {
+
+        for (int i = 1; i < range; i++) { // loop through possible target cells
+
+            if ((targetColumn + i) >= limit) return -1; // if cell is out of bounds, stop loop
+
+            int cell = target.cell(targetRow, targetColumn + i); // get potential cell
+
+            // if potential cell is already a miss or contains a destroyed ship, stop loop
+            if (target.isMiss(cell) || target.isDestroyed(cell)) return -1;
+
+            // else if cell is unknown, attack
+            if (!target.isHit(cell)) return cell;
+
+            // cell must be a hit (red), continue loop and attack the next cell along
+        } // close loop
+
+        return -1; // no viable cell found
+    }
+
+    /** method attackWest()
+     * This method uses a given board, a starting point and an attack range to
+     * find a possible ship in the western direction.
+     * @param range: {int} longest possible ship size
+     * @param targetRow: {int} row that was hit
+     * @param targetColumn: {int} column that was hit
+     * @param limit: {int} Limit of the board
+     * @param target: {BoardState} Board containing cells to attack
+     */
+    private int attackWest(int range, int targetRow, int targetColumn, int limit, BoardState target) {
+
+        for (int i = 1; i < range; i++) { // loop through possible target cells
+
+            if ((targetColumn - i) < limit) return -1; // if cell is out of bounds, stop loop
+
+            int cell = target.cell(targetRow, targetColumn - i); // get potential cell
+
+            // if potential cell is already a miss or contains a destroyed ship, stop loop
+            if (target.isMiss(cell) || target.isDestroyed(cell)) return -1;
+
+            // else if cell is unknown, attack
+            if (!target.isHit(cell)) return cell;
+
+            // cell must be a hit (red), continue loop and attack the next cell along
+        } // close loop
+
+        return -1; // no viable cell found
+    }
+
+    /** method getCommonSquare()
+     * Finds and returns the untouched cell found in the most target blocks, or -1 if
+     * no block remains. Cells with the same count are chosen between at random.
+     * @param target: {BoardState} Board containing the cells to count
+     */
+    int getCommonSquare(BoardState target) {
+
+        return blockCounts.best(); // most common cell, kept up to date as blocks are removed
+    }
+
+    /** method getDamagedShips()
+     * Checks current hits and returns a cell that contains a surviving ship, or -1 if none.
+     * Hits on destroyed ships are removed, so each hit is only passed over once.
+     * @param target: {BoardState} Board the hits were made on
+     */
+    private int getDamagedShips(BoardState target) {
+
+        computerHits.removeIf(target::isDestroyed); // ship on the cell destroyed
+
+        // first hit left contains a ship that has not been destroyed
+        return computerHits.isEmpty() ? -1 : computerHits.get(0);
+    }
+
+    /** method saveState()
+     * Writes the target mode, the target blocks and the hit cells. The blocks are written
+     * as one bit per slot, 25 bytes on a 10x10 board.
+     * @param out: {ByteBuffer} buffer to write to
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+
+        out.putInt(targetModeCell);
+        out.put((byte) ((targetModeActive ? 1 : 0) | (lastShotHunting ? 2 : 0)));
+        out.put((byte) targetDirection);
+        out.putInt(blockRange);
+
+        // pack the block slots, eight to a byte
+        for (int slot = 0; slot < targetBlocks.length; slot += 8) {
+
+            int bits = 0;
+            for (int i = 0; i < 8 && slot + i < targetBlocks.length; i++) {
+
+                if (targetBlocks[slot + i]) bits |= 1 << i;
+            }
+            out.put((byte) bits);
+        }
+
+        out.putInt(computerHits.size());
+        for (int cell : computerHits) out.putInt(cell);
+    }
+
+    /** method restoreState()
+     * Reads the target mode, the target blocks and the hit cells written by saveState(),
+     * replacing the blocks created by the constructor.
+     * @param target: {BoardState} restored board being attacked
+     * @param in: {ByteBuffer} buffer positioned at the state written by saveState()
+     */
+    @Override
+    public void restoreState(BoardState target, ByteBuffer in) {
+
+        int cells = target.getCellCount(); // number of cells on the board
+        countShips(target); // ships afloat on the restored board
+
+        targetModeCell = in.getInt();
+        int flags = in.get();
+        targetModeActive = (flags & 1) != 0;
+        lastShotHunting = (flags & 2) != 0;
+        targetDirection = in.get();
+        blockRange = in.getInt();
+
+        if (targetModeCell < -1 || targetModeCell >= cells || (targetModeActive && targetModeCell < 0)
+                || (targetDirection & ~1) != 0 || blockRange < 1 || blockRange > boardSize) {
+
+            throw new IllegalArgumentException("saved target mode is not valid");
+        }
+        blockTable = target.getPlacements(blockRange);
+
+        // cells attacked, blocks containing them are removed now rather than kept for later
+        CellMask attacked = new CellMask(target.getMissed());
+        attacked.or(target.getHits());
+        unreducedCells.clear();
+
+        // unpack the block slots
+        targetBlockCount = 0;
+        for (int slot = 0; slot < targetBlocks.length; slot += 8) {
+
+            int bits = in.get();
+            for (int i = 0; i < 8 && slot + i < targetBlocks.length; i++) {
+
+                targetBlocks[slot + i] = (bits & (1 << i)) != 0;
+                if (!targetBlocks[slot + i]) continue;
+
+                if (!blockTable.isLegal(slot + i)) throw new IllegalArgumentException("saved block is off the board");
+                if (!blockTable.fits(attacked, slot + i)) {
+
+                    targetBlocks[slot + i] = false; // contains an attacked cell
+                    continue;
+                }
+                targetBlockCount++;
+            }
+        }
+        countBlocks(target); // count the restored blocks
+
+        int hitCount = in.getInt();
+        if (hitCount < 0 || hitCount > cells) throw new IllegalArgumentException("saved hits are not valid");
+        computerHits.clear();
+        for (int i = 0; i < hitCount; i++) {
+
+            int cell = in.getInt();
+            if (cell < 0 || cell >= cells) throw new IllegalArgumentException("saved hit cell " + cell + " is not valid");
+            computerHits.add(cell);
+        }
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getTargetBlockCount()
+     * Returns the number of target blocks that have not been removed
+     */
+    public int getTargetBlockCount() {
+
+        return targetBlockCount;
+    }
+
+} // close class HuntTargetStrategy
@@ -3,37 +3,97 @@
  * Date: Dec 2020                                                               *
  * Assignment: Element 011 Battleships Game                                     *
  * Description: The Main class extends the Application class and is used to     *
- * start the application. It loads the FXML file which then instantiates the    *
- * Controller class.                                                            *
+ * start the application. A plain loading screen is shown straight away while   *
+ * the FXML file, which then instantiates the Controller class and applies the  *
+ * style sheet, the sound effects and the computer lookup tables are loaded in  *
+ * parallel by the Startup class. The game replaces the loading screen as       *
+ * soon as the FXML file is loaded and the time taken by each phase is          *
+ * printed once they have all finished.                                         *
  ********************************************************************************/
 
 package battleships;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import java.util.concurrent.CompletableFuture;
 
 public class Main extends Application {
 
     /** method start()
-     * Loads the Java FXML file and launches the main GUI window
+     * Shows the loading screen in the main GUI window, then loads the Java FXML file and
+     * the other assets on background threads and swaps the game in once the FXML is loaded
      * @param primaryStage: {Stage} Window of JavaFX desktop application
      */
     @Override
-    public void start(Stage primaryStage) throws Exception {
+    public void start(Stage primaryStage) {
 
-        Parent root = FXMLLoader.load(getClass().getResource("Layout.fxml")); // load FXML file
+        Startup.mark("fx started");
+
+        // light first frame, built in code so it needs no FXML or style sheet
+        Label loading = new Label("Loading...");
+        loading.setStyle("-fx-text-fill: white; -fx-font-size: 40; -fx-font-weight: bold; -fx-font-family: Verdana;");
+        StackPane loadingScreen = new StackPane(loading);
+        loadingScreen.setStyle("-fx-background-color: BLUE;");
+
+        Scene scene = new Scene(loadingScreen, 1200, 780); // set window size
         primaryStage.setTitle("Battleships"); // set window title
-        primaryStage.setScene(new Scene(root, 1200, 780)); // set window size
+        primaryStage.setScene(scene);
         primaryStage.show(); // show primary window for the JavaFX application
+        Startup.mark("first frame");
+
+        // load everything else in parallel
+        CompletableFuture<Parent> layout = Startup.load("fxml",
+                () -> FXMLLoader.<Parent>load(getClass().getResource("Layout.fxml"))); // load FXML file
+        CompletableFuture<Object> audio = Startup.load("audio", () -> {
+
+            AudioPlayer.preload(); // decode the sound effects and open the mixer line
+            return null;
+        });
+        CompletableFuture<Object> tables = Startup.load("ai tables", () -> {
+
+            Controller.preloadTables(); // build the placement tables used by the computer
+            return null;
+        });
+
+        // show the game as soon as the FXML is loaded, without waiting for the other phases
+        layout.whenComplete((root, error) -> Platform.runLater(() -> {
+
+            if (error != null) { // the game can not be shown without its layout
+
+                Throwable cause = error.getCause() != null ? error.getCause() : error; // unwrap the CompletionException
+                System.err.println("Game layout could not be loaded: " + cause);
+                Startup.report();
+                Platform.exit();
+                return;
+            }
+
+            scene.setRoot(root);
+            scene.addPostLayoutPulseListener(new Runnable() { // first frame of the game
+
+                @Override
+                public void run() {
+
+                    scene.removePostLayoutPulseListener(this);
+                    Startup.mark("interactive");
+
+                    // print the timings once the phases still loading have finished
+                    CompletableFuture.allOf(audio, tables).whenComplete((done, failed) -> Startup.report());
+                }
+            });
+        }));
     }
 
     /** method main()
      * Launches the application
      */
     public static void main(String[] args) {
+        Startup.mark("main"); // start the startup clock
         launch(args);
     }
 
@@ -0,0 +1,316 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class Match holds the turn logic of a game between two sides    *
+ * with no dependency on JavaFX. It is used by Gameplay for the game in the     *
+ * GUI and by the MatchServer for games played over the network, so both        *
+ * follow the same rules. Side 0 attacks first and the sides take one shot      *
+ * each in turn, hit or miss, until one side has destroyed every ship of the    *
+ * other. Side 1 can be played by an AttackStrategy. When the match is          *
+ * recorded every shot is added to a GameRecord, with the board side 0          *
+ * attacks as board 0 and the board side 1 attacks as board 1.                  *
+ * In a salvo match each side fires a number of shots per turn instead of one,  *
+ * either a fixed number or one shot for each of its own ships still afloat.    *
+ * The shots of a salvo are chosen together and resolved on the board as one    *
+ * batch with shootSalvo(), then the turn passes. A salvo is never larger than  *
+ * the number of cells left to attack. The salvo is set with the                *
+ * battleships.salvo system property, a number of shots or "ships".             *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.Arrays;
+
+public class Match {
+
+    //**************************Class constants**********************************//
+
+    public static final int NO_WINNER = -1; // winner while the match is being played
+    public static final String SALVO_PROPERTY = "battleships.salvo"; // system property setting the salvo
+    public static final int SALVO_SHIPS_AFLOAT = 0; // salvo of one shot per ship the side has afloat
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private BoardState[] targets; // board each side attacks, indexed by side
+    private AttackStrategy strategy; // attack logic playing side 1, null if played by a person
+    private GameRecord record; // record of the match, null if not recorded
+    private int turn = 0; // side taking the next shot
+    private int winner = NO_WINNER; // side that destroyed every ship of the other
+    private int lastCell = -1; // cell of the last shot
+    private int lastResult = BoardState.ALREADY_SHOT; // BoardState result of the last shot
+    private int salvo = 1; // shots per turn, or SALVO_SHIPS_AFLOAT
+    private int[] lastResults = new int[0]; // BoardState result of each shot of the last salvo
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates a match between two boards with their fleets placed
+     * @param firstTarget: {BoardState} board attacked by side 0
+     * @param secondTarget: {BoardState} board attacked by side 1
+     * @param strategy: {AttackStrategy} attack logic playing side 1, null if played by a person
+     */
+    public Match(BoardState firstTarget, BoardState secondTarget, AttackStrategy strategy) {
+
+        this.targets = new BoardState[] {firstTarget, secondTarget};
+        this.strategy = strategy;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method configuredSalvo()
+     * Returns the salvo set by the battleships.salvo system property, a number of shots
+     * per turn or "ships" for SALVO_SHIPS_AFLOAT, or 1 if it is not set. A value that is
+     * not valid is reported on System.err and 1 is used.
+     */
+    public static int configuredSalvo() {
+
+        String value = System.getProperty(SALVO_PROPERTY);
+        if (value == null) return 1;
+        if (value.trim().equalsIgnoreCase("ships")) return SALVO_SHIPS_AFLOAT;
+
+        try {
+
+            int shots = Integer.parseInt(value.trim());
+            if (shots >= 1) return shots;
+
+        } catch (NumberFormatException e) {
+
+            // reported below
+        }
+        System.err.println("Salvo " + value + " not used: not \"ships\" or a number of 1 or more");
+        return 1;
+    }
+
+    /** method getSalvoSize()
+     * Returns the number of shots the side provided fires in its next turn, never more
+     * than the cells it has left to attack
+     * @param side: {int} side attacking, 0 or 1
+     */
+    public int getSalvoSize(int side) {
+
+        if (salvo == 1) return 1; // one shot a turn, no cells need counting
+        int shots = salvo == SALVO_SHIPS_AFLOAT ? targets[1 - side].getShipsAfloat() : salvo;
+        return Math.max(1, Math.min(shots, targets[side].getUnknownCount()));
+    }
+
+    /** method canShoot()
+     * Returns true if it is the turn of the side provided and the cell has not been
+     * attacked by that side
+     * @param side: {int} side taking the shot, 0 or 1
+     * @param cell: {int} cell to attack
+     */
+    public boolean canShoot(int side, int cell) {
+
+        return winner == NO_WINNER && side == turn && cell >= 0 && cell < targets[side].getCellCount()
+                && targets[side].isUnknown(cell);
+    }
+
+    /** method shoot()
+     * The side provided attacks the cell provided and the turn passes to the other side.
+     * Returns the BoardState result, or ALREADY_SHOT without changing the match if the
+     * shot is not allowed. The strategy playing side 1 is told the result of its shots.
+     * @param side: {int} side taking the shot, 0 or 1
+     * @param cell: {int} cell to attack
+     */
+    public int shoot(int side, int cell) {
+
+        if (!canShoot(side, cell)) return BoardState.ALREADY_SHOT; // not their turn or cell not allowed
+        if (getSalvoSize(side) != 1) return BoardState.ALREADY_SHOT; // the turn is a salvo
+
+        BoardState target = targets[side];
+        int result = target.shoot(cell); // attack the cell
+        if (side == 1 && strategy != null) strategy.shotResult(target, cell, result); // update the attack logic
+        if (record != null) record.addShot(side, cell, result); // record the shot
+
+        lastCell = cell;
+        lastResult = result;
+        if (target.allShipsSunk()) winner = side; // every ship destroyed
+        turn = 1 - side; // other side shoots next
+        return result;
+    }
+
+    /** method strategyShot()
+     * Side 1 takes its turn with the cell chosen by its strategy and returns the cell.
+     * The result is returned by getLastResult().
+     */
+    public int strategyShot() {
+
+        int cell = strategy.nextShot(targets[1]); // get the most likely cell to contain a ship
+        if (shoot(1, cell) == BoardState.ALREADY_SHOT) {
+
+            throw new IllegalStateException("attack logic chose cell " + cell + " which can not be attacked");
+        }
+        return cell;
+    }
+
+    /** method shootSalvo()
+     * The side provided fires a salvo at the cells provided and the turn passes to the
+     * other side. The cells are resolved on the board as one batch, then the strategy
+     * and record are told each result in the order of the cells. Returns the BoardState
+     * result of each cell, or null without changing the match if the salvo is not
+     * allowed: not the turn of the side, not getSalvoSize() cells, a cell that can not
+     * be attacked or a cell given twice.
+     * @param side: {int} side firing, 0 or 1
+     * @param cells: {int[]} cells to attack
+     */
+    public int[] shootSalvo(int side, int[] cells) {
+
+        if (cells.length == 0 || cells.length != getSalvoSize(side)) return null; // wrong number of shots
+        for (int cell : cells) if (!canShoot(side, cell)) return null; // not their turn or cell not allowed
+
+        int[] sorted = cells.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) if (sorted[i] == sorted[i - 1]) return null; // cell given twice
+
+        BoardState target = targets[side];
+        int[] results = target.shoot(cells); // attack every cell at once
+        for (int i = 0; i < cells.length; i++) {
+
+            if (side == 1 && strategy != null) strategy.shotResult(target, cells[i], results[i]); // update the attack logic
+            if (record != null) record.addShot(side, cells[i], results[i]); // record the shot
+        }
+
+        lastCell = cells[cells.length - 1];
+        lastResult = results[results.length - 1];
+        lastResults = results;
+        if (target.allShipsSunk()) winner = side; // every ship destroyed
+        turn = 1 - side; // other side shoots next
+        return results;
+    }
+
+    /** method strategySalvo()
+     * Side 1 takes its turn with the salvo chosen by its strategy and returns the cells.
+     * The results are returned by getLastResults().
+     */
+    public int[] strategySalvo() {
+
+        int[] cells = strategy.nextSalvo(targets[1], getSalvoSize(1)); // the most likely cells to contain a ship
+        if (shootSalvo(1, cells) == null) {
+
+            throw new IllegalStateException("attack logic chose salvo " + Arrays.toString(cells) + " which can not be fired");
+        }
+        return cells;
+    }
+
+    /** method startRecord()
+     * Starts recording the match, both fleets must be in place
+     */
+    public void startRecord() {
+
+        record = new GameRecord(targets[0].getBoardSize());
+        record.addBoard(targets[0]);
+        record.addBoard(targets[1]);
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getTarget()
+     * Return the board the side provided attacks
+     * @param side: {int} side attacking, 0 or 1
+     */
+    public BoardState getTarget(int side) {
+
+        return targets[side];
+    }
+
+    /** method getStrategy()
+     * Return the attack logic playing side 1, null if played by a person
+     */
+    public AttackStrategy getStrategy() {
+
+        return strategy;
+    }
+
+    /** method setStrategy()
+     * Set the attack logic playing side 1
+     * @param strategy: {AttackStrategy} attack logic, null if played by a person
+     */
+    public void setStrategy(AttackStrategy strategy) {
+
+        this.strategy = strategy;
+    }
+
+    /** method getRecord()
+     * Return the record of the match, null if not recorded
+     */
+    public GameRecord getRecord() {
+
+        return record;
+    }
+
+    /** method setRecord()
+     * Set the record the shots are added to, such as the record of a resumed match
+     * @param record: {GameRecord} record holding both boards, null to stop recording
+     */
+    public void setRecord(GameRecord record) {
+
+        this.record = record;
+    }
+
+    /** method getTurn()
+     * Return the side taking the next shot
+     */
+    public int getTurn() {
+
+        return turn;
+    }
+
+    /** method getWinner()
+     * Return the side that won, or NO_WINNER while the match is being played
+     */
+    public int getWinner() {
+
+        return winner;
+    }
+
+    /** method getLastCell()
+     * Return the cell of the last shot, -1 if none
+     */
+    public int getLastCell() {
+
+        return lastCell;
+    }
+
+    /** method getLastResult()
+     * Return the BoardState result of the last shot
+     */
+    public int getLastResult() {
+
+        return lastResult;
+    }
+
+    /** method getLastResults()
+     * Return the BoardState result of each shot of the last salvo, in the order fired
+     */
+    public int[] getLastResults() {
+
+        return lastResults;
+    }
+
+    /** method getSalvo()
+     * Return the shots per turn, or SALVO_SHIPS_AFLOAT
+     */
+    public int getSalvo() {
+
+        return salvo;
+    }
+
+    /** method setSalvo()
+     * Set the shots per turn, 1 for the standard game
+     * @param salvo: {int} shots per turn, 1 or more, or SALVO_SHIPS_AFLOAT
+     */
+    public void setSalvo(int salvo) {
+
+        this.salvo = salvo;
+    }
+
+} // close class Match
@@ -0,0 +1,397 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class MatchClient is a connection to a MatchServer using        *
+ * blocking socket calls, see the MatchServer header for the protocol. read()   *
+ * waits for the next message and returns its type, the fields of the message   *
+ * are then returned by the getters until the next read().                      *
+ * main() is a load test that plays many matches at once against a server,      *
+ * with clients shooting at random, and can hold a number of idle matches       *
+ * open alongside them.                                                         *
+ * Usage: java battleships.MatchClient <host> <port> <matches> <clients>        *
+ *        [opponent strategy or PLAYER] [idle matches]                          *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MatchClient implements Closeable {
+
+    //**************************Class instance variables*************************//
+
+    private SocketChannel channel; // connection to the server
+    private ByteBuffer in = ByteBuffer.allocate(2 + MatchServer.MAX_PAYLOAD); // messages read, not yet returned
+    private ByteBuffer out = ByteBuffer.allocate(2 + MatchServer.MAX_PAYLOAD); // message being written
+
+    // fields of the last message read
+    private int boardSize; // MATCHED board size
+    private int side; // MATCHED side played
+    private int[] fleet; // MATCHED length of each ship
+    private int shooter; // SHOT YOU or OPPONENT
+    private int cell; // SHOT cell attacked
+    private int result; // SHOT BoardState result
+    private int sunkPlacement = -1; // SHOT placement slot of the ship destroyed, -1 if none
+    private int sunkLength; // SHOT length of the ship destroyed
+    private int code; // GAME_OVER outcome or ERROR code
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Connects to a server
+     * @param host: {String} host of the server
+     * @param port: {int} port of the server
+     */
+    public MatchClient(String host, int port) throws IOException {
+
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true); // messages are small and sent at once
+        in.limit(0); // nothing read yet
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method main()
+     * Plays matches against a server and prints the matches played per second and the
+     * average time the server took to answer each shot
+     * @param args: {String[]} see the usage in the header
+     */
+    public static void main(String[] args) throws Exception {
+
+        if (args.length < 4) {
+
+            System.out.println("Usage: java battleships.MatchClient <host> <port> <matches> <clients>"
+                    + " [opponent strategy or PLAYER] [idle matches]");
+            return;
+        }
+
+        String host = args[0];
+        int port = Integer.parseInt(args[1]);
+        int matches = Integer.parseInt(args[2]);
+        int clients = Integer.parseInt(args[3]);
+        String opponentName = args.length > 4 ? args[4].toUpperCase() : StrategyType.HUNT.name();
+        int opponent = opponentName.equals("PLAYER") ? MatchServer.ANY_PLAYER : StrategyType.valueOf(opponentName).ordinal();
+        int idle = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+
+        // matches that are joined and placed, then left waiting for a shot
+        List<MatchClient> idleClients = new ArrayList<>();
+        for (int i = 0; i < idle; i++) {
+
+            MatchClient client = new MatchClient(host, port);
+            client.join(StrategyType.HUNT.ordinal());
+            client.expect(MatchServer.MATCHED);
+            client.place(client.randomFleet(ThreadLocalRandom.current()));
+            idleClients.add(client);
+        }
+        if (idle > 0) System.out.println(idle + " idle matches open");
+
+        AtomicLong remaining = new AtomicLong(matches); // matches not yet started
+        AtomicLong shots = new AtomicLong(); // shots taken by every client
+        AtomicLong waitNanos = new AtomicLong(); // time waiting for the answer to each shot
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < clients; i++) {
+
+            futures.add(pool.submit(() -> {
+
+                Random random = new Random();
+                try (MatchClient client = new MatchClient(host, port)) {
+
+                    while (remaining.getAndDecrement() > 0) client.playRandom(opponent, random, shots, waitNanos);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        pool.shutdown();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("matches: %d in %.2f s, %.0f matches/s, %d shots, %.1f us per shot answered%n", matches,
+                seconds, matches / seconds, shots.get(), waitNanos.get() / 1e3 / Math.max(1, shots.get()));
+
+        for (MatchClient client : idleClients) client.close();
+    }
+
+    /** method playRandom()
+     * Joins a match and plays it to the end, placing the fleet and shooting at random
+     * @param opponent: {int} StrategyType ordinal, or MatchServer.ANY_PLAYER
+     * @param random: {Random} source of the placements and shots
+     * @param shots: {AtomicLong} number of shots taken, updated
+     * @param waitNanos: {AtomicLong} time waiting for the answer to each shot, updated
+     */
+    private void playRandom(int opponent, Random random, AtomicLong shots, AtomicLong waitNanos) throws IOException {
+
+        join(opponent);
+        expect(MatchServer.MATCHED);
+        place(randomFleet(random));
+
+        boolean[] attacked = new boolean[boardSize * boardSize]; // cells already attacked
+        long sent = 0; // time the last shot was sent
+
+        while (true) {
+
+            int type = read();
+            if (type == MatchServer.GAME_OVER) return;
+
+            if (type == MatchServer.SHOT && shooter == MatchServer.YOU) {
+
+                waitNanos.addAndGet(System.nanoTime() - sent);
+                shots.incrementAndGet();
+
+            } else if (type == MatchServer.TURN) {
+
+                int target = random.nextInt(attacked.length);
+                while (attacked[target]) target = (target + 1) % attacked.length; // next cell not attacked
+                attacked[target] = true;
+                sent = System.nanoTime();
+                shoot(target);
+
+            } else if (type == MatchServer.ERROR) {
+
+                throw new IOException("server refused a message, error " + code);
+            }
+        }
+    }
+
+    /** method randomFleet()
+     * Returns a board with the fleet of the last MATCHED message placed at random
+     * @param random: {Random} source of the placements
+     */
+    public BoardState randomFleet(Random random) {
+
+        BoardState board = new BoardState(boardSize);
+        FleetPlacer.placeAllShips(board, fleet, random);
+        return board;
+    }
+
+    /** method join()
+     * Asks to join a match
+     * @param opponent: {int} StrategyType ordinal, or MatchServer.ANY_PLAYER
+     */
+    public void join(int opponent) throws IOException {
+
+        start(MatchServer.JOIN, 1).put((byte) opponent);
+        send();
+    }
+
+    /** method place()
+     * Places the fleet on the board provided, the ships must match the fleet of the match
+     * @param board: {BoardState} board with the fleet placed
+     */
+    public void place(BoardState board) throws IOException {
+
+        ByteBuffer buffer = start(MatchServer.PLACE, board.getShipCount() * 5);
+        for (int ship = 0; ship < board.getShipCount(); ship++) {
+
+            buffer.putInt(board.getShipOrigin(ship) * 2 + (board.isShipHorizontal(ship) ? 0 : 1));
+            buffer.put((byte) board.getShipLength(ship));
+        }
+        send();
+    }
+
+    /** method shoot()
+     * Attacks a cell, only allowed after a TURN message
+     * @param cell: {int} cell to attack
+     */
+    public void shoot(int cell) throws IOException {
+
+        start(MatchServer.SHOOT, 4).putInt(cell);
+        send();
+    }
+
+    /** method start()
+     * Starts a message in the out buffer and returns the buffer to write the payload to
+     * @param type: {byte} message type
+     * @param length: {int} payload length
+     */
+    private ByteBuffer start(byte type, int length) {
+
+        if (length > MatchServer.MAX_PAYLOAD) throw new IllegalArgumentException("message too long: " + length);
+
+        out.clear();
+        out.put((byte) length);
+        out.put(type);
+        return out;
+    }
+
+    /** method send()
+     * Writes the message in the out buffer
+     */
+    private void send() throws IOException {
+
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+    }
+
+    /** method read()
+     * Waits for the next message and returns its type, its fields are returned by the getters
+     */
+    public int read() throws IOException {
+
+        // read until a whole message is buffered
+        while (in.remaining() < 2 || in.remaining() < 2 + (in.get(in.position()) & 0xFF)) {
+
+            in.compact();
+            if (channel.read(in) < 0) throw new EOFException("server closed the connection");
+            in.flip();
+        }
+
+        int length = in.get() & 0xFF;
+        byte type = in.get();
+        int end = in.position() + length;
+        sunkPlacement = -1;
+
+        switch (type) {
+
+            case MatchServer.MATCHED:
+
+                boardSize = in.getInt();
+                side = in.get();
+                fleet = new int[length - 5];
+                for (int i = 0; i < fleet.length; i++) fleet[i] = in.get();
+                break;
+
+            case MatchServer.SHOT:
+
+                shooter = in.get();
+                cell = in.getInt();
+                result = in.get();
+                if (length >= 11) {
+
+                    sunkPlacement = in.getInt();
+                    sunkLength = in.get();
+                }
+                break;
+
+            case MatchServer.GAME_OVER:
+            case MatchServer.ERROR:
+
+                code = in.get();
+                break;
+
+            default:
+
+                break; // TURN, or a message added by a later server
+        }
+
+        in.position(end);
+        return type;
+    }
+
+    /** method expect()
+     * Reads the next message and throws an IOException if it is not of the type provided
+     * @param type: {byte} message type expected
+     */
+    public void expect(byte type) throws IOException {
+
+        int actual = read();
+        if (actual != type) throw new IOException("expected message " + type + " but read " + actual);
+    }
+
+    /** method close()
+     * Closes the connection, any match being played is lost
+     */
+    @Override
+    public void close() throws IOException {
+
+        channel.close();
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getBoardSize()
+     * Return the board size of the last MATCHED message
+     */
+    public int getBoardSize() {
+
+        return boardSize;
+    }
+
+    /** method getSide()
+     * Return the side played from the last MATCHED message, 0 shoots first
+     */
+    public int getSide() {
+
+        return side;
+    }
+
+    /** method getFleet()
+     * Return the length of each ship from the last MATCHED message
+     */
+    public int[] getFleet() {
+
+        return fleet;
+    }
+
+    /** method getShooter()
+     * Return MatchServer.YOU or OPPONENT from the last SHOT message
+     */
+    public int getShooter() {
+
+        return shooter;
+    }
+
+    /** method getCell()
+     * Return the cell attacked from the last SHOT message
+     */
+    public int getCell() {
+
+        return cell;
+    }
+
+    /** method getResult()
+     * Return the BoardState result from the last SHOT message
+     */
+    public int getResult() {
+
+        return result;
+    }
+
+    /** method getSunkPlacement()
+     * Return the placement slot of the ship destroyed by the last SHOT message, -1 if none
+     */
+    public int getSunkPlacement() {
+
+        return sunkPlacement;
+    }
+
+    /** method getSunkLength()
+     * Return the length of the ship destroyed by the last SHOT message
+     */
+    public int getSunkLength() {
+
+        return sunkLength;
+    }
+
+    /** method getCode()
+     * Return the outcome of the last GAME_OVER message or the code of the last ERROR message
+     */
+    public int getCode() {
+
+        return code;
+    }
+
+} // close class MatchClient
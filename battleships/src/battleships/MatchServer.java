@@ -0,0 +1,858 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class MatchServer hosts matches between players connected       *
+ * over TCP, or between a player and the computer attack logic. A single        *
+ * thread serves every connection through an NIO Selector, so an idle match     *
+ * costs only its socket, two small buffers and its boards. The turns are       *
+ * played by a Match, the same turn logic as the game in the GUI. Moves of      *
+ * the computer are chosen on a small pool of threads and handed back to the    *
+ * selector thread, which is the only thread that changes a match. Messages     *
+ * are queued per connection and written once per pass of the selector.         *
+ * A connection that does not read its messages fast enough is closed, so the   *
+ * memory held for each connection is bounded.                                  *
+ * The computer plays through a DeadlineStrategy, so a strategy that is stuck   *
+ * holds a pool thread no longer than the move deadline, GUI_DEADLINE_MILLIS    *
+ * unless battleships.moveDeadline sets another. An error while playing a       *
+ * match, from the attack logic or a message, ends only that match and closes   *
+ * only the connection it came from, the other player is told OPPONENT_LEFT.    *
+ * Protocol: every message is one byte giving the payload length, one byte      *
+ * giving the message type, then the payload, ints are big endian.              *
+ *   client JOIN       byte opponent, a StrategyType ordinal or ANY_PLAYER      *
+ *   client PLACE      per ship int placement slot, byte length                 *
+ *   client SHOOT      int cell                                                 *
+ *   server MATCHED    int board size, byte side, byte length of each ship      *
+ *   server TURN       no payload, the client takes the next shot               *
+ *   server SHOT       byte YOU or OPPONENT, int cell, byte result, and when    *
+ *                     the result is SUNK, int placement slot, byte length      *
+ *   server GAME_OVER  byte WON, LOST or OPPONENT_LEFT                          *
+ *   server ERROR      byte BAD_MESSAGE, BAD_PLACEMENT or BAD_SHOT              *
+ * A client joins, waits for MATCHED, places its fleet, then shoots after each  *
+ * TURN until GAME_OVER, after which it can join again. Side 0 shoots first.    *
+ * The game in the GUI plays on a server when started with                      *
+ * -Dbattleships.server=host:port, see RemoteGameplay.                          *
+ * Matches are played on 10x10 boards unless the battleships.boardSize system   *
+ * property sets another size, with the fleet of the battleships.fleet file if  *
+ * set. A PLACE message holds at most MAX_PAYLOAD / 5 ships, so larger fleets   *
+ * are refused by the constructor.                                              *
+ * Usage: java [-Dbattleships.records=<file>] battleships.MatchServer [port]    *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class MatchServer implements Runnable, Closeable {
+
+    //**************************Class constants**********************************//
+
+    public static final int DEFAULT_PORT = 4471; // port used when none is given
+    public static final int MAX_PAYLOAD = 255; // largest payload of a message
+
+    // client messages
+    public static final byte JOIN = 1; // join a match
+    public static final byte PLACE = 2; // place the fleet
+    public static final byte SHOOT = 3; // attack a cell
+
+    // server messages
+    public static final byte MATCHED = 10; // match found
+    public static final byte TURN = 11; // client shoots next
+    public static final byte SHOT = 12; // a shot was taken
+    public static final byte GAME_OVER = 13; // match finished
+    public static final byte ERROR = 14; // last message was refused
+
+    public static final byte ANY_PLAYER = -1; // JOIN opponent, another connected player
+    public static final byte YOU = 0; // SHOT taken by the client
+    public static final byte OPPONENT = 1; // SHOT taken by the opponent
+    public static final byte WON = 0; // GAME_OVER, the client won
+    public static final byte LOST = 1; // GAME_OVER, the opponent won
+    public static final byte OPPONENT_LEFT = 2; // GAME_OVER, the opponent disconnected
+    public static final byte BAD_MESSAGE = 0; // ERROR, message not understood or not expected
+    public static final byte BAD_PLACEMENT = 1; // ERROR, fleet does not fit, place it again
+    public static final byte BAD_SHOT = 2; // ERROR, not the clients turn or cell already attacked
+
+    private static final int OUT_BYTES = 512; // messages queued for a connection before it is closed as too slow
+    private static final long REPORT_NANOS = 10_000_000_000L; // time between reports printed by main()
+    private static final long MOVE_DEADLINE = DeadlineStrategy.configuredDeadline(DeadlineStrategy.GUI_DEADLINE_MILLIS); // per computer move
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private int boardSize; // number of rows and columns of every board
+    private int[] fleet; // length of each ship of every fleet
+    private GameRecordWriter recordWriter; // where finished matches are recorded, null if not recorded
+    private Selector selector; // readiness of every connection
+    private ServerSocketChannel serverChannel; // accepts new connections
+    private ExecutorService strategyPool; // threads choosing the moves of the computer
+    private ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>(); // run on the selector thread
+    private ArrayList<Connection> dirty = new ArrayList<>(); // connections with messages to write
+    private Connection waiting; // player waiting for another player, null if none
+    private volatile boolean running = true; // false once close() is called
+
+    // counters, only changed on the selector thread
+    private volatile int connections = 0; // open connections
+    private volatile int activeMatches = 0; // matches being played
+    private volatile long matchesPlayed = 0; // matches finished
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Opens the server socket, connections are served once run() is called. Throws
+     * IllegalArgumentException if the fleet does not fit in the messages of the protocol.
+     * @param port: {int} port to listen on, 0 for any free port
+     * @param boardSize: {int} number of rows and columns of every board
+     * @param fleet: {int[]} length of each ship of every fleet
+     * @param recordWriter: {GameRecordWriter} where finished matches are recorded, null if not recorded
+     */
+    public MatchServer(int port, int boardSize, int[] fleet, GameRecordWriter recordWriter) throws IOException {
+
+        if (fleet.length * 5 > MAX_PAYLOAD) { // int placement slot and byte length per ship
+
+            throw new IllegalArgumentException("A fleet of " + fleet.length + " ships does not fit a PLACE message");
+        }
+        for (int length : fleet) {
+
+            if (length > Byte.MAX_VALUE) throw new IllegalArgumentException("Ship length " + length + " does not fit a byte");
+        }
+
+        this.boardSize = boardSize;
+        this.fleet = fleet.clone();
+        this.recordWriter = recordWriter;
+
+        selector = Selector.open();
+        try {
+
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port), 1024);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        } catch (IOException e) {
+
+            selector.close();
+            if (serverChannel != null) serverChannel.close();
+            throw e;
+        }
+
+        strategyPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), (task) -> {
+
+            Thread thread = new Thread(task, "match-strategy");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method main()
+     * Runs a server for the configured board size and fleet, printing a report
+     * every ten seconds
+     * @param args: {String[]} port to listen on, optional
+     */
+    public static void main(String[] args) throws IOException {
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameRecordWriter records = GameRecordWriter.open(null); // null unless battleships.records is set
+
+        int[] fleet = FleetConfig.configured().getLengths();
+        int boardSize = BoardState.configuredSize(fleet);
+        MatchServer server = new MatchServer(port, boardSize, fleet, records);
+        Thread thread = new Thread(server, "match-server");
+        thread.start();
+        System.out.println("Match server listening on port " + server.getPort());
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+
+            try {
+
+                server.close();
+                thread.join();
+                if (records != null) records.close();
+
+            } catch (IOException | InterruptedException e) {
+
+                System.err.println("Match server did not close cleanly: " + e);
+            }
+        }));
+
+        while (thread.isAlive()) {
+
+            try {
+
+                thread.join(REPORT_NANOS / 1_000_000);
+
+            } catch (InterruptedException e) {
+
+                return;
+            }
+            System.out.printf("connections: %d, matches: %d, played: %d%n", server.getConnections(),
+                    server.getActiveMatches(), server.getMatchesPlayed());
+        }
+    }
+
+    /** method run()
+     * Serves connections until close() is called
+     */
+    @Override
+    public void run() {
+
+        try {
+
+            while (running) {
+
+                selector.select();
+
+                // moves chosen by the computer, each ends its own match if it fails
+                for (Runnable task; (task = tasks.poll()) != null; ) task.run();
+
+                for (SelectionKey key : selector.selectedKeys()) {
+
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) {
+
+                        accept();
+                        continue;
+                    }
+
+                    Connection connection = (Connection) key.attachment();
+                    try {
+
+                        if (key.isReadable()) connection.read();
+                        if (key.isValid() && key.isWritable()) connection.write();
+
+                    } catch (RuntimeException e) {
+
+                        System.err.println("Match server closed a connection after an error: " + e);
+                        connection.close(); // the other player of its match is told it left
+                    }
+                }
+                selector.selectedKeys().clear();
+
+                // write the messages queued during this pass
+                for (Connection connection : dirty) connection.write();
+                dirty.clear();
+            }
+
+        } catch (IOException | ClosedSelectorException e) {
+
+            if (running) System.err.println("Match server stopped: " + e);
+
+        } finally {
+
+            shutdown();
+        }
+    }
+
+    /** method close()
+     * Stops the server, closing every connection
+     */
+    @Override
+    public void close() {
+
+        running = false;
+        selector.wakeup();
+    }
+
+    /** method shutdown()
+     * Closes every connection and the server socket and flushes the records
+     */
+    private void shutdown() {
+
+        strategyPool.shutdownNow();
+        try {
+
+            for (SelectionKey key : selector.keys()) key.channel().close();
+            selector.close();
+            if (recordWriter != null) recordWriter.flush();
+
+        } catch (IOException e) {
+
+            System.err.println("Match server did not close cleanly: " + e);
+        }
+    }
+
+    /** method accept()
+     * Accepts every waiting connection
+     */
+    private void accept() throws IOException {
+
+        for (SocketChannel channel; (channel = serverChannel.accept()) != null; ) {
+
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true); // messages are small and sent at once
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            connections++;
+        }
+    }
+
+    /** method join()
+     * Starts a match against the opponent provided, or queues the player until another
+     * player joins
+     * @param connection: {Connection} player joining
+     * @param opponent: {int} StrategyType ordinal, or ANY_PLAYER
+     */
+    private void join(Connection connection, int opponent) {
+
+        if (connection.game != null || connection == waiting) {
+
+            connection.sendError(BAD_MESSAGE); // already in a match
+            return;
+        }
+
+        if (opponent == ANY_PLAYER) {
+
+            if (waiting == null) {
+
+                waiting = connection; // wait for the next player
+
+            } else {
+
+                Game game = new Game(waiting, connection, null);
+                waiting = null;
+                game.start();
+            }
+
+        } else if (opponent >= 0 && opponent < StrategyType.values().length) {
+
+            Game game = new Game(connection, null, StrategyType.values()[opponent]);
+            game.start();
+
+        } else {
+
+            connection.sendError(BAD_MESSAGE);
+        }
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getPort()
+     * Return the port the server listens on
+     */
+    public int getPort() {
+
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /** method getConnections()
+     * Return the number of open connections
+     */
+    public int getConnections() {
+
+        return connections;
+    }
+
+    /** method getActiveMatches()
+     * Return the number of matches being played
+     */
+    public int getActiveMatches() {
+
+        return activeMatches;
+    }
+
+    /** method getMatchesPlayed()
+     * Return the number of matches finished
+     */
+    public long getMatchesPlayed() {
+
+        return matchesPlayed;
+    }
+
+    //***************************************************************************//
+
+    //*****************************Class inner classes***************************//
+
+    /** class Connection
+     * A connected client, its buffers and the match it is playing. Only used on the
+     * selector thread.
+     */
+    private class Connection {
+
+        private SocketChannel channel; // socket of the client
+        private SelectionKey key; // registration with the selector
+        private ByteBuffer in = ByteBuffer.allocate(2 + MAX_PAYLOAD); // part of a message not yet handled
+        private ByteBuffer out = ByteBuffer.allocate(OUT_BYTES); // messages not yet written
+        private Game game; // match being played, null if none
+        private int side; // side played in the match
+
+        /** constructor
+         * @param channel: {SocketChannel} socket of the client
+         */
+        private Connection(SocketChannel channel) {
+
+            this.channel = channel;
+        }
+
+        /** method read()
+         * Reads from the socket and handles every complete message
+         */
+        private void read() {
+
+            try {
+
+                if (channel.read(in) < 0) {
+
+                    close();
+                    return;
+                }
+
+            } catch (IOException e) {
+
+                close();
+                return;
+            }
+
+            in.flip();
+            while (in.remaining() >= 2 && in.remaining() >= 2 + (in.get(in.position()) & 0xFF)) {
+
+                int length = in.get() & 0xFF;
+                byte type = in.get();
+                int end = in.position() + length;
+
+                if (!handle(type, length)) {
+
+                    close(); // message not understood, the stream can not be trusted
+                    return;
+                }
+                if (!channel.isOpen()) return; // closed while handling the message
+                in.position(end); // skip any part of the payload not used
+            }
+            in.compact();
+        }
+
+        /** method handle()
+         * Handles one message, the payload starts at the position of the in buffer.
+         * Returns false if the message is malformed.
+         * @param type: {byte} message type
+         * @param length: {int} payload length
+         */
+        private boolean handle(byte type, int length) {
+
+            switch (type) {
+
+                case JOIN:
+
+                    if (length != 1) return false;
+                    join(this, in.get());
+                    return true;
+
+                case PLACE:
+
+                    if (length % 5 != 0) return false;
+                    if (game == null || game.fleets[side] != null) sendError(BAD_MESSAGE); // not expected now
+                    else game.place(side, in, length / 5);
+                    return true;
+
+                case SHOOT:
+
+                    if (length != 4) return false;
+                    int cell = in.getInt();
+                    if (game == null || game.match == null) sendError(BAD_MESSAGE);
+                    else game.shoot(side, cell);
+                    return true;
+
+                default:
+
+                    return false;
+            }
+        }
+
+        /** method send()
+         * Queues a message, the payload is written by the caller straight after this call
+         * and must be the length given. Returns null if the connection is closed, or is
+         * closed because the queue is full.
+         * @param type: {byte} message type
+         * @param length: {int} payload length
+         */
+        private ByteBuffer send(byte type, int length) {
+
+            if (!channel.isOpen()) return null;
+
+            if (out.remaining() < 2 + length) { // client is not reading its messages
+
+                close();
+                return null;
+            }
+
+            if (out.position() == 0) dirty.add(this); // written at the end of this pass
+            out.put((byte) length);
+            out.put(type);
+            return out;
+        }
+
+        /** method sendError()
+         * Queues an ERROR message
+         * @param code: {byte} error code
+         */
+        private void sendError(byte code) {
+
+            ByteBuffer buffer = send(ERROR, 1);
+            if (buffer != null) buffer.put(code);
+        }
+
+        /** method write()
+         * Writes the queued messages, waiting for the socket to be writable if they do
+         * not all fit
+         */
+        private void write() {
+
+            if (!channel.isOpen() || out.position() == 0) return;
+
+            out.flip();
+            try {
+
+                channel.write(out);
+
+            } catch (IOException e) {
+
+                close();
+                return;
+            }
+            out.compact();
+
+            // only ask to be told when the socket is writable while messages are left over
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        /** method close()
+         * Closes the connection, the opponent wins any match being played
+         */
+        private void close() {
+
+            if (!channel.isOpen()) return;
+
+            try {
+
+                channel.close(); // also cancels the key
+
+            } catch (IOException e) {
+
+                // nothing left to do with the connection
+            }
+            connections--;
+
+            if (waiting == this) waiting = null;
+            if (game != null) game.leave(side);
+        }
+    }
+
+    /** class Game
+     * A match hosted by the server, the players of each side and their fleets. Only used
+     * on the selector thread, except for the strategy choosing its next shot.
+     */
+    private class Game {
+
+        private Connection[] players; // connection of each side, null for the computer
+        private StrategyType strategyType; // computer attack logic playing side 1, null if a person
+        private BoardState[] fleets = new BoardState[2]; // fleet of each side, null until placed
+        private Match match; // turn logic, null until both fleets are placed
+        private boolean finished = false; // true once a winner is found or a player leaves
+
+        /** constructor
+         * @param first: {Connection} player of side 0
+         * @param second: {Connection} player of side 1, null if played by the computer
+         * @param strategyType: {StrategyType} computer attack logic playing side 1, null if a person
+         */
+        private Game(Connection first, Connection second, StrategyType strategyType) {
+
+            this.players = new Connection[] {first, second};
+            this.strategyType = strategyType;
+        }
+
+        /** method start()
+         * Tells each player the match has started, the computer places its fleet at once
+         */
+        private void start() {
+
+            activeMatches++;
+            for (int side = 0; side < 2; side++) {
+
+                Connection player = players[side];
+                if (player == null) { // computer places its fleet as the ComputerBoard does
+
+                    fleets[side] = new BoardState(boardSize);
+                    FleetPlacer.placeAllShips(fleets[side], fleet, ThreadLocalRandom.current());
+                    continue;
+                }
+
+                player.game = this;
+                player.side = side;
+                ByteBuffer buffer = player.send(MATCHED, 5 + fleet.length);
+                if (buffer == null) return; // player closed, the match was ended by leave()
+
+                buffer.putInt(boardSize);
+                buffer.put((byte) side);
+                for (int length : fleet) buffer.put((byte) length);
+            }
+        }
+
+        /** method place()
+         * Places the fleet of a side from a PLACE message and starts the match once both
+         * fleets are placed. A fleet that does not match the fleet of the server or does
+         * not fit is refused and can be placed again.
+         * @param side: {int} side placing its fleet
+         * @param in: {ByteBuffer} buffer positioned at the ships of the message
+         * @param ships: {int} number of ships in the message
+         */
+        private void place(int side, ByteBuffer in, int ships) {
+
+            BoardState board = new BoardState(boardSize);
+            int[] lengths = new int[ships];
+            boolean valid = ships == fleet.length;
+
+            for (int ship = 0; ship < ships; ship++) {
+
+                int placement = in.getInt();
+                lengths[ship] = in.get();
+                int origin = PlacementTable.origin(placement);
+
+                valid &= placement >= 0 && origin < board.getCellCount() && lengths[ship] > 0
+                        && board.placeShip(origin / boardSize, origin % boardSize, lengths[ship],
+                                PlacementTable.isHorizontal(placement)) >= 0;
+            }
+
+            // the ships can be placed in any order but must be the ships of the fleet
+            int[] expected = fleet.clone();
+            Arrays.sort(expected);
+            Arrays.sort(lengths);
+            if (!valid || !Arrays.equals(lengths, expected)) {
+
+                players[side].sendError(BAD_PLACEMENT);
+                return;
+            }
+
+            fleets[side] = board;
+            if (fleets[1 - side] == null) return; // wait for the other fleet
+
+            // side 0 attacks the fleet of side 1, the computer with a deadline on each move
+            AttackStrategy strategy = strategyType == null ? null
+                    : new DeadlineStrategy(strategyType.create(fleets[0]), MOVE_DEADLINE);
+            match = new Match(fleets[1], fleets[0], strategy);
+            if (recordWriter != null) match.startRecord();
+            nextTurn();
+        }
+
+        /** method shoot()
+         * A player attacks a cell, a shot that is not allowed is refused
+         * @param side: {int} side shooting
+         * @param cell: {int} cell attacked
+         */
+        private void shoot(int side, int cell) {
+
+            if (match.shoot(side, cell) == BoardState.ALREADY_SHOT) {
+
+                players[side].sendError(BAD_SHOT);
+                return;
+            }
+            shotTaken();
+        }
+
+        /** method shotTaken()
+         * Tells both players about the last shot, then ends the match or starts the next turn
+         */
+        private void shotTaken() {
+
+            int shooter = 1 - match.getTurn(); // the turn has already passed on
+            int cell = match.getLastCell();
+            int result = match.getLastResult();
+            BoardState target = match.getTarget(shooter);
+            int ship = result == BoardState.SUNK ? target.getShipAt(cell) : -1; // ship destroyed
+
+            for (int side = 0; side < 2; side++) {
+
+                if (players[side] == null) continue; // computer
+
+                ByteBuffer buffer = players[side].send(SHOT, ship < 0 ? 6 : 11);
+                if (buffer == null) continue; // player closed, the match was ended by leave()
+
+                buffer.put(side == shooter ? YOU : OPPONENT);
+                buffer.putInt(cell);
+                buffer.put((byte) result);
+                if (ship >= 0) {
+
+                    buffer.putInt(target.getShipOrigin(ship) * 2 + (target.isShipHorizontal(ship) ? 0 : 1));
+                    buffer.put((byte) target.getShipLength(ship));
+                }
+            }
+
+            if (finished) return; // a player closed while being told
+
+            if (match.getWinner() != Match.NO_WINNER) {
+
+                for (int side = 0; side < 2; side++) {
+
+                    if (players[side] == null) continue;
+                    ByteBuffer buffer = players[side].send(GAME_OVER, 1);
+                    if (buffer != null) buffer.put(side == match.getWinner() ? WON : LOST);
+                }
+                writeRecord();
+                end();
+
+            } else {
+
+                nextTurn();
+            }
+        }
+
+        /** method nextTurn()
+         * Tells the player whose turn it is to shoot, or has the computer choose its shot
+         * on the strategy pool
+         */
+        private void nextTurn() {
+
+            int side = match.getTurn();
+            if (players[side] != null) {
+
+                players[side].send(TURN, 0);
+                return;
+            }
+
+            // choose the shot away from the selector thread, the board does not change meanwhile
+            AttackStrategy strategy = match.getStrategy();
+            BoardState target = match.getTarget(side);
+            strategyPool.execute(() -> {
+
+                tasks.add(chooseShot(strategy, target, side));
+                selector.wakeup();
+            });
+        }
+
+        /** method chooseShot()
+         * Has the computer choose its shot, on the strategy pool, and returns the task
+         * taking it on the selector thread. If the attack logic fails the task ends the
+         * match instead.
+         * @param strategy: {AttackStrategy} attack logic of the computer
+         * @param target: {BoardState} board the computer attacks
+         * @param side: {int} side of the computer
+         */
+        private Runnable chooseShot(AttackStrategy strategy, BoardState target, int side) {
+
+            try {
+
+                int cell = strategy.nextShot(target); // within the move deadline
+                return () -> {
+
+                    try {
+
+                        strategyShot(side, cell);
+
+                    } catch (RuntimeException e) {
+
+                        abort(e);
+                    }
+                };
+
+            } catch (RuntimeException e) {
+
+                return () -> abort(e);
+            }
+        }
+
+        /** method strategyShot()
+         * Takes the shot chosen by the computer, on the selector thread
+         * @param side: {int} side of the computer
+         * @param cell: {int} cell chosen
+         */
+        private void strategyShot(int side, int cell) {
+
+            if (finished) return; // player left while the computer was thinking
+
+            if (match.shoot(side, cell) == BoardState.ALREADY_SHOT) {
+
+                throw new IllegalStateException("attack logic chose cell " + cell + " which can not be attacked");
+            }
+            shotTaken();
+        }
+
+        /** method leave()
+         * A player closed their connection, the other player is told and the match ends
+         * @param side: {int} side that left
+         */
+        private void leave(int side) {
+
+            if (finished) return;
+
+            Connection other = players[1 - side];
+            if (other != null) {
+
+                ByteBuffer buffer = other.send(GAME_OVER, 1);
+                if (buffer != null) buffer.put(OPPONENT_LEFT);
+            }
+            end();
+        }
+
+        /** method abort()
+         * Ends the match after an error, each player is told their opponent left
+         * @param e: {RuntimeException} error that ended the match
+         */
+        private void abort(RuntimeException e) {
+
+            if (finished) return;
+
+            System.err.println("Match ended by an error: " + e);
+            for (Connection player : players) {
+
+                if (player == null) continue;
+                ByteBuffer buffer = player.send(GAME_OVER, 1);
+                if (buffer != null) buffer.put(OPPONENT_LEFT);
+            }
+            end();
+        }
+
+        /** method end()
+         * Ends the match, the players can join another
+         */
+        private void end() {
+
+            finished = true;
+            for (Connection player : players) {
+
+                if (player != null && player.game == this) player.game = null;
+            }
+            activeMatches--;
+            matchesPlayed++;
+        }
+
+        /** method writeRecord()
+         * Adds the finished match to the record file, it is written when the buffer fills
+         */
+        private void writeRecord() {
+
+            if (match.getRecord() == null) return; // not recorded
+
+            try {
+
+                recordWriter.write(match.getRecord());
+
+            } catch (IOException e) {
+
+                System.err.println("Game record not written: " + e);
+            }
+        }
+    }
+
+} // close class MatchServer
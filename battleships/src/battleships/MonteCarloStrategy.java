@@ -0,0 +1,430 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class MonteCarloStrategy is a computer attack strategy that     *
+ * samples random layouts of the ships still afloat which agree with every      *
+ * known miss, hit and destroyed ship on the board. The untouched cell that is  *
+ * occupied in the most samples is attacked, and a salvo takes the most         *
+ * occupied cells of the same samples.                                          *
+ * Sampling is split across cores with a fork join pool. Each task has its own  *
+ * random number generator and counters, which are added together once the      *
+ * tasks finish. The number of samples and a time budget per move are set in    *
+ * the constructor, sampling stops at whichever is reached first. They default  *
+ * to the battleships.monteCarloSamples and battleships.monteCarloBudget        *
+ * system properties, the budget in milliseconds, else DEFAULT_SAMPLES and      *
+ * DEFAULT_BUDGET_NANOS. The budget can be changed with setMoveBudget(),        *
+ * which also covers any endgame search.                                        *
+ * Each sample copies the blocked cells and each move counts every cell, so     *
+ * boards over MAX_SAMPLED_CELLS are played by a DensityStrategy instead, which *
+ * counts every placement exactly rather than sampling them. So are fleets of   *
+ * more than MAX_SAMPLED_SHIPS ships, as each sample places every ship afloat   *
+ * and a random layout of so many ships rarely agrees with the board.           *
+ * When the battleships.endgame system property is true and the layouts left    *
+ * are few enough to list, an EndgameSolver searches them exactly instead.      *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+public class MonteCarloStrategy implements AttackStrategy {
+
+    //**************************Class constants**********************************//
+
+    public static final String SAMPLES_PROPERTY = "battleships.monteCarloSamples"; // system property setting the samples
+    public static final String BUDGET_PROPERTY = "battleships.monteCarloBudget"; // system property setting the budget
+    public static final int DEFAULT_SAMPLES = 20000; // samples per move
+    public static final long DEFAULT_BUDGET_NANOS = 50_000_000L; // time budget per move, 50 ms
+    public static final int MAX_SAMPLED_CELLS = 128 * 128; // largest board that is sampled
+    public static final int MAX_SAMPLED_SHIPS = 32; // largest fleet that is sampled
+    private static final int TASK_SAMPLES = 256; // samples taken by a single task before splitting
+    private static final int PLACEMENT_TRIES = 64; // random tries to place a ship before rejecting a sample
+    private static final int CONFIGURED_SAMPLES = configuredSamples(); // samples per move of constructor 1
+    private static final long CONFIGURED_BUDGET_NANOS = configuredBudget(); // time budget per move of constructor 1
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private int samples; // number of samples per move
+    private long budgetNanos; // time budget per move in nanoseconds
+    private ForkJoinPool pool; // pool the sampling tasks run on
+    private SplittableRandom random = new SplittableRandom(); // source of the task random number generators
+    private DensityStrategy largeBoard; // plays boards or fleets too large to sample, null otherwise
+    private EndgameSolver endgame = EndgameSolver.configured(); // plays the shots once few layouts are left, null if off
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor 1
+     * Creates a Monte Carlo strategy using the sample count and time budget set by the
+     * system properties when the class was loaded, or the defaults, on the common fork
+     * join pool.
+     * @param target: {BoardState} board the computer will attack
+     */
+    public MonteCarloStrategy(BoardState target) {
+
+        this(target, CONFIGURED_SAMPLES, CONFIGURED_BUDGET_NANOS, ForkJoinPool.commonPool());
+    }
+
+    /** constructor 2
+     * Overloaded constructor that sets the sample count, time budget and pool.
+     * @param target: {BoardState} board the computer will attack
+     * @param samples: {int} maximum number of samples per move
+     * @param budgetNanos: {long} maximum time spent sampling per move in nanoseconds
+     * @param pool: {ForkJoinPool} pool the sampling tasks run on
+     */
+    public MonteCarloStrategy(BoardState target, int samples, long budgetNanos, ForkJoinPool pool) {
+
+        this.samples = samples; // set samples per move
+        this.budgetNanos = budgetNanos; // set time budget per move
+        this.pool = pool; // set pool
+
+        if (target.getCellCount() > MAX_SAMPLED_CELLS || target.getShipCount() > MAX_SAMPLED_SHIPS) {
+
+            largeBoard = new DensityStrategy(target); // too large to sample
+        }
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method configuredSamples()
+     * Returns the samples per move set by the battleships.monteCarloSamples system
+     * property, or DEFAULT_SAMPLES if it is not set. A value that is not valid is
+     * reported on System.err and the default is used.
+     */
+    public static int configuredSamples() {
+
+        String value = System.getProperty(SAMPLES_PROPERTY);
+        if (value == null) return DEFAULT_SAMPLES;
+
+        try {
+
+            int samples = Integer.parseInt(value.trim());
+            if (samples >= 1) return samples;
+
+        } catch (NumberFormatException e) {
+
+            // reported below
+        }
+        System.err.println("Monte Carlo samples " + value + " not used: not a number of 1 or more");
+        return DEFAULT_SAMPLES;
+    }
+
+    /** method configuredBudget()
+     * Returns the time budget per move set by the battleships.monteCarloBudget system
+     * property in nanoseconds, or DEFAULT_BUDGET_NANOS if it is not set. The property
+     * is in milliseconds. A value that is not valid is reported on System.err and the
+     * default is used.
+     */
+    public static long configuredBudget() {
+
+        String value = System.getProperty(BUDGET_PROPERTY);
+        if (value == null) return DEFAULT_BUDGET_NANOS;
+
+        try {
+
+            long millis = Long.parseLong(value.trim());
+            if (millis >= 1) return TimeUnit.MILLISECONDS.toNanos(millis);
+
+        } catch (NumberFormatException e) {
+
+            // reported below
+        }
+        System.err.println("Monte Carlo budget " + value + " not used: not a number of milliseconds of 1 or more");
+        return DEFAULT_BUDGET_NANOS;
+    }
+
+    /** method nextShot()
+     * Samples layouts of the remaining ships and returns the untouched cell
+     * occupied in the most samples
+     * @param target: {BoardState} Players board
+     */
+    @Override
+    public int nextShot(BoardState target) {
+
+        if (largeBoard != null) return largeBoard.nextShot(target);
+
+        int endgameCell = endgame != null ? endgame.nextShot(target) : -1; // exact shot once the layouts can be listed
+        if (endgameCell >= 0) return endgameCell;
+
+        int[] counts = sample(target); // occupancy counts, last element is the accepted samples
+
+        int best = -1; // best cell found
+        int bestCount = 0; // count of the best cell
+        for (int cell = 0; cell < target.getCellCount(); cell++) {
+
+            if (counts[cell] > bestCount && target.isUnknown(cell)) {
+
+                best = cell;
+                bestCount = counts[cell];
+            }
+        }
+
+        if (best >= 0) return best; // most occupied untouched cell
+
+        // no sample was accepted in time, attack next to a damaged ship or the first untouched cell
+        best = AttackStrategy.nextToOpenHit(target);
+        return best < 0 ? target.nextUnknown(0) : best;
+    }
+
+    /** method nextSalvo()
+     * Samples layouts of the remaining ships once and returns the untouched cells
+     * occupied in the most samples, so a salvo costs one sampling pass
+     * @param target: {BoardState} Players board
+     * @param shots: {int} number of shots in the salvo
+     */
+    @Override
+    public int[] nextSalvo(BoardState target, int shots) {
+
+        if (largeBoard != null) return largeBoard.nextSalvo(target, shots);
+
+        int[] counts = sample(target); // occupancy counts, last element is the accepted samples
+        int[] cells = new int[shots];
+        int count = 0;
+
+        for (; count < shots; count++) { // take the most occupied cell left once per shot
+
+            int best = -1;
+            int bestCount = 0;
+            for (int cell = 0; cell < target.getCellCount(); cell++) {
+
+                if (counts[cell] > bestCount && target.isUnknown(cell)) {
+
+                    best = cell;
+                    bestCount = counts[cell];
+                }
+            }
+            if (best < 0) break; // no occupied cell left
+            cells[count] = best;
+            counts[best] = 0; // not taken again
+        }
+
+        if (count == 0) { // no sample was accepted in time, start next to a damaged ship
+
+            int cell = AttackStrategy.nextToOpenHit(target);
+            if (cell >= 0) cells[count++] = cell;
+        }
+        return AttackStrategy.fillSalvo(target, cells, count);
+    }
+
+    /** method shotResult()
+     * The samples are taken from the board each move, so no state is kept unless the
+     * board is played by a DensityStrategy
+     * @param target: {BoardState} Players board
+     * @param cell: {int} cell that was attacked
+     * @param result: {int} BoardState result of the attack
+     */
+    @Override
+    public void shotResult(BoardState target, int cell, int result) {
+
+        if (largeBoard != null) largeBoard.shotResult(target, cell, result);
+    }
+
+    /** method setMoveBudget()
+     * Splits the move budget between the endgame search, if used, and the sampling. The
+     * search is given a fifth of it, never more than its own default.
+     * @param budgetNanos: {long} time budget per move in nanoseconds
+     */
+    @Override
+    public void setMoveBudget(long budgetNanos) {
+
+        long endgameNanos = 0;
+        if (endgame != null) {
+
+            endgameNanos = Math.min(EndgameSolver.DEFAULT_BUDGET_NANOS, budgetNanos / 5);
+            endgame.setBudget(endgameNanos);
+        }
+        this.budgetNanos = budgetNanos - endgameNanos; // sampling stops in time for the move to be returned
+        if (largeBoard != null) largeBoard.setMoveBudget(budgetNanos);
+    }
+
+    /** method sample()
+     * Runs the sampling tasks and returns the number of accepted samples that
+     * occupy each cell. The last element holds the number of accepted samples.
+     * @param target: {BoardState} Players board
+     */
+    int[] sample(BoardState target) {
+
+        Layout layout = new Layout(target); // constraints shared read only by every task
+        long deadline = System.nanoTime() + budgetNanos; // time sampling must stop
+
+        return pool.invoke(new SampleTask(layout, samples, random.split(), deadline));
+    }
+
+    //***************************************************************************//
+
+    //********************************Class inner classes************************//
+
+    /** class Layout
+     * Holds the constraints every sample must agree with. It is built once per move
+     * and only read by the sampling tasks.
+     */
+    private static final class Layout {
+
+        private final int boardSize; // number of rows and columns
+        private final int[] lengths; // lengths of the ships afloat
+        private final PlacementTable[] tables; // placements of each ship afloat
+        private final CellMask blocked; // known misses and destroyed cells
+        private final int[] openHits; // hits on ships not yet destroyed
+        private final CellMask notHit; // cells not hit, a ship on hits alone would have been destroyed
+
+        /** constructor
+         * Reads the constraints from the board provided
+         * @param target: {BoardState} Players board
+         */
+        private Layout(BoardState target) {
+
+            boardSize = target.getBoardSize();
+
+            // lengths of the ships still afloat, longest first so they are placed while there is room
+            int[] found = new int[target.getShipsAfloat()];
+            int count = 0;
+            for (int ship = 0; ship < target.getShipCount(); ship++) {
+
+                if (!target.isSunk(ship)) found[count++] = target.getShipLength(ship);
+            }
+            Arrays.sort(found);
+            lengths = new int[count];
+            for (int i = 0; i < count; i++) lengths[i] = found[count - 1 - i];
+            tables = new PlacementTable[count];
+            for (int i = 0; i < count; i++) tables[i] = target.getPlacements(lengths[i]);
+
+            // cells no ship can occupy
+            blocked = new CellMask(target.getMissed());
+            blocked.or(target.getDestroyed());
+
+            // hits every sample must cover
+            CellMask open = new CellMask(target.getHits());
+            open.andNot(target.getDestroyed());
+            openHits = new int[open.cardinality()];
+            for (int i = 0, cell = open.nextSetBit(0); cell >= 0; i++, cell = open.nextSetBit(cell + 1)) {
+
+                openHits[i] = cell;
+            }
+
+            // a ship must cover at least one cell that has not been hit
+            notHit = new CellMask(target.getCellCount());
+            notHit.setRun(0, target.getCellCount());
+            notHit.andNot(target.getHits());
+        }
+    }
+
+    /** class SampleTask
+     * Fork join task that takes a number of samples, splitting in half until each
+     * task takes no more than TASK_SAMPLES. Each task uses its own random number
+     * generator and its own counts array.
+     */
+    private static final class SampleTask extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L; // tasks are never serialized
+        private final Layout layout; // shared constraints
+        private final int samples; // number of samples to take
+        private final SplittableRandom random; // random number generator of this task
+        private final long deadline; // time sampling must stop
+
+        /** constructor
+         * @param layout: {Layout} shared constraints
+         * @param samples: {int} number of samples to take
+         * @param random: {SplittableRandom} random number generator of this task
+         * @param deadline: {long} System.nanoTime() sampling must stop
+         */
+        private SampleTask(Layout layout, int samples, SplittableRandom random, long deadline) {
+
+            this.layout = layout;
+            this.samples = samples;
+            this.random = random;
+            this.deadline = deadline;
+        }
+
+        /** method compute()
+         * Splits the task or takes the samples and returns the counts
+         */
+        @Override
+        protected int[] compute() {
+
+            if (samples > TASK_SAMPLES) { // split the samples between two tasks
+
+                SampleTask left = new SampleTask(layout, samples / 2, random.split(), deadline);
+                SampleTask right = new SampleTask(layout, samples - samples / 2, random.split(), deadline);
+                left.fork(); // run the left half asynchronously
+                int[] counts = right.compute(); // run the right half in this thread
+                int[] leftCounts = left.join();
+                for (int i = 0; i < counts.length; i++) counts[i] += leftCounts[i]; // add the counters together
+                return counts;
+            }
+
+            int cells = layout.boardSize * layout.boardSize;
+            int[] counts = new int[cells + 1]; // counts of this task, last element is accepted samples
+            CellMask taken = new CellMask(cells); // cells taken in the current sample
+            int[] placements = new int[layout.lengths.length]; // placement slot of each ship in the sample
+
+            for (int s = 0; s < samples; s++) {
+
+                if ((s & 15) == 0 && System.nanoTime() > deadline) break; // time budget used
+
+                if (takeSample(taken, placements)) { // sample agrees with the board
+
+                    for (int ship = 0; ship < placements.length; ship++) {
+
+                        int step = PlacementTable.isHorizontal(placements[ship]) ? 1 : layout.boardSize;
+                        int origin = PlacementTable.origin(placements[ship]);
+                        for (int i = 0, cell = origin; i < layout.lengths[ship]; i++, cell += step) {
+
+                            counts[cell]++; // count occupied cell
+                        }
+                    }
+                    counts[cells]++; // count accepted sample
+                }
+            }
+            return counts;
+        }
+
+        /** method takeSample()
+         * Places every ship afloat at random on cells that are not blocked or taken, and
+         * not on hit cells alone as that ship would already have been destroyed.
+         * Returns true if every ship was placed and every open hit is covered.
+         * @param taken: {CellMask} scratch mask of taken cells
+         * @param placements: {int[]} placement slot chosen for each ship
+         */
+        private boolean takeSample(CellMask taken, int[] placements) {
+
+            taken.copyFrom(layout.blocked); // start from the blocked cells
+
+            for (int ship = 0; ship < layout.tables.length; ship++) {
+
+                PlacementTable table = layout.tables[ship];
+                boolean placed = false;
+
+                for (int attempt = 0; attempt < PLACEMENT_TRIES && !placed; attempt++) {
+
+                    int placement = table.placement(random.nextInt(table.count())); // random placement on the board
+                    if (!table.fits(taken, placement)) continue; // collision
+                    if (table.fits(layout.notHit, placement)) continue; // every cell hit, it would be destroyed
+
+                    table.set(taken, placement);
+                    placements[ship] = placement;
+                    placed = true;
+                }
+
+                if (!placed) return false; // could not fit the ship, reject the sample
+            }
+
+            // reject the sample unless every open hit is covered by a ship
+            for (int hit : layout.openHits) {
+
+                if (!taken.get(hit)) return false;
+            }
+            return true;
+        }
+    }
+
+} // close class MonteCarloStrategy
@@ -0,0 +1,93 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class PhaseScheduler keeps track of the current phase of the    *
+ * game and runs the timed steps of that phase, such as the countdown, on a     *
+ * single JavaFX Timeline. The steps run on the JavaFX thread and no threads    *
+ * are created. Entering a new phase stops the Timeline of the previous phase,  *
+ * so none of its pending steps are run.                                        *
+ * To enter a phase use scheduler.enter(Phase.PHASE_NAME, steps...).            *
+ ********************************************************************************/
+
+package battleships;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+public class PhaseScheduler {
+
+    //********************************Class enums********************************//
+
+    // Game phase enums
+    public enum Phase {
+        MENU, // main menu displayed
+        PLACEMENT, // player placing their ships
+        COUNTDOWN, // counting down to the start of the game
+        PLAY, // player and computer attacking
+        GAME_OVER // winner displayed
+    }
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private Phase phase = Phase.MENU; // current phase of the game
+    private Timeline timeline; // timed steps of the current phase, null if it has none
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method enter()
+     * Cancels the pending steps of the current phase, then makes the phase provided the
+     * current phase and starts its timed steps. Must be called on the JavaFX thread.
+     * @param phase: {Phase} new phase of the game
+     * @param steps: {KeyFrame...} timed steps of the new phase, see step()
+     */
+    public void enter(Phase phase, KeyFrame... steps) {
+
+        cancel(); // nothing from the previous phase runs after this
+
+        this.phase = phase;
+
+        if (steps.length > 0) {
+
+            timeline = new Timeline(steps);
+            timeline.play();
+        }
+    }
+
+    /** method cancel()
+     * Stops the pending steps of the current phase, the phase itself is unchanged
+     */
+    public void cancel() {
+
+        if (timeline != null) timeline.stop();
+        timeline = null;
+    }
+
+    /** method step()
+     * Creates a timed step to pass to enter()
+     * @param millis: {double} time after the phase is entered to run the step
+     * @param action: {Runnable} action run on the JavaFX thread
+     */
+    public static KeyFrame step(double millis, Runnable action) {
+
+        return new KeyFrame(Duration.millis(millis), (event) -> action.run());
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getPhase()
+     * Return the current phase of the game
+     */
+    public Phase getPhase() {
+
+        return phase;
+    }
+
+} // close class PhaseScheduler
@@ -0,0 +1,308 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class PlacementTable lists every placement of a ship of one     *
+ * length on a board of one size, each stored as the CellMask words and bits    *
+ * it covers. Checking a placement against a mask is then one AND per word      *
+ * rather than a walk over its cells, and a vertical ship on a small board is   *
+ * usually a single word.                                                       *
+ * A table is built once per board size and ship length and shared read only    *
+ * by every board and thread. Placements are numbered origin * 2 + direction,   *
+ * 0 = horizontal 1 = vertical, the same slots the strategies use. Boards over  *
+ * MAX_TABLE_CELLS cells keep the same interface but work out the cells of a    *
+ * placement when asked, so the table does not grow with the board.             *
+ * To get a table use PlacementTable.of(boardSize, length).                     *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class PlacementTable {
+
+    //**************************Class constants**********************************//
+
+    public static final int MAX_TABLE_CELLS = 128 * 128; // largest board with precomputed masks
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    // tables already built, keyed by board size and ship length
+    private static final ConcurrentHashMap<Long, PlacementTable> TABLES = new ConcurrentHashMap<>();
+
+    private final int boardSize; // number of rows and columns
+    private final int length; // length of the ship
+    private final int span; // first cells a ship can start on in each row or column
+    private final int horizontalCount; // number of horizontal placements
+
+    // precomputed words of each placement, null on boards over MAX_TABLE_CELLS
+    private final int[] segmentStart; // first segment of each placement slot, one extra at the end
+    private final int[] segmentWord; // word index of each segment
+    private final long[] segmentBits; // bits of the placement in that word
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Builds the table for the board size and ship length provided
+     * @param boardSize: {int} number of rows and columns
+     * @param length: {int} length of the ship
+     */
+    private PlacementTable(int boardSize, int length) {
+
+        this.boardSize = boardSize;
+        this.length = length;
+        this.span = boardSize - length + 1;
+        this.horizontalCount = boardSize * span;
+
+        int cells = boardSize * boardSize;
+        if (cells > MAX_TABLE_CELLS) { // too large to precompute, cells are worked out when asked
+
+            segmentStart = null;
+            segmentWord = null;
+            segmentBits = null;
+            return;
+        }
+
+        // count the words of each placement first, so the segments are allocated at their size
+        int[] start = new int[cells * 2 + 1];
+        int segments = 0;
+        for (int placement = 0; placement < cells * 2; placement++) {
+
+            start[placement] = segments;
+            if (isLegal(placement)) segments += wordCount(placement); // slot off the board, no segments
+        }
+        start[cells * 2] = segments;
+
+        int[] word = new int[segments];
+        long[] bits = new long[segments];
+        segments = 0;
+
+        for (int placement = 0; placement < cells * 2; placement++) {
+
+            if (!isLegal(placement)) continue; // slot off the board, no segments
+
+            int step = isHorizontal(placement) ? 1 : boardSize; // distance between cells
+            for (int i = 0, cell = origin(placement); i < length; i++, cell += step) {
+
+                // cells are visited in increasing order, so a new word always starts a new segment
+                if (segments == start[placement] || word[segments - 1] != cell >>> 6) {
+
+                    word[segments] = cell >>> 6;
+                    bits[segments++] = 0L;
+                }
+                bits[segments - 1] |= 1L << cell;
+            }
+        }
+
+        segmentStart = start;
+        segmentWord = word;
+        segmentBits = bits;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method of()
+     * Returns the shared table for the board size and ship length provided,
+     * building it the first time it is asked for.
+     * @param boardSize: {int} number of rows and columns
+     * @param length: {int} length of the ship, 1 to boardSize
+     */
+    public static PlacementTable of(int boardSize, int length) {
+
+        if (length < 1 || length > boardSize) {
+
+            throw new IllegalArgumentException("Ship length " + length + " does not fit on a "
+                    + boardSize + "x" + boardSize + " board");
+        }
+        return TABLES.computeIfAbsent(((long) boardSize << 32) | length, key -> new PlacementTable(boardSize, length));
+    }
+
+    /** method wordCount()
+     * Returns the number of CellMask words the cells of a legal placement fall in
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    private int wordCount(int placement) {
+
+        int origin = origin(placement);
+        if (isHorizontal(placement)) return ((origin + length - 1) >>> 6) - (origin >>> 6) + 1; // every word between its ends
+
+        int words = 0;
+        for (int i = 0, cell = origin, last = -1; i < length; i++, cell += boardSize) {
+
+            if (cell >>> 6 != last) words++; // cells are visited in increasing order
+            last = cell >>> 6;
+        }
+        return words;
+    }
+
+    /** method origin()
+     * Returns the first cell of the placement provided
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    public static int origin(int placement) {
+
+        return placement >> 1;
+    }
+
+    /** method isHorizontal()
+     * Returns true if the placement provided is horizontal
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    public static boolean isHorizontal(int placement) {
+
+        return (placement & 1) == 0;
+    }
+
+    /** method count()
+     * Returns the number of placements that fit within the board
+     */
+    public int count() {
+
+        return horizontalCount * 2; // as many vertical placements as horizontal
+    }
+
+    /** method placement()
+     * Returns the slot of the placement at the index provided. Horizontal placements
+     * come first, each list in row major order of the first cell.
+     * @param index: {int} index from 0 to count() - 1
+     */
+    public int placement(int index) {
+
+        if (index < horizontalCount) { // horizontal, span columns in every row
+
+            return ((index / span) * boardSize + index % span) * 2;
+        }
+
+        index -= horizontalCount; // vertical, every column in span rows
+        return index * 2 + 1; // rows are contiguous so the index is the first cell
+    }
+
+    /** method isLegal()
+     * Returns true if the placement slot provided fits within the board
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    public boolean isLegal(int placement) {
+
+        int origin = origin(placement);
+        if (origin < 0 || origin >= boardSize * boardSize) return false;
+        if (isHorizontal(placement)) return origin % boardSize < span; // columns left on the row
+        return origin / boardSize < span; // rows left in the column
+    }
+
+    /** method fits()
+     * Returns true if none of the cells of the placement are set in the mask.
+     * The placement must be legal.
+     * @param mask: {CellMask} cells that can not be used
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    public boolean fits(CellMask mask, int placement) {
+
+        if (segmentStart == null) { // large board, check the cells directly
+
+            return isHorizontal(placement) ? !mask.intersectsRun(origin(placement), length)
+                    : !mask.intersectsStride(origin(placement), length, boardSize);
+        }
+
+        long[] words = mask.getWords();
+        for (int s = segmentStart[placement], end = segmentStart[placement + 1]; s < end; s++) {
+
+            if ((words[segmentWord[s]] & segmentBits[s]) != 0) return false;
+        }
+        return true;
+    }
+
+    /** method set()
+     * Sets every cell of the placement in the mask. The placement must be legal.
+     * @param mask: {CellMask} mask to update
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    public void set(CellMask mask, int placement) {
+
+        if (segmentStart == null) { // large board, set the cells directly
+
+            if (isHorizontal(placement)) mask.setRun(origin(placement), length);
+            else mask.setStride(origin(placement), length, boardSize);
+            return;
+        }
+
+        long[] words = mask.getWords();
+        for (int s = segmentStart[placement], end = segmentStart[placement + 1]; s < end; s++) {
+
+            words[segmentWord[s]] |= segmentBits[s];
+        }
+    }
+
+    /** method clear()
+     * Clears every cell of the placement in the mask. The placement must be legal.
+     * @param mask: {CellMask} mask to update
+     * @param placement: {int} placement slot, origin * 2 + direction
+     */
+    public void clear(CellMask mask, int placement) {
+
+        if (segmentStart == null) { // large board, clear the cells directly
+
+            int step = isHorizontal(placement) ? 1 : boardSize;
+            for (int i = 0, cell = origin(placement); i < length; i++, cell += step) mask.clear(cell);
+            return;
+        }
+
+        long[] words = mask.getWords();
+        for (int s = segmentStart[placement], end = segmentStart[placement + 1]; s < end; s++) {
+
+            words[segmentWord[s]] &= ~segmentBits[s];
+        }
+    }
+
+    /** method covering()
+     * Writes the slots of every legal placement crossing the cell provided into
+     * the array and returns how many there are, at most length * 2.
+     * @param cell: {int} cell the placements must cross
+     * @param placements: {int[]} array to fill, at least length * 2 long
+     */
+    public int covering(int cell, int[] placements) {
+
+        int row = cell / boardSize; // row of the cell
+        int column = cell % boardSize; // column of the cell
+        int count = 0;
+
+        // horizontal placements starting up to one ship length before the cell
+        for (int start = Math.max(0, column - length + 1); start <= Math.min(column, span - 1); start++) {
+
+            placements[count++] = (row * boardSize + start) * 2;
+        }
+
+        // vertical placements starting up to one ship length above the cell
+        for (int start = Math.max(0, row - length + 1); start <= Math.min(row, span - 1); start++) {
+
+            placements[count++] = (start * boardSize + column) * 2 + 1;
+        }
+        return count;
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getBoardSize()
+     * Returns the number of rows and columns of the board the table is for
+     */
+    public int getBoardSize() {
+
+        return boardSize;
+    }
+
+    /** method getLength()
+     * Returns the length of the ship the table is for
+     */
+    public int getLength() {
+
+        return length;
+    }
+
+} // close class PlacementTable
@@ -6,6 +6,10 @@
  * It is used to create a battleships board made up of a grid of squares.       *
  * This subclass contains specific methods used to create the player's grid,    *
  * such as creating the ships and managing the ship placement visuals.          *
+ * The placement preview is a single overlay rectangle moved over the grid,     *
+ * coloured to show if the selected ship can be placed under the cursor.        *
+ * The ships are created from a FleetConfig and coloured from a fixed set of    *
+ * colours in turn, so a fleet of any size can be placed.                       *
  ********************************************************************************/
 
 package battleships;
@@ -13,29 +17,82 @@ package battleships;
 import javafx.event.EventHandler;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
-import java.util.Arrays;
+import javafx.scene.shape.Rectangle;
 
 public class PlayerBoard extends Board {
 
+    //**************************Class constants**********************************//
+
+    private static final Color VALID_PREVIEW = Color.rgb(255, 255, 255, 0.35); // ship can be placed
+    private static final Color INVALID_PREVIEW = Color.rgb(255, 0, 0, 0.45); // ship collides or leaves the grid
+
+    // colours given to the ships in turn, the first six are the colours of the standard fleet
+    private static final Color[] SHIP_COLORS = {Color.GREEN, Color.DARKBLUE, Color.WHITE, Color.PURPLE,
+            Color.YELLOW, Color.CHARTREUSE};
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private Rectangle preview = new Rectangle(); // overlay showing where the selected ship will be placed
+    private int previewCell = -1; // cell the preview starts from, -1 if hidden
+
+    //***************************************************************************//
+
     //****************************Class constructors*****************************//
 
-    /** constructor
-     * Creates a new PlayerBoard instance and builds a grid of Squares using the
+    /** constructor 1
+     * Creates a new PlayerBoard instance drawn as a grid of Squares.
+     * @param boardSize: {int} number of rows and columns
+     * @param squareSize: {int} height and width of each grid square
+     * @param squareClickHandler: {MouseEvent} action when a square is clicked
+     * @param labelClickHandler: {MouseEvent} action when a label is clicked
+     */
+    public PlayerBoard(int boardSize, int squareSize, EventHandler<? super MouseEvent> squareClickHandler,
+                       EventHandler<? super MouseEvent> labelClickHandler) {
+
+        this(boardSize, squareSize, RendererType.SQUARES, squareClickHandler, labelClickHandler);
+    }
+
+    /** constructor 2
+     * Creates a new PlayerBoard instance with the standard fleet.
+     * @param boardSize: {int} number of rows and columns
+     * @param squareSize: {int} height and width of each grid square
+     * @param rendererType: {RendererType} how the grid is drawn
+     * @param squareClickHandler: {MouseEvent} action when a square is clicked
+     * @param labelClickHandler: {MouseEvent} action when a label is clicked
+     */
+    public PlayerBoard(int boardSize, int squareSize, RendererType rendererType,
+                       EventHandler<? super MouseEvent> squareClickHandler,
+                       EventHandler<? super MouseEvent> labelClickHandler) {
+
+        this(boardSize, squareSize, rendererType, FleetConfig.STANDARD, squareClickHandler, labelClickHandler);
+    }
+
+    /** constructor 3
+     * Creates a new PlayerBoard instance and builds its grid using the
      * Board superclass constructor. All the players ships are then created ready to
      * be placed on the grid.
-     * All squares are then made clickable using the mouse click handler event provided.
+     * The grid is then made clickable using the mouse click handler event provided.
      * @param boardSize: {int} number of rows and columns
      * @param squareSize: {int} height and width of each grid square
+     * @param rendererType: {RendererType} how the grid is drawn
+     * @param fleet: {FleetConfig} ships to place
      * @param squareClickHandler: {MouseEvent} action when a square is clicked
      * @param labelClickHandler: {MouseEvent} action when a label is clicked
      */
-    public PlayerBoard(int boardSize, int squareSize, EventHandler<? super MouseEvent> squareClickHandler,
+    public PlayerBoard(int boardSize, int squareSize, RendererType rendererType, FleetConfig fleet,
+                       EventHandler<? super MouseEvent> squareClickHandler,
                        EventHandler<? super MouseEvent> labelClickHandler) {
 
         // call superclass Board constructor
-        super(boardSize, squareSize);
+        super(boardSize, squareSize, rendererType);
+        // add the placement preview above the grid, clicks pass through it to the grid
+        preview.setMouseTransparent(true);
+        preview.setVisible(false);
+        getAnchorPane().getChildren().add(preview);
         // create all ships for player to place
-        createPlayerShips(labelClickHandler);
+        createPlayerShips(fleet, labelClickHandler);
         // set each squares mouse click event handler
         enableClickableGrid(squareClickHandler);
     }
@@ -46,90 +103,97 @@ public class PlayerBoard extends Board {
 
     /** method createPlayerShips()
      * Creates Ship objects and adds them to the ships array in the Board superclass
+     * @param fleet: {FleetConfig} ships to create
      * @param labelClickHandler: {MouseEvent} action when a label is clicked
      */
-    private void createPlayerShips(EventHandler<? super MouseEvent> labelClickHandler) {
+    private void createPlayerShips(FleetConfig fleet, EventHandler<? super MouseEvent> labelClickHandler) {
 
         // create and add all ships to ArrayList
-        getShips().addAll(Arrays.asList(
-                new Ship("Battleship", 4, Color.GREEN, labelClickHandler),
-                new Ship("Cruiser1", 3, Color.DARKBLUE, labelClickHandler),
-                new Ship("Cruiser2", 3, Color.WHITE, labelClickHandler),
-                new Ship("Destroyer1", 2, Color.PURPLE, labelClickHandler),
-                new Ship("Destroyer2", 2, Color.YELLOW, labelClickHandler),
-                new Ship("Destroyer3", 2, Color.CHARTREUSE, labelClickHandler)));
+        Ship[] ships = new Ship[fleet.getShipCount()];
+        for (int i = 0; i < ships.length; i++) {
+
+            ships[i] = new Ship(fleet.getName(i), fleet.getLength(i), SHIP_COLORS[i % SHIP_COLORS.length],
+                    labelClickHandler);
+        }
+        addShips(ships);
     } // close method
 
-    /** method exitSquare()
+    /** method exitCell()
      * This method overrides the original superclasses method version.
-     * It removes the highlighting effects during the Ship placement
-     * area of the game. It uses the provided Square as a starting point
-     * and removes the effect of the squares.
-     * @param square: {Square} Square hovered over by the player
+     * It hides the placement preview when the cursor leaves the cell.
+     * @param cell: {int} cell hovered over by the player
      */
     @Override
-    public void exitSquare(Square square) {
-
-        int shipSize = getSelectedShip().getLength(); // get currently selected ship
-        int row = square.getRow(); // get squares row
-        int column = square.getColumn(); // get squares column
-
-        if (isHorizontal()) { // if currently set at horizontal placement
-
-            if ((column + shipSize) <= getBoardSize()) { // if ship will fit in grid
-
-                for (int i = 0; i < shipSize; i++) { // highlight each square
+    public void exitCell(int cell) {
 
-                    super.exitSquare(getGrid()[row][column + i]);
-                }
-            }
-        } else { // if currently set at vertical placement
-
-            if ((row + shipSize) <= getBoardSize()) { // if ship will fit in grid
-
-                for (int i = 0; i < shipSize; i++) { // highlight each square
-
-                   super.exitSquare(getGrid()[row + i][column]);
-                }
-            }
-        } // close if statement
-    } // close method
+        previewCell = -1; // no cell under the cursor
+        preview.setVisible(false); // hide the preview
+    }
 
-    /** method enterSquare()
+    /** method enterCell()
      * This method overrides the original superclasses method version.
-     * It adds additional highlighting effects during the Ship placement
-     * area of the game. It uses the provided Square as a starting point
-     * and highlights the squares next to it to indicate where the Ship
-     * will be placed.
-     * @param square: {Square} Square hovered over by the player
+     * It moves the placement preview to the cell provided to indicate where
+     * the Ship will be placed.
+     * @param cell: {int} cell hovered over by the player
      */
     @Override
-    public void enterSquare(Square square) {
-
-        int shipSize = getSelectedShip().getLength(); // get currently selected ship
-        int row = square.getRow(); // get squares row
-        int column = square.getColumn(); // get squares column
+    public void enterCell(int cell) {
 
-        if (isHorizontal()) { // if currently set at horizontal placement
+        previewCell = cell; // remember the cell for rotation and ship selection
+        updatePreview();
+    }
 
-            if ((column + shipSize) <= getBoardSize()) { // if ship will fit in grid
+    /** method updatePreview()
+     * Moves and resizes the preview rectangle to cover the cells the selected ship
+     * would occupy from the preview cell, clipped to the grid. It is coloured red if
+     * the ship leaves the grid or collides with a placed ship.
+     */
+    private void updatePreview() {
 
-                for (int i = 0; i < shipSize; i++) { // highlight each square
+        if (previewCell < 0 || getSelectedShip() == null) return; // nothing to preview
 
-                    super.enterSquare(getGrid()[row][column + i]);
-                }
-            }
+        int shipSize = getSelectedShip().getLength(); // get currently selected ship
+        int row = previewCell / getBoardSize(); // get cells row
+        int column = previewCell % getBoardSize(); // get cells column
+        int squareSize = getSquareSize();
+
+        // cells covered within the grid in each direction
+        int across = isHorizontal() ? Math.min(shipSize, getBoardSize() - column) : 1;
+        int down = isHorizontal() ? 1 : Math.min(shipSize, getBoardSize() - row);
+
+        preview.setX(column * squareSize);
+        preview.setY(row * squareSize);
+        preview.setWidth(across * squareSize);
+        preview.setHeight(down * squareSize);
+
+        // check the grid limits and collisions the same way a click does
+        boolean valid = getState().canPlace(row, column, shipSize, isHorizontal());
+        preview.setFill(valid ? VALID_PREVIEW : INVALID_PREVIEW);
+        preview.setVisible(true);
+    }
 
-        } else { // if currently set at vertical placement
+    /** method setHorizontal()
+     * This method overrides the original superclasses method version.
+     * It also redraws the placement preview in the new direction.
+     * @param horizontal {boolean} direction, true=horizontal, false=vertical
+     */
+    @Override
+    public void setHorizontal(boolean horizontal) {
 
-            if ((row + shipSize) <= getBoardSize()) { // if ship will fit in grid
+        super.setHorizontal(horizontal);
+        updatePreview();
+    }
 
-                for (int i = 0; i < shipSize; i++) { // highlight each square
+    /** method setSelectedShip()
+     * This method overrides the original superclasses method version.
+     * It also redraws the placement preview for the new ship length.
+     * @param selectedShip {Ship} The selected ship
+     */
+    @Override
+    public void setSelectedShip(Ship selectedShip) {
 
-                    super.enterSquare(getGrid()[row + i][column]);
-                }
-            }
-        } // close if statement
-    } // close method
+        super.setSelectedShip(selectedShip);
+        updatePreview();
+    }
 
 } // close class PlayerBoard
@@ -0,0 +1,276 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class RemoteGameplay plays the players side of a match hosted   *
+ * by a MatchServer, in place of Gameplay. The players fleet is sent to the     *
+ * server and each click on the opponents board is sent as a shot. Messages     *
+ * from the server are read on a background thread and shown on the boards on   *
+ * the JavaFX thread, with the same colours and sounds as Gameplay. The ships   *
+ * of the opponent are not known, each one is placed on the opponents board     *
+ * when the server reports it destroyed.                                        *
+ ********************************************************************************/
+
+package battleships;
+
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class RemoteGameplay {
+
+    //**************************Class constants**********************************//
+
+    public static final int PLAYER_WON = 1; // game over, as Gameplay.attack()
+    public static final int OPPONENT_WON = 2; // game over, as Gameplay.attack()
+    public static final int NO_CONTEST = 3; // game over, the opponent left or the server could not be reached
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private MatchClient client; // connection to the server, null until connected
+    private PlayerBoard playerBoard; // Board the opponent attacks
+    private ComputerBoard opponentBoard; // Board the player attacks, ships placed as they are destroyed
+    private IntConsumer gameOver; // told the outcome of the match on the JavaFX thread
+    private boolean[] attacked; // cells of the opponents board already attacked
+    private boolean playersTurn = false; // true after a TURN message until the player shoots
+    private boolean finished = false; // true once the match is over
+    private ArrayList<Integer> playerHits = new ArrayList<>(); // track the cells a player hit a ship
+    private ArrayList<Integer> opponentHits = new ArrayList<>(); // track the cells the opponent hit a ship
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Connects to the server on a background thread, joins a match and places the
+     * players fleet
+     * @param server: {String} host and port of the server, host:port
+     * @param opponent: {int} StrategyType ordinal, or MatchServer.ANY_PLAYER
+     * @param playerBoard: {PlayerBoard} Board with the players fleet placed
+     * @param opponentBoard: {ComputerBoard} Board with no ships placed
+     * @param gameOver: {IntConsumer} told PLAYER_WON, OPPONENT_WON or NO_CONTEST on the JavaFX thread
+     */
+    public RemoteGameplay(String server, int opponent, PlayerBoard playerBoard, ComputerBoard opponentBoard,
+                          IntConsumer gameOver) {
+
+        this.playerBoard = playerBoard;
+        this.opponentBoard = opponentBoard;
+        this.gameOver = gameOver;
+        this.attacked = new boolean[opponentBoard.getState().getCellCount()];
+
+        int split = server.lastIndexOf(':');
+        String host = split < 0 ? server : server.substring(0, split);
+        int port = split < 0 ? MatchServer.DEFAULT_PORT : Integer.parseInt(server.substring(split + 1));
+
+        Thread reader = new Thread(() -> play(host, port, opponent), "match-client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method play()
+     * Connects, joins and places the fleet, then passes each message to the JavaFX
+     * thread until the match is over. Runs on the background thread.
+     * @param host: {String} host of the server
+     * @param port: {int} port of the server
+     * @param opponent: {int} StrategyType ordinal, or MatchServer.ANY_PLAYER
+     */
+    private void play(String host, int port, int opponent) {
+
+        try {
+
+            MatchClient connection = new MatchClient(host, port);
+            Platform.runLater(() -> client = connection);
+
+            connection.join(opponent);
+            connection.expect(MatchServer.MATCHED);
+
+            // the server must use the same board and fleet as this game
+            int[] fleet = new int[playerBoard.getFleet().size()];
+            for (int i = 0; i < fleet.length; i++) fleet[i] = playerBoard.getFleet().get(i).getLength();
+            if (connection.getBoardSize() != playerBoard.getBoardSize() || !Arrays.equals(connection.getFleet(), fleet)) {
+
+                throw new IOException("server plays a different board or fleet");
+            }
+            connection.place(playerBoard.getState());
+
+            while (true) {
+
+                int type = connection.read();
+                switch (type) {
+
+                    case MatchServer.TURN:
+
+                        Platform.runLater(() -> playersTurn = true);
+                        break;
+
+                    case MatchServer.SHOT:
+
+                        boolean playersShot = connection.getShooter() == MatchServer.YOU;
+                        int cell = connection.getCell();
+                        int result = connection.getResult();
+                        int placement = connection.getSunkPlacement();
+                        int length = connection.getSunkLength();
+                        Platform.runLater(() -> {
+
+                            if (playersShot) playersShot(cell, result, placement, length);
+                            else opponentsShot(cell);
+                        });
+                        break;
+
+                    case MatchServer.GAME_OVER:
+
+                        int code = connection.getCode();
+                        end(code == MatchServer.WON ? PLAYER_WON : code == MatchServer.LOST ? OPPONENT_WON : NO_CONTEST);
+                        connection.close();
+                        return;
+
+                    case MatchServer.ERROR:
+
+                        throw new IOException("server refused a message, error " + connection.getCode());
+
+                    default:
+
+                        break; // message added by a later server
+                }
+            }
+
+        } catch (IOException | RuntimeException e) {
+
+            System.err.println("Match server unavailable: " + e);
+            end(NO_CONTEST);
+        }
+    }
+
+    /** method attack()
+     * Sends a shot at the cell provided if it is the players turn and the cell has not
+     * been attacked. Called on the JavaFX thread.
+     * @param cell: {int} cell of the opponents board clicked
+     */
+    public void attack(int cell) {
+
+        if (!playersTurn || finished || cell < 0 || attacked[cell]) return; // not allowed, ignore the click
+
+        playersTurn = false;
+        attacked[cell] = true;
+        try {
+
+            client.shoot(cell);
+
+        } catch (IOException e) {
+
+            System.err.println("Match server unavailable: " + e);
+            end(NO_CONTEST);
+        }
+    }
+
+    /** method playersShot()
+     * Shows the result of the players shot on the opponents board. A destroyed ship is
+     * placed on the board so its cells can be marked destroyed.
+     * @param cell: {int} cell attacked
+     * @param result: {int} BoardState result of the attack
+     * @param placement: {int} placement slot of the ship destroyed, -1 if none
+     * @param length: {int} length of the ship destroyed
+     */
+    private void playersShot(int cell, int result, int placement, int length) {
+
+        BoardState state = opponentBoard.getState();
+
+        if (result == BoardState.MISS) {
+
+            state.shoot(cell); // no ship is placed on the cell
+            Gameplay.miss(opponentBoard, cell);
+            return;
+        }
+
+        AudioPlayer.HIT.play(); // play hit sound file
+        opponentBoard.paintCell(cell, Color.RED); // set cell colour to red
+        playerHits.add(cell); // add to the list of hits by the player
+        if (placement < 0) return; // ship still afloat
+
+        // place the destroyed ship and hit each of its cells, which marks them destroyed
+        int origin = PlacementTable.origin(placement);
+        boolean horizontal = PlacementTable.isHorizontal(placement);
+        if (state.placeShip(origin / state.getBoardSize(), origin % state.getBoardSize(), length, horizontal) < 0) return;
+        for (int i = 0, step = horizontal ? 1 : state.getBoardSize(); i < length; i++) state.shoot(origin + i * step);
+        Gameplay.destroy(opponentBoard, playerHits);
+
+        // the first ship of that length left afloat is shown destroyed
+        for (Ship ship : opponentBoard.getShips()) {
+
+            if (ship.getLength() == length) {
+
+                for (int i = 0; i < length; i++) ship.lowerHealth();
+                opponentBoard.getShips().remove(ship);
+                break;
+            }
+        }
+    }
+
+    /** method opponentsShot()
+     * Shows the opponents shot on the players board
+     * @param cell: {int} cell attacked
+     */
+    private void opponentsShot(int cell) {
+
+        int result = playerBoard.getState().shoot(cell); // the players board knows its own ships
+        playerBoard.showCell(cell); // scroll a large board to the attack
+
+        if (result == BoardState.MISS) {
+
+            Gameplay.miss(playerBoard, cell);
+
+        } else if (result != BoardState.ALREADY_SHOT) {
+
+            opponentHits.add(cell);
+            Gameplay.hit(playerBoard, cell);
+
+            if (result == BoardState.SUNK) {
+
+                Gameplay.destroy(playerBoard, opponentHits);
+                playerBoard.getShips().remove(playerBoard.getShipAt(cell)); // remove destroyed ship
+            }
+        }
+    }
+
+    /** method end()
+     * Ends the match once and tells the game over handler on the JavaFX thread
+     * @param outcome: {int} PLAYER_WON, OPPONENT_WON or NO_CONTEST
+     */
+    private void end(int outcome) {
+
+        Platform.runLater(() -> {
+
+            if (finished) return;
+            finished = true;
+            gameOver.accept(outcome);
+        });
+    }
+
+    /** method close()
+     * Leaves the match, the opponent wins. Called on the JavaFX thread.
+     */
+    public void close() {
+
+        finished = true;
+        if (client == null) return;
+
+        try {
+
+            client.close();
+
+        } catch (IOException e) {
+
+            // the match is being left either way
+        }
+    }
+
+} // close class RemoteGameplay
@@ -0,0 +1,47 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Enum RendererType lists the ways a board can be drawn on the    *
+ * GUI. Each enum creates a new BoardRenderer for a board.                      *
+ * To create a renderer use RendererType.RENDERER_NAME.create(...).             *
+ ********************************************************************************/
+
+package battleships;
+
+public enum RendererType {
+
+    //********************************Class enums********************************//
+
+    // one Square node per cell, the original grid
+    SQUARES {
+        @Override
+        public BoardRenderer create(int boardSize, int viewCells, int squareSize, BoardState state) {
+
+            return new SquareRenderer(boardSize, squareSize, state);
+        }
+    },
+
+    // a single canvas per board showing the cells in view, repainting only the cells that change
+    CANVAS {
+        @Override
+        public BoardRenderer create(int boardSize, int viewCells, int squareSize, BoardState state) {
+
+            return new CanvasRenderer(boardSize, viewCells, squareSize);
+        }
+    };
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method create()
+     * Creates a new renderer of this type for a board
+     * @param boardSize: {int} number of rows and columns
+     * @param viewCells: {int} rows and columns shown at once, SQUARES always shows the whole board
+     * @param squareSize: {int} height and width of each cell in pixels
+     * @param state: {BoardState} game state of the board
+     */
+    public abstract BoardRenderer create(int boardSize, int viewCells, int squareSize, BoardState state);
+
+} // close enum RendererType
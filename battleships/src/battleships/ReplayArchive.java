@@ -0,0 +1,316 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class ReplayArchive reads an archive of many GameRecords        *
+ * written by ReplayArchiveWriter. The file is memory mapped rather than read   *
+ * into the heap, in windows of up to a gigabyte as one MappedByteBuffer can    *
+ * not cover a larger file. Each window overlaps the next by the size of the    *
+ * largest record, so every record lies wholly within the window it starts in.  *
+ * Game N is found in constant time through the index of record offsets and     *
+ * scan() decodes records one after another straight from the mapped windows.   *
+ * Archive layout, big endian:                                                  *
+ *   header: FILE_HEADER bytes padded to 8, long record count, long index       *
+ *           offset, int size of the largest record, padded to HEADER_BYTES     *
+ *   records: GameRecords back to back                                          *
+ *   index: long file offset of each record                                     *
+ * Usage: java battleships.ReplayArchive build <archive> <record file>...       *
+ *        java battleships.ReplayArchive first-hits <archive>                   *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public class ReplayArchive implements Closeable {
+
+    //**************************Class constants**********************************//
+
+    public static final byte[] FILE_HEADER = {'B', 'S', 'G', 'A', 1}; // magic bytes and format version
+    public static final int HEADER_BYTES = 32; // bytes before the first record
+    public static final int MAX_RECORD_BYTES = 64 * 1024 * 1024; // largest record an archive can hold
+
+    static final int COUNT_OFFSET = 8; // header offset of the record count, after the padded FILE_HEADER
+    private static final long WINDOW_BYTES = 1L << 30; // bytes between the start of each mapped window
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private FileChannel channel; // archive file
+    private long count; // number of records
+    private long indexOffset; // file offset of the index, also the end of the last record
+    private long windowBytes; // bytes between the start of each mapped window
+    private MappedByteBuffer[] windows; // mapped records, window i starts at file offset i * windowBytes
+    private MappedByteBuffer[] indexWindows; // mapped index, window i holds the offsets from i * windowBytes
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor 1
+     * Opens an archive and maps it into memory, only the header is read
+     * @param path: {Path} archive written by ReplayArchiveWriter
+     */
+    public ReplayArchive(Path path) throws IOException {
+
+        this(path, WINDOW_BYTES);
+    }
+
+    /** constructor 2
+     * Overloaded constructor that maps the archive in windows of the size provided, so
+     * the window handling can be checked on a small archive
+     * @param path: {Path} archive written by ReplayArchiveWriter
+     * @param windowBytes: {long} bytes between the start of each window, a multiple of 8
+     */
+    ReplayArchive(Path path, long windowBytes) throws IOException {
+
+        if (windowBytes < Long.BYTES || windowBytes > WINDOW_BYTES || windowBytes % Long.BYTES != 0) {
+
+            throw new IllegalArgumentException("window of " + windowBytes + " bytes must be a multiple of 8 up to "
+                    + WINDOW_BYTES);
+        }
+        this.windowBytes = windowBytes;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) > 0) { } // read until full or end of file
+            header.flip();
+
+            byte[] magic = new byte[FILE_HEADER.length];
+            if (header.remaining() == HEADER_BYTES) header.get(magic);
+            if (!Arrays.equals(magic, FILE_HEADER)) throw new IOException(path + " is not a complete replay archive");
+
+            header.position(COUNT_OFFSET);
+            count = header.getLong();
+            indexOffset = header.getLong();
+            int maxRecordBytes = header.getInt();
+
+            if (count < 0 || indexOffset < HEADER_BYTES || maxRecordBytes < 0 || maxRecordBytes > MAX_RECORD_BYTES
+                    || indexOffset + count * Long.BYTES != channel.size()) {
+
+                throw new IOException(path + " is damaged, its header does not match its size");
+            }
+
+            // map the records in overlapping windows
+            windows = new MappedByteBuffer[(int) ((indexOffset + windowBytes - 1) / windowBytes)];
+            for (int window = 0; window < windows.length; window++) {
+
+                long start = window * windowBytes;
+                long end = Math.min(start + windowBytes + maxRecordBytes, indexOffset);
+                windows[window] = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            }
+
+            // map the index in windows that do not overlap, an offset never spans two
+            long indexBytes = count * Long.BYTES;
+            indexWindows = new MappedByteBuffer[(int) ((indexBytes + windowBytes - 1) / windowBytes)];
+            for (int window = 0; window < indexWindows.length; window++) {
+
+                long start = window * windowBytes;
+                long size = Math.min(windowBytes, indexBytes - start);
+                indexWindows[window] = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset + start, size);
+            }
+
+        } catch (IOException | RuntimeException e) {
+
+            channel.close();
+            throw e;
+        }
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method main()
+     * Builds an archive from record files, or prints where the first hit on each board was made
+     * @param args: {String[]} command and files, see the usage in the header
+     */
+    public static void main(String[] args) throws IOException {
+
+        if (args.length >= 3 && args[0].equals("build")) {
+
+            try (ReplayArchiveWriter writer = new ReplayArchiveWriter(Paths.get(args[1]))) {
+
+                for (int i = 2; i < args.length; i++) {
+
+                    System.out.printf("%s: %d records%n", args[i], writer.writeLog(Paths.get(args[i])));
+                }
+                System.out.printf("%s: %d records archived%n", args[1], writer.getCount());
+            }
+
+        } else if (args.length == 2 && args[0].equals("first-hits")) {
+
+            try (ReplayArchive archive = new ReplayArchive(Paths.get(args[1]))) {
+
+                if (archive.size() == 0) {
+
+                    System.out.println("archive is empty");
+                    return;
+                }
+
+                int boardSize = archive.get(0).getBoardSize(); // boards of other sizes are skipped
+                long start = System.nanoTime();
+                long[] firstHits = archive.countFirstHits(boardSize);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                long boards = 0;
+                for (long hits : firstHits) boards += hits;
+                System.out.printf("records: %d, boards hit: %d, scanned in %.2f s%n", archive.size(), boards, seconds);
+                System.out.println("first hit per cell (% of boards):");
+                for (int row = 0; row < boardSize; row++) {
+
+                    StringBuilder line = new StringBuilder("   ");
+                    for (int column = 0; column < boardSize; column++) {
+
+                        line.append(String.format(" %5.1f", 100.0 * firstHits[row * boardSize + column]
+                                / Math.max(1, boards)));
+                    }
+                    System.out.println(line);
+                }
+            }
+
+        } else {
+
+            System.out.println("Usage: java battleships.ReplayArchive build <archive> <record file>...");
+            System.out.println("       java battleships.ReplayArchive first-hits <archive>");
+        }
+    }
+
+    /** method get()
+     * Returns game N of the archive
+     * @param n: {long} index of the record, from 0
+     */
+    public GameRecord get(long n) {
+
+        return GameRecord.decode(record(n));
+    }
+
+    /** method record()
+     * Returns a read only view of the mapped window holding game N, positioned at the
+     * start of the record. No bytes are copied.
+     * @param n: {long} index of the record, from 0
+     */
+    public ByteBuffer record(long n) {
+
+        return view(offset(n));
+    }
+
+    /** method scan()
+     * Decodes games from the index provided up to the end index one after another and
+     * passes each to the visitor. The same GameRecord is reused for every game, so the
+     * visitor must copy anything it keeps. The range can be split between threads.
+     * @param from: {long} index of the first record
+     * @param to: {long} index after the last record
+     * @param visitor: {Consumer<GameRecord>} called with each record
+     */
+    public void scan(long from, long to, Consumer<GameRecord> visitor) {
+
+        if (from < 0 || to > count || from > to) throw new IndexOutOfBoundsException("records " + from + " to " + to);
+        if (from == to) return;
+
+        GameRecord record = new GameRecord(1); // reused for every record
+        long offset = offset(from); // file offset of the next record
+        int window = (int) (offset / windowBytes);
+        ByteBuffer buffer = view(offset);
+
+        for (long n = from; n < to; n++) {
+
+            if (offset >= (window + 1) * windowBytes) { // record starts in the next window
+
+                window++;
+                buffer = view(offset);
+            }
+
+            int start = buffer.position();
+            record.read(buffer);
+            offset += buffer.position() - start;
+            visitor.accept(record);
+        }
+    }
+
+    /** method countFirstHits()
+     * Returns how many times the first hit on a board was made on each cell, over every
+     * board of every game of the board size provided
+     * @param boardSize: {int} size of the boards counted, others are skipped
+     */
+    public long[] countFirstHits(int boardSize) {
+
+        long[] firstHits = new long[boardSize * boardSize];
+
+        scan(0, count, (record) -> {
+
+            if (record.getBoardSize() != boardSize) return;
+
+            for (int board = 0; board < record.getBoardCount(); board++) {
+
+                for (int shot = 0; shot < record.getShotCount(board); shot++) {
+
+                    if (record.getShotResult(board, shot) != BoardState.MISS) { // first hit on this board
+
+                        firstHits[record.getShotCell(board, shot)]++;
+                        break;
+                    }
+                }
+            }
+        });
+        return firstHits;
+    }
+
+    /** method offset()
+     * Returns the file offset of game N from the index
+     * @param n: {long} index of the record, from 0
+     */
+    private long offset(long n) {
+
+        if (n < 0 || n >= count) throw new IndexOutOfBoundsException("record " + n + " of " + count);
+
+        long position = n * Long.BYTES; // position in the index
+        return indexWindows[(int) (position / windowBytes)].getLong((int) (position % windowBytes));
+    }
+
+    /** method view()
+     * Returns a read only view of the window a file offset starts in, positioned at the offset
+     * @param offset: {long} file offset within the records
+     */
+    private ByteBuffer view(long offset) {
+
+        int window = (int) (offset / windowBytes);
+        ByteBuffer view = windows[window].asReadOnlyBuffer(); // own position, shared bytes
+        view.position((int) (offset - window * windowBytes));
+        return view;
+    }
+
+    /** method close()
+     * Closes the archive file. The mapped windows are released once they are no longer used.
+     */
+    @Override
+    public void close() throws IOException {
+
+        channel.close();
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method size()
+     * Return the number of games in the archive
+     */
+    public long size() {
+
+        return count;
+    }
+
+} // close class ReplayArchive
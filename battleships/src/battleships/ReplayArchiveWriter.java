@@ -0,0 +1,228 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class ReplayArchiveWriter creates a replay archive, the file    *
+ * read by ReplayArchive. Records are written back to back after the header     *
+ * and the offset of each one is written to a temporary index file beside the   *
+ * archive, so the index never has to fit in memory. close() copies the index   *
+ * to the end of the archive and writes the header last, an archive that was    *
+ * not closed has no header and can not be opened.                              *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class ReplayArchiveWriter implements Closeable {
+
+    //**************************Class constants**********************************//
+
+    private static final int BUFFER_BYTES = 64 * 1024; // bytes held before writing to a file
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private FileChannel channel; // archive being written
+    private FileChannel indexChannel; // temporary file holding the offset of each record
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES); // records not yet written
+    private ByteBuffer indexBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES); // offsets not yet written
+    private long position = ReplayArchive.HEADER_BYTES; // archive offset of the next record
+    private long count = 0; // number of records written
+    private int maxRecordBytes = 0; // size of the largest record written
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates an empty archive, replacing any file already at the path provided
+     * @param path: {Path} archive to create
+     */
+    public ReplayArchiveWriter(Path path) throws IOException {
+
+        Path directory = path.toAbsolutePath().getParent();
+        Path index = Files.createTempFile(directory, path.getFileName().toString(), ".index");
+
+        indexChannel = FileChannel.open(index, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        try {
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.write(ByteBuffer.allocate(ReplayArchive.HEADER_BYTES)); // header written by close()
+
+        } catch (IOException e) {
+
+            indexChannel.close();
+            if (channel != null) channel.close();
+            throw e;
+        }
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method write()
+     * Adds a record to the end of the archive
+     * @param record: {GameRecord} record to add
+     */
+    public void write(GameRecord record) throws IOException {
+
+        int size = record.getEncodedSize();
+        if (size > ReplayArchive.MAX_RECORD_BYTES) throw new IOException("record of " + size + " bytes is too large");
+
+        if (size > buffer.remaining()) writeBuffer(buffer, channel); // make room
+
+        if (size > buffer.capacity()) { // too large to buffer, write it on its own
+
+            ByteBuffer large = ByteBuffer.allocate(size);
+            record.encode(large);
+            large.flip();
+            while (large.hasRemaining()) channel.write(large);
+
+        } else {
+
+            record.encode(buffer);
+        }
+
+        if (!indexBuffer.hasRemaining()) writeBuffer(indexBuffer, indexChannel);
+        indexBuffer.putLong(position);
+
+        position += size;
+        count++;
+        maxRecordBytes = Math.max(maxRecordBytes, size);
+    }
+
+    /** method writeLog()
+     * Adds every record in a file written by GameRecordWriter to the end of the archive
+     * and returns the number added. A damaged record at the end of the file, left by a
+     * writer that was stopped part way through, ends the copy.
+     * @param recordFile: {Path} file written by GameRecordWriter
+     */
+    public long writeLog(Path recordFile) throws IOException {
+
+        if (!GameRecordWriter.hasHeader(recordFile)) throw new IOException(recordFile + " is not a game record file");
+
+        long added = 0;
+        GameRecord record = new GameRecord(1); // reused for every record
+        ByteBuffer input = ByteBuffer.allocate(BUFFER_BYTES);
+
+        try (FileChannel in = FileChannel.open(recordFile, StandardOpenOption.READ)) {
+
+            in.position(GameRecordWriter.FILE_HEADER.length);
+            input.limit(0); // nothing read yet
+            boolean ended = false; // true once the whole file has been read
+
+            while (true) {
+
+                input.mark();
+                try {
+
+                    record.read(input);
+                    write(record);
+                    added++;
+                    continue;
+
+                } catch (IllegalArgumentException e) { // record incomplete in the buffer, or damaged
+
+                    input.reset();
+                    if (ended) {
+
+                        if (input.hasRemaining()) System.err.println(recordFile + ": damaged record after "
+                                + added + " records, " + input.remaining() + " bytes skipped");
+                        return added;
+                    }
+                }
+
+                // read more of the file, growing the buffer if a record does not fit in it
+                input.compact();
+                if (!input.hasRemaining()) {
+
+                    if (input.capacity() > ReplayArchive.MAX_RECORD_BYTES) { // no record is this large
+
+                        System.err.println(recordFile + ": damaged record after " + added + " records");
+                        return added;
+                    }
+
+                    ByteBuffer larger = ByteBuffer.allocate(input.capacity() * 2);
+                    input.flip();
+                    larger.put(input);
+                    input = larger;
+                }
+                ended = in.read(input) < 0;
+                input.flip();
+            }
+        }
+    }
+
+    /** method close()
+     * Copies the index to the end of the archive, writes the header and closes the archive
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (!channel.isOpen()) return; // already closed
+
+        try {
+
+            writeBuffer(buffer, channel);
+            writeBuffer(indexBuffer, indexChannel);
+
+            // the index follows the last record
+            long indexBytes = indexChannel.size();
+            for (long copied = 0; copied < indexBytes; ) {
+
+                copied += indexChannel.transferTo(copied, indexBytes - copied, channel);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(ReplayArchive.HEADER_BYTES);
+            header.put(ReplayArchive.FILE_HEADER);
+            header.position(ReplayArchive.COUNT_OFFSET);
+            header.putLong(count);
+            header.putLong(position); // offset of the index
+            header.putInt(maxRecordBytes);
+            header.clear(); // the whole header, padding included
+            while (header.hasRemaining()) channel.write(header, header.position());
+            channel.force(false); // the archive is complete on disk
+
+        } finally {
+
+            channel.close();
+            indexChannel.close(); // deletes the temporary index
+        }
+    }
+
+    /** method writeBuffer()
+     * Writes a buffer to a file and empties the buffer
+     * @param buffer: {ByteBuffer} buffer filled from position 0
+     * @param channel: {FileChannel} file written at its current position
+     */
+    private static void writeBuffer(ByteBuffer buffer, FileChannel channel) throws IOException {
+
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    //***************************************************************************//
+
+    //**************************Class getters and setters************************//
+
+    /** method getCount()
+     * Return the number of records written
+     */
+    public long getCount() {
+
+        return count;
+    }
+
+} // close class ReplayArchiveWriter
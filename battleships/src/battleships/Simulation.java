@@ -0,0 +1,451 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class Simulation is a headless runner used to evaluate the      *
+ * computer attack strategies without the JavaFX GUI. Each game builds a        *
+ * BoardState the same way the ComputerBoard does and lets a strategy attack    *
+ * it until every ship is destroyed. When two strategies are given they play    *
+ * each other, the first strategy attacks first as the player does in the       *
+ * GUI. Games are split across every core and a report of games per second,     *
+ * shots to win and where hits were made is printed when they finish, the hits  *
+ * on each cell only for boards small enough to print.                          *
+ * When the battleships.records system property names a file, every game is     *
+ * appended to it as a GameRecord. The board size is 10 unless the              *
+ * battleships.boardSize system property sets another, and the fleet is the     *
+ * standard fleet unless battleships.fleet names a FleetConfig file.            *
+ * When battleships.salvo sets a salvo each strategy fires that many shots a    *
+ * turn and turns to win are reported instead of shots. No side's own fleet is  *
+ * attacked in a simulation, so a salvo of "ships" is the whole fleet.          *
+ * When battleships.moveDeadline sets a deadline in milliseconds, each          *
+ * strategy plays through a DeadlineStrategy on a worker of each thread and     *
+ * moves that overran the deadline are reported. Otherwise the strategies play  *
+ * inline, as fast as they can. With battleships.endgame set to true the        *
+ * strategies play the end of each game with an EndgameSolver.                  *
+ * Usage: java [-Dbattleships.records=<file>] battleships.Simulation <games>    *
+ *        <strategy> [opponent strategy]                                        *
+ ********************************************************************************/
+
+package battleships;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class Simulation {
+
+    //**************************Class constants**********************************//
+
+    private static final int MAX_PRINTED_SIZE = 20; // largest board whose hits per cell are printed
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private int boardSize; // number of rows and columns
+    private int[] fleet; // length of each ship
+    private StrategyType[] strategies; // strategy of each side, one or two
+    private int threads; // number of worker threads
+    private GameRecordWriter recordWriter; // where each game is recorded, null if not recorded
+    private int salvo = 1; // shots per turn
+    private long moveDeadline = 0; // per move in nanoseconds, 0 plays the strategies inline
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates a simulation of the strategies provided
+     * @param boardSize: {int} number of rows and columns
+     * @param fleet: {int[]} length of each ship
+     * @param threads: {int} number of worker threads
+     * @param strategies: {StrategyType...} strategy of each side, one or two
+     */
+    public Simulation(int boardSize, int[] fleet, int threads, StrategyType... strategies) {
+
+        this.boardSize = boardSize;
+        this.fleet = fleet;
+        this.threads = threads;
+        this.strategies = strategies;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method main()
+     * Runs a simulation from the command line and prints the report
+     * @param args: {String[]} number of games, strategy and optional opponent strategy
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+
+        if (args.length < 2) {
+
+            System.out.println("Usage: java [-D" + GameRecordWriter.RECORDS_PROPERTY
+                    + "=<file>] battleships.Simulation <games> <strategy> [opponent strategy]");
+            return;
+        }
+
+        long games = Long.parseLong(args[0]); // number of games to play
+        StrategyType[] strategies = new StrategyType[args.length - 1]; // strategies to play
+        for (int i = 1; i < args.length; i++) strategies[i - 1] = StrategyType.valueOf(args[i].toUpperCase());
+
+        int[] fleet = FleetConfig.configured().getLengths();
+        int boardSize = BoardState.configuredSize(fleet);
+        Simulation simulation = new Simulation(boardSize, fleet,
+                Runtime.getRuntime().availableProcessors(), strategies);
+
+        GameRecordWriter recordWriter = GameRecordWriter.open(null); // only record when asked to
+        simulation.setRecordWriter(recordWriter);
+        int salvo = Match.configuredSalvo();
+        simulation.setSalvo(salvo == Match.SALVO_SHIPS_AFLOAT ? fleet.length : salvo); // every ship is afloat
+        simulation.setMoveDeadline(DeadlineStrategy.configuredDeadline(0)); // inline unless a deadline is set
+
+        long start = System.nanoTime(); // time simulation started
+        Results results = simulation.run(games); // play the games
+        double seconds = (System.nanoTime() - start) / 1e9; // time taken
+
+        System.out.print(simulation.report(results, seconds)); // print the report
+
+        if (recordWriter != null) {
+
+            recordWriter.close(); // write the last buffered records
+            System.out.printf("%nrecords: %d appended to %s%n", recordWriter.getRecordsWritten(),
+                    System.getProperty(GameRecordWriter.RECORDS_PROPERTY));
+        }
+    }
+
+    /** method run()
+     * Plays the number of games provided, split evenly across the worker threads.
+     * Each worker keeps its own results which are merged once all have finished.
+     * @param games: {long} number of games to play
+     */
+    public Results run(long games) throws InterruptedException, ExecutionException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads); // worker threads
+        List<Future<Results>> futures = new ArrayList<>(); // results of each worker
+
+        try {
+
+            for (int worker = 0; worker < threads; worker++) {
+
+                long share = games / threads + (worker < games % threads ? 1 : 0); // games for this worker
+                futures.add(executor.submit(() -> playGames(share)));
+            }
+
+            Results total = new Results(strategies.length, boardSize * boardSize); // merged results
+            for (Future<Results> future : futures) total.merge(future.get());
+            return total;
+
+        } finally {
+
+            executor.shutdown(); // stop the worker threads
+        }
+    }
+
+    /** method playGames()
+     * Plays a number of games in the current thread and returns their results
+     * @param games: {long} number of games to play
+     */
+    private Results playGames(long games) {
+
+        Results results = new Results(strategies.length, boardSize * boardSize);
+        int[] shots = new int[strategies.length]; // shots each side needed to win
+        ExecutorService worker = moveDeadline > 0 ? DeadlineStrategy.newWorker() : null; // chooses the moves of this thread
+
+        for (long game = 0; game < games; game++) {
+
+            GameRecord record = recordWriter == null ? null : new GameRecord(boardSize); // record of the game
+
+            for (int side = 0; side < strategies.length; side++) {
+
+                shots[side] = playBoard(strategies[side], worker, results, side, record);
+                results.shotsToWin[side][shots[side]]++; // add to the histogram
+            }
+
+            if (record != null) { // buffered by the writer, shared by every worker
+
+                try {
+
+                    recordWriter.write(record);
+
+                } catch (IOException e) {
+
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            // in a match the side needing fewer shots wins, the first side attacks first so wins a tie
+            if (strategies.length == 2) results.wins[shots[0] <= shots[1] ? 0 : 1]++;
+            results.games++;
+        }
+        return results;
+    }
+
+    /** method playBoard()
+     * Builds a new board, lets the strategy attack it until every ship is destroyed
+     * and returns the number of shots taken
+     * @param type: {StrategyType} strategy attacking the board
+     * @param worker: {ExecutorService} worker the strategy chooses its moves on, null if inline
+     * @param results: {Results} results of this thread, the hits and overruns are updated
+     * @param side: {int} index of the strategy
+     * @param record: {GameRecord} record the board and its shots are added to, null if not recorded
+     */
+    private int playBoard(StrategyType type, ExecutorService worker, Results results, int side, GameRecord record) {
+
+        BoardState board = new BoardState(boardSize); // board to attack
+        FleetPlacer.placeAllShips(board, fleet, ThreadLocalRandom.current()); // place ships as the computer does
+        AttackStrategy strategy = type.create(board); // create the strategy
+        DeadlineStrategy watchdog = null; // plays the strategy with a deadline, null if inline
+        if (moveDeadline > 0) strategy = watchdog = new DeadlineStrategy(strategy, moveDeadline, worker);
+        long[] cellHits = results.cellHits[side]; // number of hits made on each cell
+        int recordedBoard = record == null ? -1 : record.addBoard(board); // index of the board in the record
+
+        int shots = salvo != 1 ? playSalvos(board, strategy, type, cellHits, record, recordedBoard)
+                : playShots(board, strategy, type, cellHits, record, recordedBoard);
+        if (watchdog != null) results.overruns[side] += watchdog.getOverruns();
+        return shots;
+    }
+
+    /** method playShots()
+     * Lets the strategy attack the board one shot at a time until every ship is
+     * destroyed and returns the number of shots taken
+     * @param board: {BoardState} board to attack, ships placed
+     * @param strategy: {AttackStrategy} strategy attacking the board
+     * @param type: {StrategyType} type of the strategy, for the error message
+     * @param cellHits: {long[]} number of hits made on each cell, updated in place
+     * @param record: {GameRecord} record the shots are added to, null if not recorded
+     * @param recordedBoard: {int} index of the board in the record
+     */
+    private int playShots(BoardState board, AttackStrategy strategy, StrategyType type, long[] cellHits,
+                          GameRecord record, int recordedBoard) {
+
+        int shots = 0; // shots taken
+        while (!board.allShipsSunk()) {
+
+            int cell = strategy.nextShot(board); // choose the cell
+            int result = board.shoot(cell); // attack it
+            if (result == BoardState.ALREADY_SHOT) {
+
+                throw new IllegalStateException(type + " attacked cell " + cell + " twice");
+            }
+            strategy.shotResult(board, cell, result); // update the strategy
+            if (result != BoardState.MISS) cellHits[cell]++; // record the hit
+            if (record != null) record.addShot(recordedBoard, cell, result);
+            shots++;
+        }
+        return shots;
+    }
+
+    /** method playSalvos()
+     * Lets the strategy fire salvos at the board until every ship is destroyed and
+     * returns the number of turns taken
+     * @param board: {BoardState} board to attack, ships placed
+     * @param strategy: {AttackStrategy} strategy attacking the board
+     * @param type: {StrategyType} type of the strategy, for the error message
+     * @param cellHits: {long[]} number of hits made on each cell, updated in place
+     * @param record: {GameRecord} record the shots are added to, null if not recorded
+     * @param recordedBoard: {int} index of the board in the record
+     */
+    private int playSalvos(BoardState board, AttackStrategy strategy, StrategyType type, long[] cellHits,
+                           GameRecord record, int recordedBoard) {
+
+        int turns = 0; // salvos fired
+        while (!board.allShipsSunk()) {
+
+            int[] cells = strategy.nextSalvo(board, Math.min(salvo, board.getUnknownCount())); // choose the cells
+            int[] results = board.shoot(cells); // attack them as one batch
+
+            for (int i = 0; i < cells.length; i++) {
+
+                if (results[i] == BoardState.ALREADY_SHOT) {
+
+                    throw new IllegalStateException(type + " attacked cell " + cells[i] + " twice");
+                }
+                strategy.shotResult(board, cells[i], results[i]); // update the strategy
+                if (results[i] != BoardState.MISS) cellHits[cells[i]]++; // record the hit
+                if (record != null) record.addShot(recordedBoard, cells[i], results[i]);
+            }
+            turns++;
+        }
+        return turns;
+    }
+
+    /** method setSalvo()
+     * Sets the shots each strategy fires per turn, must be called before run()
+     * @param salvo: {int} shots per turn, 1 for single shots
+     */
+    public void setSalvo(int salvo) {
+
+        this.salvo = salvo;
+    }
+
+    /** method setMoveDeadline()
+     * Sets the time each strategy may take over a move, must be called before run()
+     * @param moveDeadline: {long} deadline of each move in nanoseconds, 0 to play inline
+     */
+    public void setMoveDeadline(long moveDeadline) {
+
+        this.moveDeadline = moveDeadline;
+    }
+
+    /** method setRecordWriter()
+     * Sets where each game is recorded, must be called before run()
+     * @param recordWriter: {GameRecordWriter} writer shared by every worker, null to not record
+     */
+    public void setRecordWriter(GameRecordWriter recordWriter) {
+
+        this.recordWriter = recordWriter;
+    }
+
+    /** method report()
+     * Returns a printable report of the results provided
+     * @param results: {Results} merged results of every game
+     * @param seconds: {double} time taken to play the games
+     */
+    public String report(Results results, double seconds) {
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games: %d in %.2f s (%.0f games/sec, %d threads)%n",
+                results.games, seconds, results.games / seconds, threads));
+
+        for (int side = 0; side < strategies.length; side++) {
+
+            long[] histogram = results.shotsToWin[side];
+            report.append(String.format("%n%s%n", strategies[side]));
+            report.append(String.format("  %s to win: mean %.2f  p50 %d  p90 %d  p99 %d  max %d%n",
+                    salvo == 1 ? "shots" : "turns", mean(histogram), percentile(histogram, 0.50),
+                    percentile(histogram, 0.90), percentile(histogram, 0.99), percentile(histogram, 1.0)));
+            if (strategies.length == 2) {
+
+                report.append(String.format("  wins: %d (%.1f%%)%n", results.wins[side],
+                        100.0 * results.wins[side] / results.games));
+            }
+            if (results.overruns[side] > 0) { // a cheap shot was played for each
+
+                report.append(String.format("  moves over the %d ms deadline: %d%n",
+                        TimeUnit.NANOSECONDS.toMillis(moveDeadline), results.overruns[side]));
+            }
+
+            // hits on each cell as a percentage of games
+            if (boardSize > MAX_PRINTED_SIZE) continue; // too wide to read
+            report.append("  hits per cell (% of games):\n");
+            for (int row = 0; row < boardSize; row++) {
+
+                report.append("   ");
+                for (int column = 0; column < boardSize; column++) {
+
+                    report.append(String.format(" %5.1f", 100.0 * results.cellHits[side][row * boardSize + column]
+                            / Math.max(1, results.games)));
+                }
+                report.append('\n');
+            }
+        }
+        return report.toString();
+    }
+
+    /** method mean()
+     * Returns the mean of a histogram of shot counts
+     * @param histogram: {long[]} number of games won in each number of shots
+     */
+    private static double mean(long[] histogram) {
+
+        long games = 0;
+        long total = 0;
+        for (int shots = 0; shots < histogram.length; shots++) {
+
+            games += histogram[shots];
+            total += histogram[shots] * shots;
+        }
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    /** method percentile()
+     * Returns the smallest shot count that at least the fraction of games provided were won in
+     * @param histogram: {long[]} number of games won in each number of shots
+     * @param fraction: {double} fraction of games, 0.5 for the median
+     */
+    private static int percentile(long[] histogram, double fraction) {
+
+        long games = 0;
+        for (long count : histogram) games += count;
+
+        long needed = (long) Math.ceil(games * fraction); // games that must be included
+        long seen = 0;
+        for (int shots = 0; shots < histogram.length; shots++) {
+
+            seen += histogram[shots];
+            if (seen >= needed && seen > 0) return shots;
+        }
+        return 0;
+    }
+
+    //***************************************************************************//
+
+    //********************************Class inner classes************************//
+
+    /** class Results
+     * Results of a number of games, one set of counters per side
+     */
+    public static final class Results {
+
+        private long games = 0; // number of games played
+        private final long[][] shotsToWin; // histogram of shots needed to win for each side
+        private final long[][] cellHits; // hits made on each cell for each side
+        private final long[] wins; // games won by each side
+        private final long[] overruns; // moves each side did not choose by the deadline
+
+        /** constructor
+         * @param sides: {int} number of sides
+         * @param cells: {int} number of cells on the board
+         */
+        private Results(int sides, int cells) {
+
+            shotsToWin = new long[sides][cells + 1];
+            cellHits = new long[sides][cells];
+            wins = new long[sides];
+            overruns = new long[sides];
+        }
+
+        /** method merge()
+         * Adds the results provided to these results
+         * @param other: {Results} results of another worker
+         */
+        private void merge(Results other) {
+
+            games += other.games;
+            for (int side = 0; side < wins.length; side++) {
+
+                wins[side] += other.wins[side];
+                overruns[side] += other.overruns[side];
+                for (int i = 0; i < shotsToWin[side].length; i++) shotsToWin[side][i] += other.shotsToWin[side][i];
+                for (int i = 0; i < cellHits[side].length; i++) cellHits[side][i] += other.cellHits[side][i];
+            }
+        }
+
+        /** method getGames()
+         * Returns the number of games played
+         */
+        public long getGames() {
+
+            return games;
+        }
+
+        /** method getShotsToWin()
+         * Returns the histogram of shots needed to win for the side provided
+         * @param side: {int} index of the strategy
+         */
+        public long[] getShotsToWin(int side) {
+
+            return shotsToWin[side];
+        }
+    }
+
+} // close class Simulation
@@ -0,0 +1,322 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class SoundMixer plays the sound effects through a single       *
+ * audio line fed by its own thread. Each effect is decoded once into 16 bit    *
+ * stereo samples and any number of play requests can be made at once, up to    *
+ * MAX_VOICES are mixed together and the oldest is replaced when all are in     *
+ * use. Requests are passed to the mixer thread through lock free queues, so    *
+ * play() only adds to a queue and wakes the thread, it never touches the       *
+ * audio line. If no audio line is available the mixer reports it once and      *
+ * ignores every request.                                                       *
+ ********************************************************************************/
+
+package battleships;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+public final class SoundMixer {
+
+    //**************************Class constants**********************************//
+
+    public static final float SAMPLE_RATE = 44100f; // frames per second of the mixed sound
+    public static final int CHANNELS = 2; // samples per frame, left and right
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false); // 16 bit little endian
+    public static final int MAX_VOICES = 8; // sounds that can be mixed together
+
+    private static final int PERIOD_FRAMES = 256; // frames mixed at a time, about 6ms
+    private static final int LINE_PERIODS = 3; // periods held by the audio line
+    private static final int READ_BUFFER_BYTES = 16 * 1024; // bytes read from a sound file at a time
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private static volatile Thread mixerThread; // thread writing to the audio line, null until started
+    private static volatile boolean disabled = false; // true once the audio line has failed to open
+
+    // requests passed from any thread to the mixer thread
+    private static final ConcurrentLinkedQueue<AudioPlayer> playRequests = new ConcurrentLinkedQueue<>();
+    private static final ConcurrentLinkedQueue<AudioPlayer> stopRequests = new ConcurrentLinkedQueue<>();
+
+    // voices, only used by the mixer thread
+    private static final AudioPlayer[] voiceSounds = new AudioPlayer[MAX_VOICES]; // sound of each voice, null if free
+    private static final short[][] voiceSamples = new short[MAX_VOICES][]; // samples of each voice
+    private static final int[] voicePositions = new int[MAX_VOICES]; // next sample of each voice
+    private static final long[] voiceStarts = new long[MAX_VOICES]; // order the voices were started in
+    private static long voicesStarted = 0; // number of voices started so far
+    private static int activeVoices = 0; // number of voices playing
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** Constructor
+     * Private constructor, the mixer is only used through its static methods
+     */
+    private SoundMixer() {
+
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method play()
+     * Asks the mixer thread to start playing the sound provided. This returns as soon
+     * as the request is queued, the sound is decoded on the mixer thread the first time
+     * it is played.
+     * @param sound: {AudioPlayer} sound effect to play
+     */
+    public static void play(AudioPlayer sound) {
+
+        if (disabled) return; // no audio line
+
+        Thread thread = start(); // start the mixer on first use
+        playRequests.offer(sound);
+        LockSupport.unpark(thread); // wake the mixer if it is idle
+    }
+
+    /** method open()
+     * Starts the mixer thread and opens the audio line ahead of the first sound
+     */
+    public static void open() {
+
+        if (!disabled) start();
+    }
+
+    /** method stop()
+     * Asks the mixer thread to stop every voice playing the sound provided
+     * @param sound: {AudioPlayer} sound effect to stop
+     */
+    public static void stop(AudioPlayer sound) {
+
+        Thread thread = mixerThread;
+        if (disabled || thread == null) return; // nothing is playing
+
+        stopRequests.offer(sound);
+        LockSupport.unpark(thread);
+    }
+
+    /** method start()
+     * Returns the mixer thread, starting it the first time it is asked for
+     */
+    private static Thread start() {
+
+        Thread thread = mixerThread;
+        if (thread != null) return thread; // already started
+
+        synchronized (SoundMixer.class) {
+
+            if (mixerThread == null) {
+
+                thread = new Thread(SoundMixer::run, "audio-mixer");
+                thread.setDaemon(true); // do not keep the application running
+                thread.setPriority(Thread.MAX_PRIORITY); // keep the audio line fed
+                mixerThread = thread;
+                thread.start();
+            }
+            return mixerThread;
+        }
+    }
+
+    /** method run()
+     * Runs on the mixer thread. Opens the audio line, then mixes a period of the playing
+     * voices at a time and writes it to the line, parking while nothing is playing.
+     */
+    private static void run() {
+
+        SourceDataLine line;
+        try {
+
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, PERIOD_FRAMES * FORMAT.getFrameSize() * LINE_PERIODS); // small buffer, low latency
+            line.start();
+
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) { // no audio output
+
+            disabled = true;
+            playRequests.clear();
+            stopRequests.clear();
+            System.err.println("Sound mixer unavailable: " + e);
+            return;
+        }
+
+        int[] mix = new int[PERIOD_FRAMES * CHANNELS]; // sum of the voices for one period
+        byte[] output = new byte[PERIOD_FRAMES * FORMAT.getFrameSize()]; // mixed period written to the line
+
+        while (true) {
+
+            takeRequests();
+
+            if (activeVoices == 0) { // nothing to play, wait for the next request
+
+                LockSupport.park(SoundMixer.class);
+                continue;
+            }
+
+            mixPeriod(mix);
+
+            for (int i = 0, b = 0; i < mix.length; i++, b += 2) { // clamp and convert to little endian bytes
+
+                int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+                output[b] = (byte) sample;
+                output[b + 1] = (byte) (sample >> 8);
+            }
+
+            line.write(output, 0, output.length); // blocks while the line buffer is full
+        }
+    }
+
+    /** method takeRequests()
+     * Runs on the mixer thread. Stops and starts voices for every queued request.
+     */
+    private static void takeRequests() {
+
+        AudioPlayer sound;
+
+        while ((sound = stopRequests.poll()) != null) { // free every voice playing the sound
+
+            for (int voice = 0; voice < MAX_VOICES; voice++) {
+
+                if (voiceSounds[voice] == sound) freeVoice(voice);
+            }
+        }
+
+        while ((sound = playRequests.poll()) != null) {
+
+            short[] samples = sound.getSamples(); // decoded the first time the sound is played
+            if (samples == null || samples.length == 0) continue; // sound file unavailable
+
+            // use a free voice, or replace the voice that has been playing longest
+            int voice = 0;
+            for (int i = 0; i < MAX_VOICES; i++) {
+
+                if (voiceSounds[i] == null) {
+
+                    voice = i;
+                    break;
+                }
+                if (voiceStarts[i] < voiceStarts[voice]) voice = i;
+            }
+
+            if (voiceSounds[voice] == null) activeVoices++;
+            voiceSounds[voice] = sound;
+            voiceSamples[voice] = samples;
+            voicePositions[voice] = 0;
+            voiceStarts[voice] = voicesStarted++;
+        }
+    }
+
+    /** method mixPeriod()
+     * Runs on the mixer thread. Adds the next period of every playing voice together,
+     * freeing the voices that reach the end of their sound.
+     * @param mix: {int[]} samples of the period, overwritten
+     */
+    private static void mixPeriod(int[] mix) {
+
+        Arrays.fill(mix, 0);
+
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+
+            if (voiceSounds[voice] == null) continue; // free voice
+
+            short[] samples = voiceSamples[voice];
+            int position = voicePositions[voice];
+            int count = Math.min(mix.length, samples.length - position); // samples left in this period
+
+            for (int i = 0; i < count; i++) mix[i] += samples[position + i];
+
+            voicePositions[voice] = position + count;
+            if (voicePositions[voice] >= samples.length) freeVoice(voice); // sound finished
+        }
+    }
+
+    /** method freeVoice()
+     * Runs on the mixer thread. Stops a voice so it can be reused.
+     * @param voice: {int} voice index
+     */
+    private static void freeVoice(int voice) {
+
+        if (voiceSounds[voice] == null) return; // already free
+
+        voiceSounds[voice] = null;
+        voiceSamples[voice] = null;
+        activeVoices--;
+    }
+
+    /** method decode()
+     * Reads a whole audio stream into 16 bit stereo samples at the mixer sample rate.
+     * Mono sounds are copied to both channels and other sample rates are resampled.
+     * @param audioInputStream: {AudioInputStream} sound to decode
+     */
+    public static short[] decode(AudioInputStream audioInputStream) throws IOException {
+
+        AudioFormat source = audioInputStream.getFormat();
+        int channels = source.getChannels();
+        float sampleRate = source.getSampleRate() == AudioSystem.NOT_SPECIFIED ? SAMPLE_RATE : source.getSampleRate();
+
+        // convert to signed 16 bit little endian samples in the channels and rate of the file
+        AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sampleRate, 16, channels,
+                channels * 2, sampleRate, false);
+        AudioInputStream pcmStream = source.matches(pcm) ? audioInputStream
+                : AudioSystem.getAudioInputStream(pcm, audioInputStream);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[READ_BUFFER_BYTES];
+        int read;
+        while ((read = pcmStream.read(buffer)) > 0) bytes.write(buffer, 0, read);
+        byte[] data = bytes.toByteArray();
+
+        // pick the left and right channel of each frame, the same channel for mono
+        int frames = data.length / (channels * 2);
+        short[] stereo = new short[frames * CHANNELS];
+        for (int frame = 0; frame < frames; frame++) {
+
+            int left = frame * channels * 2; // first byte of the frame
+            int right = channels > 1 ? left + 2 : left;
+            stereo[frame * 2] = (short) ((data[left] & 0xff) | (data[left + 1] << 8));
+            stereo[frame * 2 + 1] = (short) ((data[right] & 0xff) | (data[right + 1] << 8));
+        }
+
+        return sampleRate == SAMPLE_RATE ? stereo : resample(stereo, sampleRate);
+    }
+
+    /** method resample()
+     * Converts stereo samples to the mixer sample rate by linear interpolation
+     * @param stereo: {short[]} stereo samples
+     * @param sampleRate: {float} frames per second of the samples
+     */
+    private static short[] resample(short[] stereo, float sampleRate) {
+
+        int frames = stereo.length / CHANNELS;
+        if (frames == 0) return stereo;
+
+        double step = sampleRate / SAMPLE_RATE; // source frames per mixed frame
+        int resampledFrames = (int) ((frames - 1) / step) + 1;
+        short[] resampled = new short[resampledFrames * CHANNELS];
+
+        for (int frame = 0; frame < resampledFrames; frame++) {
+
+            double position = frame * step;
+            int before = (int) position;
+            int after = Math.min(before + 1, frames - 1);
+            double fraction = position - before;
+
+            for (int channel = 0; channel < CHANNELS; channel++) {
+
+                int a = stereo[before * CHANNELS + channel];
+                int b = stereo[after * CHANNELS + channel];
+                resampled[frame * CHANNELS + channel] = (short) Math.round(a + (b - a) * fraction);
+            }
+        }
+        return resampled;
+    }
+
+} // close class SoundMixer
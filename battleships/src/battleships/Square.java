@@ -3,9 +3,10 @@
  * Date: Dec 2020                                                               *
  * Assignment: Element 011 Battleships Game                                     *
  * Description: Class Square uses the superclass Rectangle to create a square   *
- * shape object. These are used to make up the battleships grid.                *
- * Variables are used to verify the current status of the square including,     *
- * if the square is empty, occupied, destroyed or has a ship on it.             *
+ * shape object. These are used by the SquareRenderer to make up the            *
+ * battleships grid.                                                            *
+ * The current status of the square, if it is empty, occupied or destroyed,     *
+ * is read from the BoardState of the board the square belongs to.              *
  ********************************************************************************/
 
 package battleships;
@@ -22,13 +23,11 @@ public class Square extends Rectangle {
     private int column; // squares column
 
     // variables for gameplay validation
-    private boolean knownEmpty = false; // square known empty (Blue)
-    private boolean knownOccupied = false; // square known occupied (Contains ship)
-    private boolean knownDestroyed = false; // square know destroyed (Orange)
-    private Ship occupyingShip = null; // square is occupied by a ship
+    private BoardState state; // game state of the board this square belongs to
+    private int cell; // squares cell index in the board state
 
-    // highlight effects used for mouse events
-    private ColorAdjust squareEffect = new ColorAdjust(); // squares colour adjust effects
+    // highlight effect used for mouse events, shared by every square
+    private static final ColorAdjust squareEffect = createEffect();
 
     //***************************************************************************//
 
@@ -44,33 +43,29 @@ public class Square extends Rectangle {
      * @param height: {int} height of Square
      * @param row: {int} grid array row element
      * @param column: {int} grid array column element
+     * @param state: {BoardState} game state of the board the square belongs to
      */
-    public Square(int xAxis, int yAxis, int width, int height, int row, int column) {
+    public Square(int xAxis, int yAxis, int width, int height, int row, int column, BoardState state) {
 
         super(xAxis, yAxis, width, height); // call superclass constructor to build the shape
         this.row = row; // set the squares row position in the grid
         this.column = column; // set the squares column position in the grid
-        squareEffect.setBrightness(0.24); // set the squares brightness effect
+        this.state = state; // set the board state holding the squares status
+        this.cell = state.cell(row, column); // set the squares cell index
     }
 
     //***************************************************************************//
 
     //********************************Class methods******************************//
 
-    /** method addShip()
-     * Sets the squares colour and disables further effects. It also assigns
-     * the provided Ship object to the occupyingShip instance variable.
-     * The Ship object is then declared placed.
-     * @param ship: {Ship} Starting square of Ship
+    /** method createEffect()
+     * Creates the highlight effect shared by every square
      */
-    public void addShip(Ship ship) {
-
-        // set Square colour and disable effects
-        this.setFill(ship.getColor());
-        disableEffect();
-        // assign Ship object and set as placed
-        this.occupyingShip = ship;
-        ship.setPlaced();
+    private static ColorAdjust createEffect() {
+
+        ColorAdjust effect = new ColorAdjust();
+        effect.setBrightness(0.24); // set the squares brightness effect
+        return effect;
     }
 
     /** method enableEffect()
@@ -112,39 +107,12 @@ public class Square extends Rectangle {
         return column;
     }
 
-    /** method getOccupyingShip()
-     * This method returns the ship occupying the square
-     */
-    public Ship getOccupyingShip() {
-
-        return occupyingShip;
-    }
-
-    /** method setKnownEmpty()
-     * This method sets if the ship on this square is known as empty
-     * @param knownEmpty {boolean}
-     */
-    public void setKnownEmpty(boolean knownEmpty) {
-
-        this.knownEmpty = knownEmpty;
-    }
-
-    /** method setKnownOccupied()
-     * This method sets if the ship on this square is known as occupied
-     * @param knownOccupied {boolean}
-     */
-    public void setKnownOccupied(boolean knownOccupied) {
-
-        this.knownOccupied = knownOccupied;
-    }
-
-    /** method setKnownDestroyed()
-     * This method sets if the ship on this square is known as destroyed
-     * @param knownDestroyed {boolean}
+    /** method getCell()
+     * This method returns the squares cell index in the board state
      */
-    public void setKnownDestroyed(boolean knownDestroyed) {
+    public int getCell() {
 
-        this.knownDestroyed = knownDestroyed;
+        return cell;
     }
 
     /** method isKnownEmpty()
@@ -152,7 +120,7 @@ public class Square extends Rectangle {
      */
     public boolean isKnownEmpty() {
 
-        return knownEmpty;
+        return state.isMiss(cell);
     }
 
     /** method isKnownOccupied()
@@ -160,7 +128,7 @@ public class Square extends Rectangle {
      */
     public boolean isKnownOccupied() {
 
-        return knownOccupied;
+        return state.isHit(cell);
     }
 
     /** method isKnownDestroyed()
@@ -169,7 +137,7 @@ public class Square extends Rectangle {
      */
     public boolean isKnownDestroyed() {
 
-        return knownDestroyed;
+        return state.isDestroyed(cell);
     }
 
     /** method toString()
@@ -181,11 +149,10 @@ public class Square extends Rectangle {
         return "Square{" +
                 "row=" + row + // square row
                 ", column=" + column + // square column
-                ", knownEmpty=" + knownEmpty + // has square been attacked and missed
-                ", knownOccupied=" + knownOccupied + // has square been attacked and hit
-                ", knownDestroyed=" + knownDestroyed + // has square been hit and destroyed
-                ", occupyingShip=" + occupyingShip + // does the square have a ship on it
+                ", knownEmpty=" + isKnownEmpty() + // has square been attacked and missed
+                ", knownOccupied=" + isKnownOccupied() + // has square been attacked and hit
+                ", knownDestroyed=" + isKnownDestroyed() + // has square been hit and destroyed
                 '}';
     }
 
-} // close class Square
\ No newline at end of file
+} // close class Square
@@ -0,0 +1,108 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class SquareRenderer is the original way of drawing a board,    *
+ * a grid of Square nodes placed in a 2d array and added to an AnchorPane.      *
+ * Each Square is a Rectangle with its own stroke, fill and highlight effect.   *
+ * It works well for the standard 10x10 board but adds boardSize * boardSize    *
+ * nodes to the scene graph, see CanvasRenderer for larger boards. It always    *
+ * draws the whole board, so the Board only uses it for boards that fit in      *
+ * their view.                                                                  *
+ ********************************************************************************/
+
+package battleships;
+
+import javafx.scene.Node;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.paint.Color;
+
+public class SquareRenderer implements BoardRenderer {
+
+    //**************************Class instance variables*************************//
+
+    private int boardSize; // number of rows and columns
+    private Square[][] grid; // 2d array containing rows and columns of Squares
+    private AnchorPane anchorPane = new AnchorPane(); // pane containing the squares
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** constructor
+     * Creates a new SquareRenderer and builds a grid of Squares. These are then
+     * added to an anchor pane object, ready to be added to the GUI.
+     * @param boardSize: {int} number of rows and columns
+     * @param squareSize: {int} height and width of each grid square
+     * @param state: {BoardState} game state displayed by the squares
+     */
+    public SquareRenderer(int boardSize, int squareSize, BoardState state) {
+
+        this.boardSize = boardSize; // set board size
+
+        this.grid = new Square[boardSize][boardSize]; // declare array and set the size
+
+        // create the grid
+        for (int row = 0; row < boardSize; row++) { // loop through each row
+
+            for (int column = 0; column < boardSize; column++) { // loop through each column
+
+                int xPosition = squareSize * column; // set the x axis position variable
+                int yPosition = squareSize * row; // set the y axis position variable
+
+                // create a new square object
+                Square square = new Square(xPosition, yPosition, squareSize, squareSize, row, column, state);
+                square.setStroke(Color.RED); // set square border colour
+                anchorPane.getChildren().add(square); // add square to the anchor pane
+                grid[row][column] = square; // add square to the 2d grid array
+
+            } // close column loop
+        } // close row loop
+    } // close constructor
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method getNode()
+     * Returns the anchor pane containing the squares
+     */
+    @Override
+    public Node getNode() {
+
+        return anchorPane;
+    }
+
+    /** method paintCell()
+     * Sets the fill colour of the square displaying the cell
+     * @param cell: {int} cell index
+     * @param color: {Color} new colour of the cell
+     */
+    @Override
+    public void paintCell(int cell, Color color) {
+
+        getSquare(cell).setFill(color);
+    }
+
+    /** method setHighlighted()
+     * Enables or disables the effect of the square displaying the cell
+     * @param cell: {int} cell index
+     * @param highlighted: {boolean} true to highlight the cell
+     */
+    @Override
+    public void setHighlighted(int cell, boolean highlighted) {
+
+        if (highlighted) getSquare(cell).enableEffect();
+        else getSquare(cell).disableEffect();
+    }
+
+    /** method getSquare()
+     * Returns the square displaying the cell provided
+     * @param cell: {int} cell index
+     */
+    private Square getSquare(int cell) {
+
+        return grid[cell / boardSize][cell % boardSize];
+    }
+
+} // close class SquareRenderer
@@ -0,0 +1,121 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Class Startup runs the slow parts of starting the game on a     *
+ * small pool of background threads and times each phase. Phases started with   *
+ * load() run in parallel and phases marked with mark() record the time since   *
+ * the application was launched. The breakdown is printed by report() once      *
+ * every phase has finished.                                                    *
+ ********************************************************************************/
+
+package battleships;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class Startup {
+
+    //**************************Class constants**********************************//
+
+    private static final int LOADER_THREADS = 4; // phases loaded at the same time
+
+    //***************************************************************************//
+
+    //**************************Class instance variables*************************//
+
+    private static final long launchTime = System.nanoTime(); // time the class was first used in main()
+    private static final ConcurrentLinkedQueue<String> timings = new ConcurrentLinkedQueue<>(); // report lines
+    private static ExecutorService loaders; // background threads, created on first use
+
+    //***************************************************************************//
+
+    //****************************Class constructors*****************************//
+
+    /** Constructor
+     * Private constructor, startup is only used through its static methods
+     */
+    private Startup() {
+
+    }
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method load()
+     * Runs a phase on a background thread and records how long it took
+     * @param phase: {String} name of the phase in the report
+     * @param task: {Callable} work done by the phase
+     */
+    public static synchronized <T> CompletableFuture<T> load(String phase, Callable<T> task) {
+
+        if (loaders == null) { // daemon threads, so a failed startup does not keep the application running
+
+            loaders = Executors.newFixedThreadPool(LOADER_THREADS, (runnable) -> {
+
+                Thread thread = new Thread(runnable, "startup-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return CompletableFuture.supplyAsync(() -> time(phase, task), loaders);
+    }
+
+    /** method time()
+     * Runs a phase on the calling thread and records how long it took. Any exception
+     * thrown by the phase is passed on wrapped in a CompletionException.
+     * @param phase: {String} name of the phase in the report
+     * @param task: {Callable} work done by the phase
+     */
+    public static <T> T time(String phase, Callable<T> task) {
+
+        long start = System.nanoTime();
+        String outcome = "";
+        try {
+
+            return task.call();
+
+        } catch (Exception e) { // report the failure with the timing
+
+            outcome = "  failed: " + e;
+            throw new CompletionException(e);
+
+        } finally {
+
+            long end = System.nanoTime();
+            timings.add(String.format("  %-12s %8.1f ms  (finished at %8.1f ms on %s)%s", phase,
+                    (end - start) / 1e6, (end - launchTime) / 1e6, Thread.currentThread().getName(), outcome));
+        }
+    }
+
+    /** method mark()
+     * Records the time since launch at which a phase was reached
+     * @param phase: {String} name of the phase in the report
+     */
+    public static void mark(String phase) {
+
+        long now = System.nanoTime();
+        timings.add(String.format("  %-12s %8s     (reached at  %8.1f ms on %s)", phase, "",
+                (now - launchTime) / 1e6, Thread.currentThread().getName()));
+    }
+
+    /** method report()
+     * Prints the startup timings recorded so far and stops the background threads
+     */
+    public static synchronized void report() {
+
+        StringBuilder report = new StringBuilder("Startup timing:");
+        String line;
+        while ((line = timings.poll()) != null) report.append(System.lineSeparator()).append(line);
+        System.out.println(report);
+
+        if (loaders != null) loaders.shutdown(); // every phase has finished
+        loaders = null;
+    }
+
+} // close class Startup
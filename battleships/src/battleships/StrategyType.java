@@ -0,0 +1,55 @@
+/********************************************************************************
+ * Author: 1816477                                                              *
+ * Date: Oct 2026                                                               *
+ * Assignment: Element 011 Battleships Game                                     *
+ * Description: Enum StrategyType lists the computer attack strategies that     *
+ * can be selected for a game. Each enum creates a new AttackStrategy for the   *
+ * board the computer is attacking.                                             *
+ * To create a strategy use StrategyType.STRATEGY_NAME.create(board).           *
+ ********************************************************************************/
+
+package battleships;
+
+public enum StrategyType {
+
+    //********************************Class enums********************************//
+
+    // original hunt and target logic using blocks of the longest ship
+    HUNT {
+        @Override
+        public AttackStrategy create(BoardState target) {
+
+            return new HuntTargetStrategy(target);
+        }
+    },
+
+    // incremental probability density of every remaining ship
+    DENSITY {
+        @Override
+        public AttackStrategy create(BoardState target) {
+
+            return new DensityStrategy(target);
+        }
+    },
+
+    // parallel sampling of fleet layouts that agree with the board, the samples and budget
+    // per move are set by the battleships.monteCarloSamples and battleships.monteCarloBudget properties
+    MONTE_CARLO {
+        @Override
+        public AttackStrategy create(BoardState target) {
+
+            return new MonteCarloStrategy(target);
+        }
+    };
+
+    //***************************************************************************//
+
+    //********************************Class methods******************************//
+
+    /** method create()
+     * Creates a new strategy of this type for the board provided
+     * @param target: {BoardState} board the computer will attack
+     */
+    public abstract AttackStrategy create(BoardState target);
+
+} // close enum StrategyType